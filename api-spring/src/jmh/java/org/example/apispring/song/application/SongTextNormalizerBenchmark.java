@@ -0,0 +1,53 @@
+package org.example.apispring.song.application;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// 기존 replaceAll 체인 vs SongTextNormalizer (memo 없는 compute / memo 포함 normalize)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class SongTextNormalizerBenchmark {
+
+    private static final String[] INPUTS = {
+            "IU (아이유) - Blueming (Official MV)",
+            "NewJeans 'Super Shy' Official MV",
+            "Beyoncé - Halo [Lyrics]",
+            "BTS (방탄소년단) 'Dynamite' Official MV (B-side)",
+            "YOASOBI「アイドル」 Official Music Video",
+            "Ed Sheeran - Perfect feat. Beyoncé",
+            "The Weeknd with Daft Punk - Starboy",
+            "아이유",
+            "Taylor Swift",
+            "Official髭男dism - Pretender［Official Video］"
+    };
+
+    @Benchmark
+    public void legacyRegex(Blackhole bh) {
+        for (String s : INPUTS) bh.consume(legacyForSearch(s));
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole bh) {
+        for (String s : INPUTS) bh.consume(SongTextNormalizer.compute(s, SongTextNormalizer.Mode.SEARCH));
+    }
+
+    @Benchmark
+    public void singlePassMemo(Blackhole bh) {
+        for (String s : INPUTS) bh.consume(SongTextNormalizer.forSearch(s));
+    }
+
+    private static String legacyForSearch(String s) {
+        String x = s.toLowerCase(Locale.ROOT);
+        x = Normalizer.normalize(x, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        x = x.replaceAll("\\(.*?\\)|\\[.*?\\]|\\{.*?\\}", " ");
+        x = x.replaceAll("\\b(feat\\.|ft\\.|with)\\b.*", " ");
+        x = x.replaceAll("[^0-9a-zA-Z가-힣ㄱ-ㅎㅏ-ㅣぁ-ゔァ-ヴー一-龯々〆〤\\s']", " ");
+        x = x.replaceAll("\\s+", " ").trim();
+        return x;
+    }
+}
@@ -3,9 +3,11 @@ package org.example.apispring;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync  // ✅ 이거 추가해야 @Async 작동
+@EnableScheduling  // 태그 셀 통계 등 주기 작업
 public class ApiSpringApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,103 @@
+package org.example.apispring.auth.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.auth.application.event.ConsentStateChangedEvent;
+import org.example.apispring.auth.domain.ConsentState;
+import org.example.apispring.auth.domain.OAuthCredentialsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// 사용자별 동의 상태(ConsentState) 캐시: in-process near-cache → Redis → oauth_credentials
+// - 로그인 리다이렉트마다 DB 를 읽지 않도록, 저장/해제 시 커밋 이후 새 상태로 덮어씀 (write-through)
+// - near-cache 는 다른 노드의 변경을 모르므로 TTL 을 짧게 (Redis 값이 기준)
+@Slf4j
+@Component
+public class ConsentStateCache {
+
+    private static final String KEY_PREFIX = "auth:consent:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final OAuthCredentialsRepository credRepository;
+    private final int maxEntries;
+    private final long nearTtlNanos;
+    private final Duration redisTtl;
+
+    private final Map<UUID, Entry> near;
+
+    public ConsentStateCache(StringRedisTemplate redisTemplate,
+                             OAuthCredentialsRepository credRepository,
+                             @Value("${cloudify.auth.consent.nearCacheSize:10000}") int maxEntries,
+                             @Value("${cloudify.auth.consent.nearTtlSec:30}") long nearTtlSec,
+                             @Value("${cloudify.auth.consent.redisTtlSec:604800}") long redisTtlSec) {
+        this.redisTemplate = redisTemplate;
+        this.credRepository = credRepository;
+        this.maxEntries = maxEntries;
+        this.nearTtlNanos = nearTtlSec * 1_000_000_000L;
+        this.redisTtl = Duration.ofSeconds(redisTtlSec);
+        this.near = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > ConsentStateCache.this.maxEntries;
+            }
+        };
+    }
+
+    public ConsentState get(UUID userId) {
+        long now = System.nanoTime();
+        synchronized (near) {
+            Entry e = near.get(userId);
+            if (e != null && now - e.cachedAt() < nearTtlNanos) return e.state();
+        }
+
+        ConsentState state = readRedis(userId);
+        if (state == null) {
+            state = credRepository.findByUser_Id(userId).map(ConsentState::of).orElse(ConsentState.NONE);
+            writeRedis(userId, state);
+        }
+
+        synchronized (near) {
+            near.put(userId, new Entry(state, now));
+        }
+        return state;
+    }
+
+    // 커밋 이후에 덮어써야 롤백된 값이 캐시에 남지 않음 (트랜잭션 밖 발행은 즉시 실행)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConsentStateChanged(ConsentStateChangedEvent event) {
+        writeRedis(event.userId(), event.state());
+        synchronized (near) {
+            near.put(event.userId(), new Entry(event.state(), System.nanoTime()));
+        }
+        log.debug("[ConsentCache] updated userId={} state={}", event.userId(), event.state());
+    }
+
+    // Redis 장애/손상된 값이면 null → DB 에서 다시 계산
+    private ConsentState readRedis(UUID userId) {
+        try {
+            String v = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+            return v == null ? null : ConsentState.decode(Long.parseLong(v));
+        } catch (NumberFormatException e) {
+            return null;
+        } catch (RuntimeException e) {
+            log.warn("[ConsentCache] redis_read_failed userId={} ex={}", userId, e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    private void writeRedis(UUID userId, ConsentState state) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, Long.toString(state.encode()), redisTtl);
+        } catch (RuntimeException e) {
+            log.warn("[ConsentCache] redis_write_failed userId={} ex={}", userId, e.getClass().getSimpleName());
+        }
+    }
+
+    private record Entry(ConsentState state, long cachedAt) {}
+}
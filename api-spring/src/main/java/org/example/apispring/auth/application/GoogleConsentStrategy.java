@@ -2,6 +2,7 @@ package org.example.apispring.auth.application;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.example.apispring.auth.domain.GoogleScopes;
 import org.example.apispring.auth.domain.OAuthCredentials;
 import org.example.apispring.auth.domain.OAuthCredentialsRepository;
 import org.example.apispring.global.security.jwt.CookieUtil;
@@ -18,10 +19,17 @@ public class GoogleConsentStrategy {
     private final CookieUtil cookies;
     private final JwtTokenProvider jwt;
     private final OAuthCredentialsRepository repo;
+    private final ConsentStateCache consentStateCache;
 
     public boolean needPrompt(HttpServletRequest req, Set<String> requiredScopes) {
         UUID userId = resolveUserIdFromCookie(req);
 
+        // 보통은 캐시된 동의 상태(비트셋)로 판단 → DB 조회 없음
+        if (userId != null && GoogleScopes.representable(requiredScopes)) {
+            return consentStateCache.get(userId).needPrompt(requiredScopes);
+        }
+
+        // 비트셋에 없는 스코프를 요구하는 경우만 직접 조회
         Optional<OAuthCredentials> credsOpt =
                 (userId != null)
                         ? repo.findByUser_Id(userId)
@@ -2,12 +2,16 @@ package org.example.apispring.auth.application;
 
 import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
+import org.example.apispring.auth.application.event.ConsentStateChangedEvent;
+import org.example.apispring.auth.domain.ConsentState;
+import org.example.apispring.auth.domain.GoogleScopes;
 import org.example.apispring.auth.domain.OAuthCredentials;
 import org.example.apispring.auth.domain.OAuthCredentialsRepository;
 import org.example.apispring.auth.infra.GoogleTokenRevoker;
 import org.example.apispring.global.util.TokenCrypto;
 import org.example.apispring.user.domain.User;
 import org.example.apispring.user.domain.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +27,8 @@ public class OAuthCredentialService {
     private final UserRepository userRepository;
     private final TokenCrypto crypto;
     private final GoogleTokenRevoker revoker;
+    private final ConsentStateCache consentStateCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void saveOrUpdate(
@@ -57,6 +63,7 @@ public class OAuthCredentialService {
                     .build();
             c.setScopesFrom(scopes);
             credRepository.save(c);
+            publishConsentState(userId, c);
             return;
         }
 
@@ -70,11 +77,18 @@ public class OAuthCredentialService {
             c.unRevoke();
             c.updateTokens(atEnc, accessTokenExpiresAt, rtEnc);
             c.setScopesFrom(scopes);
+            publishConsentState(userId, c);
             return;
         }
 
         c.updateTokens(atEnc, accessTokenExpiresAt, rtEnc);
         c.setScopesFrom(scopes);
+        publishConsentState(userId, c);
+    }
+
+    // 커밋 이후 ConsentStateCache 에 반영
+    private void publishConsentState(UUID userId, OAuthCredentials c) {
+        eventPublisher.publishEvent(new ConsentStateChangedEvent(userId, ConsentState.of(c)));
     }
 
     // 복호화
@@ -93,6 +107,9 @@ public class OAuthCredentialService {
 
     @Transactional(readOnly = true)
     public boolean hasAllScopes(UUID userId, Set<String> required) {
+        if (GoogleScopes.representable(required)) {
+            return consentStateCache.get(userId).hasAllScopes(required);
+        }
         return credRepository.findByUser_Id(userId)
                 .filter(c -> !c.isRevoked())
                 .map(c -> splitScopes(c.getScopes()).containsAll(required))
@@ -124,6 +141,7 @@ public class OAuthCredentialService {
 
             // 2) 로컬 자격 증명 폐기
             c.revoke(); // tokens=null + revoked=true (nullable=true 전제)
+            publishConsentState(userId, c);
         });
     }
 }
\ No newline at end of file
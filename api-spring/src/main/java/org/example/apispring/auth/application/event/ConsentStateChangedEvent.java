@@ -0,0 +1,8 @@
+package org.example.apispring.auth.application.event;
+
+import org.example.apispring.auth.domain.ConsentState;
+
+import java.util.UUID;
+
+// oauth_credentials 저장/해제 후 바뀐 동의 상태 (커밋 이후 캐시에 반영)
+public record ConsentStateChangedEvent(UUID userId, ConsentState state) {}
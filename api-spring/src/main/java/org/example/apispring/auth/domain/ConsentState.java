@@ -0,0 +1,55 @@
+package org.example.apispring.auth.domain;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 로그인 시 동의 화면(prompt=consent)이 필요한지 판단하는 데 쓰는 oauth_credentials 요약
+// long 하나로 인코딩 → bit0 자격증명 있음, bit1 revoked, bit2 RT 있음, bit8~ GoogleScopes 비트셋
+public record ConsentState(boolean exists, boolean revoked, boolean hasRefreshToken, long scopeBits) {
+
+    public static final ConsentState NONE = new ConsentState(false, false, false, 0L);
+
+    private static final long EXISTS = 1L;
+    private static final long REVOKED = 1L << 1;
+    private static final long HAS_REFRESH_TOKEN = 1L << 2;
+    private static final int SCOPE_SHIFT = 8;
+
+    public static ConsentState of(OAuthCredentials c) {
+        if (c == null) return NONE;
+        String raw = c.getScopes();
+        Set<String> scopes = (raw == null || raw.isBlank())
+                ? Set.of()
+                : Arrays.stream(raw.trim().split("\\s+")).filter(s -> !s.isBlank()).collect(Collectors.toSet());
+        boolean hasRt = c.getRefreshTokenEnc() != null && !c.getRefreshTokenEnc().isBlank();
+        return new ConsentState(true, c.isRevoked(), hasRt, GoogleScopes.mask(scopes));
+    }
+
+    public long encode() {
+        long v = scopeBits << SCOPE_SHIFT;
+        if (exists) v |= EXISTS;
+        if (revoked) v |= REVOKED;
+        if (hasRefreshToken) v |= HAS_REFRESH_TOKEN;
+        return v;
+    }
+
+    public static ConsentState decode(long v) {
+        if ((v & EXISTS) == 0) return NONE;
+        return new ConsentState(true, (v & REVOKED) != 0, (v & HAS_REFRESH_TOKEN) != 0, v >>> SCOPE_SHIFT);
+    }
+
+    // required 는 GoogleScopes.representable 이어야 함
+    public boolean covers(Set<String> required) {
+        long need = GoogleScopes.mask(required);
+        return (scopeBits & need) == need;
+    }
+
+    // 최초 연결 / revoke 된 사용자 / RT 없음 / 스코프 추가 동의 필요
+    public boolean needPrompt(Set<String> required) {
+        return !exists || revoked || !hasRefreshToken || !covers(required);
+    }
+
+    public boolean hasAllScopes(Set<String> required) {
+        return exists && !revoked && covers(required);
+    }
+}
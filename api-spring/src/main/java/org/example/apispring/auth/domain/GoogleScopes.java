@@ -1,5 +1,7 @@
 package org.example.apispring.auth.domain;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 public final class GoogleScopes {
@@ -9,8 +11,37 @@ public final class GoogleScopes {
     public static final String EMAIL   = "email";
     public static final String PROFILE = "profile";
     public static final String YOUTUBE = "https://www.googleapis.com/auth/youtube";
+    public static final String YOUTUBE_READONLY = "https://www.googleapis.com/auth/youtube.readonly";
+    public static final String USERINFO_EMAIL   = "https://www.googleapis.com/auth/userinfo.email";
+    public static final String USERINFO_PROFILE = "https://www.googleapis.com/auth/userinfo.profile";
 
     public static final Set<String> REQUIRED = Set.of(
             OPENID, EMAIL, PROFILE, YOUTUBE
     );
+
+    // 동의 상태 비트셋의 비트 위치 (캐시에 저장된 값과 호환되도록 순서 변경 금지, 새 스코프는 뒤에 추가)
+    private static final List<String> BITS = List.of(
+            OPENID, EMAIL, PROFILE, YOUTUBE, YOUTUBE_READONLY, USERINFO_EMAIL, USERINFO_PROFILE
+    );
+
+    // 비트셋에 없는 스코프는 0
+    public static long bit(String scope) {
+        int i = BITS.indexOf(scope);
+        return i < 0 ? 0L : 1L << i;
+    }
+
+    // 모르는 스코프는 무시
+    public static long mask(Collection<String> scopes) {
+        long m = 0L;
+        for (String s : scopes) m |= bit(s);
+        return m;
+    }
+
+    // 모든 스코프가 비트셋으로 표현되는지 (아니면 비트셋으로 포함 여부를 판단할 수 없음)
+    public static boolean representable(Collection<String> scopes) {
+        for (String s : scopes) {
+            if (bit(s) == 0L) return false;
+        }
+        return true;
+    }
 }
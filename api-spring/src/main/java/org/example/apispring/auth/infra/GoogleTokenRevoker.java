@@ -1,23 +1,34 @@
 package org.example.apispring.auth.infra;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import java.net.*;
-import java.net.http.*;
-import java.nio.charset.StandardCharsets;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
 
 @Component
 public class GoogleTokenRevoker {
     private static final URI REVOCATION_URI = URI.create("https://oauth2.googleapis.com/revoke");
 
+    // 토큰 갱신과 같은 google-oauth 커넥션 풀 사용
+    private final RestTemplate rt;
+
+    public GoogleTokenRevoker(@Qualifier("googleOAuthRestTemplate") RestTemplate rt) {
+        this.rt = rt;
+    }
+
     public void revokeRefreshToken(String refreshToken) {
         if (refreshToken == null || refreshToken.isBlank()) return;
         try {
-            var body = "token=" + URLEncoder.encode(refreshToken, StandardCharsets.UTF_8);
-            var req = HttpRequest.newBuilder(REVOCATION_URI)
-                    .header("Content-Type", "application/x-www-form-urlencoded")
-                    .POST(HttpRequest.BodyPublishers.ofString(body))
-                    .build();
-            HttpClient.newHttpClient().send(req, HttpResponse.BodyHandlers.discarding());
+            var body = new LinkedMultiValueMap<String, String>();
+            body.add("token", refreshToken);
+            var headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+            rt.postForEntity(REVOCATION_URI, new HttpEntity<>(body, headers), Void.class);
         } catch (Exception ignored) {
         }
     }
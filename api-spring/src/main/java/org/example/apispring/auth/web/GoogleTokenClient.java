@@ -1,26 +1,27 @@
 package org.example.apispring.auth.web;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Map;
 
 @Component
-@RequiredArgsConstructor
 public class GoogleTokenClient {
-    private final RestTemplate rt = new RestTemplate();
+    private final RestTemplate rt;
 
     @Value("${spring.security.oauth2.client.registration.google.client-id}")
     String clientId;
     @Value("${spring.security.oauth2.client.registration.google.client-secret}")
     String clientSecret;
 
+    public GoogleTokenClient(@Qualifier("googleOAuthRestTemplate") RestTemplate rt) {
+        this.rt = rt;
+    }
+
     public RefreshResult refresh(String refreshToken) {
         var url = "https://oauth2.googleapis.com/token";
         var body = new LinkedMultiValueMap<String, String>();
@@ -34,20 +35,21 @@ public class GoogleTokenClient {
             headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
             var resp = rt.postForEntity(url, new HttpEntity<>(body, headers), Map.class);
 
+            // 공용 RestTemplate 은 상태 코드로 예외를 던지지 않음 → 직접 분기
             var m = resp.getBody();
+            if (resp.getStatusCode().value() == 400) {
+                Object err = (m != null ? m.get("error") : null); // invalid_grant 등
+                return RefreshResult.error(err instanceof String s ? s : "bad_request");
+            }
+            if (!resp.getStatusCode().is2xxSuccessful() || m == null) {
+                return RefreshResult.error("io_error");
+            }
+
             String accessToken = (String) m.get("access_token");
             Integer expiresIn  = (Integer) m.get("expires_in");
             String scopeJoined = (String) m.get("scope");
             return RefreshResult.ok(accessToken, expiresIn != null ? expiresIn : 3600, scopeJoined);
 
-        } catch (HttpClientErrorException.BadRequest e) {
-            String err = "bad_request";
-            try {
-                var m = new ObjectMapper().readValue(e.getResponseBodyAsString(), Map.class);
-                err = (String) m.getOrDefault("error", err); // invalid_grant 등
-            } catch (Exception ignored) {}
-            return RefreshResult.error(err);
-
         } catch (Exception e) {
             return RefreshResult.error("io_error");
         }
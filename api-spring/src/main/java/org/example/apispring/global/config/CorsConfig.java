@@ -32,6 +32,8 @@ public class CorsConfig {
         }
         for (String h : allowedHeaders.split(",")) cfg.addAllowedHeader(h.trim());
         for (String m : allowedMethods.split(",")) cfg.addAllowedMethod(m.trim());
+        // 추천 "더 보기" 커서 (브라우저에서 읽을 수 있도록)
+        cfg.addExposedHeader("X-Next-Cursor");
 
         cfg.setAllowCredentials(allowCredentials);
         cfg.setMaxAge(3600L);
@@ -1,82 +1,46 @@
 package org.example.apispring.global.config;
 
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
-import org.apache.hc.core5.http.io.SocketConfig;
-import org.apache.hc.client5.http.config.ConnectionConfig;
-import org.apache.hc.core5.util.Timeout;
+import org.example.apispring.global.http.OutboundHttpClients;
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.resilience.ResilienceProperties;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.IOException;
-
+// upstream 별 RestTemplate (풀/타임아웃/재시도 설정은 cloudify.http.upstreams.*)
 @Configuration
+@EnableConfigurationProperties({OutboundHttpProperties.class, ResilienceProperties.class})
 public class RestTemplateConfig {
 
+    private final OutboundHttpClients clients;
+
+    public RestTemplateConfig(OutboundHttpClients clients) {
+        this.clients = clients;
+    }
+
     @Bean
     @Qualifier("externalApiRestTemplate")
     public RestTemplate externalApiRestTemplate() {
-        return buildRestTemplate(3, 20, 100, 30);
+        return clients.restTemplate(OutboundHttpProperties.GEMINI);
     }
 
     @Bean
     @Qualifier("geniusRestTemplate")
     public RestTemplate geniusRestTemplate() {
-        return buildRestTemplate(3, 6, 100, 30);
+        return clients.restTemplate(OutboundHttpProperties.GENIUS);
     }
 
     @Bean
     @Qualifier("youtubeRestTemplate")
     public RestTemplate youtubeRestTemplate() {
-        return buildRestTemplate(3, 8, 100, 30);
+        return clients.restTemplate(OutboundHttpProperties.YOUTUBE);
     }
 
-    private RestTemplate buildRestTemplate(int connectTimeoutSec,
-                                           int socketTimeoutSec,
-                                           int maxConnTotal,
-                                           int maxConnPerRoute) {
-
-        SocketConfig socketConfig = SocketConfig.custom()
-                .setSoTimeout(Timeout.ofSeconds(socketTimeoutSec))
-                .build();
-
-        ConnectionConfig connectionConfig = ConnectionConfig.custom()
-                .setConnectTimeout(Timeout.ofSeconds(connectTimeoutSec))
-                .build();
-
-        PoolingHttpClientConnectionManager cm =
-                PoolingHttpClientConnectionManagerBuilder.create()
-                        .setDefaultSocketConfig(socketConfig)
-                        .setDefaultConnectionConfig(connectionConfig)
-                        .setMaxConnTotal(maxConnTotal)
-                        .setMaxConnPerRoute(maxConnPerRoute)
-                        .build();
-
-        CloseableHttpClient httpClient = HttpClients.custom()
-                .setConnectionManager(cm)
-                .evictExpiredConnections()
-                .evictIdleConnections(Timeout.ofSeconds(30))
-                .build();
-
-        HttpComponentsClientHttpRequestFactory factory =
-                new HttpComponentsClientHttpRequestFactory(httpClient);
-
-        RestTemplate rt = new RestTemplate(factory);
-
-        rt.setErrorHandler(new DefaultResponseErrorHandler() {
-            @Override
-            public boolean hasError(ClientHttpResponse response) throws IOException {
-                return false;
-            }
-        });
-
-        return rt;
+    @Bean
+    @Qualifier("googleOAuthRestTemplate")
+    public RestTemplate googleOAuthRestTemplate() {
+        return clients.restTemplate(OutboundHttpProperties.GOOGLE_OAUTH);
     }
 }
@@ -0,0 +1,18 @@
+package org.example.apispring.global.config;
+
+import org.example.apispring.global.web.PreEncodedJsonHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Jackson 보다 앞에 둬야 미리 인코딩된 본문을 다시 직렬화하지 않음
+        converters.add(0, new PreEncodedJsonHttpMessageConverter());
+    }
+}
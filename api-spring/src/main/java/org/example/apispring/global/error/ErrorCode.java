@@ -23,6 +23,8 @@ public enum ErrorCode {
     YOUTUBE_UPSTREAM_ERROR(1301, "Failed to call YouTube API", HttpStatus.BAD_GATEWAY),
     YOUTUBE_QUOTA_EXCEEDED(1302, "YouTube API quota exceeded", HttpStatus.TOO_MANY_REQUESTS),
     YOUTUBE_VIDEO_NOT_FOUND(1304, "YouTube video not found", HttpStatus.NOT_FOUND),
+    YOUTUBE_CIRCUIT_OPEN(1305, "YouTube API is temporarily unavailable (circuit open)", HttpStatus.SERVICE_UNAVAILABLE),
+    YOUTUBE_BULKHEAD_FULL(1306, "Too many concurrent YouTube API calls", HttpStatus.SERVICE_UNAVAILABLE),
 
     // 14XX Gemini / LLM 태그 추론
     GEMINI_API_KEY_MISSING(1400, "Gemini API key is not configured", HttpStatus.INTERNAL_SERVER_ERROR),
@@ -31,9 +33,16 @@ public enum ErrorCode {
     GEMINI_RESPONSE_INVALID(1403, "Invalid response from Gemini API", HttpStatus.BAD_GATEWAY),
     GEMINI_TAG_JSON_PARSE_ERROR(1404, "Failed to parse tag JSON from Gemini response", HttpStatus.BAD_GATEWAY),
     GEMINI_TAG_ENUM_MISMATCH(1405, "Gemini returned unsupported tag value", HttpStatus.BAD_REQUEST),
+    GEMINI_CIRCUIT_OPEN(1406, "Gemini API is temporarily unavailable (circuit open)", HttpStatus.SERVICE_UNAVAILABLE),
+    GEMINI_BULKHEAD_FULL(1407, "Too many concurrent Gemini API calls", HttpStatus.SERVICE_UNAVAILABLE),
+    GEMINI_AUTH_FAILED(1408, "Gemini API key is invalid or unauthorized", HttpStatus.INTERNAL_SERVER_ERROR),
+    GEMINI_BAD_REQUEST(1409, "Bad request to Gemini API", HttpStatus.BAD_GATEWAY),
 
     // 15XX 추천 도메인
     RECOMMENDATION_NO_CANDIDATES(1500, "No songs matched the given tags", HttpStatus.NOT_FOUND),
+    RECOMMENDATION_TIMEOUT(1501, "Recommendation candidate lookup timed out", HttpStatus.SERVICE_UNAVAILABLE),
+    RECOMMENDATION_OVERLOADED(1502, "Recommendation service is overloaded, retry shortly", HttpStatus.SERVICE_UNAVAILABLE),
+    RECOMMENDATION_CURSOR_INVALID(1503, "Recommendation cursor is invalid or expired", HttpStatus.NOT_FOUND),
     RECOMMENDATION_INTERNAL_ERROR(1599, "Failed to compute recommendations", HttpStatus.INTERNAL_SERVER_ERROR),
 
     // 16XX Genius 검색
@@ -43,6 +52,8 @@ public enum ErrorCode {
     GENIUS_RESPONSE_INVALID(1603, "Invalid response from Genius API", HttpStatus.BAD_GATEWAY),
     GENIUS_AUTH_FAILED(1604, "Genius API token is invalid or unauthorized", HttpStatus.INTERNAL_SERVER_ERROR),
     GENIUS_BAD_REQUEST(1605, "Bad request to Genius API", HttpStatus.BAD_GATEWAY),
+    GENIUS_CIRCUIT_OPEN(1606, "Genius API is temporarily unavailable (circuit open)", HttpStatus.SERVICE_UNAVAILABLE),
+    GENIUS_BULKHEAD_FULL(1607, "Too many concurrent Genius API calls", HttpStatus.SERVICE_UNAVAILABLE),
 
     // 2xxx 리소스
     RESOURCE_NOT_FOUND(2404, "Resource not found", HttpStatus.NOT_FOUND),
@@ -51,6 +62,9 @@ public enum ErrorCode {
     // 9xxx 공통
     VALIDATION_ERROR(9000, "Validation error", HttpStatus.BAD_REQUEST),
     DB_ERROR(9001, "Database error", HttpStatus.INTERNAL_SERVER_ERROR),
+    UPSTREAM_CIRCUIT_OPEN(9002, "Upstream service is temporarily unavailable (circuit open)", HttpStatus.SERVICE_UNAVAILABLE),
+    UPSTREAM_BULKHEAD_FULL(9003, "Too many concurrent upstream calls", HttpStatus.SERVICE_UNAVAILABLE),
+    RATE_LIMITED(9004, "Too many requests, retry later", HttpStatus.TOO_MANY_REQUESTS),
     INTERNAL_SERVER_ERROR(9999, "Unexpected server error", HttpStatus.INTERNAL_SERVER_ERROR);
 
     private final int code;
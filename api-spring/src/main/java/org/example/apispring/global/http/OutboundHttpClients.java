@@ -0,0 +1,167 @@
+package org.example.apispring.global.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.resilience.ResilienceInterceptor;
+import org.example.apispring.global.resilience.UpstreamResilience;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 외부 API 호출용 HTTP 클라이언트 모음 (upstream 하나당 JDK HttpClient 하나)
+// - HttpClient 가 커넥션 풀/TLS 세션을 upstream 단위로 재사용, HTTP/2 를 지원하면 한 커넥션에 다중화
+// - 응답 대기는 가상 스레드에서 (요청 스레드 수와 무관하게 동시 호출 가능)
+// - RestTemplate 인터셉터: 서킷/벌크헤드 → 메트릭 → gzip 해제 → 재시도(예산 내, jitter 백오프)
+@Slf4j
+@Component
+public class OutboundHttpClients {
+
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(5);
+
+    private final OutboundHttpProperties props;
+    private final UpstreamResilience resilience;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OutboundHttpClients(OutboundHttpProperties props,
+                               UpstreamResilience resilience,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        this(props, resilience, meterRegistry.getIfAvailable());
+    }
+
+    // meterRegistry 가 null 이면 메트릭 없이 동작
+    public OutboundHttpClients(OutboundHttpProperties props, UpstreamResilience resilience, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.resilience = resilience;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public RestTemplate restTemplate(String upstream) {
+        OutboundHttpProperties.Upstream cfg = props.upstream(upstream);
+
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient(upstream), executor);
+        factory.setReadTimeout(cfg.readTimeout());
+
+        RestTemplate rt = new RestTemplate(factory);
+
+        // 상태 코드 판단은 각 클라이언트가 직접 (기존 동작 유지)
+        rt.setErrorHandler(new DefaultResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) throws IOException {
+                return false;
+            }
+        });
+
+        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+        // 서킷/벌크헤드가 맨 앞: 거절된 호출은 메트릭·재시도까지 가지 않음
+        UpstreamResilience.Guard guard = (resilience != null ? resilience.guard(upstream) : null);
+        if (guard != null) {
+            interceptors.add(new ResilienceInterceptor(guard));
+        }
+        if (meterRegistry != null) {
+            interceptors.add(new UpstreamMetricsInterceptor(upstream, meterRegistry, inFlight(upstream)));
+        }
+        if (cfg.gzip()) {
+            interceptors.add(new GzipDecodingInterceptor());
+        }
+        // 재시도는 execution 을 반복 호출하므로 항상 마지막
+        interceptors.add(new RetryInterceptor(upstream, cfg, budget(upstream), meterRegistry));
+        rt.setInterceptors(interceptors);
+
+        return rt;
+    }
+
+    public HttpClient httpClient(String upstream) {
+        return clients.computeIfAbsent(upstream, name -> {
+            OutboundHttpProperties.Upstream cfg = props.upstream(name);
+            return HttpClient.newBuilder()
+                    .version(cfg.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(cfg.connectTimeout())
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .executor(executor)
+                    .build();
+        });
+    }
+
+    // 기동 직후 upstream 마다 HEAD 한 번 → TCP/TLS 핸드셰이크와 HTTP/2 협상을 첫 사용자 요청 전에 끝내 둠
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (Map.Entry<String, OutboundHttpProperties.Upstream> e : props.upstreams().entrySet()) {
+            String name = e.getKey();
+            String url = e.getValue().warmUpUrl();
+            if (url == null || url.isBlank()) continue;
+
+            HttpRequest req = HttpRequest.newBuilder(URI.create(url))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(WARM_UP_TIMEOUT)
+                    .build();
+
+            long t0 = System.nanoTime();
+            httpClient(name).sendAsync(req, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((res, ex) -> {
+                        long ms = (System.nanoTime() - t0) / 1_000_000;
+                        if (ex != null) {
+                            log.warn("[OutboundHttp:{}] warmup_failed err={} elapsedMs={}",
+                                    name, ex.getClass().getSimpleName(), ms);
+                        } else {
+                            log.info("[OutboundHttp:{}] warmup status={} version={} elapsedMs={}",
+                                    name, res.statusCode(), res.version(), ms);
+                        }
+                    });
+        }
+    }
+
+    private RetryBudget budget(String upstream) {
+        return budgets.computeIfAbsent(upstream, name -> {
+            OutboundHttpProperties.Upstream cfg = props.upstream(name);
+            RetryBudget b = new RetryBudget(cfg.retryBudgetRatio(), cfg.retryBudgetMax());
+            if (meterRegistry != null) {
+                meterRegistry.gauge("http.client.upstream.retry.budget", List.of(
+                        Tag.of("upstream", name)), b, RetryBudget::available);
+            }
+            return b;
+        });
+    }
+
+    private AtomicInteger inFlight(String upstream) {
+        return inFlight.computeIfAbsent(upstream, name -> {
+            AtomicInteger n = new AtomicInteger();
+            meterRegistry.gauge("http.client.upstream.inflight", List.of(
+                    Tag.of("upstream", name)), n);
+            return n;
+        });
+    }
+}
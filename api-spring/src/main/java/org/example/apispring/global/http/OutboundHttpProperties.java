@@ -0,0 +1,84 @@
+package org.example.apispring.global.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// 외부 API(upstream) 별 HTTP 클라이언트 설정 (cloudify.http.upstreams.<name>.*)
+// 비어 있는 값은 Upstream 기본값으로 채움
+@ConfigurationProperties(prefix = "cloudify.http")
+public record OutboundHttpProperties(Map<String, Upstream> upstreams) {
+
+    public static final String GEMINI = "gemini";
+    public static final String GENIUS = "genius";
+    public static final String YOUTUBE = "youtube";
+    public static final String GOOGLE_OAUTH = "google-oauth";
+
+    public OutboundHttpProperties {
+        // 설정에 없는 upstream 은 코드 기본값 사용
+        Map<String, Upstream> merged = new HashMap<>(defaultUpstreams());
+        if (upstreams != null) merged.putAll(upstreams);
+        upstreams = Map.copyOf(merged);
+    }
+
+    // 스프링 컨텍스트 없이 생성할 때(테스트 등)
+    public static OutboundHttpProperties defaults() {
+        return new OutboundHttpProperties(null);
+    }
+
+    public Upstream upstream(String name) {
+        Upstream u = upstreams.get(name);
+        return u != null ? u : Upstream.DEFAULT;
+    }
+
+    public record Upstream(
+            String warmUpUrl,
+            Duration connectTimeout,
+            Duration readTimeout,
+            Boolean http2,
+            Boolean gzip,
+            Integer maxAttempts,
+            Duration backoffBase,
+            Duration backoffMax,
+            Boolean retryNonIdempotent,
+            Double retryBudgetRatio,
+            Integer retryBudgetMax
+    ) {
+        static final Upstream DEFAULT = new Upstream(
+                null, null, null, null, null, null, null, null, null, null, null);
+
+        public Upstream {
+            if (connectTimeout == null) connectTimeout = Duration.ofSeconds(3);
+            if (readTimeout == null) readTimeout = Duration.ofSeconds(10);
+            if (http2 == null) http2 = true;
+            if (gzip == null) gzip = true;
+            if (maxAttempts == null || maxAttempts < 1) maxAttempts = 2;
+            if (backoffBase == null) backoffBase = Duration.ofMillis(100);
+            if (backoffMax == null) backoffMax = Duration.ofSeconds(1);
+            if (retryNonIdempotent == null) retryNonIdempotent = false;
+            // 요청 1건당 적립되는 재시도 토큰 (0.2 = 최대 20% 까지 재시도)
+            if (retryBudgetRatio == null) retryBudgetRatio = 0.2;
+            if (retryBudgetMax == null) retryBudgetMax = 20;
+        }
+    }
+
+    // 기존 buildRestTemplate 의 타임아웃 값을 그대로 기본값으로 유지
+    private static Map<String, Upstream> defaultUpstreams() {
+        return Map.of(
+                GEMINI, new Upstream("https://generativelanguage.googleapis.com/",
+                        Duration.ofSeconds(3), Duration.ofSeconds(20), true, true,
+                        1, null, null, false, null, null),
+                GENIUS, new Upstream("https://api.genius.com/",
+                        Duration.ofSeconds(3), Duration.ofSeconds(6), true, true,
+                        2, null, null, false, null, null),
+                YOUTUBE, new Upstream("https://www.googleapis.com/",
+                        Duration.ofSeconds(3), Duration.ofSeconds(8), true, true,
+                        2, null, null, false, null, null),
+                GOOGLE_OAUTH, new Upstream("https://oauth2.googleapis.com/",
+                        Duration.ofSeconds(3), Duration.ofSeconds(5), true, false,
+                        1, null, null, false, null, null)
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.apispring.global.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// upstream 단위 재시도 예산
+// - 최초 요청마다 ratio 만큼 적립, 재시도 1회에 1 차감 (상한 max)
+// - upstream 이 전면 장애일 때 재시도가 부하를 몇 배로 키우지 않도록 제한
+public final class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int max) {
+        this.depositPerRequest = Math.max(0, Math.round(ratio * SCALE));
+        this.capacity = Math.max(0, (long) max) * SCALE;
+        // 기동 직후에도 소량은 재시도할 수 있도록 절반을 채워 시작
+        this.balance = new AtomicLong(capacity / 2);
+    }
+
+    public void deposit() {
+        balance.accumulateAndGet(depositPerRequest, (cur, d) -> Math.min(capacity, cur + d));
+    }
+
+    public boolean tryWithdraw() {
+        while (true) {
+            long cur = balance.get();
+            if (cur < SCALE) return false;
+            if (balance.compareAndSet(cur, cur - SCALE)) return true;
+        }
+    }
+
+    public double available() {
+        return (double) balance.get() / SCALE;
+    }
+}
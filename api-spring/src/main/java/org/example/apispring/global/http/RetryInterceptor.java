@@ -0,0 +1,114 @@
+package org.example.apispring.global.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 일시 장애(연결 실패, 429/502/503/504)만 재시도
+// - 대기: full jitter 지수 백오프 (Retry-After 가 있으면 backoffMax 안에서 우선)
+// - 재시도마다 RetryBudget 에서 차감, 예산이 없으면 첫 응답/예외를 그대로 돌려줌
+// - 체인의 마지막 인터셉터여야 execution.execute 를 반복 호출할 수 있음
+@Slf4j
+final class RetryInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(429, 502, 503, 504);
+    private static final Set<HttpMethod> IDEMPOTENT = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private static final String METRIC = "http.client.upstream.retries";
+
+    private final String upstream;
+    private final OutboundHttpProperties.Upstream cfg;
+    private final RetryBudget budget;
+    private final MeterRegistry meterRegistry;
+
+    RetryInterceptor(String upstream, OutboundHttpProperties.Upstream cfg, RetryBudget budget, MeterRegistry meterRegistry) {
+        this.upstream = upstream;
+        this.cfg = cfg;
+        this.budget = budget;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        budget.deposit();
+
+        boolean retryable = cfg.retryNonIdempotent() || IDEMPOTENT.contains(request.getMethod());
+        int maxAttempts = retryable ? cfg.maxAttempts() : 1;
+
+        for (int attempt = 1; ; attempt++) {
+            long delayMs;
+            try {
+                ClientHttpResponse res = execution.execute(request, body);
+                int sc = res.getStatusCode().value();
+                if (attempt >= maxAttempts || !RETRYABLE_STATUS.contains(sc)) return res;
+                if (!budget.tryWithdraw()) {
+                    count("budget_exhausted");
+                    return res;
+                }
+                delayMs = delayMs(attempt, res.getHeaders().getFirst("Retry-After"));
+                res.close();
+                log.info("[OutboundHttp:{}] retry attempt={} status={} delayMs={}", upstream, attempt, sc, delayMs);
+
+            } catch (IOException e) {
+                // 응답 타임아웃은 이미 readTimeout 만큼 기다린 것 → 재시도하지 않음 (연결 타임아웃은 재시도)
+                if (attempt >= maxAttempts || isResponseTimeout(e)) throw e;
+                if (!budget.tryWithdraw()) {
+                    count("budget_exhausted");
+                    throw e;
+                }
+                delayMs = delayMs(attempt, null);
+                log.info("[OutboundHttp:{}] retry attempt={} err={} delayMs={}",
+                        upstream, attempt, e.getClass().getSimpleName(), delayMs);
+            }
+
+            count("retried");
+            sleep(delayMs);
+        }
+    }
+
+    private static boolean isResponseTimeout(IOException e) {
+        if (e instanceof HttpConnectTimeoutException) return false;
+        return e instanceof HttpTimeoutException || e instanceof InterruptedIOException;
+    }
+
+    private long delayMs(int attempt, String retryAfter) {
+        long max = cfg.backoffMax().toMillis();
+        if (retryAfter != null) {
+            try {
+                long sec = Long.parseLong(retryAfter.trim());
+                if (sec >= 0 && sec * 1000 <= max) return sec * 1000;
+            } catch (NumberFormatException ignored) {
+                // HTTP-date 형식은 무시하고 백오프 사용
+            }
+        }
+        long cap = Math.min(max, cfg.backoffBase().toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static void sleep(long ms) throws IOException {
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("retry backoff interrupted");
+        }
+    }
+
+    private void count(String outcome) {
+        if (meterRegistry == null) return;
+        meterRegistry.counter(METRIC, "upstream", upstream, "outcome", outcome).increment();
+    }
+}
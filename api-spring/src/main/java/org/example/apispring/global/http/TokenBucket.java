@@ -0,0 +1,53 @@
+package org.example.apispring.global.http;
+
+import java.util.function.LongSupplier;
+
+// 초당 ratePerSecond 개씩 채워지는 토큰 버킷 (최대 burst 개)
+// - upstream 쿼터(RPM 등) 안에서 배치 작업이 호출 간격을 스스로 맞추도록 사용
+public final class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double ratePerNano;
+    private final double capacity;
+    private final LongSupplier clock;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    public TokenBucket(double ratePerSecond, int burst, LongSupplier clock) {
+        this.ratePerNano = Math.max(1e-9, ratePerSecond) / NANOS_PER_SECOND;
+        this.capacity = Math.max(1, burst);
+        this.clock = clock;
+        this.tokens = capacity;
+        this.lastRefill = clock.getAsLong();
+    }
+
+    // 토큰이 있으면 꺼내고 0, 없으면 다음 토큰까지 남은 시간(ns)
+    public synchronized long tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / ratePerNano);
+    }
+
+    // 토큰이 생길 때까지 대기
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquire()) > 0) {
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        }
+    }
+
+    private void refill() {
+        long now = clock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.apispring.global.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// upstream 별 호출 시간(재시도 포함) + 진행 중 요청 수
+final class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String METRIC = "http.client.upstream.requests";
+
+    private final String upstream;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight;
+
+    UpstreamMetricsInterceptor(String upstream, MeterRegistry meterRegistry, AtomicInteger inFlight) {
+        this.upstream = upstream;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = inFlight;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        long t0 = System.nanoTime();
+        String outcome = "IO_ERROR";
+        inFlight.incrementAndGet();
+        try {
+            ClientHttpResponse res = execution.execute(request, body);
+            outcome = String.valueOf(res.getStatusCode().value());
+            return res;
+        } finally {
+            inFlight.decrementAndGet();
+            Timer.builder(METRIC)
+                    .tag("upstream", upstream)
+                    .tag("method", request.getMethod().name())
+                    .tag("status", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.apispring.global.ratelimit;
+
+// 초당 ratePerSecond 건, 순간 burst 건까지 허용하는 GCRA 한도
+// lease: Redis 에서 한 번에 받아 와 로컬에서 나눠 쓰는 허가 수 (1 이면 매 요청 Redis 확인)
+public record GcraLimit(double ratePerSecond, int burst, int lease) {
+
+    public GcraLimit {
+        if (ratePerSecond <= 0) throw new IllegalArgumentException("ratePerSecond must be > 0");
+        burst = Math.max(1, burst);
+        lease = Math.max(1, Math.min(lease, burst));
+    }
+
+    public static GcraLimit perMinute(double perMinute, int burst, int lease) {
+        return new GcraLimit(perMinute / 60.0, burst, lease);
+    }
+
+    // 허가 하나가 차지하는 시간 (ms)
+    double intervalMs() {
+        return 1000.0 / ratePerSecond;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.apispring.global.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.global.error.ErrorResponse;
+import org.example.apispring.global.security.jwt.JwtPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+// /api/recommend/by-text 호출 제한 (JwtAuthFilter 뒤 → 로그인 사용자 userId 기준 + 전역 한도)
+// 요청마다 Gemini 쿼터와 DB 조회를 쓰므로 한도를 넘으면 컨트롤러까지 가지 않고 429 + Retry-After
+// - 익명 요청은 바로 뒤 인가 단계에서 401 이므로 세지 않음 (전역 한도를 익명 트래픽이 소모하지 않도록)
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String ROUTE = "by-text";
+    private static final String PATH = "/api/recommend/by-text";
+
+    // 같은 route 의 키는 한 슬롯에 (클러스터에서도 Lua 의 두 키가 같은 노드)
+    private static final String KEY_PREFIX = "rl:{" + ROUTE + "}:";
+
+    private final RedisRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper om;
+
+    @Value("${cloudify.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cloudify.ratelimit.byText.userPerMinute:20}")
+    private double userPerMinute;
+
+    @Value("${cloudify.ratelimit.byText.userBurst:5}")
+    private int userBurst;
+
+    @Value("${cloudify.ratelimit.byText.userLease:2}")
+    private int userLease;
+
+    @Value("${cloudify.ratelimit.byText.globalPerSecond:20}")
+    private double globalPerSecond;
+
+    @Value("${cloudify.ratelimit.byText.globalBurst:40}")
+    private int globalBurst;
+
+    @Value("${cloudify.ratelimit.byText.globalLease:10}")
+    private int globalLease;
+
+    private GcraLimit userLimit;
+    private GcraLimit globalLimit;
+
+    @PostConstruct
+    void init() {
+        userLimit = GcraLimit.perMinute(userPerMinute, userBurst, userLease);
+        globalLimit = new GcraLimit(globalPerSecond, globalBurst, globalLease);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        return !enabled || !HttpMethod.POST.matches(req.getMethod()) || !PATH.equals(req.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof JwtPrincipal principal)) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        RedisRateLimiter.Decision d = rateLimiter.tryAcquire(
+                KEY_PREFIX + "user:" + principal.userId(), userLimit, KEY_PREFIX + "global", globalLimit);
+
+        meterRegistry.counter("ratelimit.requests",
+                "route", ROUTE,
+                "outcome", d.outcome().name().toLowerCase(Locale.ROOT)).increment();
+
+        if (d.allowed()) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        res.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (d.retryAfterMs() + 999) / 1000)));
+        ErrorResponse.write(res, om, ErrorCode.RATE_LIMITED, null);
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.apispring.global.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 여러 노드가 공유하는 GCRA 레이트 리미터 (주체별 한도 + 전역 한도를 Lua 한 번으로 원자적으로 확인)
+// - 허용되면 lease 만큼 미리 받아 두고 로컬에서 소진 → 대부분의 요청은 Redis 왕복 없음
+//   (노드당 초과 허용은 lease-1 건, 못 쓴 lease 는 leaseTtlMs 후 버림 = 덜 허용하는 쪽)
+// - 거절되면 Retry-After 동안 로컬에서 바로 거절 → 남용 트래픽이 Redis/다른 사용자 지연에 영향 없음
+// - Redis 장애 시에는 허용 (fail-open, FAIL_OPEN 으로 구분해서 집계)
+@Slf4j
+@Component
+public class RedisRateLimiter {
+
+    // KEYS[i] 에 TAT(theoretical arrival time, ms) 저장, cost 0 이면 해당 키는 확인/차감 안 함
+    // ARGV: interval1, burst1, cost1, interval2, burst2, cost2 → {허용 여부, 재시도까지 ms, 막힌 키(1|2)}
+    private static final String GCRA_LUA = """
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local function check(key, interval, burst, cost)
+              if cost <= 0 then return nil, 0 end
+              local tat = tonumber(redis.call('GET', key) or now)
+              if tat < now then tat = now end
+              local newTat = tat + interval * cost
+              local allowAt = newTat - interval * burst
+              if allowAt > now then return nil, math.ceil(allowAt - now) end
+              return math.ceil(newTat), 0
+            end
+            local tat1, wait1 = check(KEYS[1], tonumber(ARGV[1]), tonumber(ARGV[2]), tonumber(ARGV[3]))
+            if wait1 > 0 then return {0, wait1, 1} end
+            local tat2, wait2 = check(KEYS[2], tonumber(ARGV[4]), tonumber(ARGV[5]), tonumber(ARGV[6]))
+            if wait2 > 0 then return {0, wait2, 2} end
+            if tat1 then redis.call('SET', KEYS[1], tat1, 'PX', math.max(1, tat1 - now)) end
+            if tat2 then redis.call('SET', KEYS[2], tat2, 'PX', math.max(1, tat2 - now)) end
+            return {1, 0, 0}
+            """;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List> SCRIPT = new DefaultRedisScript<>(GCRA_LUA, List.class);
+
+    public enum Outcome { ALLOWED_LOCAL, ALLOWED_REMOTE, DENIED_LOCAL, DENIED_REMOTE, FAIL_OPEN }
+
+    public record Decision(Outcome outcome, long retryAfterMs) {
+        public boolean allowed() {
+            return outcome == Outcome.ALLOWED_LOCAL || outcome == Outcome.ALLOWED_REMOTE || outcome == Outcome.FAIL_OPEN;
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final int maxLocalEntries;
+    private final long leaseTtlNanos;
+
+    private final Map<String, Local> locals;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate,
+                            @Value("${cloudify.ratelimit.localEntries:10000}") int maxLocalEntries,
+                            @Value("${cloudify.ratelimit.leaseTtlMs:1000}") long leaseTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.maxLocalEntries = maxLocalEntries;
+        this.leaseTtlNanos = TimeUnit.MILLISECONDS.toNanos(leaseTtlMs);
+        this.locals = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Local> eldest) {
+                return size() > RedisRateLimiter.this.maxLocalEntries;
+            }
+        };
+    }
+
+    public Decision tryAcquire(String subjectKey, GcraLimit subjectLimit, String globalKey, GcraLimit globalLimit) {
+        long now = System.nanoTime();
+        Local subject = local(subjectKey, now);
+        Local global = local(globalKey, now);
+
+        long blocked = Math.max(subject.blockedFor(now), global.blockedFor(now));
+        if (blocked > 0) return new Decision(Outcome.DENIED_LOCAL, ceilMillis(blocked));
+
+        boolean subjectLocal = subject.take(now);
+        boolean globalLocal = global.take(now);
+        if (subjectLocal && globalLocal) return new Decision(Outcome.ALLOWED_LOCAL, 0);
+
+        int subjectCost = subjectLocal ? 0 : subjectLimit.lease();
+        int globalCost = globalLocal ? 0 : globalLimit.lease();
+
+        List<Long> r;
+        try {
+            r = eval(subjectKey, subjectLimit, subjectCost, globalKey, globalLimit, globalCost);
+            if (r.get(0) == 0 && (subjectCost > 1 || globalCost > 1)) {
+                // 남은 허용량이 lease 보다 적을 수 있으니 한 건만 다시 요청
+                subjectCost = Math.min(subjectCost, 1);
+                globalCost = Math.min(globalCost, 1);
+                r = eval(subjectKey, subjectLimit, subjectCost, globalKey, globalLimit, globalCost);
+            }
+        } catch (RuntimeException e) {
+            log.debug("[RateLimit] redis_failed ex={}", e.getClass().getSimpleName());
+            return new Decision(Outcome.FAIL_OPEN, 0);
+        }
+
+        if (r.get(0) == 1) {
+            long expiresAt = now + leaseTtlNanos;
+            if (subjectCost > 0) subject.grant(subjectCost - 1, expiresAt);
+            if (globalCost > 0) global.grant(globalCost - 1, expiresAt);
+            return new Decision(Outcome.ALLOWED_REMOTE, 0);
+        }
+
+        // 로컬에서 꺼낸 토큰은 이번 요청에 쓰지 않았으니 돌려놓음
+        if (subjectLocal) subject.giveBack();
+        if (globalLocal) global.giveBack();
+
+        long retryMs = Math.max(1, r.get(1));
+        (r.get(2) == 1 ? subject : global).block(now + TimeUnit.MILLISECONDS.toNanos(retryMs));
+        return new Decision(Outcome.DENIED_REMOTE, retryMs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> eval(String subjectKey, GcraLimit subjectLimit, int subjectCost,
+                            String globalKey, GcraLimit globalLimit, int globalCost) {
+        List<Long> r = (List<Long>) redisTemplate.execute(SCRIPT, List.of(subjectKey, globalKey),
+                Double.toString(subjectLimit.intervalMs()), Integer.toString(subjectLimit.burst()), Integer.toString(subjectCost),
+                Double.toString(globalLimit.intervalMs()), Integer.toString(globalLimit.burst()), Integer.toString(globalCost));
+        if (r == null || r.size() < 3) throw new IllegalStateException("unexpected script result");
+        return r;
+    }
+
+    private Local local(String key, long now) {
+        synchronized (locals) {
+            return locals.computeIfAbsent(key, k -> new Local(now));
+        }
+    }
+
+    private static long ceilMillis(long nanos) {
+        return Math.max(1, (nanos + 999_999) / 1_000_000);
+    }
+
+    // 키별 로컬 상태: Redis 에서 받아 둔 허가(lease)와 거절 캐시
+    private static final class Local {
+        private int tokens;
+        private long leaseExpiresAt;
+        private long blockedUntil;
+
+        // nanoTime 은 음수일 수 있으므로 생성 시각을 기준값으로
+        Local(long now) {
+            this.leaseExpiresAt = now;
+            this.blockedUntil = now;
+        }
+
+        synchronized long blockedFor(long now) {
+            long d = blockedUntil - now;
+            return d > 0 ? d : 0;
+        }
+
+        synchronized boolean take(long now) {
+            if (tokens > 0 && now - leaseExpiresAt < 0) {
+                tokens--;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void grant(int n, long expiresAt) {
+            tokens = n;
+            leaseExpiresAt = expiresAt;
+        }
+
+        synchronized void giveBack() {
+            tokens++;
+        }
+
+        synchronized void block(long until) {
+            if (until - blockedUntil > 0) blockedUntil = until;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.apispring.global.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// GradientLimit 한도만큼만 동시에 처리, 넘치면 최대 maxQueue 건이 maxWait 동안 대기 후 포기
+// - 큐를 짧게 두어 느려질 때 스레드가 쌓이지 않고 바로 거절(부하 차단)
+public final class AdaptiveConcurrencyLimiter {
+
+    private final GradientLimit limit;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private int inFlight;
+    private int waiting;
+
+    public AdaptiveConcurrencyLimiter(GradientLimit limit, int maxQueue, long maxWaitMs) {
+        this.limit = limit;
+        this.maxQueue = Math.max(0, maxQueue);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+    }
+
+    // 자리를 얻으면 true → 처리 후 반드시 release
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight < limit.limit()) {
+                inFlight++;
+                return true;
+            }
+            if (waiting >= maxQueue) return false;
+
+            waiting++;
+            try {
+                long nanos = maxWaitNanos;
+                while (inFlight >= limit.limit()) {
+                    if (nanos <= 0) return false;
+                    nanos = released.awaitNanos(nanos);
+                }
+                inFlight++;
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long rttNanos, boolean dropped) {
+        lock.lock();
+        try {
+            limit.onSample(rttNanos, inFlight, dropped);
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return limit.limit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
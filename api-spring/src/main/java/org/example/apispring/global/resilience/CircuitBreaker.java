@@ -0,0 +1,125 @@
+package org.example.apispring.global.resilience;
+
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+// 최근 windowSize 건 기준 서킷 브레이커
+// - CLOSED: 실패율 또는 느린 호출 비율이 임계치를 넘으면 OPEN
+// - OPEN: openDuration 동안 즉시 거절, 이후 HALF_OPEN
+// - HALF_OPEN: halfOpenCalls 건만 통과, 모두 정상이면 CLOSED / 하나라도 실패하면 다시 OPEN
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final ResilienceProperties.Policy policy;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private final BiConsumer<State, State> onTransition;
+
+    // 링 버퍼: 0 = 정상, 1 = 실패, 2 = 느림(성공), 3 = 느림 + 실패
+    private final byte[] window;
+    private int head;
+    private int recorded;
+    private int failures;
+    private int slow;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(ResilienceProperties.Policy policy, LongSupplier clock, BiConsumer<State, State> onTransition) {
+        this.policy = policy;
+        this.slowCallNanos = policy.slowCallDuration().toNanos();
+        this.openNanos = policy.openDuration().toNanos();
+        this.clock = clock;
+        this.onTransition = onTransition;
+        this.window = new byte[policy.windowSize()];
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) return false;
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= policy.halfOpenCalls()) return false;
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onResult(boolean failed, long durationNanos) {
+        boolean isSlow = durationNanos >= slowCallNanos;
+
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            if (failed || isSlow) {
+                open();
+                return;
+            }
+            if (++halfOpenSucceeded >= policy.halfOpenCalls()) {
+                resetWindow();
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) return; // OPEN 중에 늦게 끝난 호출은 무시
+
+        record(failed, isSlow);
+        if (recorded < policy.minimumCalls()) return;
+
+        double failureRate = (double) failures / recorded;
+        double slowRate = (double) slow / recorded;
+        if (failureRate >= policy.failureRateThreshold() || slowRate >= policy.slowCallRateThreshold()) {
+            open();
+        }
+    }
+
+    // tryAcquire 후 호출하지 않고 포기한 경우
+    public synchronized void cancel() {
+        if (state == State.HALF_OPEN) halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed, boolean isSlow) {
+        if (recorded == window.length) {
+            byte old = window[head];
+            if ((old & 1) != 0) failures--;
+            if ((old & 2) != 0) slow--;
+        } else {
+            recorded++;
+        }
+        byte v = (byte) ((failed ? 1 : 0) | (isSlow ? 2 : 0));
+        window[head] = v;
+        head = (head + 1) % window.length;
+        if (failed) failures++;
+        if (isSlow) slow++;
+    }
+
+    private void open() {
+        openedAt = clock.getAsLong();
+        resetWindow();
+        transition(State.OPEN);
+    }
+
+    private void resetWindow() {
+        head = 0;
+        recorded = 0;
+        failures = 0;
+        slow = 0;
+        halfOpenInFlight = 0;
+        halfOpenSucceeded = 0;
+    }
+
+    private void transition(State to) {
+        State from = state;
+        if (from == to) return;
+        state = to;
+        onTransition.accept(from, to);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.apispring.global.resilience;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.global.error.ErrorResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// /api/recommend/** 동시 처리 수를 응답 시간 기반으로 조절 (Gemini/DB 가 느려지면 한도가 줄어듦)
+// - 한도를 넘으면 짧게 대기, 큐도 차면 바로 503 + Retry-After → 스레드가 쌓여 전체가 타임아웃나는 것을 막음
+// - 나머지 경로(health, auth, fill 등)는 이 한도와 무관하게 바로 통과 (우선 처리)
+// - 보안 필터 체인 뒤에서 실행 → 호출 제한(RateLimitFilter)에 걸린 요청은 자리를 차지하지 않음
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String ROUTE = "recommend";
+    private static final String PATH_PREFIX = "/api/recommend/";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper om;
+
+    @Value("${cloudify.concurrency.recommend.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cloudify.concurrency.recommend.initialLimit:20}")
+    private int initialLimit;
+
+    @Value("${cloudify.concurrency.recommend.minLimit:4}")
+    private int minLimit;
+
+    @Value("${cloudify.concurrency.recommend.maxLimit:200}")
+    private int maxLimit;
+
+    @Value("${cloudify.concurrency.recommend.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${cloudify.concurrency.recommend.maxQueue:20}")
+    private int maxQueue;
+
+    @Value("${cloudify.concurrency.recommend.maxQueueWaitMs:50}")
+    private long maxQueueWaitMs;
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @PostConstruct
+    void init() {
+        limiter = new AdaptiveConcurrencyLimiter(
+                new GradientLimit(initialLimit, minLimit, maxLimit, smoothing),
+                maxQueue, maxQueueWaitMs);
+
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .tag("route", ROUTE).register(meterRegistry);
+        Gauge.builder("concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .tag("route", ROUTE).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        return !enabled || !req.getRequestURI().startsWith(PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+
+        if (!limiter.tryAcquire()) {
+            meterRegistry.counter("concurrency.rejected", "route", ROUTE).increment();
+            log.debug("[ConcurrencyLimit] rejected route={} limit={}", ROUTE, limiter.limit());
+            res.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            ErrorResponse.write(res, om, ErrorCode.RECOMMENDATION_OVERLOADED, null);
+            return;
+        }
+
+        // 5xx/예외(타임아웃 포함)는 과부하 신호 → 한도를 바로 줄임
+        long t0 = System.nanoTime();
+        boolean dropped = true;
+        try {
+            chain.doFilter(req, res);
+            dropped = res.getStatus() >= 500;
+        } finally {
+            limiter.release(System.nanoTime() - t0, dropped);
+        }
+    }
+}
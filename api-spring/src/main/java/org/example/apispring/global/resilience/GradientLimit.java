@@ -0,0 +1,58 @@
+package org.example.apispring.global.resilience;
+
+// 지연 시간 기울기로 동시 처리 한도를 조절 (Netflix concurrency-limits 의 Gradient2 방식)
+// - longRtt(장기 EWMA) 대비 이번 응답 시간이 늘면 한도를 줄이고, 비슷하면 sqrt(limit) 만큼 여유를 두고 늘림
+// - 실패/타임아웃(drop)은 즉시 backoffRatio 배로 줄임
+// - 한도의 절반도 안 쓰는 중이면 늘리지 않음 (부하가 없어서 빠른 것일 수 있음)
+// 동기화는 호출자 책임
+public final class GradientLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+
+    private double limit;
+    private double longRtt;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double smoothing) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.smoothing = smoothing;
+        this.limit = clamp(initialLimit);
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = clamp(limit * BACKOFF_RATIO);
+            return;
+        }
+        if (rttNanos <= 0) return;
+
+        double shortRtt = rttNanos;
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) * (2.0 / (LONG_WINDOW + 1));
+            // 부하가 빠진 뒤 장기 평균이 너무 높게 남아 있으면 빨리 따라 내려옴
+            if (longRtt / shortRtt > 2.0) longRtt *= 0.95;
+        }
+
+        if (inFlight < limit / 2) return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double next = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - smoothing) + next * smoothing);
+    }
+
+    private double clamp(double v) {
+        return Math.max(minLimit, Math.min(maxLimit, v));
+    }
+}
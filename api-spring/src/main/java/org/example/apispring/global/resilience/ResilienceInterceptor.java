@@ -0,0 +1,53 @@
+package org.example.apispring.global.resilience;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+
+// RestTemplate 체인 맨 앞: 브레이커/벌크헤드 통과 후 호출, 결과(재시도 포함 한 건)를 브레이커에 기록
+// 실패 = IO 예외, 429, 5xx  (그 외 4xx 는 요청 쪽 문제라 upstream 장애로 보지 않음)
+// 호출 스레드가 interrupt 로 취소된 경우(hedge 에서 진 쪽, 기한 초과)는 upstream 결과가 아니라 기록하지 않음
+public final class ResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    private final UpstreamResilience.Guard guard;
+
+    public ResilienceInterceptor(UpstreamResilience.Guard guard) {
+        this.guard = guard;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        guard.acquire();
+
+        long t0 = System.nanoTime();
+        boolean failed = true;
+        boolean cancelled = false;
+        try {
+            ClientHttpResponse res = execution.execute(request, body);
+            int sc = res.getStatusCode().value();
+            failed = (sc == 429 || sc >= 500);
+            return res;
+        } catch (IOException | RuntimeException e) {
+            cancelled = isCancellation(e);
+            throw e;
+        } finally {
+            if (cancelled) {
+                guard.cancel();
+            } else {
+                guard.release(failed, System.nanoTime() - t0);
+            }
+        }
+    }
+
+    // JDK 요청 팩토리는 interrupt 를 IOException 으로 바꿔 던짐 (interrupt 플래그는 남김)
+    // SocketTimeoutException 도 InterruptedIOException 이지만 실제 타임아웃이므로 실패로 기록
+    private static boolean isCancellation(Exception e) {
+        if (Thread.currentThread().isInterrupted()) return true;
+        return e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.apispring.global.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// upstream 별 서킷 브레이커 / 벌크헤드 설정 (cloudify.resilience.upstreams.<name>.*)
+@ConfigurationProperties(prefix = "cloudify.resilience")
+public record ResilienceProperties(Map<String, Policy> upstreams) {
+
+    public ResilienceProperties {
+        Map<String, Policy> merged = new HashMap<>(defaultPolicies());
+        if (upstreams != null) merged.putAll(upstreams);
+        upstreams = Map.copyOf(merged);
+    }
+
+    public static ResilienceProperties defaults() {
+        return new ResilienceProperties(null);
+    }
+
+    // 설정이 없는 upstream 은 보호하지 않음
+    public Policy policy(String name) {
+        return upstreams.get(name);
+    }
+
+    public record Policy(
+            Integer windowSize,            // 최근 N 건으로 실패율/지연율 계산
+            Integer minimumCalls,          // 이보다 적으면 판단 보류
+            Double failureRateThreshold,   // 실패율 ≥ 이 값이면 OPEN
+            Double slowCallRateThreshold,  // 느린 호출 비율 ≥ 이 값이면 OPEN
+            Duration slowCallDuration,
+            Duration openDuration,         // OPEN 유지 후 HALF_OPEN 으로
+            Integer halfOpenCalls,         // HALF_OPEN 에서 시험 호출 수
+            Integer maxConcurrent,         // 벌크헤드 동시 호출 수
+            Duration maxWait               // 벌크헤드 대기 한도 (0 = 즉시 거절)
+    ) {
+        public Policy {
+            if (windowSize == null || windowSize < 1) windowSize = 20;
+            if (minimumCalls == null || minimumCalls < 1) minimumCalls = 10;
+            if (failureRateThreshold == null) failureRateThreshold = 0.5;
+            if (slowCallRateThreshold == null) slowCallRateThreshold = 0.8;
+            if (slowCallDuration == null) slowCallDuration = Duration.ofSeconds(3);
+            if (openDuration == null) openDuration = Duration.ofSeconds(15);
+            if (halfOpenCalls == null || halfOpenCalls < 1) halfOpenCalls = 3;
+            if (maxConcurrent == null || maxConcurrent < 1) maxConcurrent = 8;
+            if (maxWait == null) maxWait = Duration.ZERO;
+        }
+    }
+
+    private static Map<String, Policy> defaultPolicies() {
+        return Map.of(
+                // 요청 경로: 짧게 기다리고 빨리 포기
+                "gemini", new Policy(20, 10, 0.5, 0.8, Duration.ofSeconds(5), Duration.ofSeconds(15), 3,
+                        16, Duration.ofMillis(50)),
+                // 배치 경로: 동시성은 작게, 자리가 날 때까지는 조금 기다림
+                "genius", new Policy(20, 10, 0.5, 0.8, Duration.ofSeconds(3), Duration.ofSeconds(30), 3,
+                        4, Duration.ofMillis(500)),
+                "youtube", new Policy(20, 10, 0.5, 0.8, Duration.ofSeconds(3), Duration.ofSeconds(30), 3,
+                        4, Duration.ofMillis(500))
+        );
+    }
+}
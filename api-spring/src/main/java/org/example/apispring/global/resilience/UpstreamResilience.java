@@ -0,0 +1,141 @@
+package org.example.apispring.global.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// upstream 별 서킷 브레이커 + 세마포어 벌크헤드
+// - 열려 있거나 자리가 없으면 upstream 에 요청을 보내지 않고 즉시 BusinessException
+// - 상태 전이는 resilience.circuit.transitions 카운터, 현재 상태는 resilience.circuit.state 게이지(0/1/2)
+@Slf4j
+@Component
+public class UpstreamResilience {
+
+    private record RejectCodes(ErrorCode circuitOpen, ErrorCode bulkheadFull) {}
+
+    private static final RejectCodes DEFAULT_CODES =
+            new RejectCodes(ErrorCode.UPSTREAM_CIRCUIT_OPEN, ErrorCode.UPSTREAM_BULKHEAD_FULL);
+
+    private static final Map<String, RejectCodes> REJECT_CODES = Map.of(
+            "gemini", new RejectCodes(ErrorCode.GEMINI_CIRCUIT_OPEN, ErrorCode.GEMINI_BULKHEAD_FULL),
+            "genius", new RejectCodes(ErrorCode.GENIUS_CIRCUIT_OPEN, ErrorCode.GENIUS_BULKHEAD_FULL),
+            "youtube", new RejectCodes(ErrorCode.YOUTUBE_CIRCUIT_OPEN, ErrorCode.YOUTUBE_BULKHEAD_FULL)
+    );
+
+    private final ResilienceProperties props;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UpstreamResilience(ResilienceProperties props, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(props, meterRegistry.getIfAvailable());
+    }
+
+    public UpstreamResilience(ResilienceProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // 정책이 없는 upstream 이면 null (보호 없음)
+    public Guard guard(String upstream) {
+        ResilienceProperties.Policy policy = props.policy(upstream);
+        if (policy == null) return null;
+        return guards.computeIfAbsent(upstream, name -> newGuard(name, policy));
+    }
+
+    // 호출 전에 확인만 (자리 차지 없음) - 폴백 경로 선택용
+    public boolean isOpen(String upstream) {
+        Guard g = guard(upstream);
+        return g != null && g.breaker.state() == CircuitBreaker.State.OPEN;
+    }
+
+    private Guard newGuard(String name, ResilienceProperties.Policy policy) {
+        CircuitBreaker breaker = new CircuitBreaker(policy, System::nanoTime, (from, to) -> {
+            log.warn("[Resilience:{}] circuit {} -> {}", name, from, to);
+            if (meterRegistry != null) {
+                meterRegistry.counter("resilience.circuit.transitions",
+                        "upstream", name, "from", from.name(), "to", to.name()).increment();
+            }
+        });
+        Guard g = new Guard(name, breaker, new Semaphore(policy.maxConcurrent()), policy.maxWait().toNanos(),
+                REJECT_CODES.getOrDefault(name, DEFAULT_CODES));
+        if (meterRegistry != null) {
+            meterRegistry.gauge("resilience.circuit.state", List.of(Tag.of("upstream", name)),
+                    breaker, b -> b.state().ordinal());
+            meterRegistry.gauge("resilience.bulkhead.available", List.of(Tag.of("upstream", name)),
+                    g.bulkhead, Semaphore::availablePermits);
+        }
+        return g;
+    }
+
+    private void rejected(String upstream, String reason) {
+        if (meterRegistry == null) return;
+        meterRegistry.counter("resilience.rejected", "upstream", upstream, "reason", reason).increment();
+    }
+
+    public final class Guard {
+        private final String upstream;
+        private final CircuitBreaker breaker;
+        private final Semaphore bulkhead;
+        private final long maxWaitNanos;
+        private final RejectCodes codes;
+
+        private Guard(String upstream, CircuitBreaker breaker, Semaphore bulkhead, long maxWaitNanos, RejectCodes codes) {
+            this.upstream = upstream;
+            this.breaker = breaker;
+            this.bulkhead = bulkhead;
+            this.maxWaitNanos = maxWaitNanos;
+            this.codes = codes;
+        }
+
+        // 통과하면 반드시 release 호출
+        public void acquire() {
+            if (!breaker.tryAcquire()) {
+                rejected(upstream, "circuit_open");
+                throw new BusinessException(codes.circuitOpen(), "upstream=" + upstream);
+            }
+
+            boolean permitted;
+            try {
+                permitted = maxWaitNanos <= 0
+                        ? bulkhead.tryAcquire()
+                        : bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                permitted = false;
+            }
+            if (!permitted) {
+                // 실제 호출은 없었으므로 브레이커에는 기록하지 않음 (HALF_OPEN 자리만 반납)
+                breaker.cancel();
+                rejected(upstream, "bulkhead_full");
+                throw new BusinessException(codes.bulkheadFull(), "upstream=" + upstream);
+            }
+        }
+
+        public void release(boolean failed, long durationNanos) {
+            bulkhead.release();
+            breaker.onResult(failed, durationNanos);
+        }
+
+        // 호출이 중간에 취소됨: 자리만 반납하고 결과는 기록하지 않음
+        public void cancel() {
+            bulkhead.release();
+            breaker.cancel();
+        }
+
+        public CircuitBreaker.State state() {
+            return breaker.state();
+        }
+    }
+}
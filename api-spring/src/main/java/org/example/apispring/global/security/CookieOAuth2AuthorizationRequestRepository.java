@@ -0,0 +1,106 @@
+package org.example.apispring.global.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.security.jwt.CookieUtil;
+import org.example.apispring.global.util.TokenCrypto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+// 인가 요청을 세션 대신 암호화 쿠키(TokenCrypto, AES-GCM)에 보관
+// - 어느 노드가 콜백을 받아도 로그인을 끝낼 수 있음 (sticky session 불필요)
+// - GCM 인증 태그로 위변조 검출, 콜백의 state 와 다르면 무시 (HttpSession 구현과 같은 검증)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CookieOAuth2AuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    private final CookieUtil cookies;
+    private final TokenCrypto crypto;
+    private final ObjectMapper om;
+
+    @Value("${security.oauth2.requestCookieMaxAgeSec:180}")
+    private long maxAgeSec;
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) return null;
+
+        OAuth2AuthorizationRequest stored = read(request);
+        return (stored != null && state.equals(stored.getState())) ? stored : null;
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            cookies.clearOAuth2Request(response);
+            return;
+        }
+        try {
+            String json = om.writeValueAsString(StoredRequest.from(authorizationRequest));
+            cookies.writeOAuth2Request(response, crypto.encrypt(json), maxAgeSec);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to store OAuth2 authorization request", e);
+        }
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request, HttpServletResponse response) {
+        OAuth2AuthorizationRequest stored = loadAuthorizationRequest(request);
+        if (stored != null) cookies.clearOAuth2Request(response);
+        return stored;
+    }
+
+    // 복호화/파싱 실패(키 교체, 위변조, 잘린 쿠키)는 요청 없음으로 취급 → 로그인 실패 처리로 넘어감
+    private OAuth2AuthorizationRequest read(HttpServletRequest request) {
+        String raw = cookies.readOAuth2Request(request).orElse(null);
+        if (raw == null || raw.isBlank()) return null;
+        try {
+            return om.readValue(crypto.decrypt(raw), StoredRequest.class).toRequest();
+        } catch (Exception e) {
+            log.warn("[OAuth2RequestCookie] unreadable ex={}", e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    // OAuth2AuthorizationRequest 를 다시 만드는 데 필요한 값만 (Java 직렬화보다 작아 쿠키 4KB 안에 들어감)
+    record StoredRequest(
+            String authorizationUri,
+            String clientId,
+            String redirectUri,
+            Set<String> scopes,
+            String state,
+            Map<String, Object> additionalParameters,
+            Map<String, Object> attributes,
+            String authorizationRequestUri
+    ) {
+        static StoredRequest from(OAuth2AuthorizationRequest r) {
+            return new StoredRequest(r.getAuthorizationUri(), r.getClientId(), r.getRedirectUri(), r.getScopes(),
+                    r.getState(), r.getAdditionalParameters(), r.getAttributes(), r.getAuthorizationRequestUri());
+        }
+
+        OAuth2AuthorizationRequest toRequest() {
+            return OAuth2AuthorizationRequest.authorizationCode()
+                    .authorizationUri(authorizationUri)
+                    .clientId(clientId)
+                    .redirectUri(redirectUri)
+                    .scopes(scopes)
+                    .state(state)
+                    .additionalParameters(additionalParameters)
+                    .attributes(attributes)
+                    .authorizationRequestUri(authorizationRequestUri)
+                    .build();
+        }
+    }
+}
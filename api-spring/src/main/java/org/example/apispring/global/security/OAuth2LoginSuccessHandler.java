@@ -69,6 +69,9 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
                         + "/oauth2/authorization/google?prompt=consent&access_type=offline";
                 res.sendRedirect(consentUrl);
                 return;
+            } finally {
+                // 토큰은 oauth_credentials 로 옮겼으니 저장소(Redis)에 남겨 두지 않음
+                clientService.removeAuthorizedClient(regId, principalName);
             }
         }
 
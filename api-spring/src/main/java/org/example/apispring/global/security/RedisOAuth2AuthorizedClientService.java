@@ -0,0 +1,110 @@
+package org.example.apispring.global.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.util.TokenCrypto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+// 기본 InMemoryOAuth2AuthorizedClientService 대체 (로그인마다 힙에 쌓이고 노드 간 공유 안 됨)
+// - 토큰은 TokenCrypto 로 암호화해서 Redis 에 TTL 과 함께 저장
+// - 로그인 직후 OAuth2LoginSuccessHandler 가 oauth_credentials 로 옮기므로 TTL 은 짧아도 됨
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisOAuth2AuthorizedClientService implements OAuth2AuthorizedClientService {
+
+    private static final String KEY_PREFIX = "auth:oauth2:client:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ClientRegistrationRepository clientRegistrationRepository;
+    private final TokenCrypto crypto;
+    private final ObjectMapper om;
+
+    @Value("${security.oauth2.authorizedClientTtlSec:600}")
+    private long ttlSec;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends OAuth2AuthorizedClient> T loadAuthorizedClient(String clientRegistrationId, String principalName) {
+        ClientRegistration registration = clientRegistrationRepository.findByRegistrationId(clientRegistrationId);
+        if (registration == null) return null;
+
+        String raw = redisTemplate.opsForValue().get(key(clientRegistrationId, principalName));
+        if (raw == null) return null;
+
+        try {
+            StoredClient c = om.readValue(crypto.decrypt(raw), StoredClient.class);
+            return (T) c.toClient(registration, principalName);
+        } catch (Exception e) {
+            log.warn("[AuthorizedClientStore] unreadable registrationId={} ex={}", clientRegistrationId, e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    @Override
+    public void saveAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
+        String registrationId = authorizedClient.getClientRegistration().getRegistrationId();
+        try {
+            String json = om.writeValueAsString(StoredClient.from(authorizedClient));
+            redisTemplate.opsForValue().set(key(registrationId, principal.getName()), crypto.encrypt(json), Duration.ofSeconds(ttlSec));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to store OAuth2 authorized client", e);
+        }
+    }
+
+    @Override
+    public void removeAuthorizedClient(String clientRegistrationId, String principalName) {
+        redisTemplate.delete(key(clientRegistrationId, principalName));
+    }
+
+    private static String key(String registrationId, String principalName) {
+        return KEY_PREFIX + registrationId + ":" + principalName;
+    }
+
+    // 시각은 epoch milli (ObjectMapper 설정과 무관하게 왕복)
+    record StoredClient(
+            String accessToken,
+            Long accessIssuedAt,
+            Long accessExpiresAt,
+            Set<String> scopes,
+            String refreshToken,
+            Long refreshIssuedAt
+    ) {
+        static StoredClient from(OAuth2AuthorizedClient c) {
+            OAuth2AccessToken at = c.getAccessToken();
+            OAuth2RefreshToken rt = c.getRefreshToken();
+            return new StoredClient(
+                    at.getTokenValue(), millis(at.getIssuedAt()), millis(at.getExpiresAt()), at.getScopes(),
+                    rt == null ? null : rt.getTokenValue(), rt == null ? null : millis(rt.getIssuedAt()));
+        }
+
+        OAuth2AuthorizedClient toClient(ClientRegistration registration, String principalName) {
+            OAuth2AccessToken at = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, accessToken,
+                    instant(accessIssuedAt), instant(accessExpiresAt), scopes);
+            OAuth2RefreshToken rt = refreshToken == null ? null : new OAuth2RefreshToken(refreshToken, instant(refreshIssuedAt));
+            return new OAuth2AuthorizedClient(registration, principalName, at, rt);
+        }
+
+        private static Long millis(Instant i) {
+            return i == null ? null : i.toEpochMilli();
+        }
+
+        private static Instant instant(Long ms) {
+            return ms == null ? null : Instant.ofEpochMilli(ms);
+        }
+    }
+}
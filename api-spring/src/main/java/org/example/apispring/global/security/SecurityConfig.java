@@ -1,15 +1,13 @@
 package org.example.apispring.global.security;
 
 import lombok.RequiredArgsConstructor;
+import org.example.apispring.global.ratelimit.RateLimitFilter;
 import org.example.apispring.global.security.jwt.JwtAuthFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
-import org.springframework.security.oauth2.client.web.HttpSessionOAuth2AuthorizationRequestRepository;
-import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -19,23 +17,21 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final JsonAuthenticationEntryPoint entryPoint;
     private final JsonAccessDeniedHandler accessDeniedHandler;
     private final GoogleOAuth2RequestResolver googleOAuth2RequestResolver;
     private final OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
     private final OAuth2LoginFailureHandler oAuth2LoginFailureHandler;
-
-    @Bean
-    AuthorizationRequestRepository<OAuth2AuthorizationRequest> authorizationRequestRepository() {
-        return new HttpSessionOAuth2AuthorizationRequestRepository();
-    }
+    private final CookieOAuth2AuthorizationRequestRepository authorizationRequestRepository;
 
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(Customizer.withDefaults())
-                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+                // 인가 요청은 암호화 쿠키, authorized client 는 Redis → 세션 없이 어느 노드든 로그인 완료 가능
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
                                 "/", "/error",
@@ -63,7 +59,7 @@ public class SecurityConfig {
                 .oauth2Login(oauth -> oauth
                         .authorizationEndpoint(ep -> ep
                                 .authorizationRequestResolver(googleOAuth2RequestResolver)
-                                .authorizationRequestRepository(authorizationRequestRepository()) // ✅ 추가
+                                .authorizationRequestRepository(authorizationRequestRepository)
                         )
                         .successHandler(oAuth2LoginSuccessHandler)
                         .failureHandler(oAuth2LoginFailureHandler)
@@ -71,6 +67,8 @@ public class SecurityConfig {
                 );
 
         http.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+        // 인증 결과(userId)로 한도를 나누므로 JwtAuthFilter 다음
+        http.addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
         return http.build();
     }
 }
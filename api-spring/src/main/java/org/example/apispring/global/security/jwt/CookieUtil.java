@@ -12,6 +12,10 @@ import java.util.Optional;
 public class CookieUtil {
     public static final String ACCESS_COOKIE = "AT";
     public static final String REFRESH_COOKIE = "RT";
+    public static final String OAUTH2_REQUEST_COOKIE = "OAUTH2_REQ";
+
+    // 인가 요청 쿠키는 콜백(/login/oauth2/code/*)에서만 필요
+    private static final String OAUTH2_REQUEST_PATH = "/login/oauth2";
 
     @Value("${security.cookie.secure:true}")
     private boolean secure;
@@ -47,6 +51,10 @@ public class CookieUtil {
         res.addHeader("Set-Cookie", build(REFRESH_COOKIE, token, (int) maxAgeSeconds, "/api/auth/refresh"));
     }
 
+    public void writeOAuth2Request(HttpServletResponse res, String value, long maxAgeSeconds) {
+        res.addHeader("Set-Cookie", build(OAUTH2_REQUEST_COOKIE, value, (int) maxAgeSeconds, OAUTH2_REQUEST_PATH));
+    }
+
     public void clearAccess(HttpServletResponse res) {
         res.addHeader("Set-Cookie", build(ACCESS_COOKIE, "", 0, "/"));
     }
@@ -55,6 +63,10 @@ public class CookieUtil {
         res.addHeader("Set-Cookie", build(REFRESH_COOKIE, "", 0, "/api/auth/refresh"));
     }
 
+    public void clearOAuth2Request(HttpServletResponse res) {
+        res.addHeader("Set-Cookie", build(OAUTH2_REQUEST_COOKIE, "", 0, OAUTH2_REQUEST_PATH));
+    }
+
     private Optional<String> readCookie(HttpServletRequest req, String name) {
         Cookie[] cs = req.getCookies();
         if (cs == null) return Optional.empty();
@@ -73,4 +85,8 @@ public class CookieUtil {
     public Optional<String> readRefresh(HttpServletRequest req) {
         return readCookie(req, REFRESH_COOKIE);
     }
+
+    public Optional<String> readOAuth2Request(HttpServletRequest req) {
+        return readCookie(req, OAUTH2_REQUEST_COOKIE);
+    }
 }
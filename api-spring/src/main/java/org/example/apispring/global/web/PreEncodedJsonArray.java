@@ -0,0 +1,25 @@
+package org.example.apispring.global.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+// 원소별로 미리 인코딩된 UTF-8 JSON 조각을 그대로 이어 쓰는 응답 본문
+// (PreEncodedJsonHttpMessageConverter 가 출력 스트림에 바로 씀)
+public record PreEncodedJsonArray(List<byte[]> elements) {
+
+    public long contentLength() {
+        long len = 2 + Math.max(0, elements.size() - 1);
+        for (byte[] e : elements) len += e.length;
+        return len;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) out.write(',');
+            out.write(elements.get(i));
+        }
+        out.write(']');
+    }
+}
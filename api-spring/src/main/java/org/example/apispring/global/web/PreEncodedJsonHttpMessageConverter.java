@@ -0,0 +1,41 @@
+package org.example.apispring.global.web;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+public class PreEncodedJsonHttpMessageConverter extends AbstractHttpMessageConverter<PreEncodedJsonArray> {
+
+    public PreEncodedJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PreEncodedJsonArray.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PreEncodedJsonArray readInternal(Class<? extends PreEncodedJsonArray> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PreEncodedJsonArray is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(PreEncodedJsonArray body, MediaType contentType) {
+        return body.contentLength();
+    }
+
+    @Override
+    protected void writeInternal(PreEncodedJsonArray body, HttpOutputMessage outputMessage) throws IOException {
+        body.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.apispring.song.application;
+
+// Redis 비트맵(SETBIT/GETBIT)과 같은 비트 순서의 Bloom filter 계산
+// - offset 0 = 첫 바이트의 최상위 비트
+// - k 개 위치는 64bit 해시 하나를 둘로 나눈 double hashing (h1 + i·h2)
+final class BloomBits {
+
+    private BloomBits() {}
+
+    static int[] offsets(String value, int hashes, int bits) {
+        long h = hash64(value);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1; // 홀수 → 모든 위치를 돌 수 있음
+        int[] out = new int[hashes];
+        for (int i = 0; i < hashes; i++) {
+            out[i] = Math.floorMod(h1 + i * h2, bits);
+        }
+        return out;
+    }
+
+    static boolean mightContain(byte[] bitmap, int[] offsets) {
+        if (bitmap == null) return false;
+        for (int off : offsets) {
+            int idx = off >>> 3;
+            if (idx >= bitmap.length) return false; // SETBIT 이 아직 닿지 않은 뒷부분 = 0
+            if ((bitmap[idx] & (0x80 >>> (off & 7))) == 0) return false;
+        }
+        return true;
+    }
+
+    // 채워진 비트 비율로 본 오탐 확률 추정치 (fill^k)
+    static double falsePositiveRate(byte[] bitmap, int bits, int hashes) {
+        if (bitmap == null) return 0.0;
+        int set = 0;
+        for (byte b : bitmap) set += Integer.bitCount(b & 0xFF);
+        return Math.pow((double) set / bits, hashes);
+    }
+
+    // FNV-1a 64 + murmur3 fmix64 (짧은 id 에서도 비트가 고르게 퍼지도록)
+    static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53a6ba3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.apispring.song.application;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// 요청 단위 후보 조회 계획: 어떤 단계를, 어떤 순서로, 예상 몇 곡으로 조회할지
+public record CandidatePlan(
+        boolean statsBased,
+        List<PlannedFetch> fetches,
+        Set<CandidateTier> expectedEmpty
+) {
+    public record PlannedFetch(CandidateTier tier, int expected) {}
+
+    // 통계가 아직 없을 때: strong 두 단계만 먼저 조회하고 부족하면 그때 약한 조건
+    public static CandidatePlan withoutStats() {
+        return new CandidatePlan(false, List.of(
+                new PlannedFetch(CandidateTier.STRONG_GENRE, -1),
+                new PlannedFetch(CandidateTier.STRONG_UNKNOWN, -1)
+        ), EnumSet.noneOf(CandidateTier.class));
+    }
+
+    public boolean launchesWeak() {
+        return fetches.stream().anyMatch(f -> f.tier().isWeak());
+    }
+}
@@ -0,0 +1,341 @@
+package org.example.apispring.song.application;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.song.application.event.SongTagsChangedEvent;
+import org.example.apispring.song.domain.SongTag;
+import org.example.apispring.song.domain.TagVector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.random.RandomGenerator;
+
+// 태그 셀(= TagVector)별 song id 집합을 Redis SET 으로 유지 → 추천 후보를 DB 없이 랜덤 추출
+// - 셀 키: rec:pool:<gen>:cell:<bits>, 전체 재구성은 새 세대에 쌓은 뒤 rec:pool:gen 을 바꿔 원자적으로 교체
+// - 재구성 사이의 변경은 SongTagsChangedEvent 로 현재/구성 중 세대 모두에 SADD/SREM
+// - 약한 조건(activity, tempo 중 하나만 일치)은 합집합 키를 따로 두지 않고 해당 셀들(10개 안팎)을
+//   SCARD 비례로 섞어 뽑음 → 셀 하나가 바뀔 때 갱신할 키가 하나뿐
+// - 요청당 Redis 왕복은 파이프라인 한 번
+// - 재구성은 tags 전체를 읽으므로 전용 스레드에서, 커서(fetch size)로 나눠 읽음 → 세대 동기화 스케줄을 막지 않음
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandidatePool {
+
+    private static final String PREFIX = "rec:pool:";
+    private static final String GEN_KEY = PREFIX + "gen";
+    private static final String BUILDING_KEY = PREFIX + "building";
+    private static final String LOCK_KEY = PREFIX + "lock";
+
+    private static final int REBUILD_BATCH = 5000;
+    private static final String REBUILD_SQL = "SELECT song_id, tag_vector FROM tags WHERE tag_vector IS NOT NULL";
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final Clock clock;
+
+    @Value("${cloudify.recommend.pool.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cloudify.recommend.pool.lockTtlSec:1800}")
+    private long lockTtlSec;
+
+    // 교체된 세대는 다른 노드가 새 세대를 읽을 때까지 남겨 둠 (generationSyncMs 보다 충분히 길게)
+    @Value("${cloudify.recommend.pool.retiredTtlSec:600}")
+    private long retiredTtlSec;
+
+    private volatile String generation;
+
+    private final ExecutorService runner =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("candidate-pool-rebuild").factory());
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return enabled && generation != null;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${cloudify.recommend.pool.generationSyncMs:30000}")
+    public void syncGeneration() {
+        if (!enabled) return;
+        try {
+            generation = redisTemplate.opsForValue().get(GEN_KEY);
+        } catch (Exception e) {
+            log.warn("[CandidatePool] gen_sync_failed err={}", e.getClass().getSimpleName());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${cloudify.recommend.pool.rebuildInitialDelayMs:30000}",
+            fixedDelayString = "${cloudify.recommend.pool.rebuildIntervalMs:21600000}")
+    public void scheduledRebuild() {
+        if (!enabled) return;
+        startRebuild();
+    }
+
+    // 백그라운드로 시작만, 이 인스턴스에서 이미 도는 중이면 false
+    public boolean startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) return false;
+        try {
+            runner.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("[CandidatePool] rebuild_failed err={} msg={}", e.getClass().getSimpleName(), e.getMessage());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rebuilding.set(false);
+            return false;
+        }
+    }
+
+    // tags 전체를 새 세대 키에 적재한 뒤 교체 (인스턴스가 여러 개여도 한 곳에서만)
+    public void rebuild() {
+        String owner = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, Duration.ofSeconds(lockTtlSec));
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("[CandidatePool] rebuild skipped reason=locked");
+            return;
+        }
+
+        long t0 = System.nanoTime();
+        String gen = Long.toString(clock.millis());
+        Set<String> cells = new HashSet<>();
+        try {
+            redisTemplate.opsForValue().set(BUILDING_KEY, gen, Duration.ofSeconds(lockTtlSec));
+
+            List<String[]> batch = new ArrayList<>(REBUILD_BATCH);
+            long[] rows = {0};
+            // PostgreSQL 은 autocommit 이 꺼져 있어야 fetch size 만큼씩 커서로 읽음 (아니면 전체를 메모리에 받음)
+            PreparedStatementCreator select = con -> {
+                PreparedStatement ps = con.prepareStatement(REBUILD_SQL);
+                ps.setFetchSize(REBUILD_BATCH);
+                return ps;
+            };
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(select, rs -> {
+                String key = cellKey(gen, new TagVector(rs.getShort(2)));
+                batch.add(new String[]{key, rs.getString(1)});
+                cells.add(key);
+                rows[0]++;
+                if (batch.size() >= REBUILD_BATCH) {
+                    addAll(batch);
+                    batch.clear();
+                }
+            }));
+            addAll(batch);
+            if (!cells.isEmpty()) redisTemplate.opsForSet().add(cellsKey(gen), cells.toArray(String[]::new));
+
+            String previous = redisTemplate.opsForValue().getAndSet(GEN_KEY, gen);
+            redisTemplate.delete(BUILDING_KEY);
+            generation = gen;
+            if (previous != null && !previous.equals(gen)) retire(previous);
+
+            log.info("[CandidatePool] rebuilt gen={} rows={} cells={} elapsedMs={}",
+                    gen, rows[0], cells.size(), (System.nanoTime() - t0) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("[CandidatePool] rebuild_failed gen={} err={} msg={}", gen, e.getClass().getSimpleName(), e.getMessage());
+            cells.add(cellsKey(gen));
+            expireAll(cells);
+        } finally {
+            if (owner.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        }
+    }
+
+    // 커밋 이후에 반영 (롤백된 태그가 풀에 들어가지 않도록, 트랜잭션 밖 발행은 즉시 실행)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagsChanged(SongTagsChangedEvent event) {
+        if (!enabled) return;
+        try {
+            List<String> gens = redisTemplate.opsForValue().multiGet(List.of(GEN_KEY, BUILDING_KEY));
+            if (gens == null) return;
+
+            redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
+                StringRedisConnection sc = (StringRedisConnection) conn;
+                for (String gen : gens) {
+                    if (gen == null) continue;
+                    for (SongTag st : event.removed()) {
+                        if (st.getTagVector() != null) sc.sRem(cellKey(gen, st.getTagVector()), st.getSong().getId());
+                    }
+                    for (SongTag st : event.added()) {
+                        if (st.getTagVector() == null) continue;
+                        String key = cellKey(gen, st.getTagVector());
+                        sc.sAdd(key, st.getSong().getId());
+                        sc.sAdd(cellsKey(gen), key);
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // 놓친 변경은 다음 재구성에서 반영
+            log.warn("[CandidatePool] apply_failed added={} removed={} err={}",
+                    event.added().size(), event.removed().size(), e.getClass().getSimpleName());
+        }
+    }
+
+    // 뽑은 곡 + 뽑힌 셀 (= 그 곡의 tags 행 중 이 셀에 든 행의 태그, 재태깅은 이벤트로 바로 반영됨)
+    public record Sampled(String songId, TagVector tags) {}
+
+    // 단계별 곡을 최대 count 개씩 (strong 은 셀 하나, weak 는 한 필드만 다른 셀들의 합집합)
+    public EnumMap<CandidateTier, List<Sampled>> sample(TagVector v, int count) {
+        String gen = generation;
+        if (gen == null) throw new IllegalStateException("candidate pool not ready");
+
+        TagVector unknown = v.withUnknownGenre();
+        List<TagVector> weakGenre = weakCells(v);
+        List<TagVector> weakUnknown = weakCells(unknown);
+
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
+            StringRedisConnection sc = (StringRedisConnection) conn;
+            sc.sRandMember(cellKey(gen, v), count);
+            sc.sRandMember(cellKey(gen, unknown), count);
+            for (TagVector c : weakGenre) {
+                sc.sCard(cellKey(gen, c));
+                sc.sRandMember(cellKey(gen, c), count);
+            }
+            for (TagVector c : weakUnknown) {
+                sc.sCard(cellKey(gen, c));
+                sc.sRandMember(cellKey(gen, c), count);
+            }
+            return null;
+        });
+
+        RandomGenerator rnd = RandomGenerator.getDefault();
+        EnumMap<CandidateTier, List<Sampled>> out = new EnumMap<>(CandidateTier.class);
+        out.put(CandidateTier.STRONG_GENRE, sampled(replies.get(0), v));
+        out.put(CandidateTier.STRONG_UNKNOWN, sampled(replies.get(1), unknown));
+        out.put(CandidateTier.WEAK_GENRE, mergeCells(replies, 2, weakGenre, count, rnd));
+        out.put(CandidateTier.WEAK_UNKNOWN, mergeCells(replies, 2 + 2 * weakGenre.size(), weakUnknown, count, rnd));
+        return out;
+    }
+
+    // mood/genre/branch 는 같고 activity, tempo 중 정확히 하나만 다른 셀 (NONE 코드 포함 → DB 의 IS NULL 조건과 동일)
+    static List<TagVector> weakCells(TagVector v) {
+        List<TagVector> cells = new ArrayList<>();
+        addOthers(cells, v, TagVector.TEMPO);
+        addOthers(cells, v, TagVector.ACTIVITY);
+        return cells;
+    }
+
+    private static void addOthers(List<TagVector> cells, TagVector v, int field) {
+        int own = v.code(field);
+        for (int c = 0; c < TagVector.names(field).length; c++) {
+            if (c != own) cells.add(v.with(field, c));
+        }
+        if (own != TagVector.noneCode(field)) cells.add(v.with(field, TagVector.noneCode(field)));
+    }
+
+    private static List<Sampled> mergeCells(List<Object> replies, int from, List<TagVector> cells, int count, RandomGenerator rnd) {
+        long[] sizes = new long[cells.size()];
+        List<List<Sampled>> samples = new ArrayList<>(cells.size());
+        for (int i = 0; i < cells.size(); i++) {
+            Object card = replies.get(from + 2 * i);
+            sizes[i] = (card instanceof Long l) ? l : 0L;
+            samples.add(sampled(replies.get(from + 2 * i + 1), cells.get(i)));
+        }
+        return mergeWeighted(sizes, samples, count, rnd);
+    }
+
+    // 서로 겹치지 않는 셀들의 랜덤 표본을 남은 크기 비례로 하나씩 꺼냄
+    // → 합집합에서 비복원 균등 추출한 것과 같은 분포 (셀마다 count 개까지만 받아 와도 충분)
+    static <T> List<T> mergeWeighted(long[] sizes, List<List<T>> samples, int count, RandomGenerator rnd) {
+        long[] remaining = sizes.clone();
+        int[] next = new int[sizes.length];
+        List<T> out = new ArrayList<>(count);
+
+        while (out.size() < count) {
+            long total = 0;
+            for (int i = 0; i < remaining.length; i++) {
+                if (next[i] < samples.get(i).size()) total += Math.max(remaining[i], 1);
+            }
+            if (total == 0) break;
+
+            long r = rnd.nextLong(total);
+            for (int i = 0; i < remaining.length; i++) {
+                if (next[i] >= samples.get(i).size()) continue;
+                r -= Math.max(remaining[i], 1);
+                if (r < 0) {
+                    out.add(samples.get(i).get(next[i]++));
+                    remaining[i]--;
+                    break;
+                }
+            }
+        }
+        return out;
+    }
+
+    private void addAll(List<String[]> batch) {
+        if (batch.isEmpty()) return;
+        redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
+            StringRedisConnection sc = (StringRedisConnection) conn;
+            for (String[] kv : batch) sc.sAdd(kv[0], kv[1]);
+            return null;
+        });
+    }
+
+    // 바로 지우지 않고 만료만 걸어 둠 → 아직 이전 세대를 읽는 노드도 빈 결과를 받지 않음
+    private void retire(String gen) {
+        try {
+            Set<String> keys = new HashSet<>();
+            Set<String> cells = redisTemplate.opsForSet().members(cellsKey(gen));
+            if (cells != null) keys.addAll(cells);
+            keys.add(cellsKey(gen));
+            expireAll(keys);
+        } catch (Exception e) {
+            log.warn("[CandidatePool] retire_failed gen={} err={}", gen, e.getClass().getSimpleName());
+        }
+    }
+
+    private void expireAll(Collection<String> keys) {
+        long ttl = retiredTtlSec;
+        redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
+            StringRedisConnection sc = (StringRedisConnection) conn;
+            for (String key : keys) sc.expire(key, ttl);
+            return null;
+        });
+    }
+
+    private static List<Sampled> sampled(Object reply, TagVector cell) {
+        if (!(reply instanceof List<?> list)) return List.of();
+        List<Sampled> out = new ArrayList<>(list.size());
+        for (Object id : list) out.add(new Sampled((String) id, cell));
+        return out;
+    }
+
+    private static String cellKey(String gen, TagVector v) {
+        return PREFIX + gen + ":cell:" + (v.bits() & 0xFFFF);
+    }
+
+    private static String cellsKey(String gen) {
+        return PREFIX + gen + ":cells";
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.apispring.song.application;
+
+// 후보 조회 우선순위 (앞 단계로 목표 수를 채우면 뒤 단계는 필요 없음)
+public enum CandidateTier {
+    STRONG_GENRE(false),
+    STRONG_UNKNOWN(false),
+    WEAK_GENRE(true),
+    WEAK_UNKNOWN(true);
+
+    private final boolean weak;
+
+    CandidateTier(boolean weak) {
+        this.weak = weak;
+    }
+
+    public boolean isWeak() {
+        return weak;
+    }
+}
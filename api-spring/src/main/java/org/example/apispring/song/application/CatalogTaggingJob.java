@@ -0,0 +1,248 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.http.TokenBucket;
+import org.example.apispring.global.resilience.UpstreamResilience;
+import org.example.apispring.song.application.dto.CatalogTaggingResultDto;
+import org.example.apispring.song.application.event.SongTagsChangedEvent;
+import org.example.apispring.song.domain.Song;
+import org.example.apispring.song.domain.SongRepository;
+import org.example.apispring.song.domain.SongTag;
+import org.example.apispring.song.domain.TagVector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// tags 행이 없는 곡(= 추천 후보가 될 수 없는 곡)을 Gemini 로 일괄 태깅
+// - 곡 batchSize 개를 프롬프트 하나로 (지시문은 한 번만), 결과는 항목별로 TagEnums 검증
+// - tags 는 JDBC batch insert, 이미 태그가 있으면 건너뜀 (재실행/중복 실행에도 안전)
+// - 진행 위치(마지막 song id)를 Redis 에 체크포인트 → 중단돼도 이어서 진행
+// - 프롬프트 호출은 requestsPerMinute 토큰 버킷으로 제한, 브레이커가 열리면 중단
+// - 토큰 대기로 한 번에 수십 분 걸리므로 전용 스레드에서 실행 (스케줄러/요청 스레드를 잡지 않음)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogTaggingJob {
+
+    private static final String CURSOR_KEY = "tagging:catalog:cursor";
+    private static final String LOCK_KEY = "tagging:catalog:lock";
+    private static final Duration CURSOR_TTL = Duration.ofDays(7);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO tags (song_id, mood, genre, activity, branch, tempo, tag_vector)
+            SELECT ?, ?, ?, ?, ?, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM tags WHERE song_id = ?)
+            """;
+
+    private final SongRepository songRepository;
+    private final GeminiService geminiService;
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final UpstreamResilience upstreamResilience;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cloudify.tagging.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cloudify.tagging.batchSize:25}")
+    private int batchSize;
+
+    @Value("${cloudify.tagging.requestsPerMinute:10}")
+    private double requestsPerMinute;
+
+    @Value("${cloudify.tagging.maxPromptsPerRun:200}")
+    private int maxPromptsPerRun;
+
+    @Value("${cloudify.tagging.lockTtlSec:3600}")
+    private long lockTtlSec;
+
+    private TokenBucket rateLimiter;
+
+    private final ExecutorService runner =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("catalog-tagging").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        rateLimiter = new TokenBucket(requestsPerMinute / 60.0, 1);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    @Scheduled(initialDelayString = "${cloudify.tagging.initialDelayMs:60000}",
+            fixedDelayString = "${cloudify.tagging.intervalMs:3600000}")
+    public void scheduled() {
+        if (!enabled) return;
+        start(maxPromptsPerRun);
+    }
+
+    // 백그라운드로 시작만 (결과는 로그/메트릭), 이 인스턴스에서 이미 도는 중이면 false
+    public boolean start(int maxPrompts) {
+        if (!running.compareAndSet(false, true)) return false;
+        try {
+            runner.execute(() -> {
+                try {
+                    run(maxPrompts);
+                } catch (RuntimeException e) {
+                    log.warn("[CatalogTagging] run_failed err={} msg={}", e.getClass().getSimpleName(), e.getMessage());
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            return false;
+        }
+    }
+
+    // 인스턴스가 여러 개여도 한 곳에서만 돌도록 Redis 락
+    public CatalogTaggingResultDto run(int maxPrompts) {
+        String owner = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, Duration.ofSeconds(lockTtlSec));
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("[CatalogTagging] skipped reason=locked");
+            return CatalogTaggingResultDto.skipped("locked");
+        }
+
+        try {
+            return tagUntagged(maxPrompts);
+        } finally {
+            if (owner.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        }
+    }
+
+    private CatalogTaggingResultDto tagUntagged(int maxPrompts) {
+        long t0 = System.nanoTime();
+        String saved = redisTemplate.opsForValue().get(CURSOR_KEY);
+        String cursor = (saved == null ? "" : saved);
+
+        int fetched = 0, tagged = 0, invalid = 0, prompts = 0;
+        boolean passCompleted = false;
+        String stopReason = null;
+
+        while (prompts < maxPrompts) {
+            if (upstreamResilience.isOpen(OutboundHttpProperties.GEMINI)) {
+                stopReason = "circuit_open";
+                break;
+            }
+
+            List<Song> songs = songRepository.findUntaggedAfter(cursor, PageRequest.of(0, batchSize));
+            if (songs.isEmpty()) {
+                passCompleted = true;
+                break;
+            }
+
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopReason = "interrupted";
+                break;
+            }
+
+            List<GeminiService.BatchItemResult> results;
+            try {
+                prompts++;
+                results = geminiService.inferSongTagsBatch(songs);
+            } catch (BusinessException e) {
+                // 체크포인트를 옮기지 않음 → 다음 실행에서 같은 곡부터 다시
+                log.warn("[CatalogTagging] batch_failed code={} cursor={}", e.errorCode().name(), cursor);
+                stopReason = "upstream_failed";
+                break;
+            }
+            fetched += songs.size();
+
+            List<SongTag> rows = new ArrayList<>(songs.size());
+            for (int i = 0; i < songs.size(); i++) {
+                GeminiService.BatchItemResult r = results.get(i);
+                if (r.error() != null) {
+                    invalid++;
+                    continue;
+                }
+                rows.add(toRow(songs.get(i), r.tags().vector()));
+            }
+
+            List<SongTag> inserted = insert(rows);
+            tagged += inserted.size();
+            if (!inserted.isEmpty()) eventPublisher.publishEvent(SongTagsChangedEvent.added(inserted));
+
+            cursor = songs.get(songs.size() - 1).getId();
+            redisTemplate.opsForValue().set(CURSOR_KEY, cursor, CURSOR_TTL);
+        }
+
+        // 끝까지 돌았으면 처음부터 다시 (검증 실패로 남은 곡은 다음 회차에 재시도)
+        if (passCompleted) redisTemplate.delete(CURSOR_KEY);
+
+        meterRegistry.counter("catalog.tagging.songs", "outcome", "tagged").increment(tagged);
+        meterRegistry.counter("catalog.tagging.songs", "outcome", "invalid").increment(invalid);
+        log.info("[CatalogTagging] fetched={} tagged={} invalid={} prompts={} passCompleted={} stop={} elapsedMs={}",
+                fetched, tagged, invalid, prompts, passCompleted, stopReason, (System.nanoTime() - t0) / 1_000_000);
+
+        return new CatalogTaggingResultDto(fetched, tagged, invalid, prompts, passCompleted, stopReason);
+    }
+
+    private static SongTag toRow(Song song, TagVector v) {
+        return SongTag.builder()
+                .song(song)
+                .mood(v.name(TagVector.MOOD))
+                .genre(v.name(TagVector.GENRE))
+                .activity(v.name(TagVector.ACTIVITY))
+                .branch(v.name(TagVector.BRANCH))
+                .tempo(v.name(TagVector.TEMPO))
+                .tagVector(v)
+                .build();
+    }
+
+    // 실제로 들어간 행만 반환 (다른 경로로 이미 태그가 생긴 곡은 0건)
+    private List<SongTag> insert(List<SongTag> rows) {
+        if (rows.isEmpty()) return List.of();
+
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, st) -> {
+            ps.setString(1, st.getSong().getId());
+            ps.setString(2, st.getMood());
+            ps.setString(3, st.getGenre());
+            ps.setString(4, st.getActivity());
+            ps.setString(5, st.getBranch());
+            ps.setString(6, st.getTempo());
+            ps.setShort(7, st.getTagVector().bits());
+            ps.setString(8, st.getSong().getId());
+        });
+
+        List<SongTag> inserted = new ArrayList<>(rows.size());
+        int i = 0;
+        for (int[] chunk : counts) {
+            for (int c : chunk) {
+                // SUCCESS_NO_INFO(-2) 는 드라이버가 건수를 모르는 경우 → 들어간 것으로 봄
+                if (c != 0) inserted.add(rows.get(i));
+                i++;
+            }
+        }
+        return inserted;
+    }
+}
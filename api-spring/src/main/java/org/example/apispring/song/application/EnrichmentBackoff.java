@@ -0,0 +1,91 @@
+package org.example.apispring.song.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.song.domain.EnrichmentSource;
+import org.example.apispring.song.domain.SongEnrichmentState;
+import org.example.apispring.song.domain.SongEnrichmentStateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// 보강 결과가 "없음"인 곡을 지수 백오프로 미룸 (base, 2×base, 4×base ... 최대 max)
+// 일시 장애는 기록하지 않음 → 곡 탓이 아니므로 다음 배치/큐 재전달에서 바로 재시도
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrichmentBackoff {
+
+    private final SongEnrichmentStateRepository stateRepository;
+    private final Clock clock;
+
+    @Value("${cloudify.enrichment.backoff.baseSec:21600}")
+    private long baseSec;
+
+    @Value("${cloudify.enrichment.backoff.maxSec:2592000}")
+    private long maxSec;
+
+    @Transactional
+    public void recordMiss(String songId, EnrichmentSource source, String reason) {
+        record(songId, source, reason, null);
+    }
+
+    // 저장된 id 가 재생 불가로 판정됨 → 백오프 + 다음 검색에서 같은 id 제외
+    @Transactional
+    public void recordRejected(String songId, EnrichmentSource source, String rejectedId) {
+        record(songId, source, "UNPLAYABLE", rejectedId);
+    }
+
+    // songId → 제외할 id (기록이 없는 곡은 빠짐)
+    public Map<String, String> rejectedIds(Collection<String> songIds, EnrichmentSource source) {
+        Map<String, String> out = new HashMap<>();
+        if (songIds.isEmpty()) return out;
+        for (SongEnrichmentState s : stateRepository.findBySongIdInAndSourceAndRejectedIdIsNotNull(songIds, source)) {
+            out.put(s.getSongId(), s.getRejectedId());
+        }
+        return out;
+    }
+
+    public String rejectedId(String songId, EnrichmentSource source) {
+        return stateRepository.findBySongIdAndSource(songId, source)
+                .map(SongEnrichmentState::getRejectedId)
+                .orElse(null);
+    }
+
+    private void record(String songId, EnrichmentSource source, String reason, String rejectedId) {
+        Instant now = clock.instant();
+        SongEnrichmentState state = stateRepository.findBySongIdAndSource(songId, source)
+                .orElseGet(() -> new SongEnrichmentState(songId, source));
+
+        Duration delay = delay(state.getAttempts() + 1, Duration.ofSeconds(baseSec), Duration.ofSeconds(maxSec));
+        state.recordMiss(reason, now, now.plus(delay));
+        if (rejectedId != null) state.reject(rejectedId);
+        stateRepository.save(state);
+
+        log.debug("[EnrichmentBackoff] songId={} source={} reason={} attempts={} nextInSec={}",
+                songId, source, reason, state.getAttempts(), delay.toSeconds());
+    }
+
+    public void clear(String songId, EnrichmentSource source) {
+        stateRepository.deleteBySongIdAndSource(songId, source);
+    }
+
+    public Instant now() {
+        return clock.instant();
+    }
+
+    // attempts 번째 실패 뒤 대기 시간
+    static Duration delay(int attempts, Duration base, Duration max) {
+        int shift = Math.max(0, Math.min(attempts - 1, 30));
+        long seconds = base.toSeconds() << shift;
+        if (seconds <= 0 || seconds > max.toSeconds()) return max;
+        return Duration.ofSeconds(seconds);
+    }
+}
@@ -6,13 +6,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.apispring.global.error.BusinessException;
 import org.example.apispring.global.error.ErrorCode;
 import org.example.apispring.song.application.dto.GeniusAlbumImageFillResultDto;
+import org.example.apispring.song.application.dto.GeniusArtistHarvestResultDto;
+import org.example.apispring.song.application.dto.GeniusArtistSongsResponse;
+import org.example.apispring.song.application.dto.GeniusHit;
+import org.example.apispring.song.application.dto.GeniusSearchResponse;
 import org.example.apispring.song.application.dto.YoutubeAudioFillResultDto;
 import org.example.apispring.song.application.dto.YoutubeVideoThumbFillResultDto;
+import org.example.apispring.song.application.event.SongMediaUpdatedEvent;
+import org.example.apispring.song.domain.EnrichmentSource;
 import org.example.apispring.song.domain.Song;
 import org.example.apispring.song.domain.SongRepository;
 import org.example.apispring.song.web.GeniusClient;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,10 +32,23 @@ public class FillDbService {
 
     private static final int GENIUS_BATCH_SIZE = 20;
 
+    private static final int GENIUS_HARVEST_SCAN_SIZE = 500;
+    private static final int GENIUS_HARVEST_MAX_ARTISTS = 50;
+    private static final int GENIUS_HARVEST_MAX_PAGES = 4;
+    private static final int GENIUS_ARTIST_SONGS_PER_PAGE = 50;
+
     private static final int YOUTUBE_BATCH_SIZE = 10;
     private static final int YOUTUBE_CONCURRENCY = 4;
     private static final int YOUTUBE_CALL_TIMEOUT_SEC = 9;
 
+    // 쿼터/upstream 장애는 "결과 없음"이 아님 → 백오프 기록 없이 다음 배치에서 재시도
+    private static final Set<ErrorCode> YOUTUBE_TRANSIENT = EnumSet.of(
+            ErrorCode.YOUTUBE_QUOTA_EXCEEDED,
+            ErrorCode.YOUTUBE_UPSTREAM_ERROR,
+            ErrorCode.YOUTUBE_CIRCUIT_OPEN,
+            ErrorCode.YOUTUBE_BULKHEAD_FULL
+    );
+
     private final SongRepository songRepository;
 
     private final GeniusClient geniusClient;
@@ -39,6 +58,9 @@ public class FillDbService {
     private final YoutubeVideoIdSearchService youtubeVideoIdSearchService;
     private final YoutubeAudioIdSearchService youtubeAudioIdSearchService;
 
+    private final EnrichmentBackoff enrichmentBackoff;
+    private final ApplicationEventPublisher eventPublisher;
+
     private final ExecutorService youtubeExecutor = Executors.newFixedThreadPool(YOUTUBE_CONCURRENCY);
 
     @PreDestroy
@@ -51,7 +73,7 @@ public class FillDbService {
         int requestedLimit = clamp(limit, 1, GENIUS_BATCH_SIZE);
         String rid = shortRid();
 
-        List<Song> batch = songRepository.findSongsWithoutAlbumImage(PageRequest.of(0, requestedLimit));
+        List<Song> batch = songRepository.findSongsWithoutAlbumImage(enrichmentBackoff.now(), PageRequest.of(0, requestedLimit));
         if (batch.isEmpty()) {
             return new GeniusAlbumImageFillResultDto(requestedLimit, 0, 0, 0, 0, 0);
         }
@@ -62,97 +84,243 @@ public class FillDbService {
         int failures = 0;
 
         List<Song> toSave = new ArrayList<>(batch.size());
+        boolean circuitOpen = false;
+        int processed = 0;
 
         for (Song song : batch) {
-            String songId = song.getId();
+            if (circuitOpen) break;
+            processed++;
+
+            GeniusResult r = fillAlbumImage(song, rid);
+            switch (r.outcome()) {
+                case SUCCESS -> {
+                    toSave.add(song);
+                    enrichmentBackoff.clear(song.getId(), EnrichmentSource.GENIUS_ALBUM_IMAGE);
+                    success++;
+                }
+                case TRASH -> {
+                    enrichmentBackoff.recordMiss(song.getId(), EnrichmentSource.GENIUS_ALBUM_IMAGE, r.reason());
+                    trash++;
+                }
+                case CIRCUIT_OPEN -> {
+                    // Genius 장애로 서킷이 열리면 남은 곡은 다음 배치로 (곡마다 거절당할 필요 없음)
+                    circuitOpen = true;
+                    transientSkip++;
+                }
+                case TRANSIENT -> transientSkip++;
+                case FAILURE -> {
+                    enrichmentBackoff.recordMiss(song.getId(), EnrichmentSource.GENIUS_ALBUM_IMAGE, r.reason());
+                    failures++;
+                }
+            }
+        }
 
-            String artist = nullToEmpty(song.getArtist()).trim();
-            String title = nullToEmpty(song.getTitle()).trim();
+        if (circuitOpen) {
+            int remaining = batch.size() - processed;
+            transientSkip += remaining;
+            log.warn("[GeniusFill:{}] circuit_open stop remaining={}", rid, remaining);
+        }
 
-            if ((artist + title).isBlank()) {
-                song.updateAlbumImageUrl("trash");
-                toSave.add(song);
-                trash++;
-                continue;
+        if (!toSave.isEmpty()) {
+            songRepository.saveAll(toSave);
+            publishMediaUpdated(toSave);
+        }
+
+        return new GeniusAlbumImageFillResultDto(
+                requestedLimit,
+                batch.size(),
+                success,
+                trash,
+                transientSkip,
+                failures
+        );
+    }
+
+    // 아티스트 단위 수확: 대기 곡을 정규화한 아티스트로 묶어 아티스트 검색 1회 + 곡 목록 페이지로 여러 곡을 한꺼번에 채움
+    // - 대기 곡이 2곡 이상인 아티스트만 (1곡이면 곡 단위 검색이 더 쌈), 많은 순으로 maxArtists 명
+    // - 못 찾은 곡은 백오프 기록 없이 남겨서 곡 단위 검색(fillAlbumImagesFromGenius)이 이어서 처리
+    @Transactional
+    public GeniusArtistHarvestResultDto harvestAlbumImagesByArtist(int maxArtists) {
+        int artistLimit = clamp(maxArtists, 1, GENIUS_HARVEST_MAX_ARTISTS);
+        String rid = shortRid();
+
+        List<Song> pending = songRepository.findSongsWithoutAlbumImage(
+                enrichmentBackoff.now(), PageRequest.of(0, GENIUS_HARVEST_SCAN_SIZE));
+
+        Map<String, List<Song>> byArtist = new LinkedHashMap<>();
+        for (Song song : pending) {
+            if (isBlank(song.getTitle())) continue;
+            String key = songQueryNormalizationService.normalizeForMatch(song.getArtist());
+            if (key.isEmpty()) continue;
+            byArtist.computeIfAbsent(key, k -> new ArrayList<>()).add(song);
+        }
+
+        List<Map.Entry<String, List<Song>>> groups = byArtist.entrySet().stream()
+                .filter(e -> e.getValue().size() >= 2)
+                .sorted(Comparator.comparingInt((Map.Entry<String, List<Song>> e) -> e.getValue().size()).reversed())
+                .limit(artistLimit)
+                .toList();
+
+        List<Song> toSave = new ArrayList<>();
+        int calls = 0;
+        int artists = 0;
+
+        for (Map.Entry<String, List<Song>> group : groups) {
+            ArtistHarvest h = new ArtistHarvest(group.getKey(), new ArrayList<>(group.getValue()));
+            boolean circuitOpen = false;
+            try {
+                harvestArtist(h);
+            } catch (BusinessException be) {
+                if (be.errorCode() == ErrorCode.GENIUS_API_TOKEN_MISSING) throw be;
+                // 이미 채운 곡은 저장, 서킷이 열렸으면 남은 아티스트는 다음 실행으로
+                log.warn("[GeniusHarvest:{}] artist={} transient_skip code={}", rid, group.getKey(), be.errorCode().name());
+                circuitOpen = be.errorCode() == ErrorCode.GENIUS_CIRCUIT_OPEN;
             }
+            calls += h.calls;
+            toSave.addAll(h.filled);
+            artists++;
+            if (circuitOpen) break;
+        }
 
-            String cleanTitle = songQueryNormalizationService.cleanTitle(title);
-            List<QueryAttempt> attempts = buildGeniusQueryAttempts(artist, title, cleanTitle);
+        if (!toSave.isEmpty()) {
+            songRepository.saveAll(toSave);
+            publishMediaUpdated(toSave);
+        }
 
-            String selectedUrl = null;
-            boolean onlyTrashReasons = true;
-            boolean transientError = false;
+        GeniusArtistHarvestResultDto result = GeniusArtistHarvestResultDto.of(pending.size(), artists, toSave.size(), calls);
+        log.info("[GeniusHarvest:{}] scanned={} artists={} filled={} calls={} savedPerSong={}",
+                rid, result.scannedSongs(), artists, result.filled(), calls,
+                String.format(Locale.ROOT, "%.2f", result.callsSavedPerFilledSong()));
+        return result;
+    }
 
-            for (QueryAttempt attempt : attempts) {
-                try {
-                    ResponseEntity<String> res = geniusClient.search(attempt.query());
+    private static final class ArtistHarvest {
+        final String artistKey;
+        final List<Song> remaining;
+        final List<Song> filled = new ArrayList<>();
+        int calls;
 
-                    var r = geniusAlbumImageUrlSearchService.extractAlbumImageUrl(
-                            res,
-                            attempt.titleForScoring(),
-                            artist,
-                            rid,
-                            songId
-                    );
+        ArtistHarvest(String artistKey, List<Song> remaining) {
+            this.artistKey = artistKey;
+            this.remaining = remaining;
+        }
+    }
 
-                    if (r.found()) {
-                        selectedUrl = r.url();
-                        break;
-                    }
+    // 아티스트 이름 검색 → 결과의 primary_artist id 로 곡 목록 페이지 (남은 곡이 2곡 이상일 때만 다음 페이지)
+    private void harvestArtist(ArtistHarvest h) {
+        String artist = h.remaining.get(0).getArtist().trim();
+
+        GeniusSearchResponse res = geniusClient.search(artist);
+        h.calls++;
+        matchArtistSongs(h, res.hits());
+
+        Long artistId = dominantArtistId(res.hits(), h.artistKey);
+        Integer page = 1;
+        while (artistId != null && page != null && page <= GENIUS_HARVEST_MAX_PAGES && h.remaining.size() >= 2) {
+            GeniusArtistSongsResponse songs = geniusClient.artistSongs(artistId, page, GENIUS_ARTIST_SONGS_PER_PAGE);
+            h.calls++;
+            matchArtistSongs(h, songs.songs());
+            page = songs.nextPage();
+        }
+    }
 
-                    if (isTrashAllowedReason(r.reason())) {
-                        continue;
-                    }
+    private void matchArtistSongs(ArtistHarvest h, List<GeniusHit> hits) {
+        if (hits == null || hits.isEmpty()) return;
 
-                    onlyTrashReasons = false;
+        Iterator<Song> it = h.remaining.iterator();
+        while (it.hasNext()) {
+            Song song = it.next();
+            var r = geniusAlbumImageUrlSearchService.matchInArtistSongs(hits, song.getTitle(), song.getArtist());
+            if (!r.found() || isBlank(r.url())) continue;
 
-                } catch (BusinessException be) {
-                    if (be.errorCode() == ErrorCode.GENIUS_API_TOKEN_MISSING) {
-                        throw be;
+            song.updateAlbumImageUrl(r.url());
+            enrichmentBackoff.clear(song.getId(), EnrichmentSource.GENIUS_ALBUM_IMAGE);
+            h.filled.add(song);
+            it.remove();
+        }
+    }
+
+    // 검색 결과 중 이름이 그룹 아티스트와 같은 primary_artist 의 id (가장 많이 나온 것)
+    private Long dominantArtistId(List<GeniusHit> hits, String artistKey) {
+        if (hits == null) return null;
+        Map<Long, Integer> counts = new HashMap<>();
+        for (GeniusHit hit : hits) {
+            if (hit == null || hit.primaryArtistId() == null) continue;
+            if (!artistKey.equals(songQueryNormalizationService.normalizeForMatch(hit.primaryArtistName()))) continue;
+            counts.merge(hit.primaryArtistId(), 1, Integer::sum);
+        }
+        return counts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    private enum GeniusOutcome { SUCCESS, TRASH, TRANSIENT, CIRCUIT_OPEN, FAILURE }
+
+    // TRASH = 검색 결과 자체가 없음, FAILURE = 결과는 있으나 채택할 후보 없음 (둘 다 백오프 대상)
+    private record GeniusResult(GeniusOutcome outcome, String reason) {}
+
+    // 곡 하나의 앨범 이미지 검색 (SUCCESS 면 song 엔티티에 반영됨, 저장은 호출자)
+    private GeniusResult fillAlbumImage(Song song, String rid) {
+        String songId = song.getId();
+
+        String artist = nullToEmpty(song.getArtist()).trim();
+        String title = nullToEmpty(song.getTitle()).trim();
+
+        if ((artist + title).isBlank()) {
+            return new GeniusResult(GeniusOutcome.TRASH, "EMPTY_QUERY");
+        }
+
+        String cleanTitle = songQueryNormalizationService.cleanTitle(title);
+        List<QueryAttempt> attempts = buildGeniusQueryAttempts(artist, title, cleanTitle);
+
+        boolean onlyTrashReasons = true;
+        String lastReason = "NO_HITS";
+
+        for (QueryAttempt attempt : attempts) {
+            try {
+                GeniusSearchResponse res = geniusClient.search(attempt.query());
+
+                var r = geniusAlbumImageUrlSearchService.extractAlbumImageUrl(
+                        res,
+                        attempt.titleForScoring(),
+                        artist,
+                        rid,
+                        songId
+                );
+
+                if (r.found()) {
+                    if (r.url() == null || r.url().isBlank()) {
+                        lastReason = "NO_IMAGE_URL";
+                        break;
                     }
-                    transientError = true;
-                    log.warn("[GeniusFill:{}] songId={} transient_skip code={} msg={}", rid, songId, be.errorCode().name(), be.getMessage());
-                    break;
-                } catch (Exception e) {
-                    transientError = true;
-                    log.warn("[GeniusFill:{}] songId={} transient_skip ex={} msg={}", rid, songId, e.getClass().getSimpleName(), e.getMessage());
-                    break;
+                    song.updateAlbumImageUrl(r.url());
+                    return new GeniusResult(GeniusOutcome.SUCCESS, null);
                 }
-            }
 
-            if (selectedUrl != null && !selectedUrl.isBlank()) {
-                song.updateAlbumImageUrl(selectedUrl);
-                toSave.add(song);
-                success++;
-                continue;
-            }
+                if (isTrashAllowedReason(r.reason())) {
+                    if (onlyTrashReasons) lastReason = r.reason();
+                    continue;
+                }
 
-            if (transientError) {
-                transientSkip++;
-                continue;
-            }
+                onlyTrashReasons = false;
+                lastReason = r.reason();
 
-            if (onlyTrashReasons) {
-                song.updateAlbumImageUrl("trash");
-                toSave.add(song);
-                trash++;
-            } else {
-                failures++;
+            } catch (BusinessException be) {
+                if (be.errorCode() == ErrorCode.GENIUS_API_TOKEN_MISSING) {
+                    throw be;
+                }
+                log.warn("[GeniusFill:{}] songId={} transient_skip code={} msg={}", rid, songId, be.errorCode().name(), be.getMessage());
+                return new GeniusResult(
+                        be.errorCode() == ErrorCode.GENIUS_CIRCUIT_OPEN ? GeniusOutcome.CIRCUIT_OPEN : GeniusOutcome.TRANSIENT,
+                        be.errorCode().name());
+            } catch (Exception e) {
+                log.warn("[GeniusFill:{}] songId={} transient_skip ex={} msg={}", rid, songId, e.getClass().getSimpleName(), e.getMessage());
+                return new GeniusResult(GeniusOutcome.TRANSIENT, e.getClass().getSimpleName());
             }
         }
 
-        if (!toSave.isEmpty()) {
-            songRepository.saveAll(toSave);
-        }
-
-        return new GeniusAlbumImageFillResultDto(
-                requestedLimit,
-                batch.size(),
-                success,
-                trash,
-                transientSkip,
-                failures
-        );
+        return new GeniusResult(onlyTrashReasons ? GeniusOutcome.TRASH : GeniusOutcome.FAILURE, lastReason);
     }
 
     private record QueryAttempt(String query, String titleForScoring) {}
@@ -197,7 +365,7 @@ public class FillDbService {
     }
 
     public YoutubeAudioFillResultDto fillYoutubeAudioId() {
-        List<Song> batch = songRepository.findSongsWithMissingAudioId(PageRequest.of(0, YOUTUBE_BATCH_SIZE));
+        List<Song> batch = songRepository.findSongsWithMissingAudioId(enrichmentBackoff.now(), PageRequest.of(0, YOUTUBE_BATCH_SIZE));
         if (batch.isEmpty()) return new YoutubeAudioFillResultDto(0);
 
         List<AudioLookup> lookups = batch.stream()
@@ -205,41 +373,57 @@ public class FillDbService {
                 .filter(s -> !isBlank(s.getTitle()) && !isBlank(s.getArtist()))
                 .map(s -> new AudioLookup(s.getId(), s.getTitle(), s.getArtist()))
                 .toList();
+        Map<String, String> rejected = enrichmentBackoff.rejectedIds(
+                lookups.stream().map(AudioLookup::songId).toList(), EnrichmentSource.YOUTUBE_AUDIO);
 
         Map<String, CompletableFuture<String>> futures = new HashMap<>();
         for (AudioLookup l : lookups) {
             CompletableFuture<String> f = CompletableFuture
-                    .supplyAsync(() -> youtubeAudioIdSearchService.findAudioId(l.title, l.artist), youtubeExecutor)
-                    .completeOnTimeout(null, YOUTUBE_CALL_TIMEOUT_SEC, TimeUnit.SECONDS);
+                    .supplyAsync(() -> youtubeAudioIdSearchService.findAudioId(l.title, l.artist, rejected.get(l.songId)), youtubeExecutor)
+                    .orTimeout(YOUTUBE_CALL_TIMEOUT_SEC, TimeUnit.SECONDS);
             futures.put(l.songId, f);
         }
 
         int audioFilled = 0;
+        int transientSkip = 0;
         List<Song> toSave = new ArrayList<>();
 
         for (Song song : batch) {
             if (!isBlank(song.getAudioId())) continue;
 
             CompletableFuture<String> f = futures.get(song.getId());
-            if (f == null) continue;
+            if (f == null) {
+                enrichmentBackoff.recordMiss(song.getId(), EnrichmentSource.YOUTUBE_AUDIO, "EMPTY_QUERY");
+                continue;
+            }
 
             String audioId;
             try {
                 audioId = f.join();
             } catch (CompletionException ce) {
+                // 타임아웃, 쿼터/upstream 장애 등 일시 장애는 기록하지 않음 → 다음 배치에서 바로 재시도
                 Throwable cause = ce.getCause();
-                if (cause instanceof BusinessException be) throw be;
+                if (cause instanceof BusinessException be && !YOUTUBE_TRANSIENT.contains(be.errorCode())) throw be;
+                transientSkip++;
                 continue;
             }
 
-            if (isBlank(audioId)) continue;
+            if (isBlank(audioId)) {
+                enrichmentBackoff.recordMiss(song.getId(), EnrichmentSource.YOUTUBE_AUDIO, "NO_MATCH");
+                continue;
+            }
 
             song.updateAudioId(audioId);
             toSave.add(song);
+            enrichmentBackoff.clear(song.getId(), EnrichmentSource.YOUTUBE_AUDIO);
             audioFilled++;
         }
+        if (transientSkip > 0) log.warn("[YoutubeFill] audio transient_skip={}", transientSkip);
 
-        if (!toSave.isEmpty()) songRepository.saveAll(toSave);
+        if (!toSave.isEmpty()) {
+            songRepository.saveAll(toSave);
+            publishMediaUpdated(toSave);
+        }
 
         return new YoutubeAudioFillResultDto(audioFilled);
     }
@@ -258,12 +442,15 @@ public class FillDbService {
             toSave.add(song);
         }
 
-        if (!toSave.isEmpty()) songRepository.saveAll(toSave);
+        if (!toSave.isEmpty()) {
+            songRepository.saveAll(toSave);
+            publishMediaUpdated(toSave);
+        }
         return toSave.size();
     }
 
     private int fillVideoIdAndThumbnailBatch() {
-        List<Song> batch = songRepository.findSongsWithMissingVideoId(PageRequest.of(0, YOUTUBE_BATCH_SIZE));
+        List<Song> batch = songRepository.findSongsWithMissingVideoId(enrichmentBackoff.now(), PageRequest.of(0, YOUTUBE_BATCH_SIZE));
         if (batch.isEmpty()) return 0;
 
         List<VideoLookup> lookups = batch.stream()
@@ -271,46 +458,147 @@ public class FillDbService {
                 .filter(s -> !isBlank(s.getTitle()) && !isBlank(s.getArtist()))
                 .map(s -> new VideoLookup(s.getId(), s.getTitle(), s.getArtist()))
                 .toList();
+        Map<String, String> rejected = enrichmentBackoff.rejectedIds(
+                lookups.stream().map(VideoLookup::songId).toList(), EnrichmentSource.YOUTUBE_VIDEO);
 
         Map<String, CompletableFuture<String>> futures = new HashMap<>();
         for (VideoLookup l : lookups) {
             CompletableFuture<String> f = CompletableFuture
-                    .supplyAsync(() -> youtubeVideoIdSearchService.findVideoId(l.title, l.artist), youtubeExecutor)
-                    .completeOnTimeout(null, YOUTUBE_CALL_TIMEOUT_SEC, TimeUnit.SECONDS);
+                    .supplyAsync(() -> youtubeVideoIdSearchService.findVideoId(l.title, l.artist, rejected.get(l.songId)), youtubeExecutor)
+                    .orTimeout(YOUTUBE_CALL_TIMEOUT_SEC, TimeUnit.SECONDS);
             futures.put(l.songId, f);
         }
 
         int videoFilled = 0;
+        int transientSkip = 0;
         List<Song> toSave = new ArrayList<>();
 
         for (Song song : batch) {
             if (!isBlank(song.getVideoId())) continue;
 
             CompletableFuture<String> f = futures.get(song.getId());
-            if (f == null) continue;
+            if (f == null) {
+                enrichmentBackoff.recordMiss(song.getId(), EnrichmentSource.YOUTUBE_VIDEO, "EMPTY_QUERY");
+                continue;
+            }
 
             String videoId;
             try {
                 videoId = f.join();
             } catch (CompletionException ce) {
+                // 타임아웃, 쿼터/upstream 장애 등 일시 장애는 기록하지 않음 → 다음 배치에서 바로 재시도
                 Throwable cause = ce.getCause();
-                if (cause instanceof BusinessException be) throw be;
+                if (cause instanceof BusinessException be && !YOUTUBE_TRANSIENT.contains(be.errorCode())) throw be;
+                transientSkip++;
                 continue;
             }
 
-            if (isBlank(videoId)) continue;
+            if (isBlank(videoId)) {
+                enrichmentBackoff.recordMiss(song.getId(), EnrichmentSource.YOUTUBE_VIDEO, "NO_MATCH");
+                continue;
+            }
 
             song.updateVideoId(videoId);
             song.updateThumbnailImageUrl(buildYoutubeThumbnailUrl(videoId));
             toSave.add(song);
+            enrichmentBackoff.clear(song.getId(), EnrichmentSource.YOUTUBE_VIDEO);
             videoFilled++;
         }
+        if (transientSkip > 0) log.warn("[YoutubeFill] video transient_skip={}", transientSkip);
 
-        if (!toSave.isEmpty()) songRepository.saveAll(toSave);
+        if (!toSave.isEmpty()) {
+            songRepository.saveAll(toSave);
+            publishMediaUpdated(toSave);
+        }
 
         return videoFilled;
     }
 
+    // 큐 소비자용 단건 처리 결과 (RETRY = 일시 장애, 나중에 다시)
+    public enum SongFillOutcome { UPDATED, UNCHANGED, RETRY }
+
+    // 이미 채워진 곡은 upstream 을 부르지 않음 → 같은 작업이 다시 전달돼도 안전
+    public SongFillOutcome fillAlbumImageForSong(String songId) {
+        Song song = songRepository.findById(songId).orElse(null);
+        if (song == null || hasAlbumImage(song)) return SongFillOutcome.UNCHANGED;
+
+        GeniusResult r = fillAlbumImage(song, shortRid());
+        return switch (r.outcome()) {
+            case SUCCESS -> {
+                enrichmentBackoff.clear(songId, EnrichmentSource.GENIUS_ALBUM_IMAGE);
+                yield saveOne(song);
+            }
+            case TRANSIENT, CIRCUIT_OPEN -> SongFillOutcome.RETRY;
+            case TRASH, FAILURE -> {
+                enrichmentBackoff.recordMiss(songId, EnrichmentSource.GENIUS_ALBUM_IMAGE, r.reason());
+                yield SongFillOutcome.UNCHANGED;
+            }
+        };
+    }
+
+    public SongFillOutcome fillVideoIdForSong(String songId) {
+        Song song = songRepository.findById(songId).orElse(null);
+        if (song == null || !isBlank(song.getVideoId())) return SongFillOutcome.UNCHANGED;
+        if (isBlank(song.getTitle()) || isBlank(song.getArtist())) {
+            enrichmentBackoff.recordMiss(songId, EnrichmentSource.YOUTUBE_VIDEO, "EMPTY_QUERY");
+            return SongFillOutcome.UNCHANGED;
+        }
+
+        String videoId;
+        try {
+            videoId = youtubeVideoIdSearchService.findVideoId(song.getTitle(), song.getArtist(),
+                    enrichmentBackoff.rejectedId(songId, EnrichmentSource.YOUTUBE_VIDEO));
+        } catch (BusinessException be) {
+            log.warn("[YoutubeFill] songId={} transient_skip code={}", songId, be.errorCode().name());
+            return SongFillOutcome.RETRY;
+        }
+        if (isBlank(videoId)) {
+            enrichmentBackoff.recordMiss(songId, EnrichmentSource.YOUTUBE_VIDEO, "NO_MATCH");
+            return SongFillOutcome.UNCHANGED;
+        }
+        enrichmentBackoff.clear(songId, EnrichmentSource.YOUTUBE_VIDEO);
+
+        song.updateVideoId(videoId);
+        song.updateThumbnailImageUrl(buildYoutubeThumbnailUrl(videoId));
+        return saveOne(song);
+    }
+
+    public SongFillOutcome fillAudioIdForSong(String songId) {
+        Song song = songRepository.findById(songId).orElse(null);
+        if (song == null || !isBlank(song.getAudioId())) return SongFillOutcome.UNCHANGED;
+        if (isBlank(song.getTitle()) || isBlank(song.getArtist())) {
+            enrichmentBackoff.recordMiss(songId, EnrichmentSource.YOUTUBE_AUDIO, "EMPTY_QUERY");
+            return SongFillOutcome.UNCHANGED;
+        }
+
+        String audioId;
+        try {
+            audioId = youtubeAudioIdSearchService.findAudioId(song.getTitle(), song.getArtist(),
+                    enrichmentBackoff.rejectedId(songId, EnrichmentSource.YOUTUBE_AUDIO));
+        } catch (BusinessException be) {
+            log.warn("[YoutubeFill] songId={} transient_skip code={}", songId, be.errorCode().name());
+            return SongFillOutcome.RETRY;
+        }
+        if (isBlank(audioId)) {
+            enrichmentBackoff.recordMiss(songId, EnrichmentSource.YOUTUBE_AUDIO, "NO_MATCH");
+            return SongFillOutcome.UNCHANGED;
+        }
+        enrichmentBackoff.clear(songId, EnrichmentSource.YOUTUBE_AUDIO);
+
+        song.updateAudioId(audioId);
+        return saveOne(song);
+    }
+
+    private SongFillOutcome saveOne(Song song) {
+        songRepository.save(song);
+        publishMediaUpdated(List.of(song));
+        return SongFillOutcome.UPDATED;
+    }
+
+    private void publishMediaUpdated(List<Song> saved) {
+        eventPublisher.publishEvent(SongMediaUpdatedEvent.of(saved.stream().map(Song::getId).toList()));
+    }
+
     private record VideoLookup(String songId, String title, String artist) {}
     private record AudioLookup(String songId, String title, String artist) {}
 
@@ -326,6 +614,11 @@ public class FillDbService {
         return (s == null) ? "" : s;
     }
 
+    // "trash" 는 예전 버전이 남긴 미발견 표시 → 이미지 없는 것으로 취급
+    private static boolean hasAlbumImage(Song song) {
+        return !isBlank(song.getAlbumImageUrl()) && !"trash".equals(song.getAlbumImageUrl());
+    }
+
     private static boolean isBlank(String s) {
         return s == null || s.isBlank();
     }
@@ -0,0 +1,147 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+// 짧은 시간(maxWaitMs) 안에 들어온 태그 추론 요청을 모아 Gemini 프롬프트 한 번으로 처리
+// - 지시문(허용 태그/규칙)을 요청마다 반복하지 않아 프롬프트 토큰과 RPM 쿼터 사용량이 줄어듦
+// - 배치 크기는 maxSize 이하, 첫 요청 후 maxWaitMs 까지만 기다림 (꺼져 있으면 기존 단건 호출)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiMicroBatcher {
+
+    private final GeminiService geminiService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cloudify.llm.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cloudify.llm.batch.maxSize:8}")
+    private int maxSize;
+
+    @Value("${cloudify.llm.batch.maxWaitMs:5}")
+    private long maxWaitMs;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private DistributionSummary batchSize;
+    private volatile Thread dispatcher;
+
+    private record Pending(String text, CompletableFuture<LlmTagResponseDto> result) {}
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        batchSize = DistributionSummary.builder("llm.batch.size")
+                .publishPercentiles(0.5, 0.95)
+                .register(meterRegistry);
+        dispatcher = Thread.ofVirtual().name("gemini-batcher").start(this::dispatchLoop);
+        log.info("[GeminiBatch] enabled maxSize={} maxWaitMs={}", maxSize, maxWaitMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread t = dispatcher;
+        if (t != null) t.interrupt();
+        executor.shutdownNow();
+
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        failAll(left, new BusinessException(ErrorCode.GEMINI_UPSTREAM_ERROR, "batcher stopped"));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 호출 스레드는 자기 결과가 나올 때까지 대기 (interrupt 되면 대기열에서 빠짐)
+    public LlmTagResponseDto infer(String text) {
+        Pending p = new Pending(text, new CompletableFuture<>());
+        queue.add(p);
+        try {
+            return p.result().get();
+        } catch (InterruptedException e) {
+            p.result().cancel(false);
+            queue.remove(p);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.GEMINI_UPSTREAM_ERROR, "interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BusinessException be) throw be;
+            throw new BusinessException(ErrorCode.GEMINI_UPSTREAM_ERROR,
+                    e.getCause().getClass().getSimpleName() + ": " + e.getCause().getMessage());
+        }
+    }
+
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Pending> batch = nextBatch();
+                if (!batch.isEmpty()) executor.execute(() -> run(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    // 첫 요청이 올 때까지 블록, 이후 maxWaitMs 동안 maxSize 까지 모음
+    private List<Pending> nextBatch() throws InterruptedException {
+        List<Pending> batch = new ArrayList<>(maxSize);
+        batch.add(queue.take());
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        while (batch.size() < maxSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) break;
+            Pending p = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (p == null) break;
+            batch.add(p);
+        }
+
+        // 대기 중 취소된 요청은 프롬프트에 싣지 않음
+        batch.removeIf(p -> p.result().isDone());
+        return batch;
+    }
+
+    private void run(List<Pending> batch) {
+        batchSize.record(batch.size());
+
+        List<String> texts = new ArrayList<>(batch.size());
+        for (Pending p : batch) texts.add(p.text());
+
+        List<GeminiService.BatchItemResult> results;
+        try {
+            results = geminiService.inferTagsBatch(texts);
+        } catch (RuntimeException e) {
+            log.info("[GeminiBatch] batch_failed size={} err={}", batch.size(), e.getClass().getSimpleName());
+            failAll(batch, e);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            GeminiService.BatchItemResult r = results.get(i);
+            if (r.error() != null) batch.get(i).result().completeExceptionally(r.error());
+            else batch.get(i).result().complete(r.tags());
+        }
+    }
+
+    private static void failAll(List<Pending> batch, Throwable e) {
+        for (Pending p : batch) p.result().completeExceptionally(e);
+    }
+}
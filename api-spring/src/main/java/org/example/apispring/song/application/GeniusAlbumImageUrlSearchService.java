@@ -3,50 +3,45 @@ package org.example.apispring.song.application;
 import lombok.RequiredArgsConstructor;
 import org.example.apispring.global.error.BusinessException;
 import org.example.apispring.global.error.ErrorCode;
-import org.json.JSONArray;
-import org.json.JSONObject;
-import org.springframework.http.ResponseEntity;
+import org.example.apispring.song.application.dto.GeniusHit;
+import org.example.apispring.song.application.dto.GeniusSearchResponse;
+import org.example.apispring.song.web.GeniusClient;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
 @Service
 @RequiredArgsConstructor
 public class GeniusAlbumImageUrlSearchService {
 
     private static final double MIN_CONFIDENCE_SCORE = 0.20;
 
+    private static final Pattern NOISY = Pattern.compile("\\b(live|cover|remix|nightcore|sped up|lyrics)\\b");
+
     private final SongQueryNormalizationService songQueryNormalizationService;
 
     public GeniusAlbumImageSearchResult extractAlbumImageUrl(
-            ResponseEntity<String> res,
+            GeniusSearchResponse res,
             String title,
             String artist,
             String rid,
             String songId
     ) {
-        if (res == null || res.getBody() == null) {
+        if (res == null) {
             throw new BusinessException(ErrorCode.GENIUS_RESPONSE_INVALID, "songId=" + songId + " null_body");
         }
 
-        final JSONObject root;
-        try {
-            root = new JSONObject(res.getBody());
-        } catch (Exception e) {
-            throw new BusinessException(
-                    ErrorCode.GENIUS_RESPONSE_INVALID,
-                    "songId=" + songId + " json_parse_fail ex=" + e.getClass().getSimpleName() + ":" + e.getMessage()
-            );
-        }
-
-        JSONObject response = root.optJSONObject("response");
-        if (response == null) {
+        if (!res.hasResponse()) {
             throw new BusinessException(ErrorCode.GENIUS_RESPONSE_INVALID, "songId=" + songId + " missing_response_node");
         }
 
-        JSONArray hits = response.optJSONArray("hits");
-        if (hits == null) {
+        if (!res.hasHits()) {
             throw new BusinessException(ErrorCode.GENIUS_RESPONSE_INVALID, "songId=" + songId + " missing_hits");
         }
 
+        List<GeniusHit> hits = res.hits();
         if (hits.isEmpty()) {
             return GeniusAlbumImageSearchResult.noImage(-999.0, "NO_HITS");
         }
@@ -67,23 +62,55 @@ public class GeniusAlbumImageUrlSearchService {
         return GeniusAlbumImageSearchResult.noImage(pick.score, img.reason);
     }
 
-    private Pick selectBestHit(JSONArray hits, String title, String artist) {
+    // 아티스트 검색/곡 목록처럼 검색어에 제목이 없는 결과에서 한 곡을 찾음
+    // - 아티스트 점수만으로 엉뚱한 곡이 뽑히지 않도록 제목(또는 정리한 제목)이 정확히 같은 항목만 후보
+    // - 못 찾으면 예외 없이 noImage (곡 단위 검색으로 넘김)
+    public GeniusAlbumImageSearchResult matchInArtistSongs(List<GeniusHit> songs, String title, String artist) {
+        String wantTitle = songQueryNormalizationService.normalizeForMatch(title);
+        String wantClean = songQueryNormalizationService.normalizeForMatch(songQueryNormalizationService.cleanTitle(title));
+        if (wantTitle.isEmpty() || songs == null) {
+            return GeniusAlbumImageSearchResult.noImage(-999.0, "NO_HITS");
+        }
+
+        List<GeniusHit> candidates = new ArrayList<>();
+        for (GeniusHit h : songs) {
+            if (h == null) continue;
+            String rTitle = songQueryNormalizationService.normalizeForMatch(nullToEmpty(h.title()));
+            if (rTitle.equals(wantTitle) || (!wantClean.isEmpty() && rTitle.equals(wantClean))) candidates.add(h);
+        }
+        if (candidates.isEmpty()) {
+            return GeniusAlbumImageSearchResult.noImage(-999.0, "NO_HITS");
+        }
+
+        Pick pick = selectBestHit(candidates, title, artist);
+        if (pick == null || pick.score < MIN_CONFIDENCE_SCORE) {
+            return GeniusAlbumImageSearchResult.noImage(pick == null ? -999.0 : pick.score, "LOW_CONFIDENCE");
+        }
+
+        ImageDecision img;
+        try {
+            img = decideImageUrl(pick.result);
+        } catch (BusinessException e) {
+            return GeniusAlbumImageSearchResult.noImage(pick.score, "NO_IMAGE_URL");
+        }
+        return img.found
+                ? GeniusAlbumImageSearchResult.found(img.url, pick.score, "FOUND")
+                : GeniusAlbumImageSearchResult.noImage(pick.score, img.reason);
+    }
+
+    private Pick selectBestHit(List<GeniusHit> hits, String title, String artist) {
         String wantTitle = songQueryNormalizationService.normalizeForMatch(title);
         String wantArtist = songQueryNormalizationService.normalizeForMatch(artist);
 
-        JSONObject best = null;
+        GeniusHit best = null;
         double bestScore = -999.0;
 
-        for (int i = 0; i < hits.length(); i++) {
-            JSONObject hit = hits.optJSONObject(i);
-            if (hit == null) continue;
-
-            JSONObject result = hit.optJSONObject("result");
+        for (GeniusHit result : hits) {
             if (result == null) continue;
 
             String primaryArtist = songQueryNormalizationService.normalizeForMatch(primaryArtistName(result));
-            String rTitle = songQueryNormalizationService.normalizeForMatch(result.optString("title", ""));
-            String fullTitle = songQueryNormalizationService.normalizeForMatch(result.optString("full_title", ""));
+            String rTitle = songQueryNormalizationService.normalizeForMatch(nullToEmpty(result.title()));
+            String fullTitle = songQueryNormalizationService.normalizeForMatch(nullToEmpty(result.fullTitle()));
 
             double s = 0.0;
 
@@ -99,7 +126,7 @@ public class GeniusAlbumImageUrlSearchService {
             }
 
             String noisy = (rTitle + " " + fullTitle);
-            if (noisy.matches(".*\\b(live|cover|remix|nightcore|sped up|lyrics)\\b.*")) s -= 0.25;
+            if (NOISY.matcher(noisy).find()) s -= 0.25;
 
             if (s > bestScore) {
                 bestScore = s;
@@ -111,23 +138,21 @@ public class GeniusAlbumImageUrlSearchService {
         return new Pick(best, bestScore);
     }
 
-    private ImageDecision decideImageUrl(JSONObject result) {
-        String[] keys = {"song_art_image_url", "song_art_image_thumbnail_url", "header_image_url"};
-
+    private ImageDecision decideImageUrl(GeniusHit result) {
         boolean sawAnyKey = false;
         boolean sawNullOrDefault = false;
 
-        for (String k : keys) {
-            if (!result.has(k)) continue;
+        for (String k : GeniusClient.IMAGE_FIELDS) {
+            if (!result.images().containsKey(k)) continue;
             sawAnyKey = true;
 
-            Object raw = result.opt(k);
-            if (raw == null || raw == JSONObject.NULL) {
+            String raw = result.images().get(k);
+            if (raw == null) {
                 sawNullOrDefault = true;
                 continue;
             }
 
-            String v = String.valueOf(raw).trim();
+            String v = raw.trim();
             if (v.isBlank() || "null".equalsIgnoreCase(v)) {
                 sawNullOrDefault = true;
                 continue;
@@ -154,15 +179,16 @@ public class GeniusAlbumImageUrlSearchService {
         throw new BusinessException(ErrorCode.GENIUS_RESPONSE_INVALID, "image_fields_present_but_unusable");
     }
 
-    private String primaryArtistName(JSONObject result) {
-        JSONObject pa = result.optJSONObject("primary_artist");
-        if (pa == null) return "";
-        Object raw = pa.opt("name");
-        if (raw == null || raw == JSONObject.NULL) return "";
-        String name = String.valueOf(raw);
+    private String primaryArtistName(GeniusHit result) {
+        String name = result.primaryArtistName();
+        if (name == null) return "";
         return "null".equalsIgnoreCase(name) ? "" : name;
     }
 
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+
     private boolean isDefaultGeniusImage(String url) {
         if (url == null) return true;
         return url.contains("/images/default") || url.contains("/default_thumb");
@@ -172,7 +198,7 @@ public class GeniusAlbumImageUrlSearchService {
         return s != null && (s.startsWith("http://") || s.startsWith("https://"));
     }
 
-    private record Pick(JSONObject result, double score) {}
+    private record Pick(GeniusHit result, double score) {}
 
     private record ImageDecision(boolean found, String url, String reason) {}
 
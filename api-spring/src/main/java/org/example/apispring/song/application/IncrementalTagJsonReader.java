@@ -0,0 +1,81 @@
+package org.example.apispring.song.application;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 스트리밍으로 조각조각 들어오는 태그 JSON 을 non-blocking 파서로 토큰 단위로 읽음
+// - 첫 '{' 전의 텍스트(코드펜스 등)는 버림 → 전체 본문을 모아 정규식으로 다듬을 필요 없음
+// - 최상위 객체의 필수 키 다섯 개가 모두 나오면 complete() → 나머지 스트림은 기다리지 않음
+final class IncrementalTagJsonReader {
+
+    static final List<String> REQUIRED_KEYS = List.of("MOOD", "GENRE", "ACTIVITY", "BRANCH", "TEMPO");
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final Map<String, String> fields = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private boolean started;
+    private boolean ended;
+    private int depth;
+    private String field;
+
+    IncrementalTagJsonReader(JsonFactory factory) throws IOException {
+        this.parser = factory.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    // 텍스트 조각 하나를 넣고, 필수 키가 모두 모였으면 true
+    boolean feed(String fragment) throws IOException {
+        if (fragment == null || ended || complete()) return complete();
+
+        String s = fragment;
+        if (!started) {
+            int start = s.indexOf('{');
+            if (start < 0) return false;
+            s = s.substring(start);
+            started = true;
+        }
+
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+
+        JsonToken t;
+        while ((t = parser.nextToken()) != null && t != JsonToken.NOT_AVAILABLE) {
+            switch (t) {
+                case START_OBJECT, START_ARRAY -> depth++;
+                case END_OBJECT, END_ARRAY -> {
+                    // 최상위 객체가 닫히면 뒤따르는 텍스트(닫는 코드펜스 등)는 읽지 않음
+                    if (--depth == 0) ended = true;
+                }
+                case FIELD_NAME -> field = (depth == 1) ? parser.currentName() : null;
+                case VALUE_NULL -> field = null;
+                default -> {
+                    if (depth == 1 && field != null) fields.putIfAbsent(field, parser.getText());
+                    field = null;
+                }
+            }
+            if (ended || complete()) break;
+        }
+        return complete();
+    }
+
+    boolean complete() {
+        for (String k : REQUIRED_KEYS) {
+            if (!fields.containsKey(k)) return false;
+        }
+        return true;
+    }
+
+    // 키 대소문자 무시 맵 (먼저 나온 키 우선)
+    Map<String, String> fields() {
+        return fields;
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.apispring.song.application;
+
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.example.apispring.song.domain.TagEnums;
+import org.example.apispring.song.domain.TagVector;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// LLM 을 쓸 수 없을 때의 결정적 태그 추론 (키워드 점수 → 없으면 mood 기반 기본값)
+// 같은 입력이면 항상 같은 태그 → 추천 결과도 재현 가능
+@Component
+public class LocalTagInference {
+
+    private static final Map<TagEnums.MOOD, List<String>> MOOD_WORDS = new EnumMap<>(Map.of(
+            TagEnums.MOOD.hype, List.of("신나", "신남", "텐션", "흥", "파티", "hype", "excit", "energetic"),
+            TagEnums.MOOD.happy, List.of("행복", "기분 좋", "기분좋", "기쁜", "설레", "소풍", "happy", "joy"),
+            TagEnums.MOOD.chill, List.of("여유", "편안", "느긋", "쉬고", "chill", "relax"),
+            TagEnums.MOOD.dreamy, List.of("몽환", "꿈", "새벽", "dream"),
+            TagEnums.MOOD.peaceful, List.of("평화", "잔잔", "고요", "힐링", "차분", "peace", "calm"),
+            TagEnums.MOOD.sad, List.of("슬프", "슬퍼", "우울", "이별", "눈물", "외로", "sad", "lonely", "breakup")
+    ));
+
+    private static final Map<TagEnums.GENRE, List<String>> GENRE_WORDS = new EnumMap<>(Map.of(
+            TagEnums.GENRE.city_pop, List.of("시티팝", "시티 팝", "city pop", "citypop"),
+            TagEnums.GENRE.ballad, List.of("발라드", "ballad"),
+            TagEnums.GENRE.acoustic, List.of("어쿠스틱", "통기타", "acoustic"),
+            TagEnums.GENRE.indie, List.of("인디", "indie"),
+            TagEnums.GENRE.lofi, List.of("로파이", "lofi", "lo-fi", "lo fi"),
+            TagEnums.GENRE.pop, List.of("팝", "pop"),
+            TagEnums.GENRE.dance, List.of("댄스", "dance"),
+            TagEnums.GENRE.rnb, List.of("알앤비", "r&b", "rnb"),
+            TagEnums.GENRE.edm, List.of("edm", "일렉", "electronic")
+    ));
+
+    private static final Map<TagEnums.ACTIVITY, List<String>> ACTIVITY_WORDS = new EnumMap<>(Map.of(
+            TagEnums.ACTIVITY.party, List.of("파티", "클럽", "축제", "party", "club"),
+            TagEnums.ACTIVITY.workout, List.of("운동", "헬스", "러닝", "달리", "workout", "gym", "run"),
+            TagEnums.ACTIVITY.picnic, List.of("소풍", "피크닉", "나들이", "산책", "picnic", "walk"),
+            TagEnums.ACTIVITY.study, List.of("공부", "집중", "작업", "독서", "study", "focus", "work"),
+            TagEnums.ACTIVITY.night_drive, List.of("드라이브", "운전", "drive"),
+            TagEnums.ACTIVITY.sleep, List.of("잠", "수면", "자기 전", "자장", "sleep")
+    ));
+
+    private static final List<String> UPLIFT_WORDS = List.of("힘내", "힘을", "기운", "응원", "기분 전환", "uplift");
+    private static final List<String> CALM_WORDS = List.of("진정", "차분", "쉬고", "calm");
+
+    private static final List<String> FAST_WORDS = List.of("빠른", "빠르", "신나", "fast", "upbeat");
+    private static final List<String> SLOW_WORDS = List.of("느린", "느리", "잔잔", "slow");
+
+    public LlmTagResponseDto infer(String text) {
+        String t = (text == null ? "" : text.toLowerCase(Locale.ROOT));
+
+        TagEnums.MOOD mood = best(MOOD_WORDS, t, TagEnums.MOOD.chill);
+        TagEnums.ACTIVITY activity = best(ACTIVITY_WORDS, t, defaultActivity(mood));
+        TagEnums.GENRE genre = best(GENRE_WORDS, t, defaultGenre(mood));
+        TagEnums.BRANCH branch = branch(t, mood);
+        TagEnums.TEMPO tempo = tempo(t, mood, activity);
+
+        return new LlmTagResponseDto(TagVector.of(mood, genre, activity, branch, tempo));
+    }
+
+    // 키워드가 가장 많이 등장한 값 (동점이면 enum 선언 순서)
+    private static <E extends Enum<E>> E best(Map<E, List<String>> words, String text, E fallback) {
+        E best = null;
+        int bestScore = 0;
+        for (Map.Entry<E, List<String>> e : words.entrySet()) {
+            int score = count(text, e.getValue());
+            if (score > bestScore) {
+                best = e.getKey();
+                bestScore = score;
+            }
+        }
+        return best != null ? best : fallback;
+    }
+
+    private static int count(String text, List<String> words) {
+        int n = 0;
+        for (String w : words) {
+            if (text.contains(w)) n++;
+        }
+        return n;
+    }
+
+    private static TagEnums.BRANCH branch(String t, TagEnums.MOOD mood) {
+        int uplift = count(t, UPLIFT_WORDS);
+        int calm = count(t, CALM_WORDS);
+        if (uplift != calm) return uplift > calm ? TagEnums.BRANCH.uplift : TagEnums.BRANCH.calm;
+        return (mood == TagEnums.MOOD.hype || mood == TagEnums.MOOD.happy)
+                ? TagEnums.BRANCH.uplift
+                : TagEnums.BRANCH.calm;
+    }
+
+    private static TagEnums.TEMPO tempo(String t, TagEnums.MOOD mood, TagEnums.ACTIVITY activity) {
+        int fast = count(t, FAST_WORDS);
+        int slow = count(t, SLOW_WORDS);
+        if (fast != slow) return fast > slow ? TagEnums.TEMPO.fast : TagEnums.TEMPO.slow;
+
+        if (mood == TagEnums.MOOD.hype
+                || activity == TagEnums.ACTIVITY.workout
+                || activity == TagEnums.ACTIVITY.party) {
+            return TagEnums.TEMPO.fast;
+        }
+        if (mood == TagEnums.MOOD.sad
+                || mood == TagEnums.MOOD.peaceful
+                || activity == TagEnums.ACTIVITY.sleep) {
+            return TagEnums.TEMPO.slow;
+        }
+        return TagEnums.TEMPO.mid;
+    }
+
+    private static TagEnums.ACTIVITY defaultActivity(TagEnums.MOOD mood) {
+        return switch (mood) {
+            case hype -> TagEnums.ACTIVITY.party;
+            case happy -> TagEnums.ACTIVITY.picnic;
+            case chill, dreamy -> TagEnums.ACTIVITY.night_drive;
+            case peaceful -> TagEnums.ACTIVITY.study;
+            case sad -> TagEnums.ACTIVITY.sleep;
+        };
+    }
+
+    private static TagEnums.GENRE defaultGenre(TagEnums.MOOD mood) {
+        return switch (mood) {
+            case hype -> TagEnums.GENRE.dance;
+            case happy -> TagEnums.GENRE.pop;
+            case chill -> TagEnums.GENRE.lofi;
+            case dreamy -> TagEnums.GENRE.city_pop;
+            case peaceful -> TagEnums.GENRE.acoustic;
+            case sad -> TagEnums.GENRE.ballad;
+        };
+    }
+}
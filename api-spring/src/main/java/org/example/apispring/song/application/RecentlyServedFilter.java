@@ -0,0 +1,138 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.song.domain.SongCandidate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// 사용자별 최근 추천 곡을 Redis 비트맵 Bloom filter 로 기억 (곡 목록/이력은 저장하지 않음)
+// - 키: rec:seen:<userId>:<window>, window 마다 새 필터 → 현재 + 직전 필터를 함께 봄 (1~2 window 동안 기억)
+// - 조회는 두 비트맵을 MGET 한 번에 받아 로컬에서 검사, 기록은 SETBIT 파이프라인
+// - Redis 장애 시 필터 없이 추천 (fail-open)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecentlyServedFilter {
+
+    private static final String KEY_PREFIX = "rec:seen:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Value("${cloudify.recommend.seen.enabled:true}")
+    private boolean enabled;
+
+    // 8192 bit(1KB) · k=4 → window 당 500곡에서 오탐 약 0.2%
+    @Value("${cloudify.recommend.seen.bits:8192}")
+    private int bits;
+
+    @Value("${cloudify.recommend.seen.hashes:4}")
+    private int hashes;
+
+    @Value("${cloudify.recommend.seen.windowSec:21600}")
+    private long windowSec;
+
+    public Seen load(UUID userId) {
+        if (!enabled || userId == null) return Seen.NONE;
+        try {
+            long window = window();
+            List<byte[]> maps = redisTemplate.execute((RedisCallback<List<byte[]>>) conn ->
+                    conn.stringCommands().mGet(key(userId, window), key(userId, window - 1)));
+            if (maps == null) return Seen.NONE;
+
+            Seen seen = new Seen(maps.get(0), maps.get(1), hashes, bits);
+            meterRegistry.summary("recommend.seen.fpp").record(seen.falsePositiveRate());
+            return seen;
+        } catch (Exception e) {
+            log.warn("[RecentlyServed] load_failed err={}", e.getClass().getSimpleName());
+            return Seen.NONE;
+        }
+    }
+
+    // 이번에 내보낸 곡을 현재 window 필터에 추가 + 이미 본 곡(필터 기준)이 다시 나간 비율 집계
+    public void record(UUID userId, Collection<String> songKeys, Seen seen) {
+        if (!enabled || userId == null || songKeys.isEmpty()) return;
+
+        int repeats = 0;
+        for (String k : songKeys) {
+            if (seen.contains(k)) repeats++;
+        }
+        meterRegistry.counter("recommend.seen.songs", "outcome", "repeat").increment(repeats);
+        meterRegistry.counter("recommend.seen.songs", "outcome", "fresh").increment(songKeys.size() - repeats);
+        remember(userId, songKeys);
+    }
+
+    // 집계 없이 필터에만 추가 (이미 골라 둔 다음 페이지를 내보낼 때)
+    public void remember(UUID userId, Collection<String> songKeys) {
+        if (!enabled || userId == null || songKeys.isEmpty()) return;
+        try {
+            byte[] key = key(userId, window());
+            long ttl = windowSec * 2;
+            redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
+                for (String k : songKeys) {
+                    for (int off : BloomBits.offsets(k, hashes, bits)) {
+                        conn.stringCommands().setBit(key, off, true);
+                    }
+                }
+                conn.keyCommands().expire(key, ttl);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("[RecentlyServed] record_failed err={}", e.getClass().getSimpleName());
+        }
+    }
+
+    private long window() {
+        return clock.millis() / 1000 / windowSec;
+    }
+
+    private static byte[] key(UUID userId, long window) {
+        return (KEY_PREFIX + userId + ":" + window).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 요청 하나 동안 쓰는 필터 스냅샷 (비트맵 두 개)
+    public static final class Seen {
+
+        static final Seen NONE = new Seen(null, null, 1, 1);
+
+        private final byte[] current;
+        private final byte[] previous;
+        private final int hashes;
+        private final int bits;
+
+        Seen(byte[] current, byte[] previous, int hashes, int bits) {
+            this.current = current;
+            this.previous = previous;
+            this.hashes = hashes;
+            this.bits = bits;
+        }
+
+        public boolean contains(String songKey) {
+            if (songKey == null || (current == null && previous == null)) return false;
+            int[] offsets = BloomBits.offsets(songKey, hashes, bits);
+            return BloomBits.mightContain(current, offsets) || BloomBits.mightContain(previous, offsets);
+        }
+
+        public boolean contains(SongCandidate c) {
+            return contains(RecommendationService.songKey(c));
+        }
+
+        // 두 필터 중 하나라도 오탐이면 오탐
+        double falsePositiveRate() {
+            double a = BloomBits.falsePositiveRate(current, bits, hashes);
+            double b = BloomBits.falsePositiveRate(previous, bits, hashes);
+            return a + b - a * b;
+        }
+    }
+}
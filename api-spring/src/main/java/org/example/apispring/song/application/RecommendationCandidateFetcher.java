@@ -0,0 +1,265 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.example.apispring.song.domain.SongCandidate;
+import org.example.apispring.song.domain.SongTagRepository;
+import org.example.apispring.song.domain.TagEnums;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendationCandidateFetcher {
+
+    private static final int STRONG_DB_FETCH_LIMIT = 1000;
+    private static final int WEAK_DB_FETCH_LIMIT = 2000;
+
+    // 통계 기반 limit 에 더하는 여유분 (통계 갱신 사이에 추가된 곡 흡수)
+    private static final int PLAN_LIMIT_SLACK = 50;
+
+    private static final String GENRE_UNKNOWN = TagEnums.GENRE_UNKNOWN;
+
+    private static final String SPECULATION_METRIC = "recommend.candidates.speculation";
+    private static final String SOURCE_METRIC = "recommend.candidates.source";
+
+    private final SongTagRepository songTagRepository;
+    private final TagCellStatistics tagCellStatistics;
+    private final CandidatePool candidatePool;
+    private final SongCandidateCache songCandidateCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cloudify.recommend.fetchBudgetMs:1500}")
+    private long fetchBudgetMs;
+
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    public EnumMap<CandidateTier, List<SongCandidate>> fetch(LlmTagResponseDto tags, int target, String rid) {
+        return fetch(tags, target, target, rid);
+    }
+
+    // Redis 후보 풀이 준비돼 있으면 거기서(파이프라인 + MGET), 아니면/minimum 에 못 미치면 DB 단계별 조회
+    // - target: 단계별로 모으려는 곡 수, minimum: 풀 결과를 믿을 수 있는 최소 고유 곡 수
+    public EnumMap<CandidateTier, List<SongCandidate>> fetch(LlmTagResponseDto tags, int target, int minimum, String rid) {
+        if (candidatePool.isReady()) {
+            EnumMap<CandidateTier, List<SongCandidate>> pooled = fetchFromPool(tags, target, minimum, rid);
+            if (pooled != null) {
+                countSource("pool");
+                return pooled;
+            }
+        }
+        countSource("db");
+        return fetchFromDb(tags, target, rid);
+    }
+
+    // 풀 장애나 풀이 늦게 따라와 minimum 에 못 미치면 null → DB 로 다시 (DB 결과가 기준)
+    private EnumMap<CandidateTier, List<SongCandidate>> fetchFromPool(LlmTagResponseDto tags, int target, int minimum, String rid) {
+        long t0 = System.nanoTime();
+        try {
+            EnumMap<CandidateTier, List<CandidatePool.Sampled>> picks = candidatePool.sample(tags.vector(), target);
+
+            LinkedHashSet<String> all = new LinkedHashSet<>();
+            picks.values().forEach(l -> l.forEach(p -> all.add(p.songId())));
+            Map<String, SongCandidate> byId = new HashMap<>(all.size() * 2);
+            for (SongCandidate c : songCandidateCache.load(new ArrayList<>(all))) byId.put(c.songId(), c);
+
+            EnumMap<CandidateTier, List<SongCandidate>> done = new EnumMap<>(CandidateTier.class);
+            Set<String> uniqueKeys = new HashSet<>();
+            for (CandidateTier tier : CandidateTier.values()) {
+                List<SongCandidate> rows = new ArrayList<>();
+                for (CandidatePool.Sampled p : picks.getOrDefault(tier, List.of())) {
+                    // 메타데이터 캐시에는 태그가 없음 → 뽑힌 셀의 태그로 점수 계산
+                    SongCandidate c = byId.get(p.songId());
+                    if (c != null) rows.add(c.withTags(p.tags()));
+                }
+                collect(done, uniqueKeys, tier, rows);
+            }
+
+            log.info("[Recommend:{}] fetch source=pool unique={} elapsedMs={}", rid, uniqueKeys.size(), elapsedMs(t0));
+            return uniqueKeys.size() >= minimum ? done : null;
+
+        } catch (Exception e) {
+            log.warn("[Recommend:{}] pool_failed err={} msg={}", rid, e.getClass().getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    // 단계별 후보를 가상 스레드에서 병렬 조회
+    // - 셀 통계로 세운 계획의 단계들은 처음부터 한 번에 발사
+    // - 앞 단계들만으로 target 개(고유 곡 기준)가 모이면 남은 조회는 취소
+    // - 모든 조회는 요청 단위 deadline(fetchBudgetMs) 안에 끝나야 함
+    private EnumMap<CandidateTier, List<SongCandidate>> fetchFromDb(LlmTagResponseDto tags, int target, String rid) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchBudgetMs);
+
+        CandidatePlan plan = tagCellStatistics.plan(tags, target);
+        boolean speculate = plan.launchesWeak();
+
+        EnumMap<CandidateTier, Future<List<SongCandidate>>> pending = new EnumMap<>(CandidateTier.class);
+        EnumMap<CandidateTier, List<SongCandidate>> done = new EnumMap<>(CandidateTier.class);
+
+        try {
+            for (CandidatePlan.PlannedFetch pf : plan.fetches()) {
+                submit(pending, pf.tier(), limitFor(pf.tier(), pf.expected()), tags, rid);
+            }
+
+            Set<String> uniqueKeys = new HashSet<>();
+            List<CandidateTier> skipped = new ArrayList<>();
+            boolean weakNeeded = false;
+            boolean missed = false;
+
+            for (CandidateTier tier : CandidateTier.values()) {
+                if (uniqueKeys.size() >= target) break;
+                if (tier.isWeak()) weakNeeded = true;
+
+                if (!pending.containsKey(tier)) {
+                    if (plan.expectedEmpty().contains(tier)) {
+                        // 통계상 빈 셀 → 조회하지 않음 (끝까지 부족하면 아래에서 재확인)
+                        skipped.add(tier);
+                        continue;
+                    }
+                    // 계획이 부족을 예측하지 못함(통계 미적재/지연) → 남은 단계를 한 번에 발사
+                    for (CandidateTier rest : CandidateTier.values()) {
+                        if (rest.ordinal() >= tier.ordinal() && !done.containsKey(rest)
+                                && !plan.expectedEmpty().contains(rest)) {
+                            submit(pending, rest, limitFor(rest, -1), tags, rid);
+                        }
+                    }
+                    if (!missed && plan.statsBased()) countSpeculation("missed");
+                    missed = true;
+                }
+
+                collect(done, uniqueKeys, tier, await(pending.remove(tier), deadline, tier, rid));
+            }
+
+            if (uniqueKeys.size() < target && !skipped.isEmpty()) {
+                // 통계가 늦게 따라온 경우 대비: 빈 셀로 건너뛴 단계만 한 번 더 확인
+                for (CandidateTier tier : skipped) submit(pending, tier, limitFor(tier, -1), tags, rid);
+                for (CandidateTier tier : skipped) {
+                    collect(done, uniqueKeys, tier, await(pending.remove(tier), deadline, tier, rid));
+                }
+                if (!missed) countSpeculation("missed");
+            }
+
+            if (speculate) {
+                countSpeculation(weakNeeded ? "hit" : "wasted");
+            }
+
+            log.info("[Recommend:{}] fetch plan={} tiers={} speculate={} unique={}",
+                    rid, plan.statsBased() ? plan.fetches() : "no_stats", done.keySet(), speculate, uniqueKeys.size());
+            return done;
+
+        } finally {
+            // 구조적 범위: 이 요청에서 띄운 조회는 여기서 모두 정리
+            for (Future<List<SongCandidate>> f : pending.values()) {
+                f.cancel(true);
+            }
+        }
+    }
+
+    private static void collect(EnumMap<CandidateTier, List<SongCandidate>> done,
+                                Set<String> uniqueKeys,
+                                CandidateTier tier,
+                                List<SongCandidate> fetched) {
+        List<SongCandidate> rows = RecommendationService.distinctBySongKey(fetched);
+        done.put(tier, rows);
+        for (SongCandidate c : rows) {
+            uniqueKeys.add(RecommendationService.songKey(c));
+        }
+    }
+
+    // 예상 곡 수를 알면 그만큼(+여유)만 조회, 모르면 단계별 상한
+    private static int limitFor(CandidateTier tier, int expected) {
+        int cap = tier.isWeak() ? WEAK_DB_FETCH_LIMIT : STRONG_DB_FETCH_LIMIT;
+        if (expected < 0) return cap;
+        return Math.min(cap, expected + PLAN_LIMIT_SLACK);
+    }
+
+    private void submit(EnumMap<CandidateTier, Future<List<SongCandidate>>> pending,
+                        CandidateTier tier,
+                        int limit,
+                        LlmTagResponseDto tags,
+                        String rid) {
+        pending.computeIfAbsent(tier, t -> fetchExecutor.submit(() -> query(t, limit, tags, rid)));
+    }
+
+    private List<SongCandidate> query(CandidateTier tier, int limit, LlmTagResponseDto tags, String rid) {
+        return switch (tier) {
+            case STRONG_GENRE -> timed(rid, "strongGenre",
+                    () -> songTagRepository.findStrongByTagVector(tags.vector(), PageRequest.of(0, limit)));
+            case STRONG_UNKNOWN -> timed(rid, "strongUnknown",
+                    () -> songTagRepository.findStrongByTagVector(tags.vector().withUnknownGenre(), PageRequest.of(0, limit)));
+            case WEAK_GENRE -> timed(rid, "weakGenre",
+                    () -> songTagRepository.findWeakByMoodBranchOneMatchAndGenre(
+                            tags.mood(), tags.branch(), tags.activity(), tags.tempo(), tags.genre(),
+                            PageRequest.of(0, limit)
+                    ));
+            case WEAK_UNKNOWN -> timed(rid, "weakUnknown",
+                    () -> songTagRepository.findWeakByMoodBranchOneMatchAndGenre(
+                            tags.mood(), tags.branch(), tags.activity(), tags.tempo(), GENRE_UNKNOWN,
+                            PageRequest.of(0, limit)
+                    ));
+        };
+    }
+
+    private <T> List<T> timed(String rid, String name, Supplier<List<T>> supplier) {
+        long t0 = System.nanoTime();
+        try {
+            List<T> res = supplier.get();
+            int size = (res == null ? 0 : res.size());
+            log.info("[Recommend:{}] fetch {} size={} elapsedMs={}", rid, name, size, elapsedMs(t0));
+            return (res == null ? List.of() : res);
+        } catch (Exception e) {
+            log.error("[Recommend:{}] fetch_failed {} err={} msg={}",
+                    rid, name, e.getClass().getSimpleName(), e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    private List<SongCandidate> await(Future<List<SongCandidate>> future, long deadline, CandidateTier tier, String rid) {
+        long remaining = deadline - System.nanoTime();
+        try {
+            if (remaining <= 0) throw new TimeoutException();
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+
+        } catch (TimeoutException e) {
+            log.warn("[Recommend:{}] fetch_timeout tier={} budgetMs={}", rid, tier, fetchBudgetMs);
+            throw new BusinessException(ErrorCode.RECOMMENDATION_TIMEOUT, "tier=" + tier);
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new BusinessException(ErrorCode.RECOMMENDATION_INTERNAL_ERROR, "tier=" + tier);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.RECOMMENDATION_INTERNAL_ERROR, "interrupted tier=" + tier);
+        }
+    }
+
+    private void countSpeculation(String outcome) {
+        meterRegistry.counter(SPECULATION_METRIC, "outcome", outcome).increment();
+    }
+
+    private void countSource(String source) {
+        meterRegistry.counter(SOURCE_METRIC, "source", source).increment();
+    }
+
+    private static long elapsedMs(long startNano) {
+        return (System.nanoTime() - startNano) / 1_000_000;
+    }
+}
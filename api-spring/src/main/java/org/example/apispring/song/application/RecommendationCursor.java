@@ -0,0 +1,50 @@
+package org.example.apispring.song.application;
+
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// "더 보기" 커서: 페이지 세션 id(12 byte 난수) + 다음 offset(2 byte) 을 base64url 로 (19자, 클라이언트에는 불투명)
+// - offset 을 커서에 담아 다음 페이지 조회 때 Redis 에 쓰지 않음
+public record RecommendationCursor(String session, int offset) {
+
+    private static final int SESSION_BYTES = 12;
+    private static final int MAX_OFFSET = 0xFFFF;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static String newSession() {
+        byte[] b = new byte[SESSION_BYTES];
+        RANDOM.nextBytes(b);
+        return ENCODER.encodeToString(b);
+    }
+
+    public String encode() {
+        if (offset < 0 || offset > MAX_OFFSET) throw new IllegalArgumentException("offset out of range: " + offset);
+        byte[] b = new byte[SESSION_BYTES + 2];
+        System.arraycopy(DECODER.decode(session), 0, b, 0, SESSION_BYTES);
+        b[SESSION_BYTES] = (byte) (offset >>> 8);
+        b[SESSION_BYTES + 1] = (byte) offset;
+        return ENCODER.encodeToString(b);
+    }
+
+    public static RecommendationCursor parse(String cursor) {
+        byte[] b;
+        try {
+            b = (cursor == null ? null : DECODER.decode(cursor));
+        } catch (IllegalArgumentException e) {
+            b = null;
+        }
+        if (b == null || b.length != SESSION_BYTES + 2) {
+            throw new BusinessException(ErrorCode.RECOMMENDATION_CURSOR_INVALID);
+        }
+        byte[] session = new byte[SESSION_BYTES];
+        System.arraycopy(b, 0, session, 0, SESSION_BYTES);
+        int offset = (b[SESSION_BYTES] & 0xFF) << 8 | (b[SESSION_BYTES + 1] & 0xFF);
+        return new RecommendationCursor(ENCODER.encodeToString(session), offset);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.apispring.song.application;
+
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 첫 페이지에서 정렬해 둔 추천 곡 id 목록을 Redis 에 짧게 보관 (rec:page:<session>)
+// - 값: version(1) | owner uuid(16) | 곡 수 varint | (길이 varint + UTF-8 id)*  → 100곡이어도 수 KB
+// - 다른 사용자의 세션이면 만료된 커서와 같게 취급
+@Component
+public class RecommendationPageStore {
+
+    private static final String KEY_PREFIX = "rec:page:";
+    private static final byte VERSION = 1;
+
+    private final StringRedisTemplate redisTemplate;
+    private final long ttlSec;
+
+    public RecommendationPageStore(StringRedisTemplate redisTemplate,
+                                   @Value("${cloudify.recommend.paging.ttlSec:900}") long ttlSec) {
+        this.redisTemplate = redisTemplate;
+        this.ttlSec = ttlSec;
+    }
+
+    public String create(UUID owner, List<String> songIds) {
+        String session = RecommendationCursor.newSession();
+        byte[] key = key(session);
+        byte[] value = encode(owner, songIds);
+        redisTemplate.execute((RedisCallback<Boolean>) conn -> conn.stringCommands().setEx(key, ttlSec, value));
+        return session;
+    }
+
+    public List<String> load(String session, UUID owner) {
+        byte[] key = key(session);
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>) conn -> conn.stringCommands().get(key));
+        Page page = (value == null ? null : decode(value));
+        if (page == null || !page.owner().equals(ownerOrZero(owner))) {
+            throw new BusinessException(ErrorCode.RECOMMENDATION_CURSOR_INVALID);
+        }
+        return page.songIds();
+    }
+
+    static byte[] encode(UUID owner, List<String> songIds) {
+        UUID o = ownerOrZero(owner);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(17 + songIds.size() * 24);
+        out.write(VERSION);
+        out.writeBytes(ByteBuffer.allocate(16)
+                .putLong(o.getMostSignificantBits())
+                .putLong(o.getLeastSignificantBits())
+                .array());
+        writeVarint(out, songIds.size());
+        for (String id : songIds) {
+            byte[] b = id.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, b.length);
+            out.writeBytes(b);
+        }
+        return out.toByteArray();
+    }
+
+    // 형식이 맞지 않으면 null
+    static Page decode(byte[] value) {
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(value);
+            if (buf.get() != VERSION) return null;
+            UUID owner = new UUID(buf.getLong(), buf.getLong());
+            int n = readVarint(buf);
+            List<String> ids = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                byte[] b = new byte[readVarint(buf)];
+                buf.get(b);
+                ids.add(new String(b, StandardCharsets.UTF_8));
+            }
+            return new Page(owner, ids);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int v) {
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    private static int readVarint(ByteBuffer buf) {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buf.get();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IllegalArgumentException("varint too long");
+    }
+
+    private static UUID ownerOrZero(UUID owner) {
+        return owner == null ? new UUID(0, 0) : owner;
+    }
+
+    private static byte[] key(String session) {
+        return (KEY_PREFIX + session).getBytes(StandardCharsets.UTF_8);
+    }
+
+    record Page(UUID owner, List<String> songIds) {}
+}
@@ -0,0 +1,270 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.example.apispring.song.application.event.SongMediaUpdatedEvent;
+import org.example.apispring.song.domain.SongCandidate;
+import org.example.apispring.song.domain.TagVector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+// 태그 조합(TagVector)별 후보 풀을 메모리에 두고 요청마다 다음 페이지를 꺼냄
+// - 풀: 단계 우선순위대로 최대 poolSize 곡 (곡 단위 dedupe), 단계마다 한 번 섞어 둔 순열을 커서로 돌려 가며 사용
+//   → 같은 태그 요청이 반복돼도 DB/Redis 조회와 셔플 없이 서로 다른 후보
+// - ttl 이 가까워지면 XFetch(로드 시간 × beta × -ln(u)) 확률로 백그라운드 재적재, 그동안은 기존 풀로 응답
+// - maxStale 을 넘긴 풀은 버리고 동기 적재 (같은 키 동시 적재는 하나로 합침)
+// - 곡 영상/이미지가 바뀌면 그 곡이 든 풀만 버림, 태그 변경은 ttl 로 흡수
+@Slf4j
+@Component
+public class RecommendationPoolCache {
+
+    private static final String METRIC = "recommend.pool.cache";
+
+    private final RecommendationCandidateFetcher candidateFetcher;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int poolSize;
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final double beta;
+    private final int maxEntries;
+
+    private final Map<TagVector, Pool> pools;
+    private final ConcurrentHashMap<TagVector, CompletableFuture<Pool>> loading = new ConcurrentHashMap<>();
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RecommendationPoolCache(RecommendationCandidateFetcher candidateFetcher,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${cloudify.recommend.poolCache.enabled:true}") boolean enabled,
+                                   @Value("${cloudify.recommend.poolCache.poolSize:200}") int poolSize,
+                                   @Value("${cloudify.recommend.poolCache.ttlSec:60}") long ttlSec,
+                                   @Value("${cloudify.recommend.poolCache.maxStaleSec:600}") long maxStaleSec,
+                                   @Value("${cloudify.recommend.poolCache.beta:1.0}") double beta,
+                                   @Value("${cloudify.recommend.poolCache.maxEntries:2000}") int maxEntries) {
+        this.candidateFetcher = candidateFetcher;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.poolSize = poolSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSec);
+        this.maxStaleNanos = TimeUnit.SECONDS.toNanos(Math.max(ttlSec, maxStaleSec));
+        this.beta = beta;
+        this.maxEntries = maxEntries;
+        this.pools = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TagVector, Pool> eldest) {
+                return size() > RecommendationPoolCache.this.maxEntries;
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.shutdownNow();
+    }
+
+    // 후보 count 곡 (앞 단계부터 채움, 전체 풀이 작으면 그보다 적을 수 있음)
+    // - exclude 에 걸린 곡은 다른 곡이 모자랄 때만 씀
+    public List<SongCandidate> draw(LlmTagResponseDto tags, int count, String rid, Predicate<SongCandidate> exclude) {
+        if (!enabled) return load(tags, count, count, rid).draw(count, exclude);
+
+        TagVector key = tags.vector();
+        long now = System.nanoTime();
+        Pool pool;
+        synchronized (pools) {
+            pool = pools.get(key);
+        }
+
+        if (pool == null || now - pool.loadedAt() >= maxStaleNanos) {
+            countOutcome("miss");
+            pool = join(loadShared(key, tags, count, rid));
+        } else if (shouldRefresh(now - pool.loadedAt(), ttlNanos, pool.loadNanos(), beta, RandomGenerator.getDefault())) {
+            countOutcome("refresh");
+            loadShared(key, tags, count, rid + "-bg");
+        } else {
+            countOutcome("hit");
+        }
+        return pool.draw(count, exclude);
+    }
+
+    // XFetch: 만료 전이라도 age + loadTime·beta·(-ln u) 가 ttl 을 넘으면 재적재
+    // → 인기 키일수록 만료 직전에 한 요청만 먼저 갱신, 동시에 만료되어 몰리는 일 없음
+    static boolean shouldRefresh(long ageNanos, long ttlNanos, long loadNanos, double beta, RandomGenerator rnd) {
+        double u = 1.0 - rnd.nextDouble(); // (0, 1]
+        return ageNanos - loadNanos * beta * Math.log(u) >= ttlNanos;
+    }
+
+    // 커밋 이후에 지워야 커밋 전 값으로 다시 채워지지 않음 (트랜잭션 밖 발행은 즉시 실행)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSongMediaUpdated(SongMediaUpdatedEvent event) {
+        Set<String> ids = new HashSet<>(event.songIds());
+        int dropped = 0;
+        synchronized (pools) {
+            Iterator<Pool> it = pools.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().containsAny(ids)) {
+                    it.remove();
+                    dropped++;
+                }
+            }
+        }
+        if (dropped > 0) log.info("[PoolCache] invalidated pools={} songs={}", dropped, ids.size());
+    }
+
+    // future 를 먼저 맵에 넣고 나서 적재를 시작하고 정리 콜백을 붙임
+    // → 적재가 곧바로 끝나도 computeIfAbsent 안에서 remove 가 돌지 않고, 다른 키의 future 를 지우지도 않음
+    private CompletableFuture<Pool> loadShared(TagVector key, LlmTagResponseDto tags, int minimum, String rid) {
+        CompletableFuture<Pool> created = new CompletableFuture<>();
+        CompletableFuture<Pool> existing = loading.putIfAbsent(key, created);
+        if (existing != null) return existing;
+
+        created.whenComplete((pool, err) -> {
+            if (pool != null) {
+                synchronized (pools) {
+                    pools.put(key, pool);
+                }
+            } else {
+                // 백그라운드 갱신 실패 시 기존 풀로 계속 응답 (maxStale 까지)
+                Throwable cause = (err instanceof CompletionException && err.getCause() != null) ? err.getCause() : err;
+                log.warn("[PoolCache] load_failed rid={} err={}", rid, cause.getClass().getSimpleName());
+            }
+            loading.remove(key, created);
+        });
+
+        try {
+            loadExecutor.execute(() -> {
+                try {
+                    created.complete(load(tags, poolSize, minimum, rid));
+                } catch (Throwable t) {
+                    created.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    private Pool load(LlmTagResponseDto tags, int target, int minimum, String rid) {
+        long t0 = System.nanoTime();
+        EnumMap<CandidateTier, List<SongCandidate>> tiers = candidateFetcher.fetch(tags, target, minimum, rid);
+        Pool pool = Pool.of(tiers, target, t0, System.nanoTime() - t0);
+        log.info("[PoolCache] loaded rid={} tags={} sizes={}", rid, tags.vector(), pool.sizes());
+        return pool;
+    }
+
+    private static Pool join(CompletableFuture<Pool> f) {
+        try {
+            return f.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private void countOutcome(String outcome) {
+        meterRegistry.counter(METRIC, "outcome", outcome).increment();
+    }
+
+    // 단계별로 섞어 둔 후보 + 단계별 커서 (여러 요청이 동시에 꺼내도 커서만 원자적으로 이동)
+    static final class Pool {
+
+        private final List<SongCandidate[]> tiers;
+        private final AtomicInteger[] cursors;
+        private final long loadedAt;
+        private final long loadNanos;
+
+        private Pool(List<SongCandidate[]> tiers, long loadedAt, long loadNanos) {
+            this.tiers = tiers;
+            this.cursors = new AtomicInteger[tiers.size()];
+            for (int i = 0; i < cursors.length; i++) cursors[i] = new AtomicInteger();
+            this.loadedAt = loadedAt;
+            this.loadNanos = loadNanos;
+        }
+
+        // 단계 우선순위대로 최대 poolSize 곡, 앞 단계에 나온 곡은 뒤 단계에서 뺌
+        static Pool of(Map<CandidateTier, List<SongCandidate>> fetched, int poolSize, long loadedAt, long loadNanos) {
+            Set<String> seen = new HashSet<>();
+            List<SongCandidate[]> tiers = new ArrayList<>();
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            for (CandidateTier tier : CandidateTier.values()) {
+                List<SongCandidate> rows = fetched.get(tier);
+                List<SongCandidate> kept = new ArrayList<>();
+                if (rows != null) {
+                    for (SongCandidate c : rows) {
+                        if (seen.size() >= poolSize) break;
+                        String key = RecommendationService.songKey(c);
+                        if (key != null && seen.add(key)) kept.add(c);
+                    }
+                }
+                Collections.shuffle(kept, rnd);
+                tiers.add(kept.toArray(SongCandidate[]::new));
+            }
+            return new Pool(tiers, loadedAt, loadNanos);
+        }
+
+        List<SongCandidate> draw(int count) {
+            return draw(count, c -> false);
+        }
+
+        // 앞 단계부터 순열의 다음 칸들을 꺼냄 (끝에 닿으면 처음으로)
+        // exclude 된 곡은 건너뛰고, 전체를 돌아도 모자라면 두 번째 바퀴에서 우선순위대로 채움
+        List<SongCandidate> draw(int count, Predicate<SongCandidate> exclude) {
+            LinkedHashMap<String, SongCandidate> picked = new LinkedHashMap<>();
+            int[] starts = new int[tiers.size()];
+            for (int i = 0; i < tiers.size() && picked.size() < count; i++) {
+                SongCandidate[] arr = tiers.get(i);
+                if (arr.length == 0) continue;
+
+                int need = count - picked.size();
+                starts[i] = cursors[i].getAndAdd(Math.min(need, arr.length));
+                take(picked, arr, starts[i], count, exclude);
+            }
+            for (int i = 0; i < tiers.size() && picked.size() < count; i++) {
+                SongCandidate[] arr = tiers.get(i);
+                if (arr.length > 0) take(picked, arr, starts[i], count, null);
+            }
+            return new ArrayList<>(picked.values());
+        }
+
+        private static void take(LinkedHashMap<String, SongCandidate> picked, SongCandidate[] arr, int start,
+                                 int count, Predicate<SongCandidate> exclude) {
+            for (int j = 0; j < arr.length && picked.size() < count; j++) {
+                SongCandidate c = arr[Math.floorMod(start + j, arr.length)];
+                if (exclude != null && exclude.test(c)) continue;
+                picked.putIfAbsent(RecommendationService.songKey(c), c);
+            }
+        }
+
+        boolean containsAny(Set<String> songIds) {
+            for (SongCandidate[] arr : tiers) {
+                for (SongCandidate c : arr) {
+                    if (songIds.contains(c.songId())) return true;
+                }
+            }
+            return false;
+        }
+
+        List<Integer> sizes() {
+            return tiers.stream().map(a -> a.length).toList();
+        }
+
+        long loadedAt() {
+            return loadedAt;
+        }
+
+        long loadNanos() {
+            return loadNanos;
+        }
+    }
+}
@@ -4,54 +4,95 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.apispring.global.error.BusinessException;
 import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.global.web.PreEncodedJsonArray;
 import org.example.apispring.song.application.dto.LlmTagResponseDto;
-import org.example.apispring.song.application.dto.SongResponseDto;
-import org.example.apispring.song.domain.Song;
-import org.example.apispring.song.domain.SongTag;
-import org.example.apispring.song.domain.SongTagRepository;
+import org.example.apispring.song.application.dto.RecommendationPageDto;
+import org.example.apispring.song.domain.SongCandidate;
+import org.example.apispring.song.domain.TagVector;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class RecommendationService {
 
-    private final SongTagRepository songTagRepository;
+    private final RecommendationPoolCache poolCache;
+    private final SongJsonFragmentCache fragmentCache;
+    private final RecentlyServedFilter recentlyServed;
+    private final RecommendationPageStore pageStore;
+    private final SongCandidateCache songCandidateCache;
+
+    @Value("${cloudify.recommend.paging.maxSongs:100}")
+    private int pagedMaxSongs;
 
     private static final int TARGET_CANDIDATES = 20;
     private static final int FINAL_RESULT_LIMIT = 10;
 
-    private static final int STRONG_DB_FETCH_LIMIT = 1000;
-    private static final int WEAK_DB_FETCH_LIMIT = 2000;
-
     private static final int STABLE_TOP_K = 10;
 
-    private static final Map<String, Double> WEIGHTS = Map.of(
-            "MOOD", 0.4,
-            "GENRE", 0.3,
-            "ACTIVITY", 0.15,
-            "BRANCH", 0.1,
-            "TEMPO", 0.05
-    );
+    // index = TagVector.matchMask (mood, genre, activity, branch, tempo 가중치 합)
+    private static final double[] SCORE_BY_MATCH = TagVector.weightTable(0.4, 0.3, 0.15, 0.1, 0.05);
+
+    // 응답용: 곡별로 미리 인코딩된 JSON 조각을 이어 붙임 (DTO 생성/직렬화 없음)
+    // userId 가 있으면 최근에 받은 곡은 다른 후보가 모자랄 때만 다시 추천
+    public PreEncodedJsonArray recommendJson(LlmTagResponseDto tags, UUID userId) {
+        return encode(recommendSongs(tags, userId, TARGET_CANDIDATES, FINAL_RESULT_LIMIT).values());
+    }
+
+    // 페이지 모드 첫 호출: 후보를 최대 pagedMaxSongs 곡까지 점수 순으로 정렬해 id 목록을 커서 세션에 보관
+    // 이후 페이지는 nextPage 로 (추론/후보 조회 없음)
+    public RecommendationPageDto firstPage(LlmTagResponseDto tags, UUID userId) {
+        List<SongCandidate> ordered = new ArrayList<>(
+                recommendSongs(tags, userId, Math.max(TARGET_CANDIDATES, pagedMaxSongs), pagedMaxSongs).values());
+        List<SongCandidate> first = ordered.subList(0, Math.min(FINAL_RESULT_LIMIT, ordered.size()));
+
+        String next = null;
+        if (ordered.size() > FINAL_RESULT_LIMIT) {
+            try {
+                List<SongCandidate> rest = ordered.subList(FINAL_RESULT_LIMIT, ordered.size());
+                songCandidateCache.put(rest);
+                String session = pageStore.create(userId, ordered.stream().map(SongCandidate::songId).filter(Objects::nonNull).toList());
+                next = new RecommendationCursor(session, FINAL_RESULT_LIMIT).encode();
+            } catch (Exception e) {
+                // 커서를 못 만들어도 첫 페이지는 그대로 응답
+                log.warn("[Recommend] page_store_failed err={}", e.getClass().getSimpleName());
+            }
+        }
+        return new RecommendationPageDto(encode(first), next);
+    }
+
+    public RecommendationPageDto nextPage(String cursor, UUID userId) {
+        RecommendationCursor c = RecommendationCursor.parse(cursor);
+        List<String> ids = pageStore.load(c.session(), userId);
 
-    private static final String GENRE_UNKNOWN = "unknown";
+        int from = Math.min(c.offset(), ids.size());
+        int to = Math.min(from + FINAL_RESULT_LIMIT, ids.size());
+        List<SongCandidate> songs = songCandidateCache.load(ids.subList(from, to));
+        recentlyServed.remember(userId, songs.stream().map(RecommendationService::songKey).toList());
 
-    public List<SongResponseDto> recommend(LlmTagResponseDto tags) {
+        String next = to < ids.size() ? new RecommendationCursor(c.session(), to).encode() : null;
+        return new RecommendationPageDto(encode(songs), next);
+    }
+
+    private PreEncodedJsonArray encode(Collection<SongCandidate> songs) {
+        List<byte[]> fragments = new ArrayList<>(songs.size());
+        for (SongCandidate song : songs) fragments.add(fragmentCache.fragment(songKey(song), song));
+        return new PreEncodedJsonArray(fragments);
+    }
+
+    private LinkedHashMap<String, SongCandidate> recommendSongs(LlmTagResponseDto tags, UUID userId, int candidates, int limit) {
         String rid = shortRid();
         long t0 = System.nanoTime();
 
         log.info("[Recommend:{}] start tags={}", rid, summarize(tags));
 
         try {
-            List<SongResponseDto> result = doRecommend(tags, rid);
+            LinkedHashMap<String, SongCandidate> result = doRecommend(tags, rid, userId, candidates, limit);
             log.info("[Recommend:{}] success resultSize={} elapsedMs={}",
                     rid, result.size(), elapsedMs(t0));
             return result;
@@ -73,19 +114,21 @@ public class RecommendationService {
         }
     }
 
-    private List<SongResponseDto> doRecommend(LlmTagResponseDto tags, String rid) {
+    private LinkedHashMap<String, SongCandidate> doRecommend(LlmTagResponseDto tags, String rid, UUID userId,
+                                                             int candidates, int limit) {
         if (tags == null) {
             log.warn("[Recommend:{}] tags is null", rid);
             throw new BusinessException(ErrorCode.VALIDATION_ERROR, "LlmTagResponseDto must not be null");
         }
 
-        // 1) 후보 20개 구성 (중복 방지)
-        log.info("[Recommend:{}] buildCandidates20 begin", rid);
-        List<SongTag> candidateTags = buildCandidates20(tags, rid);
+        // 1) 후보 구성 (기본 20개, 페이지 모드는 최대 pagedMaxSongs 개, 중복 방지)
+        log.info("[Recommend:{}] buildCandidates begin", rid);
+        RecentlyServedFilter.Seen seen = recentlyServed.load(userId);
+        List<SongCandidate> candidateTags = buildCandidates(tags, rid, seen, candidates);
 
         // 혹시라도 repository/로직 문제로 중복이 섞였을 때 2차 방어
         candidateTags = distinctBySongKey(candidateTags);
-        log.info("[Recommend:{}] buildCandidates20 done candidatesUnique={}", rid, candidateTags.size());
+        log.info("[Recommend:{}] buildCandidates done candidatesUnique={}", rid, candidateTags.size());
 
         // 2) 점수화 (중복 방지: 동일 곡은 최고 점수만 유지)
         List<ScoredSong> scored = scoreDistinctSongs(candidateTags, tags, rid);
@@ -93,7 +136,8 @@ public class RecommendationService {
         scored.sort(Comparator.comparingDouble(ScoredSong::score).reversed());
 
         // 안정화(상위 K는 고정, 나머지는 셔플)
-        if (scored.size() > STABLE_TOP_K) {
+        // 페이지 모드는 뒤 페이지도 점수 순서 그대로 (후보 순서가 이미 랜덤이라 동점끼리는 섞여 있음)
+        if (limit <= FINAL_RESULT_LIMIT && scored.size() > STABLE_TOP_K) {
             List<ScoredSong> head = new ArrayList<>(scored.subList(0, STABLE_TOP_K));
             List<ScoredSong> tail = new ArrayList<>(scored.subList(STABLE_TOP_K, scored.size()));
             Collections.shuffle(tail, ThreadLocalRandom.current());
@@ -103,15 +147,15 @@ public class RecommendationService {
             scored.addAll(tail);
         }
 
-        // 3) 최종 10곡 반환 (중복 방지 2차: putIfAbsent)
-        LinkedHashMap<String, SongResponseDto> out = new LinkedHashMap<>();
+        // 3) 최종 limit 곡 반환 (중복 방지 2차: putIfAbsent)
+        LinkedHashMap<String, SongCandidate> out = new LinkedHashMap<>();
         for (ScoredSong sc : scored) {
-            Song song = sc.song();
+            SongCandidate song = sc.song();
             String key = songKey(song);
             if (key == null) continue;
 
-            out.putIfAbsent(key, SongResponseDto.of(song));
-            if (out.size() >= FINAL_RESULT_LIMIT) break;
+            out.putIfAbsent(key, song);
+            if (out.size() >= limit) break;
         }
 
         // 최종 결과가 비정상적으로 0이면 원인 파악에 도움되게 로그
@@ -120,30 +164,31 @@ public class RecommendationService {
                     rid, candidateTags.size(), scored.size());
         }
 
-        return new ArrayList<>(out.values());
+        // 이번 응답으로 실제 나가는 곡만 (페이지 모드의 뒤 페이지는 nextPage 에서)
+        recentlyServed.record(userId, out.keySet().stream().limit(FINAL_RESULT_LIMIT).toList(), seen);
+        return out;
     }
 
-    private List<ScoredSong> scoreDistinctSongs(List<SongTag> candidateTags, LlmTagResponseDto tags, String rid) {
+    private List<ScoredSong> scoreDistinctSongs(List<SongCandidate> candidateTags, LlmTagResponseDto tags, String rid) {
         // 동일 곡이 여러 번 들어와도 최고 점수만 남김
         Map<String, ScoredSong> bestBySong = new HashMap<>();
 
-        for (SongTag st : candidateTags) {
+        for (SongCandidate c : candidateTags) {
             try {
-                Song song = (st == null ? null : st.getSong());
-                String key = songKey(song);
+                String key = songKey(c);
                 if (key == null) continue;
 
-                double s = computeScore(st, tags);
+                double s = computeScore(c, tags);
 
                 ScoredSong prev = bestBySong.get(key);
                 if (prev == null || s > prev.score()) {
-                    bestBySong.put(key, new ScoredSong(song, s));
+                    bestBySong.put(key, new ScoredSong(c, s));
                 }
 
             } catch (Exception e) {
-                log.error("[Recommend:{}] scoring_failed songTagId={} err={} msg={}",
+                log.error("[Recommend:{}] scoring_failed songId={} err={} msg={}",
                         rid,
-                        (st == null ? null : st.getId()),
+                        (c == null ? null : c.songId()),
                         e.getClass().getSimpleName(),
                         e.getMessage(),
                         e);
@@ -154,160 +199,48 @@ public class RecommendationService {
         return new ArrayList<>(bestBySong.values());
     }
 
-    private List<SongTag> buildCandidates20(LlmTagResponseDto tags, String rid) {
-        List<SongTag> strongGenre = fetch(rid, "strongGenre",
-                () -> songTagRepository.findStrongByMoodBranchActivityTempoAndGenre(
-                        tags.mood(), tags.branch(), tags.activity(), tags.tempo(), tags.genre(),
-                        PageRequest.of(0, STRONG_DB_FETCH_LIMIT)
-                )
-        );
-
-        List<SongTag> strongUnknown = fetch(rid, "strongUnknown",
-                () -> songTagRepository.findStrongByMoodBranchActivityTempoAndGenre(
-                        tags.mood(), tags.branch(), tags.activity(), tags.tempo(), GENRE_UNKNOWN,
-                        PageRequest.of(0, STRONG_DB_FETCH_LIMIT)
-                )
-        );
-
-        // 1차 dedupe
-        strongGenre = distinctBySongKey(strongGenre);
-        strongUnknown = distinctBySongKey(strongUnknown);
-
-        log.info("[Recommend:{}] strongGenre={} strongUnknown={}", rid, strongGenre.size(), strongUnknown.size());
-
-        // strongGenre만으로 20개 이상이면 랜덤 20개(단, 중복 없는 리스트라 안전)
-        if (strongGenre.size() >= TARGET_CANDIDATES) {
-            return pickRandomSubset(strongGenre, TARGET_CANDIDATES);
-        }
-
-        // 강한 조건으로 채우기
-        LinkedHashMap<String, SongTag> picked = new LinkedHashMap<>();
-        addAllDedupBySongKey(picked, strongGenre);
-        fillRandom(picked, strongUnknown, TARGET_CANDIDATES - picked.size());
-
-        log.info("[Recommend:{}] after strong fill picked={}", rid, picked.size());
-
-        // 약한 조건으로 부족분 채우기
-        if (picked.size() < TARGET_CANDIDATES) {
-            List<SongTag> weakGenre = fetch(rid, "weakGenre",
-                    () -> songTagRepository.findWeakByMoodBranchOneMatchAndGenre(
-                            tags.mood(), tags.branch(), tags.activity(), tags.tempo(), tags.genre(),
-                            PageRequest.of(0, WEAK_DB_FETCH_LIMIT)
-                    )
-            );
-
-            List<SongTag> weakUnknown = fetch(rid, "weakUnknown",
-                    () -> songTagRepository.findWeakByMoodBranchOneMatchAndGenre(
-                            tags.mood(), tags.branch(), tags.activity(), tags.tempo(), GENRE_UNKNOWN,
-                            PageRequest.of(0, WEAK_DB_FETCH_LIMIT)
-                    )
-            );
-
-            weakGenre = distinctBySongKey(weakGenre);
-            weakUnknown = distinctBySongKey(weakUnknown);
-
-            log.info("[Recommend:{}] weakGenre={} weakUnknown={}", rid, weakGenre.size(), weakUnknown.size());
-
-            fillRandom(picked, weakGenre, TARGET_CANDIDATES - picked.size());
-            fillRandom(picked, weakUnknown, TARGET_CANDIDATES - picked.size());
-        }
+    private List<SongCandidate> buildCandidates(LlmTagResponseDto tags, String rid, RecentlyServedFilter.Seen seen, int count) {
+        // 같은 태그 조합의 후보 풀에서 우선순위대로 다음 count 곡 (풀은 캐시, 없으면 단계별 조회로 적재)
+        // 점수화 전에 최근 받은 곡을 빼야 상위 점수 곡이 매번 다시 뽑히지 않음
+        List<SongCandidate> picked = poolCache.draw(tags, count, rid, seen::contains);
 
         if (picked.size() < TARGET_CANDIDATES) {
             log.warn("[Recommend:{}] no candidates. picked={} tags={}", rid, picked.size(), summarize(tags));
             throw new BusinessException(ErrorCode.RECOMMENDATION_NO_CANDIDATES);
         }
 
-        return new ArrayList<>(picked.values());
-    }
-
-    private <T> List<T> fetch(String rid, String name, Supplier<List<T>> supplier) {
-        long t0 = System.nanoTime();
-        try {
-            List<T> res = supplier.get();
-            int size = (res == null ? 0 : res.size());
-            log.info("[Recommend:{}] fetch {} size={} elapsedMs={}", rid, name, size, elapsedMs(t0));
-            return (res == null ? List.of() : res);
-        } catch (Exception e) {
-            log.error("[Recommend:{}] fetch_failed {} err={} msg={}",
-                    rid, name, e.getClass().getSimpleName(), e.getMessage(), e);
-            throw e;
-        }
+        return picked;
     }
 
     // ------------------------------
     // Dedupe helpers (핵심)
     // ------------------------------
-    private static List<SongTag> distinctBySongKey(List<SongTag> list) {
+    static List<SongCandidate> distinctBySongKey(List<SongCandidate> list) {
         if (list == null || list.isEmpty()) return List.of();
 
-        LinkedHashMap<String, SongTag> map = new LinkedHashMap<>();
-        for (SongTag st : list) {
-            Song song = (st == null ? null : st.getSong());
-            String key = songKey(song);
+        LinkedHashMap<String, SongCandidate> map = new LinkedHashMap<>();
+        for (SongCandidate c : list) {
+            String key = songKey(c);
             if (key == null) continue;
-            map.putIfAbsent(key, st);
+            map.putIfAbsent(key, c);
         }
         return new ArrayList<>(map.values());
     }
 
-    private static void addAllDedupBySongKey(LinkedHashMap<String, SongTag> dest, List<SongTag> src) {
-        if (src == null || src.isEmpty()) return;
-
-        for (SongTag st : src) {
-            Song song = (st == null ? null : st.getSong());
-            String key = songKey(song);
-            if (key == null) continue;
-            dest.putIfAbsent(key, st);
-        }
-    }
-
-    private void fillRandom(LinkedHashMap<String, SongTag> picked, List<SongTag> source, int need) {
-        if (need <= 0 || source == null || source.isEmpty()) return;
-
-        Set<String> already = picked.keySet();
-
-        List<SongTag> pool = source.stream()
-                .filter(Objects::nonNull)
-                .filter(st -> songKey(st.getSong()) != null)
-                .filter(st -> !already.contains(songKey(st.getSong())))
-                .toList();
-
-        if (pool.isEmpty()) return;
-
-        List<SongTag> chosen = pickRandomSubset(pool, need);
-        addAllDedupBySongKey(picked, chosen);
-    }
-
-    private double computeScore(SongTag st, LlmTagResponseDto tags) {
-        double score = 0.0;
-        if (equalsIgnoreCase(tags.mood(), st.getMood())) score += WEIGHTS.get("MOOD");
-        if (equalsIgnoreCase(tags.genre(), st.getGenre())) score += WEIGHTS.get("GENRE");
-        if (equalsIgnoreCase(tags.activity(), st.getActivity())) score += WEIGHTS.get("ACTIVITY");
-        if (equalsIgnoreCase(tags.branch(), st.getBranch())) score += WEIGHTS.get("BRANCH");
-        if (equalsIgnoreCase(tags.tempo(), st.getTempo())) score += WEIGHTS.get("TEMPO");
-        return score;
-    }
-
-    private boolean equalsIgnoreCase(String a, String b) {
-        return a != null && b != null && a.equalsIgnoreCase(b);
-    }
-
-    private List<SongTag> pickRandomSubset(List<SongTag> source, int limit) {
-        if (source.size() <= limit) return new ArrayList<>(source);
-        List<SongTag> copy = new ArrayList<>(source);
-        Collections.shuffle(copy, ThreadLocalRandom.current());
-        return copy.subList(0, limit);
+    private double computeScore(SongCandidate c, LlmTagResponseDto tags) {
+        if (c.tags() == null) return 0.0;
+        return SCORE_BY_MATCH[tags.vector().matchMask(c.tags())];
     }
 
-    private record ScoredSong(Song song, double score) {}
+    private record ScoredSong(SongCandidate song, double score) {}
 
     // songKey: id 우선, 없으면 artist|title로 fallback
-    private static String songKey(Song s) {
+    static String songKey(SongCandidate s) {
         if (s == null) return null;
-        if (s.getId() != null && !s.getId().isBlank()) return s.getId();
+        if (s.songId() != null && !s.songId().isBlank()) return s.songId();
 
-        String a = (s.getArtist() == null ? "" : s.getArtist().trim().toLowerCase(Locale.ROOT));
-        String t = (s.getTitle() == null ? "" : s.getTitle().trim().toLowerCase(Locale.ROOT));
+        String a = (s.artist() == null ? "" : s.artist().trim().toLowerCase(Locale.ROOT));
+        String t = (s.title() == null ? "" : s.title().trim().toLowerCase(Locale.ROOT));
         String key = a + "|" + t;
         return key.equals("|") ? null : key;
     }
@@ -322,10 +255,6 @@ public class RecommendationService {
 
     private static String summarize(LlmTagResponseDto t) {
         if (t == null) return "null";
-        return "{mood=" + t.mood()
-                + ", genre=" + t.genre()
-                + ", activity=" + t.activity()
-                + ", branch=" + t.branch()
-                + ", tempo=" + t.tempo() + "}";
+        return String.valueOf(t.vector());
     }
 }
@@ -0,0 +1,120 @@
+package org.example.apispring.song.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.song.application.event.SongMediaUpdatedEvent;
+import org.example.apispring.song.domain.SongCandidate;
+import org.example.apispring.song.domain.SongTagRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+// 후보 풀에서 뽑은 song id → SongCandidate (Redis rec:song:<id> 에 JSON, MGET 한 번)
+// - 캐시에 없는 곡만 DB 에서 한 번에 채우고 TTL 로 다시 적재
+// - 영상/이미지가 바뀌면 SongMediaUpdatedEvent 로 삭제
+// - 태그는 담지 않음 (곡마다 tags 행이 여럿일 수 있고 재태깅되면 낡음) → tags 는 null, 점수용 태그는 후보 풀의 셀에서 붙임
+@Slf4j
+@Component
+public class SongCandidateCache {
+
+    private static final String KEY_PREFIX = "rec:song:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SongTagRepository songTagRepository;
+    private final ObjectMapper om;
+    private final long ttlSec;
+
+    public SongCandidateCache(StringRedisTemplate redisTemplate,
+                              SongTagRepository songTagRepository,
+                              ObjectMapper om,
+                              @Value("${cloudify.recommend.pool.songCacheTtlSec:86400}") long ttlSec) {
+        this.redisTemplate = redisTemplate;
+        this.songTagRepository = songTagRepository;
+        this.om = om;
+        this.ttlSec = ttlSec;
+    }
+
+    // ids 순서 유지, DB 에도 없는 곡(그 사이 삭제 등)은 빠짐
+    public List<SongCandidate> load(List<String> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        List<String> cached = redisTemplate.opsForValue().multiGet(ids.stream().map(SongCandidateCache::key).toList());
+        Map<String, SongCandidate> found = new HashMap<>(ids.size() * 2);
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            SongCandidate c = decode(ids.get(i), cached == null ? null : cached.get(i));
+            if (c != null) found.put(ids.get(i), c);
+            else missing.add(ids.get(i));
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, SongCandidate> loaded = new HashMap<>();
+            for (SongCandidate c : songTagRepository.findCandidatesBySongIds(missing)) {
+                loaded.putIfAbsent(c.songId(), c.withTags(null));
+            }
+            found.putAll(loaded);
+            put(loaded.values());
+        }
+
+        List<SongCandidate> out = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            SongCandidate c = found.get(id);
+            if (c != null) out.add(c);
+        }
+        return out;
+    }
+
+    // 커밋 이후에 지워야 커밋 전 값이 다시 캐시되지 않음 (트랜잭션 밖 발행은 즉시 실행)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSongMediaUpdated(SongMediaUpdatedEvent event) {
+        try {
+            redisTemplate.delete(event.songIds().stream().map(SongCandidateCache::key).toList());
+        } catch (Exception e) {
+            log.warn("[SongCandidateCache] invalidate_failed songs={} err={}",
+                    event.songIds().size(), e.getClass().getSimpleName());
+        }
+    }
+
+    // 다음 페이지 조회가 DB 까지 가지 않도록 미리 적재
+    public void put(Collection<SongCandidate> songs) {
+        if (songs.isEmpty()) return;
+        try {
+            Map<String, String> encoded = new HashMap<>();
+            for (SongCandidate c : songs) encoded.put(key(c.songId()), encode(c));
+            redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
+                StringRedisConnection sc = (StringRedisConnection) conn;
+                encoded.forEach((k, v) -> sc.setEx(k, ttlSec, v));
+                return null;
+            });
+        } catch (Exception e) {
+            // 캐시 적재 실패는 다음 요청에서 DB 로 다시 채움
+            log.warn("[SongCandidateCache] store_failed songs={} err={}", songs.size(), e.getClass().getSimpleName());
+        }
+    }
+
+    private String encode(SongCandidate c) throws JsonProcessingException {
+        return om.writeValueAsString(new Entry(c.title(), c.artist(), c.videoId(), c.albumImageUrl(), c.thumbnailUrl()));
+    }
+
+    private SongCandidate decode(String id, String json) {
+        if (json == null) return null;
+        try {
+            Entry e = om.readValue(json, Entry.class);
+            return new SongCandidate(id, e.title(), e.artist(), e.videoId(), e.albumImageUrl(), e.thumbnailUrl(), null);
+        } catch (JsonProcessingException ex) {
+            return null; // 형식이 바뀐 옛 항목 → DB 에서 다시 채움
+        }
+    }
+
+    private static String key(String songId) {
+        return KEY_PREFIX + songId;
+    }
+
+    record Entry(String title, String artist, String videoId, String albumImageUrl, String thumbnailUrl) {}
+}
@@ -0,0 +1,76 @@
+package org.example.apispring.song.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.song.application.dto.SongResponseDto;
+import org.example.apispring.song.application.event.SongMediaUpdatedEvent;
+import org.example.apispring.song.domain.SongCandidate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 곡별 SongResponseDto 를 UTF-8 JSON 바이트로 미리 인코딩해 두는 LRU 캐시
+// - 곡 메타데이터는 거의 안 바뀌므로 추천 응답마다 DTO 생성/직렬화를 반복하지 않음
+// - FillDbService 가 영상/이미지를 갱신하면 SongMediaUpdatedEvent 로 무효화, 그 외 변경은 TTL 로 흡수
+@Slf4j
+@Component
+public class SongJsonFragmentCache {
+
+    private final ObjectMapper om;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<String, Fragment> fragments;
+
+    public SongJsonFragmentCache(ObjectMapper om,
+                                 @Value("${cloudify.recommend.fragmentCacheSize:20000}") int maxEntries,
+                                 @Value("${cloudify.recommend.fragmentCacheTtlSec:1800}") long ttlSec) {
+        this.om = om;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSec * 1_000_000_000L;
+        this.fragments = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Fragment> eldest) {
+                return size() > SongJsonFragmentCache.this.maxEntries;
+            }
+        };
+    }
+
+    public byte[] fragment(String key, SongCandidate c) {
+        long now = System.nanoTime();
+
+        synchronized (fragments) {
+            Fragment f = fragments.get(key);
+            if (f != null && now - f.encodedAt() < ttlNanos) return f.json();
+        }
+
+        byte[] json = encode(c);
+        synchronized (fragments) {
+            fragments.put(key, new Fragment(json, now));
+        }
+        return json;
+    }
+
+    // 커밋 이후에 지워야 커밋 전 값이 다시 캐시되지 않음 (트랜잭션 밖 발행은 즉시 실행)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSongMediaUpdated(SongMediaUpdatedEvent event) {
+        synchronized (fragments) {
+            for (String songId : event.songIds()) fragments.remove(songId);
+        }
+        log.info("[FragmentCache] invalidated songs={}", event.songIds().size());
+    }
+
+    private byte[] encode(SongCandidate c) {
+        try {
+            return om.writeValueAsBytes(SongResponseDto.of(c));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("SongResponseDto serialization failed", e);
+        }
+    }
+
+    private record Fragment(byte[] json, long encodedAt) {}
+}
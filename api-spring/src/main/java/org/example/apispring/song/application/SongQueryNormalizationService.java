@@ -2,12 +2,19 @@ package org.example.apispring.song.application;
 
 import org.springframework.stereotype.Service;
 
-import java.text.Normalizer;
-import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Service
 public class SongQueryNormalizationService {
 
+    private static final Pattern PAREN_BLOCK = Pattern.compile("\\s*\\(.*?\\)\\s*");
+    private static final Pattern SQUARE_BLOCK = Pattern.compile("\\s*\\[.*?\\]\\s*");
+    private static final Pattern CURLY_BLOCK = Pattern.compile("\\s*\\{.*?\\}\\s*");
+    private static final Pattern DASH_SUFFIX = Pattern.compile("\\s+[-–—]\\s+.*$");
+    private static final Pattern FEAT_PROD_SUFFIX =
+            Pattern.compile("(?i)\\b(feat\\.|ft\\.|featuring|with|prod\\.|produced by)\\b.*$");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     public String cleanTitle(String title) {
         if (title == null) return "";
 
@@ -22,33 +29,26 @@ public class SongQueryNormalizationService {
     }
 
     public String normalizeForMatch(String s) {
-        if (s == null) return "";
-        String x = s.toLowerCase(Locale.ROOT);
-        x = Normalizer.normalize(x, Normalizer.Form.NFKC);
-        x = x.replaceAll("\\(.*?\\)|\\[.*?\\]|\\{.*?\\}", " ");
-        x = x.replaceAll("\\b(feat\\.|ft\\.|with)\\b.*", " ");
-        x = x.replaceAll("[^0-9a-zA-Z가-힣ㄱ-ㅎㅏ-ㅣぁ-ゔァ-ヴー一-龯々〆〤\\s']", " ");
-        x = x.replaceAll("\\s+", " ").trim();
-        return x;
+        return SongTextNormalizer.forMatch(s);
     }
 
     private String stripBracketContent(String s) {
         String x = s;
-        x = x.replaceAll("\\s*\\(.*?\\)\\s*", " ");
-        x = x.replaceAll("\\s*\\[.*?\\]\\s*", " ");
-        x = x.replaceAll("\\s*\\{.*?\\}\\s*", " ");
+        x = PAREN_BLOCK.matcher(x).replaceAll(" ");
+        x = SQUARE_BLOCK.matcher(x).replaceAll(" ");
+        x = CURLY_BLOCK.matcher(x).replaceAll(" ");
         return x;
     }
 
     private String stripDashSuffix(String s) {
-        return s.replaceAll("\\s+[-–—]\\s+.*$", "");
+        return DASH_SUFFIX.matcher(s).replaceAll("");
     }
 
     private String stripFeatProdSuffix(String s) {
-        return s.replaceAll("(?i)\\b(feat\\.|ft\\.|featuring|with|prod\\.|produced by)\\b.*$", "");
+        return FEAT_PROD_SUFFIX.matcher(s).replaceAll("");
     }
 
     private String normalizeWhitespace(String s) {
-        return s.replaceAll("\\s+", " ").trim();
+        return WHITESPACE.matcher(s).replaceAll(" ").trim();
     }
 }
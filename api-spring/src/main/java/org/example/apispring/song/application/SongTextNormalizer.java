@@ -0,0 +1,194 @@
+package org.example.apispring.song.application;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// Genius / YouTube 매칭용 문자열 정규화 (regex 없이 문자 단위로 처리)
+// 기존 replaceAll 체인과 같은 결과:
+//   lower → (MATCH: NFKC | SEARCH: NFD + 결합문자 제거) → 괄호 블록 제거 → feat./ft./with 이후 제거
+//   → 허용 문자 외 공백 치환 → 공백 정리 + trim
+// - ASCII 문자열은 유니코드 정규화 생략 (결과 동일)
+// - 짧은 문자열(아티스트명 등)은 결과를 memo
+public final class SongTextNormalizer {
+
+    private SongTextNormalizer() {}
+
+    public enum Mode { MATCH, SEARCH }
+
+    private static final int MEMO_MAX_LENGTH = 64;
+    private static final int MEMO_MAX_ENTRIES = 8192;
+
+    private static final ConcurrentHashMap<String, String> MATCH_MEMO = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, String> SEARCH_MEMO = new ConcurrentHashMap<>();
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
+
+    public static String forMatch(String s) {
+        return normalize(s, Mode.MATCH);
+    }
+
+    public static String forSearch(String s) {
+        return normalize(s, Mode.SEARCH);
+    }
+
+    public static String normalize(String s, Mode mode) {
+        if (s == null) return "";
+        if (s.length() > MEMO_MAX_LENGTH) return compute(s, mode);
+
+        ConcurrentHashMap<String, String> memo = (mode == Mode.MATCH ? MATCH_MEMO : SEARCH_MEMO);
+        String cached = memo.get(s);
+        if (cached != null) return cached;
+
+        String out = compute(s, mode);
+        if (memo.size() >= MEMO_MAX_ENTRIES) memo.clear();
+        memo.put(s, out);
+        return out;
+    }
+
+    static String compute(String s, Mode mode) {
+        String x = s.toLowerCase(Locale.ROOT);
+        if (!isAscii(x)) {
+            x = (mode == Mode.MATCH)
+                    ? Normalizer.normalize(x, Normalizer.Form.NFKC)
+                    : COMBINING_MARKS.matcher(Normalizer.normalize(x, Normalizer.Form.NFD)).replaceAll("");
+        }
+
+        char[] buf = stripBrackets(x);
+        int len = stripFeat(buf, buf.length);
+        return filterAndCollapse(buf, len);
+    }
+
+    // \(.*?\)|\[.*?\]|\{.*?\}  → " "  (닫는 괄호가 같은 줄에 없으면 그대로 둠)
+    private static char[] stripBrackets(String x) {
+        int n = x.length();
+        char[] out = new char[n];
+        int w = 0;
+
+        for (int i = 0; i < n; i++) {
+            char c = x.charAt(i);
+            char close = closingOf(c);
+            if (close != 0) {
+                int j = i + 1;
+                while (j < n && x.charAt(j) != close && !isLineTerminator(x.charAt(j))) j++;
+                if (j < n && x.charAt(j) == close) {
+                    out[w++] = ' ';
+                    i = j;
+                    continue;
+                }
+            }
+            out[w++] = c;
+        }
+
+        if (w == n) return out;
+        char[] trimmed = new char[w];
+        System.arraycopy(out, 0, trimmed, 0, w);
+        return trimmed;
+    }
+
+    // \b(feat\.|ft\.|with)\b.*  → " "  (매치마다 줄 끝까지)
+    private static int stripFeat(char[] buf, int len) {
+        for (int i = 0; i < len; i++) {
+            if (i > 0 && isWordChar(buf[i - 1])) continue;
+            if (!isWordChar(buf[i])) continue;
+
+            int end = matchKeyword(buf, len, i);
+            if (end < 0) continue;
+
+            int lineEnd = end;
+            while (lineEnd < len && !isLineTerminator(buf[lineEnd])) lineEnd++;
+
+            buf[i] = ' ';
+            int tail = len - lineEnd;
+            System.arraycopy(buf, lineEnd, buf, i + 1, tail);
+            len = i + 1 + tail;
+        }
+        return len;
+    }
+
+    // 키워드 끝 위치, 없으면 -1 (키워드 뒤에도 단어 경계 필요)
+    private static int matchKeyword(char[] buf, int len, int i) {
+        int end;
+        if (startsWith(buf, len, i, "feat.")) end = i + 5;
+        else if (startsWith(buf, len, i, "ft.")) end = i + 3;
+        else if (startsWith(buf, len, i, "with")) end = i + 4;
+        else return -1;
+
+        boolean before = isWordChar(buf[end - 1]);
+        boolean after = end < len && isWordChar(buf[end]);
+        return (before != after) ? end : -1;
+    }
+
+    // 허용 문자 외 → 공백, 연속 공백 하나로, 앞뒤 공백 제거
+    private static String filterAndCollapse(char[] buf, int len) {
+        StringBuilder sb = new StringBuilder(len);
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < len; i++) {
+            char c = buf[i];
+            if (isKept(c) && !isSpace(c)) {
+                if (pendingSpace && sb.length() > 0) sb.append(' ');
+                pendingSpace = false;
+                sb.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isKept(char c) {
+        if (c < 0x80) {
+            return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                    || c == '\'' || isSpace(c);
+        }
+        return (c >= '가' && c <= '힣')
+                || (c >= 'ㄱ' && c <= 'ㅎ')
+                || (c >= 'ㅏ' && c <= 'ㅣ')
+                || (c >= 'ぁ' && c <= 'ゔ')
+                || (c >= 'ァ' && c <= 'ヴ')
+                || c == 'ー'
+                || (c >= '一' && c <= '龯')
+                || c == '々' || c == '〆' || c == '〤';
+    }
+
+    // regex \s
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    // regex \w (Java 19+ 에서 \b 도 ASCII 기준)
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    // regex '.' 가 매치하지 않는 문자
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == 0x0085 || c == 0x2028 || c == 0x2029;
+    }
+
+    private static char closingOf(char c) {
+        return switch (c) {
+            case '(' -> ')';
+            case '[' -> ']';
+            case '{' -> '}';
+            default -> 0;
+        };
+    }
+
+    private static boolean startsWith(char[] buf, int len, int i, String word) {
+        if (i + word.length() > len) return false;
+        for (int k = 0; k < word.length(); k++) {
+            if (buf[i + k] != word.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.apispring.song.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.example.apispring.song.application.dto.TagCellSparsityDto;
+import org.example.apispring.song.application.event.SongTagsChangedEvent;
+import org.example.apispring.song.domain.SongTag;
+import org.example.apispring.song.domain.SongTagRepository;
+import org.example.apispring.song.domain.TagCellCount;
+import org.example.apispring.song.domain.TagEnums;
+import org.example.apispring.song.domain.TagVector;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// (mood, genre, activity, branch, tempo) 셀별 곡 수와 약한 조건용 부분 키 집계
+// - 주기적으로 tags 테이블에서 전체 재집계, 그 사이에는 SongTagsChangedEvent 로 증분 반영
+// - 재집계 중에 들어온 증분은 따로 모아 두었다가 교체할 때 새 집계에 더함 (조회 시작 ~ 교체 사이 변경 유실 방지)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagCellStatistics {
+
+    private static final List<String> MOODS = names(TagEnums.MOOD.class, false);
+    private static final List<String> GENRES = names(TagEnums.GENRE.class, true); // 마지막 = unknown
+    private static final List<String> ACTIVITIES = names(TagEnums.ACTIVITY.class, false);
+    private static final List<String> BRANCHES = names(TagEnums.BRANCH.class, false);
+    private static final List<String> TEMPOS = names(TagEnums.TEMPO.class, false);
+
+    private static final int GENRE_UNKNOWN_INDEX = GENRES.size() - 1;
+
+    private static final int SPARSE_LOG_THRESHOLD = 20;
+
+    private final SongTagRepository songTagRepository;
+
+    private volatile Counts counts;
+
+    // 재집계 중에 들어온 증분 (swapLock 안에서만 읽고 씀, 재집계 중이 아니면 null)
+    private final Object swapLock = new Object();
+    private Counts pending;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${cloudify.recommend.cellStatsRefreshMs:600000}")
+    public void refresh() {
+        long t0 = System.nanoTime();
+        synchronized (swapLock) {
+            pending = new Counts();
+        }
+        try {
+            Counts fresh = new Counts();
+            for (TagCellCount c : songTagRepository.countSongsByTagCell()) {
+                int[] idx = indexOf(c.mood(), c.genre(), c.activity(), c.branch(), c.tempo());
+                if (idx == null) continue;
+                fresh.add(idx, c.songs() == null ? 0 : c.songs().intValue());
+            }
+            synchronized (swapLock) {
+                fresh.addAll(pending);
+                pending = null;
+                counts = fresh;
+            }
+            log.info("[TagCellStats] refreshed sparseCells={} elapsedMs={}",
+                    sparseCells(SPARSE_LOG_THRESHOLD).size(), (System.nanoTime() - t0) / 1_000_000);
+        } catch (Exception e) {
+            synchronized (swapLock) {
+                pending = null;
+            }
+            log.warn("[TagCellStats] refresh_failed err={} msg={}", e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onTagsChanged(SongTagsChangedEvent event) {
+        // 최초 적재 전이고 재집계 중도 아니면 다음 refresh 에서 반영됨
+        synchronized (swapLock) {
+            apply(counts, event);
+            apply(pending, event);
+        }
+    }
+
+    public CandidatePlan plan(LlmTagResponseDto tags, int target) {
+        Counts c = counts;
+        if (c == null) return CandidatePlan.withoutStats();
+
+        // TagVector code 는 각 차원 리스트의 index 와 같음 (genre unknown = 마지막)
+        TagVector v = tags.vector();
+        if (v == null || !v.isComplete()) return CandidatePlan.withoutStats();
+        int m = v.code(TagVector.MOOD);
+        int g = v.code(TagVector.GENRE);
+        int a = v.code(TagVector.ACTIVITY);
+        int b = v.code(TagVector.BRANCH);
+        int t = v.code(TagVector.TEMPO);
+
+        int strongGenre = c.cell(m, g, a, b, t);
+        int strongUnknown = c.cell(m, GENRE_UNKNOWN_INDEX, a, b, t);
+        int weakGenre = c.weak(m, g, a, b, t);
+        int weakUnknown = c.weak(m, GENRE_UNKNOWN_INDEX, a, b, t);
+
+        int[] expected = {strongGenre, strongUnknown, weakGenre, weakUnknown};
+
+        // 우선순위대로, 누적 예상치가 target 에 닿을 때까지의 단계만 한 번에 조회
+        List<CandidatePlan.PlannedFetch> fetches = new ArrayList<>();
+        Set<CandidateTier> empty = EnumSet.noneOf(CandidateTier.class);
+        int cumulative = 0;
+        for (CandidateTier tier : CandidateTier.values()) {
+            int exp = expected[tier.ordinal()];
+            if (exp <= 0) {
+                empty.add(tier);
+                continue;
+            }
+            if (cumulative >= target) continue;
+            fetches.add(new CandidatePlan.PlannedFetch(tier, exp));
+            cumulative += exp;
+        }
+        return new CandidatePlan(true, fetches, empty);
+    }
+
+    // 태깅이 더 필요한 셀 (장르 셀 곡 수 오름차순)
+    public List<TagCellSparsityDto> sparseCells(int threshold) {
+        Counts c = counts;
+        if (c == null) return List.of();
+
+        List<TagCellSparsityDto> out = new ArrayList<>();
+        for (int m = 0; m < MOODS.size(); m++)
+            for (int g = 0; g < GENRE_UNKNOWN_INDEX; g++)
+                for (int a = 0; a < ACTIVITIES.size(); a++)
+                    for (int b = 0; b < BRANCHES.size(); b++)
+                        for (int t = 0; t < TEMPOS.size(); t++) {
+                            int songs = c.cell(m, g, a, b, t);
+                            if (songs >= threshold) continue;
+                            out.add(new TagCellSparsityDto(
+                                    MOODS.get(m), GENRES.get(g), ACTIVITIES.get(a), BRANCHES.get(b), TEMPOS.get(t),
+                                    songs, c.cell(m, GENRE_UNKNOWN_INDEX, a, b, t)
+                            ));
+                        }
+
+        out.sort(Comparator.comparingInt(TagCellSparsityDto::songs));
+        return out;
+    }
+
+    private static void apply(Counts c, SongTagsChangedEvent event) {
+        if (c == null) return;
+        for (SongTag st : event.added()) apply(c, st, +1);
+        for (SongTag st : event.removed()) apply(c, st, -1);
+    }
+
+    private static void apply(Counts c, SongTag st, int delta) {
+        if (st == null) return;
+        int[] idx = indexOf(st.getMood(), st.getGenre(), st.getActivity(), st.getBranch(), st.getTempo());
+        if (idx != null) c.add(idx, delta);
+    }
+
+    private static int[] indexOf(String mood, String genre, String activity, String branch, String tempo) {
+        int m = MOODS.indexOf(lower(mood));
+        int g = GENRES.indexOf(lower(genre));
+        int a = ACTIVITIES.indexOf(lower(activity));
+        int b = BRANCHES.indexOf(lower(branch));
+        int t = TEMPOS.indexOf(lower(tempo));
+        if (m < 0 || g < 0 || a < 0 || b < 0 || t < 0) return null;
+        return new int[]{m, g, a, b, t};
+    }
+
+    private static String lower(String s) {
+        return s == null ? null : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <E extends Enum<E>> List<String> names(Class<E> type, boolean withUnknownGenre) {
+        List<String> out = new ArrayList<>();
+        for (E e : type.getEnumConstants()) out.add(e.name());
+        if (withUnknownGenre) out.add(TagEnums.GENRE_UNKNOWN);
+        return List.copyOf(out);
+    }
+
+    // 전체 셀 + 부분 키(activity 고정 / tempo 고정) 카운트
+    private static final class Counts {
+        private final AtomicIntegerArray cells =
+                new AtomicIntegerArray(MOODS.size() * GENRES.size() * ACTIVITIES.size() * BRANCHES.size() * TEMPOS.size());
+        private final AtomicIntegerArray byActivity =
+                new AtomicIntegerArray(MOODS.size() * BRANCHES.size() * GENRES.size() * ACTIVITIES.size());
+        private final AtomicIntegerArray byTempo =
+                new AtomicIntegerArray(MOODS.size() * BRANCHES.size() * GENRES.size() * TEMPOS.size());
+
+        void add(int[] i, int delta) {
+            cells.addAndGet(cellIndex(i[0], i[1], i[2], i[3], i[4]), delta);
+            byActivity.addAndGet(partialIndex(i[0], i[3], i[1], i[2], ACTIVITIES.size()), delta);
+            byTempo.addAndGet(partialIndex(i[0], i[3], i[1], i[4], TEMPOS.size()), delta);
+        }
+
+        void addAll(Counts other) {
+            for (int i = 0; i < cells.length(); i++) cells.addAndGet(i, other.cells.get(i));
+            for (int i = 0; i < byActivity.length(); i++) byActivity.addAndGet(i, other.byActivity.get(i));
+            for (int i = 0; i < byTempo.length(); i++) byTempo.addAndGet(i, other.byTempo.get(i));
+        }
+
+        int cell(int m, int g, int a, int b, int t) {
+            return Math.max(0, cells.get(cellIndex(m, g, a, b, t)));
+        }
+
+        // 한 가지(activity 또는 tempo)만 일치하는 곡 수 = 부분 키 합 - strong 셀
+        int weak(int m, int g, int a, int b, int t) {
+            int strong = cell(m, g, a, b, t);
+            int sameActivity = byActivity.get(partialIndex(m, b, g, a, ACTIVITIES.size())) - strong;
+            int sameTempo = byTempo.get(partialIndex(m, b, g, t, TEMPOS.size())) - strong;
+            return Math.max(0, sameActivity) + Math.max(0, sameTempo);
+        }
+
+        private static int cellIndex(int m, int g, int a, int b, int t) {
+            return (((m * GENRES.size() + g) * ACTIVITIES.size() + a) * BRANCHES.size() + b) * TEMPOS.size() + t;
+        }
+
+        private static int partialIndex(int m, int b, int g, int last, int lastSize) {
+            return ((m * BRANCHES.size() + b) * GENRES.size() + g) * lastSize + last;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.http.RetryBudget;
+import org.example.apispring.global.resilience.UpstreamResilience;
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+// /by-text 용 태그 추론: Gemini 를 hedging + deadline 으로 감싸고, 실패 시 로컬 추론으로 degrade
+// - hedgeDelayMs(≈ Gemini p95) 안에 응답이 없으면 같은 요청을 한 번 더 보내고 먼저 성공한 쪽 사용
+// - hedge 는 요청 수 대비 hedgeRatio 이내로만 (쿼터 보호), 예산이 없으면 보내지 않음
+// - deadlineMs 를 넘기거나 모두 실패하면 LocalTagInference 결과로 응답
+// - 설정 오류/4xx/쿼터 초과처럼 다시 보내도 같은 결과인 실패는 hedge 없이 바로 로컬로
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagInferenceService {
+
+    private static final String SOURCE_METRIC = "llm.tags.source";
+    private static final String HEDGE_METRIC = "llm.tags.hedge";
+
+    // 운영자가 고쳐야 하는 설정 문제 (요청마다 error 로그)
+    private static final Set<ErrorCode> CONFIG_ERRORS = EnumSet.of(
+            ErrorCode.GEMINI_API_KEY_MISSING, ErrorCode.GEMINI_AUTH_FAILED, ErrorCode.INTERNAL_SERVER_ERROR);
+
+    private static final Set<ErrorCode> NOT_RETRYABLE = EnumSet.of(
+            ErrorCode.GEMINI_API_KEY_MISSING, ErrorCode.GEMINI_AUTH_FAILED, ErrorCode.INTERNAL_SERVER_ERROR,
+            ErrorCode.GEMINI_BAD_REQUEST, ErrorCode.GEMINI_QUOTA_EXCEEDED);
+
+    private final GeminiService geminiService;
+    private final GeminiMicroBatcher microBatcher;
+    private final LocalTagInference localTagInference;
+    private final UpstreamResilience upstreamResilience;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cloudify.llm.hedge.delayMs:1200}")
+    private long hedgeDelayMs;
+
+    @Value("${cloudify.llm.hedge.deadlineMs:3000}")
+    private long deadlineMs;
+
+    @Value("${cloudify.llm.hedge.ratio:0.1}")
+    private double hedgeRatio;
+
+    @Value("${cloudify.llm.hedge.burst:10}")
+    private int hedgeBurst;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private RetryBudget hedgeBudget;
+
+    @PostConstruct
+    void init() {
+        hedgeBudget = new RetryBudget(hedgeRatio, hedgeBurst);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public LlmTagResponseDto infer(String text) {
+        String rid = UUID.randomUUID().toString().substring(0, 8);
+        long t0 = System.nanoTime();
+
+        if (upstreamResilience.isOpen(OutboundHttpProperties.GEMINI)) {
+            return fallback(text, rid, "circuit_open", t0);
+        }
+
+        hedgeBudget.deposit();
+
+        long deadline = t0 + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        long hedgeAt = Math.min(deadline, t0 + TimeUnit.MILLISECONDS.toNanos(hedgeDelayMs));
+        List<Call> calls = new ArrayList<>(2);
+
+        try {
+            calls.add(call(text));
+
+            int won = awaitFirst(calls, hedgeAt);
+            if (won >= 0) return done(calls.get(won).result().join(), "primary", rid, t0);
+
+            // 다시 보내도 같은 실패 → hedge 없이 로컬
+            if (!isRetryable(calls.get(0))) return fallback(text, rid, "not_retryable", t0);
+
+            // 주 요청이 p95 안에 안 끝났거나 이미 실패 → 예산이 있으면 같은 요청 한 번 더
+            if (System.nanoTime() < deadline) {
+                if (hedgeBudget.tryWithdraw()) {
+                    countHedge("launched");
+                    calls.add(call(text));
+                } else {
+                    countHedge("suppressed");
+                }
+            }
+
+            won = awaitFirst(calls, deadline);
+            if (won >= 0) {
+                if (calls.size() > 1) countHedge(won == 1 ? "won" : "lost");
+                return done(calls.get(won).result().join(), won == 1 ? "hedge" : "primary", rid, t0);
+            }
+
+            boolean allFailed = calls.stream().allMatch(c -> c.result().isCompletedExceptionally());
+            return fallback(text, rid, allFailed ? "upstream_failed" : "deadline", t0);
+
+        } finally {
+            // 진 쪽/늦은 호출은 중단 (가상 스레드 interrupt → HTTP 요청 취소)
+            for (Call c : calls) c.task().cancel(true);
+        }
+    }
+
+    private record Call(Future<?> task, CompletableFuture<LlmTagResponseDto> result) {}
+
+    private Call call(String text) {
+        CompletableFuture<LlmTagResponseDto> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(microBatcher.isEnabled()
+                        ? microBatcher.infer(text)
+                        : geminiService.inferTags(text));
+            } catch (BusinessException e) {
+                if (CONFIG_ERRORS.contains(e.errorCode())) {
+                    log.error("[TagInference] gemini_misconfigured code={} msg={}", e.errorCode().name(), e.getMessage());
+                } else if (NOT_RETRYABLE.contains(e.errorCode())) {
+                    log.warn("[TagInference] gemini_failed code={} msg={}", e.errorCode().name(), e.getMessage());
+                } else {
+                    log.info("[TagInference] gemini_failed code={}", e.errorCode().name());
+                }
+                result.completeExceptionally(e);
+            } catch (RuntimeException e) {
+                log.info("[TagInference] gemini_failed err={}", e.getClass().getSimpleName());
+                result.completeExceptionally(e);
+            }
+        });
+        return new Call(task, result);
+    }
+
+    // 아직 진행 중이거나 재시도 가능한 실패면 true
+    private static boolean isRetryable(Call call) {
+        CompletableFuture<LlmTagResponseDto> r = call.result();
+        if (!r.isCompletedExceptionally()) return true;
+        return !(r.exceptionNow() instanceof BusinessException be && NOT_RETRYABLE.contains(be.errorCode()));
+    }
+
+    // 가장 먼저 성공한 호출의 index, 시간 초과 또는 모두 실패면 -1
+    private static int awaitFirst(List<Call> calls, long deadlineNanos) {
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        CompletableFuture<?>[] results = new CompletableFuture<?>[calls.size()];
+        for (int i = 0; i < calls.size(); i++) {
+            int idx = i;
+            results[i] = calls.get(i).result();
+            calls.get(i).result().thenRun(() -> first.complete(idx));
+        }
+        CompletableFuture.allOf(results).whenComplete((v, ex) -> first.complete(firstSucceeded(calls)));
+
+        long remaining = deadlineNanos - System.nanoTime();
+        try {
+            if (remaining <= 0) return first.getNow(-1);
+            return first.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static int firstSucceeded(List<Call> calls) {
+        for (int i = 0; i < calls.size(); i++) {
+            CompletableFuture<LlmTagResponseDto> r = calls.get(i).result();
+            if (r.isDone() && !r.isCompletedExceptionally()) return i;
+        }
+        return -1;
+    }
+
+    private LlmTagResponseDto done(LlmTagResponseDto res, String source, String rid, long t0) {
+        meterRegistry.counter(SOURCE_METRIC, "source", source, "reason", "ok").increment();
+        log.info("[TagInference:{}] source={} elapsedMs={}", rid, source, elapsedMs(t0));
+        return res;
+    }
+
+    private LlmTagResponseDto fallback(String text, String rid, String reason, long t0) {
+        meterRegistry.counter(SOURCE_METRIC, "source", "local", "reason", reason).increment();
+        log.warn("[TagInference:{}] fallback reason={} elapsedMs={}", rid, reason, elapsedMs(t0));
+        return localTagInference.infer(text);
+    }
+
+    private void countHedge(String outcome) {
+        meterRegistry.counter(HEDGE_METRIC, "outcome", outcome).increment();
+    }
+
+    private static long elapsedMs(long startNano) {
+        return (System.nanoTime() - startNano) / 1_000_000;
+    }
+}
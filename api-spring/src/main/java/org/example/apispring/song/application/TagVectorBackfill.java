@@ -0,0 +1,93 @@
+package org.example.apispring.song.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.song.application.event.SongTagsChangedEvent;
+import org.example.apispring.song.domain.Song;
+import org.example.apispring.song.domain.SongTag;
+import org.example.apispring.song.domain.TagVector;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// tags 는 외부에서 적재/수정되기도 하므로 tag_vector 를 문자열 컬럼 기준으로 주기적으로 다시 맞춤
+// - 비어 있는 행뿐 아니라 문자열만 바뀐 행도 갱신 (strong 조회는 tag_vector, weak 조회는 문자열 컬럼을 봄)
+// - 엔티티로 저장되는 행은 SongTag @PrePersist/@PreUpdate 에서 채워짐
+// - 바뀐 행은 SongTagsChangedEvent 로 알려 후보 풀이 다음 재구성을 기다리지 않고 반영
+//   (이벤트의 SongTag 는 song id 와 벡터만 → 문자열 기준인 셀 통계는 건너뜀, 통계는 자체 재집계로 맞춰짐)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagVectorBackfill {
+
+    private static final int EVENT_BATCH = 1000;
+
+    // 문자열 태그 컬럼과 tag_vector 가 어긋난 행 동기화, 서브쿼리는 갱신 전 스냅샷이라 c.old 가 이전 값
+    // shift 값은 TagVector 비트 배치와 동일
+    private static final String SYNC_SQL = """
+            UPDATE tags t SET tag_vector = c.v
+            FROM (
+                SELECT id, tag_vector AS old, CAST(
+                      COALESCE(array_position(CAST(? AS text[]), lower(trim(mood))) - 1, ?)
+                    | (COALESCE(array_position(CAST(? AS text[]), lower(trim(genre))) - 1, ?) << 3)
+                    | (COALESCE(array_position(CAST(? AS text[]), lower(trim(activity))) - 1, ?) << 7)
+                    | (COALESCE(array_position(CAST(? AS text[]), lower(trim(branch))) - 1, ?) << 10)
+                    | (COALESCE(array_position(CAST(? AS text[]), lower(trim(tempo))) - 1, ?) << 12)
+                  AS smallint) AS v
+                FROM tags
+            ) c
+            WHERE t.id = c.id
+              AND t.tag_vector IS DISTINCT FROM c.v
+            RETURNING t.song_id, c.old, t.tag_vector
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record Change(String songId, TagVector before, TagVector after) {}
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${cloudify.recommend.cellStatsRefreshMs:600000}")
+    public void backfill() {
+        long t0 = System.nanoTime();
+        try {
+            List<Change> changes = jdbcTemplate.query(SYNC_SQL, (rs, i) -> {
+                short before = rs.getShort(2);
+                boolean hadBefore = !rs.wasNull();
+                return new Change(rs.getString(1), hadBefore ? new TagVector(before) : null, new TagVector(rs.getShort(3)));
+            },
+                    pgArray(TagVector.MOOD), TagVector.noneCode(TagVector.MOOD),
+                    pgArray(TagVector.GENRE), TagVector.noneCode(TagVector.GENRE),
+                    pgArray(TagVector.ACTIVITY), TagVector.noneCode(TagVector.ACTIVITY),
+                    pgArray(TagVector.BRANCH), TagVector.noneCode(TagVector.BRANCH),
+                    pgArray(TagVector.TEMPO), TagVector.noneCode(TagVector.TEMPO)
+            );
+            if (changes.isEmpty()) return;
+
+            for (int i = 0; i < changes.size(); i += EVENT_BATCH) {
+                publish(changes.subList(i, Math.min(changes.size(), i + EVENT_BATCH)));
+            }
+            log.info("[TagVector] synced rows={} elapsedMs={}", changes.size(), (System.nanoTime() - t0) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("[TagVector] backfill_failed err={} msg={}", e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    private void publish(List<Change> changes) {
+        List<SongTag> added = new ArrayList<>(changes.size());
+        List<SongTag> removed = new ArrayList<>();
+        for (Change c : changes) {
+            Song song = Song.builder().id(c.songId()).build();
+            added.add(SongTag.builder().song(song).tagVector(c.after()).build());
+            if (c.before() != null) removed.add(SongTag.builder().song(song).tagVector(c.before()).build());
+        }
+        eventPublisher.publishEvent(new SongTagsChangedEvent(added, removed));
+    }
+
+    private static String pgArray(int field) {
+        return "{" + String.join(",", TagVector.names(field)) + "}";
+    }
+}
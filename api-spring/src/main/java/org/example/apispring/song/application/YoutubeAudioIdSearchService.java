@@ -1,22 +1,27 @@
 package org.example.apispring.song.application;
 
 import lombok.RequiredArgsConstructor;
+import org.example.apispring.song.application.dto.YoutubeSearchItem;
 import org.example.apispring.song.web.YoutubeClient;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.text.Normalizer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class YoutubeAudioIdSearchService {
 
+    private static final Pattern ARTIST_SEPARATOR = Pattern.compile("\\s*(?:&|/|,|and|feat\\.?|ft\\.?)\\s*");
+    private static final Pattern MUSIC_VIDEO = Pattern.compile("\\b(mv|music video)\\b");
+    private static final Pattern PERFORMANCE = Pattern.compile("\\b(performance|dance|practice)\\b");
+    private static final Pattern LIVE = Pattern.compile("\\b(live|fancam)\\b");
+    private static final Pattern PREVIEW = Pattern.compile("\\b(teaser|trailer)\\b");
+    private static final Pattern NON_ORIGINAL = Pattern.compile("\\b(cover|remix|nightcore|sped up|slowed|8d)\\b");
+
     private final YoutubeClient youtubeClient;
 
     @Value("${cloudify.youtube.candidatesPerSearch:8}")
@@ -26,45 +31,43 @@ public class YoutubeAudioIdSearchService {
     private double earlyStopScore;
 
     public String findAudioId(String title, String artist) {
+        return findAudioId(title, artist, null);
+    }
+
+    // rejectedId: 재생 불가로 지워졌던 id → 같은 검색 결과의 다음 후보를 고름
+    public String findAudioId(String title, String artist, String rejectedId) {
         if (title == null || artist == null) return null;
 
         String query = (title + " " + artist + " lyrics").trim();
         if (query.isBlank()) return null;
 
-        ResponseEntity<String> res = youtubeClient.search(query, candidatesPerSearch);
-        if (!res.getStatusCode().is2xxSuccessful() || res.getBody() == null) return null;
-
-        JSONObject json = new JSONObject(res.getBody());
-        if (json.has("error")) return null;
-
-        JSONArray items = json.optJSONArray("items");
-        if (items == null || items.isEmpty()) return null;
+        List<YoutubeSearchItem> items = youtubeClient.search(query, candidatesPerSearch);
+        if (items.isEmpty()) return null;
 
-        return pickBestLyrics(items, title, artist);
+        return pickBestLyrics(items, title, artist, rejectedId);
     }
 
-    private String pickBestLyrics(JSONArray items, String title, String artist) {
-        String wantTitle = normalizeForSearch(title);
+    private String pickBestLyrics(List<YoutubeSearchItem> items, String title, String artist, String rejectedId) {
+        String wantTitle = SongTextNormalizer.forSearch(title);
         List<String> wantArtists = splitArtists(artist);
 
-        JSONObject bestItem = null;
+        YoutubeSearchItem bestItem = null;
         double bestScore = -999;
 
-        for (int i = 0; i < items.length(); i++) {
-            JSONObject item = items.optJSONObject(i);
+        for (YoutubeSearchItem item : items) {
             if (item == null) continue;
 
-            JSONObject snippet = item.optJSONObject("snippet");
-            if (snippet == null) continue;
-
-            JSONObject idObj = item.optJSONObject("id");
-            String vId = idObj != null ? idObj.optString("videoId", null) : null;
+            String vId = item.videoId();
             if (vId == null || vId.isBlank()) continue;
+            if (vId.equals(rejectedId)) continue;
+
+            String rawTitle = item.title() == null ? "" : item.title();
+            String rawChannel = item.channelTitle() == null ? "" : item.channelTitle();
 
-            String vTitleNorm = normalizeForSearch(snippet.optString("title", ""));
-            String chNameNorm = normalizeForSearch(snippet.optString("channelTitle", ""));
+            String vTitleNorm = SongTextNormalizer.forSearch(rawTitle);
+            String chNameNorm = SongTextNormalizer.forSearch(rawChannel);
 
-            String noisy = snippet.optString("title", "").toLowerCase(Locale.ROOT);
+            String noisy = rawTitle.toLowerCase(Locale.ROOT);
 
             double s = 0.0;
 
@@ -80,14 +83,14 @@ public class YoutubeAudioIdSearchService {
             if (hasLyrics) s += 0.35;
             else s -= 0.15;
 
-            if (noisy.matches(".*\\b(mv|music video)\\b.*")) s -= 0.60;
-            if (noisy.matches(".*\\b(performance|dance|practice)\\b.*")) s -= 0.50;
-            if (noisy.matches(".*\\b(live|fancam)\\b.*")) s -= 0.50;
-            if (noisy.matches(".*\\b(teaser|trailer)\\b.*")) s -= 0.80;
+            if (MUSIC_VIDEO.matcher(noisy).find()) s -= 0.60;
+            if (PERFORMANCE.matcher(noisy).find()) s -= 0.50;
+            if (LIVE.matcher(noisy).find()) s -= 0.50;
+            if (PREVIEW.matcher(noisy).find()) s -= 0.80;
 
-            if (noisy.matches(".*\\b(cover|remix|nightcore|sped up|slowed|8d)\\b.*")) s -= 0.50;
+            if (NON_ORIGINAL.matcher(noisy).find()) s -= 0.50;
 
-            if (snippet.optString("channelTitle", "").toLowerCase(Locale.ROOT).endsWith("topic")) s += 0.15;
+            if (rawChannel.toLowerCase(Locale.ROOT).endsWith("topic")) s += 0.15;
 
             if (s > bestScore) {
                 bestScore = s;
@@ -98,36 +101,24 @@ public class YoutubeAudioIdSearchService {
         }
 
         if (bestItem == null) return null;
-
-        JSONObject idObj = bestItem.optJSONObject("id");
-        return idObj != null ? idObj.optString("videoId", null) : null;
-    }
-
-    private static String normalizeForSearch(String s) {
-        if (s == null) return "";
-        String x = s.toLowerCase(Locale.ROOT);
-        x = Normalizer.normalize(x, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
-        x = x.replaceAll("\\(.*?\\)|\\[.*?\\]|\\{.*?\\}", " ");
-        x = x.replaceAll("\\b(feat\\.|ft\\.|with)\\b.*", " ");
-        x = x.replaceAll("[^0-9a-zA-Z가-힣ㄱ-ㅎㅏ-ㅣぁ-ゔァ-ヴー一-龯々〆〤\\s']", " ");
-        x = x.replaceAll("\\s+", " ").trim();
-        return x;
+        return bestItem.videoId();
     }
 
     private List<String> splitArtists(String artist) {
         if (artist == null) return List.of();
-        return Arrays.stream(artist.split("\\s*(?:&|/|,|and|feat\\.?|ft\\.?)\\s*"))
+        return Arrays.stream(ARTIST_SEPARATOR.split(artist))
                 .map(String::trim)
                 .filter(a -> !a.isEmpty())
-                .map(YoutubeAudioIdSearchService::normalizeForSearch)
+                .map(SongTextNormalizer::forSearch)
                 .toList();
     }
 
+    // 두 인자 모두 이미 forSearch 로 정규화된 값
     private boolean matchTitles(String queryTitle, String targetTitle) {
-        return normalizeForSearch(queryTitle).equals(normalizeForSearch(targetTitle));
+        return queryTitle.equals(targetTitle);
     }
 
     private boolean matchArtists(String queryArtist, String targetArtist) {
-        return normalizeForSearch(queryArtist).equals(normalizeForSearch(targetArtist));
+        return queryArtist.equals(targetArtist);
     }
 }
@@ -0,0 +1,240 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.http.TokenBucket;
+import org.example.apispring.global.resilience.UpstreamResilience;
+import org.example.apispring.song.application.dto.YoutubeValidationResultDto;
+import org.example.apispring.song.application.dto.YoutubeVideoStatus;
+import org.example.apispring.song.application.event.SongMediaUpdatedEvent;
+import org.example.apispring.song.domain.EnrichmentSource;
+import org.example.apispring.song.domain.Song;
+import org.example.apispring.song.domain.SongRepository;
+import org.example.apispring.song.web.YoutubeClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 저장된 videoId/audioId 를 videos.list 로 주기 검증 (id 50개당 1 unit, search 로 다시 찾으면 곡당 100 unit)
+// - 삭제/비공개/임베드 불가/regionCode 차단 id 는 null 로 → 보강 배치/큐가 다시 검색
+//   (지운 id 는 백오프 행에 남겨 재검색이 같은 영상을 다시 고르지 않게 함)
+// - 살아 있는 영상은 썸네일을 받을 수 있는 가장 높은 해상도로 갱신
+// - 진행 위치(마지막 song id)를 Redis 에 체크포인트, 호출 간격은 cloudify.youtube.rate 토큰 버킷으로 제한
+//   (토큰 대기로 오래 걸리므로 스케줄러 스레드가 아닌 전용 스레드에서 실행)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class YoutubeIdValidationJob {
+
+    private static final String CURSOR_KEY = "youtube:validation:cursor";
+    private static final String LOCK_KEY = "youtube:validation:lock";
+    private static final Duration CURSOR_TTL = Duration.ofDays(30);
+
+    // 곡 하나에 id 가 최대 2개 → 한 페이지가 호출 1~2번
+    private static final int SONGS_PER_PAGE = YoutubeClient.VIDEOS_MAX_IDS;
+
+    private final SongRepository songRepository;
+    private final YoutubeClient youtubeClient;
+    private final StringRedisTemplate redisTemplate;
+    private final UpstreamResilience upstreamResilience;
+    private final EnrichmentBackoff enrichmentBackoff;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cloudify.youtube.validation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cloudify.youtube.validation.maxCallsPerRun:200}")
+    private int maxCallsPerRun;
+
+    @Value("${cloudify.youtube.validation.regionCode:KR}")
+    private String regionCode;
+
+    @Value("${cloudify.youtube.validation.lockTtlSec:3600}")
+    private long lockTtlSec;
+
+    @Value("${cloudify.youtube.rate.permitsPerSecond:2}")
+    private double permitsPerSecond;
+
+    private TokenBucket rateLimiter;
+
+    private final ExecutorService runner =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("youtube-validation").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        rateLimiter = new TokenBucket(permitsPerSecond, 1);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    @Scheduled(initialDelayString = "${cloudify.youtube.validation.initialDelayMs:120000}",
+            fixedDelayString = "${cloudify.youtube.validation.intervalMs:86400000}")
+    public void scheduled() {
+        if (!enabled) return;
+        start(maxCallsPerRun);
+    }
+
+    // 백그라운드로 시작만 (결과는 로그/메트릭), 이 인스턴스에서 이미 도는 중이면 false
+    public boolean start(int maxCalls) {
+        if (!running.compareAndSet(false, true)) return false;
+        try {
+            runner.execute(() -> {
+                try {
+                    run(maxCalls);
+                } catch (RuntimeException e) {
+                    log.warn("[YoutubeValidation] run_failed err={} msg={}", e.getClass().getSimpleName(), e.getMessage());
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            return false;
+        }
+    }
+
+    // 인스턴스가 여러 개여도 한 곳에서만 돌도록 Redis 락
+    public YoutubeValidationResultDto run(int maxCalls) {
+        String owner = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, Duration.ofSeconds(lockTtlSec));
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("[YoutubeValidation] skipped reason=locked");
+            return YoutubeValidationResultDto.skipped("locked");
+        }
+
+        try {
+            return validate(maxCalls);
+        } finally {
+            if (owner.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        }
+    }
+
+    private YoutubeValidationResultDto validate(int maxCalls) {
+        long t0 = System.nanoTime();
+        String saved = redisTemplate.opsForValue().get(CURSOR_KEY);
+        String cursor = (saved == null ? "" : saved);
+
+        int scanned = 0, checked = 0, calls = 0, deadVideo = 0, deadAudio = 0, thumbs = 0;
+        boolean passCompleted = false;
+        String stopReason = null;
+
+        while (calls < maxCalls) {
+            if (upstreamResilience.isOpen(OutboundHttpProperties.YOUTUBE)) {
+                stopReason = "circuit_open";
+                break;
+            }
+
+            List<Song> songs = songRepository.findWithYoutubeIdsAfter(cursor, PageRequest.of(0, SONGS_PER_PAGE));
+            if (songs.isEmpty()) {
+                passCompleted = true;
+                break;
+            }
+
+            Set<String> ids = new LinkedHashSet<>();
+            for (Song s : songs) {
+                if (!isBlank(s.getVideoId())) ids.add(s.getVideoId());
+                if (!isBlank(s.getAudioId())) ids.add(s.getAudioId());
+            }
+
+            Map<String, YoutubeVideoStatus> statuses = new HashMap<>();
+            try {
+                List<String> all = new ArrayList<>(ids);
+                for (int i = 0; i < all.size(); i += YoutubeClient.VIDEOS_MAX_IDS) {
+                    rateLimiter.acquire();
+                    calls++;
+                    statuses.putAll(youtubeClient.videos(all.subList(i, Math.min(all.size(), i + YoutubeClient.VIDEOS_MAX_IDS))));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopReason = "interrupted";
+                break;
+            } catch (BusinessException e) {
+                // 일부 청크만 받은 페이지는 반영하지 않음 (응답이 없는 id 를 죽은 것으로 오판하지 않도록)
+                log.warn("[YoutubeValidation] batch_failed code={} cursor={}", e.errorCode().name(), cursor);
+                stopReason = "upstream_failed";
+                break;
+            }
+            scanned += songs.size();
+            checked += ids.size();
+
+            List<Song> changed = new ArrayList<>();
+            for (Song song : songs) {
+                boolean dirty = false;
+
+                String videoId = song.getVideoId();
+                if (!isBlank(videoId)) {
+                    YoutubeVideoStatus st = statuses.get(videoId);
+                    if (st == null || !st.playableIn(regionCode)) {
+                        enrichmentBackoff.recordRejected(song.getId(), EnrichmentSource.YOUTUBE_VIDEO, videoId);
+                        song.updateVideoId(null);
+                        song.updateThumbnailImageUrl(null);
+                        deadVideo++;
+                        dirty = true;
+                    } else if (!isBlank(st.bestThumbnailUrl()) && !st.bestThumbnailUrl().equals(song.getThumbnailImageUrl())) {
+                        song.updateThumbnailImageUrl(st.bestThumbnailUrl());
+                        thumbs++;
+                        dirty = true;
+                    }
+                }
+
+                String audioId = song.getAudioId();
+                if (!isBlank(audioId)) {
+                    YoutubeVideoStatus st = statuses.get(audioId);
+                    if (st == null || !st.playableIn(regionCode)) {
+                        enrichmentBackoff.recordRejected(song.getId(), EnrichmentSource.YOUTUBE_AUDIO, audioId);
+                        song.updateAudioId(null);
+                        deadAudio++;
+                        dirty = true;
+                    }
+                }
+
+                if (dirty) changed.add(song);
+            }
+
+            if (!changed.isEmpty()) {
+                songRepository.saveAll(changed);
+                eventPublisher.publishEvent(SongMediaUpdatedEvent.of(changed.stream().map(Song::getId).toList()));
+            }
+
+            cursor = songs.get(songs.size() - 1).getId();
+            redisTemplate.opsForValue().set(CURSOR_KEY, cursor, CURSOR_TTL);
+        }
+
+        // 끝까지 돌았으면 다음 실행은 처음부터
+        if (passCompleted) redisTemplate.delete(CURSOR_KEY);
+
+        meterRegistry.counter("youtube.validation.ids", "outcome", "checked").increment(checked);
+        meterRegistry.counter("youtube.validation.ids", "outcome", "dead").increment(deadVideo + deadAudio);
+        log.info("[YoutubeValidation] scanned={} checked={} calls={} deadVideo={} deadAudio={} thumbs={} passCompleted={} stop={} elapsedMs={}",
+                scanned, checked, calls, deadVideo, deadAudio, thumbs, passCompleted, stopReason, (System.nanoTime() - t0) / 1_000_000);
+
+        return new YoutubeValidationResultDto(scanned, checked, calls, deadVideo, deadAudio, thumbs, passCompleted, stopReason);
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
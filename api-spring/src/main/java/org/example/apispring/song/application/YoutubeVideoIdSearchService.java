@@ -1,17 +1,15 @@
 package org.example.apispring.song.application;
 
 import lombok.RequiredArgsConstructor;
+import org.example.apispring.song.application.dto.YoutubeSearchItem;
 import org.example.apispring.song.web.YoutubeClient;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.text.Normalizer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -30,7 +28,17 @@ public class YoutubeVideoIdSearchService {
             "bighit", "hybe", "smtown", "jyp", "yg", "starship"
     );
 
+    private static final Pattern ARTIST_SEPARATOR = Pattern.compile("\\s*(?:&|/|,|and|feat\\.?|ft\\.?)\\s*");
+    private static final Pattern LIVE = Pattern.compile("\\blive\\b");
+    private static final Pattern NON_ORIGINAL =
+            Pattern.compile("\\b(cover|remix|nightcore|sped up|lyrics|fancam|practice|dance|performance)\\b");
+
     public String findVideoId(String title, String artist) {
+        return findVideoId(title, artist, null);
+    }
+
+    // rejectedId: 재생 불가로 지워졌던 id → 같은 검색 결과의 다음 후보를 고름
+    public String findVideoId(String title, String artist, String rejectedId) {
         if (title == null || artist == null) {
             return null;
         }
@@ -40,37 +48,29 @@ public class YoutubeVideoIdSearchService {
             return null;
         }
 
-        ResponseEntity<String> res = youtubeClient.search(query, candidatesPerSearch);
-        if (!res.getStatusCode().is2xxSuccessful() || res.getBody() == null) {
-            return null;
-        }
-
-        JSONObject json = new JSONObject(res.getBody());
-        if (json.has("error")) {
+        List<YoutubeSearchItem> items = youtubeClient.search(query, candidatesPerSearch);
+        if (items.isEmpty()) {
             return null;
         }
 
-        JSONArray items = json.optJSONArray("items");
-        if (items == null || items.isEmpty()) {
-            return null;
-        }
-
-        return pickBest(items, title, artist);
+        return pickBest(items, title, artist, rejectedId);
     }
 
-    private String pickBest(JSONArray items, String title, String artist) {
-        String wantTitle = normalizeForSearch(title);
+    private String pickBest(List<YoutubeSearchItem> items, String title, String artist, String rejectedId) {
+        String wantTitle = SongTextNormalizer.forSearch(title);
         List<String> wantArtists = splitArtists(artist);
 
-        JSONObject bestItem = null;
+        YoutubeSearchItem bestItem = null;
         double bestScore = -999;
 
-        for (int i = 0; i < items.length(); i++) {
-            JSONObject item = items.getJSONObject(i);
-            JSONObject snippet = item.getJSONObject("snippet");
+        for (YoutubeSearchItem item : items) {
+            if (rejectedId != null && rejectedId.equals(item.videoId())) continue;
+
+            String rawTitle = nullToEmpty(item.title());
+            String rawChannel = nullToEmpty(item.channelTitle());
 
-            String vTitle = normalizeForSearch(snippet.optString("title", ""));
-            String chName = normalizeForSearch(snippet.optString("channelTitle", ""));
+            String vTitle = SongTextNormalizer.forSearch(rawTitle);
+            String chName = SongTextNormalizer.forSearch(rawChannel);
 
             double s = 0.0;
 
@@ -82,29 +82,29 @@ public class YoutubeVideoIdSearchService {
             if (matchTitles(vTitle, wantTitle)) s += 0.30;
             else if (vTitle.contains(wantTitle)) s += 0.20;
 
-            String noisy = snippet.optString("title", "").toLowerCase(Locale.ROOT);
+            String noisy = rawTitle.toLowerCase(Locale.ROOT);
+            String channel = rawChannel.toLowerCase(Locale.ROOT);
 
-            boolean isOfficial = snippet.optString("channelTitle", "").toLowerCase(Locale.ROOT).contains("official")
-                    || snippet.optString("channelTitle", "").toLowerCase(Locale.ROOT).contains("vevo")
-                    || snippet.optString("channelTitle", "").toLowerCase(Locale.ROOT).endsWith("topic");
+            boolean isOfficial = channel.contains("official")
+                    || channel.contains("vevo")
+                    || channel.endsWith("topic");
 
             for (String c : DOMESTIC_OFFICIAL_CHANNELS) {
-                if (snippet.optString("channelTitle", "").toLowerCase(Locale.ROOT).contains(c.toLowerCase(Locale.ROOT))) {
+                if (channel.contains(c)) {
                     s += 0.10;
                     isOfficial = true;
                 }
             }
 
-            if (noisy.matches(".*\\blive\\b.*")) {
+            if (LIVE.matcher(noisy).find()) {
                 if (!isOfficial) s -= 0.40;
             }
 
-            if (noisy.matches(".*\\b(cover|remix|nightcore|sped up|lyrics|fancam|practice|dance|performance)\\b.*")) {
+            if (NON_ORIGINAL.matcher(noisy).find()) {
                 s -= 0.40;
             }
 
-            if (snippet.optString("channelTitle", "").toLowerCase(Locale.ROOT).contains("official")
-                    || snippet.optString("channelTitle", "").toLowerCase(Locale.ROOT).contains("vevo")) {
+            if (channel.contains("official") || channel.contains("vevo")) {
                 s += 0.20;
             }
             if (noisy.contains("official") || noisy.contains("mv")) {
@@ -120,37 +120,31 @@ public class YoutubeVideoIdSearchService {
         }
 
         if (bestItem != null) {
-            return bestItem.getJSONObject("id").optString("videoId", null);
+            return bestItem.videoId();
         }
 
         return null;
     }
 
-    private static String normalizeForSearch(String s) {
-        if (s == null) return "";
-        String x = s.toLowerCase(Locale.ROOT);
-        x = Normalizer.normalize(x, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
-        x = x.replaceAll("\\(.*?\\)|\\[.*?\\]|\\{.*?\\}", " ");
-        x = x.replaceAll("\\b(feat\\.|ft\\.|with)\\b.*", " ");
-        x = x.replaceAll("[^0-9a-zA-Z가-힣ㄱ-ㅎㅏ-ㅣぁ-ゔァ-ヴー一-龯々〆〤\\s']", " ");
-        x = x.replaceAll("\\s+", " ").trim();
-        return x;
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
     }
 
     private List<String> splitArtists(String artist) {
         if (artist == null) return List.of();
-        return Arrays.stream(artist.split("\\s*(?:&|/|,|and|feat\\.?|ft\\.?)\\s*"))
+        return Arrays.stream(ARTIST_SEPARATOR.split(artist))
                 .map(String::trim)
                 .filter(a -> !a.isEmpty())
-                .map(YoutubeVideoIdSearchService::normalizeForSearch)
+                .map(SongTextNormalizer::forSearch)
                 .toList();
     }
 
+    // 두 인자 모두 이미 forSearch 로 정규화된 값
     private boolean matchTitles(String queryTitle, String targetTitle) {
-        return normalizeForSearch(queryTitle).equals(normalizeForSearch(targetTitle));
+        return queryTitle.equals(targetTitle);
     }
 
     private boolean matchArtists(String queryArtist, String targetArtist) {
-        return normalizeForSearch(queryArtist).equals(normalizeForSearch(targetArtist));
+        return queryArtist.equals(targetArtist);
     }
 }
@@ -0,0 +1,15 @@
+package org.example.apispring.song.application.dto;
+
+// stopReason: null = 예산(maxPrompts) 소진 또는 미태깅 곡 없음, 그 외 중단 사유 (locked/circuit_open/upstream_failed/interrupted)
+public record CatalogTaggingResultDto(
+        int fetched,
+        int tagged,
+        int invalid,
+        int prompts,
+        boolean passCompleted,
+        String stopReason
+) {
+    public static CatalogTaggingResultDto skipped(String reason) {
+        return new CatalogTaggingResultDto(0, 0, 0, 0, false, reason);
+    }
+}
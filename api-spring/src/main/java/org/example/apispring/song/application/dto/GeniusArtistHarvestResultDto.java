@@ -0,0 +1,18 @@
+package org.example.apispring.song.application.dto;
+
+// 아티스트 단위 앨범 이미지 수확 결과
+// callsSaved: 곡 단위 경로는 곡마다 최소 1회 검색 → filled - upstreamCalls 는 아낀 호출 수의 하한
+public record GeniusArtistHarvestResultDto(
+        int scannedSongs,
+        int artists,
+        int filled,
+        int upstreamCalls,
+        int callsSaved,
+        double callsSavedPerFilledSong
+) {
+    public static GeniusArtistHarvestResultDto of(int scannedSongs, int artists, int filled, int upstreamCalls) {
+        int saved = filled - upstreamCalls;
+        return new GeniusArtistHarvestResultDto(scannedSongs, artists, filled, upstreamCalls, saved,
+                filled == 0 ? 0.0 : (double) saved / filled);
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.apispring.song.application.dto;
+
+import java.util.List;
+
+// /artists/{id}/songs 한 페이지 (nextPage 가 null 이면 마지막 페이지)
+public record GeniusArtistSongsResponse(
+        List<GeniusHit> songs,
+        Integer nextPage
+) {}
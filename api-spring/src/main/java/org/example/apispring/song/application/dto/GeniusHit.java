@@ -0,0 +1,13 @@
+package org.example.apispring.song.application.dto;
+
+import java.util.Map;
+
+// search 응답 hits[].result 중 매칭/이미지 판단에 쓰는 필드만
+// images: 응답에 존재한 이미지 키 → 값 (JSON null 이면 값도 null)
+public record GeniusHit(
+        String title,
+        String fullTitle,
+        String primaryArtistName,
+        Long primaryArtistId,
+        Map<String, String> images
+) {}
@@ -0,0 +1,10 @@
+package org.example.apispring.song.application.dto;
+
+import java.util.List;
+
+// hasResponse / hasHits: 응답 구조 검증용 (노드 자체가 없었는지 구분)
+public record GeniusSearchResponse(
+        boolean hasResponse,
+        boolean hasHits,
+        List<GeniusHit> hits
+) {}
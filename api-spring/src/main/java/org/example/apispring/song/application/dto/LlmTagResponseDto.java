@@ -1,9 +1,18 @@
 package org.example.apispring.song.application.dto;
 
+import org.example.apispring.song.domain.TagVector;
+
+// LLM 이 고른 태그 (검증된 enum 값만 담긴 TagVector)
 public record LlmTagResponseDto(
-        String mood,
-        String genre,
-        String activity,
-        String branch,
-        String tempo
-) {}
+        TagVector vector
+) {
+    public String mood() { return vector.name(TagVector.MOOD); }
+
+    public String genre() { return vector.name(TagVector.GENRE); }
+
+    public String activity() { return vector.name(TagVector.ACTIVITY); }
+
+    public String branch() { return vector.name(TagVector.BRANCH); }
+
+    public String tempo() { return vector.name(TagVector.TEMPO); }
+}
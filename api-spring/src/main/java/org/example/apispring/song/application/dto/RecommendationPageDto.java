@@ -0,0 +1,9 @@
+package org.example.apispring.song.application.dto;
+
+import org.example.apispring.global.web.PreEncodedJsonArray;
+
+// nextCursor == null 이면 마지막 페이지
+public record RecommendationPageDto(
+        PreEncodedJsonArray songs,
+        String nextCursor
+) {}
@@ -2,6 +2,7 @@ package org.example.apispring.song.application.dto;
 
 
 import org.example.apispring.song.domain.Song;
+import org.example.apispring.song.domain.SongCandidate;
 
 public record SongResponseDto(
         String title,
@@ -14,17 +15,24 @@ public record SongResponseDto(
                 song.getTitle(),
                 song.getArtist(),
                 song.getVideoId(),
-                resolveImageUrl(song)
+                resolveImageUrl(song.getAlbumImageUrl(), song.getThumbnailImageUrl())
         );
     }
 
-    private static String resolveImageUrl(Song song) {
-        String album = song.getAlbumImageUrl();
+    public static SongResponseDto of(SongCandidate c) {
+        return new SongResponseDto(
+                c.title(),
+                c.artist(),
+                c.videoId(),
+                resolveImageUrl(c.albumImageUrl(), c.thumbnailUrl())
+        );
+    }
+
+    private static String resolveImageUrl(String album, String thumb) {
         if (isUsableAlbumImage(album)) {
             return album.trim();
         }
 
-        String thumb = song.getThumbnailImageUrl();
         if (thumb != null && !thumb.isBlank()) {
             return thumb.trim();
         }
@@ -0,0 +1,11 @@
+package org.example.apispring.song.application.dto;
+
+public record TagCellSparsityDto(
+        String mood,
+        String genre,
+        String activity,
+        String branch,
+        String tempo,
+        int songs,
+        int unknownGenreSongs
+) {}
@@ -0,0 +1,8 @@
+package org.example.apispring.song.application.dto;
+
+// search.list 응답에서 매칭에 쓰는 필드만 (fields= 로 받은 값)
+public record YoutubeSearchItem(
+        String videoId,
+        String title,
+        String channelTitle
+) {}
@@ -0,0 +1,17 @@
+package org.example.apispring.song.application.dto;
+
+// stopReason: null = 예산(maxCalls) 소진 또는 한 바퀴 완료, 그 외 중단 사유 (locked/circuit_open/upstream_failed/interrupted)
+public record YoutubeValidationResultDto(
+        int songsScanned,
+        int idsChecked,
+        int calls,
+        int deadVideoIds,
+        int deadAudioIds,
+        int thumbnailsRefreshed,
+        boolean passCompleted,
+        String stopReason
+) {
+    public static YoutubeValidationResultDto skipped(String reason) {
+        return new YoutubeValidationResultDto(0, 0, 0, 0, 0, 0, false, reason);
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.apispring.song.application.dto;
+
+import java.util.List;
+import java.util.Locale;
+
+// videos.list 응답 중 재생 가능 여부/썸네일 판단에 쓰는 필드만
+// regionAllowed/regionBlocked: regionRestriction 이 없으면 null (= 전 지역 재생 가능)
+public record YoutubeVideoStatus(
+        String videoId,
+        String uploadStatus,
+        String privacyStatus,
+        Boolean embeddable,
+        List<String> regionAllowed,
+        List<String> regionBlocked,
+        String bestThumbnailUrl
+) {
+    public boolean playableIn(String regionCode) {
+        // uploaded(처리 중)는 살아 있는 것으로 봄
+        if ("deleted".equals(uploadStatus) || "failed".equals(uploadStatus) || "rejected".equals(uploadStatus)) return false;
+        if ("private".equals(privacyStatus)) return false;
+        if (Boolean.FALSE.equals(embeddable)) return false;
+
+        String region = regionCode == null ? "" : regionCode.toUpperCase(Locale.ROOT);
+        if (region.isEmpty()) return true;
+        if (regionAllowed != null && !regionAllowed.contains(region)) return false;
+        return regionBlocked == null || !regionBlocked.contains(region);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.apispring.song.application.enrichment;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.song.domain.SongRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// 보강이 필요한 곡을 작업 큐에 적재
+// - 주기마다 한 노드만 스캔 (락 TTL = 주기, 그 노드가 죽어도 다음 주기엔 다른 노드가 맡음)
+// - id 순 keyset 으로 id 만 읽고, 이미 대기 중인 작업은 EnrichmentQueue 에서 걸러짐
+// - 백오프 중인 곡(SongEnrichmentState)은 조회 단계에서 제외
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrichmentProducer {
+
+    private static final String LOCK_KEY = "enrich:producer:lock";
+    private static final int PAGE_SIZE = 200;
+
+    private final EnrichmentQueue queue;
+    private final SongRepository songRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+
+    @Value("${cloudify.enrichment.produceIntervalMs:30000}")
+    private long produceIntervalMs;
+
+    @Value("${cloudify.enrichment.maxEnqueuePerRun:500}")
+    private int maxEnqueuePerRun;
+
+    @Value("${cloudify.enrichment.maxScanPerRun:5000}")
+    private int maxScanPerRun;
+
+    @Scheduled(initialDelayString = "${cloudify.enrichment.produceIntervalMs:30000}",
+            fixedDelayString = "${cloudify.enrichment.produceIntervalMs:30000}")
+    public void produce() {
+        if (!queue.isEnabled()) return;
+
+        Boolean leader = redisTemplate.opsForValue()
+                .setIfAbsent(LOCK_KEY, "1", Duration.ofMillis(Math.max(1000, produceIntervalMs)));
+        if (!Boolean.TRUE.equals(leader)) return;
+
+        long t0 = System.nanoTime();
+        try {
+            int video = produce(EnrichmentTaskType.YOUTUBE_VIDEO);
+            int audio = produce(EnrichmentTaskType.YOUTUBE_AUDIO);
+            int album = produce(EnrichmentTaskType.GENIUS_ALBUM_IMAGE);
+            queue.trim();
+
+            if (video + audio + album > 0) {
+                log.info("[Enrichment] enqueued video={} audio={} album={} elapsedMs={}",
+                        video, audio, album, (System.nanoTime() - t0) / 1_000_000);
+            }
+        } catch (Exception e) {
+            log.warn("[Enrichment] produce_failed err={} msg={}", e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    private int produce(EnrichmentTaskType type) {
+        Instant now = clock.instant();
+        String after = "";
+        int scanned = 0;
+        int enqueued = 0;
+
+        while (enqueued < maxEnqueuePerRun && scanned < maxScanPerRun) {
+            List<String> ids = idsAfter(type, after, now, PageRequest.of(0, PAGE_SIZE));
+            if (ids.isEmpty()) break;
+
+            for (String id : ids) {
+                if (enqueued >= maxEnqueuePerRun) break;
+                if (queue.enqueue(type, id)) enqueued++;
+            }
+            scanned += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        return enqueued;
+    }
+
+    private List<String> idsAfter(EnrichmentTaskType type, String after, Instant now, Pageable page) {
+        return switch (type) {
+            case YOUTUBE_VIDEO -> songRepository.findIdsWithMissingVideoIdAfter(after, now, page);
+            case YOUTUBE_AUDIO -> songRepository.findIdsWithMissingAudioIdAfter(after, now, page);
+            case GENIUS_ALBUM_IMAGE -> songRepository.findIdsWithoutAlbumImageAfter(after, now, page);
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.apispring.song.application.enrichment;
+
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.api.async.RedisStreamAsyncCommands;
+import io.lettuce.core.models.stream.ClaimedMessages;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 곡 보강 작업 큐 (Redis Stream + consumer group)
+// - 같은 (작업, 곡)은 처리 완료 전까지 한 번만 적재 (queued 마커, TTL 지나면 다시 적재 가능)
+// - 노드마다 consumer 로 XREADGROUP → 한 레코드는 한 노드만 가져감 → upstream 중복 호출 없음
+// - ack 전에 죽은 노드의 레코드는 XAUTOCLAIM 으로 다른 노드가 회수, maxDeliveries 넘으면 버림
+// - 서킷 open 으로 미룬 전달은 enrich:deferred 해시에 따로 세고 maxDeliveries 계산에서 뺌
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrichmentQueue {
+
+    static final String STREAM_KEY = "enrich:tasks";
+    static final String GROUP = "enrichers";
+    private static final String QUEUED_PREFIX = "enrich:queued:";
+    static final String DEFERRED_KEY = "enrich:deferred";
+
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_SONG_ID = "songId";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${cloudify.enrichment.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cloudify.enrichment.queuedTtlSec:21600}")
+    private long queuedTtlSec;
+
+    @Value("${cloudify.enrichment.maxLen:100000}")
+    private long maxLen;
+
+    @Value("${cloudify.enrichment.maxDeliveries:5}")
+    private int maxDeliveries;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) return;
+        try {
+            redisTemplate.opsForStream().createGroup(STREAM_KEY, ReadOffset.from("0"), GROUP);
+        } catch (Exception e) {
+            // 이미 있으면 BUSYGROUP
+            log.debug("[Enrichment] group_exists msg={}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 처음 적재하는 작업이면 true (이미 대기/처리 중이면 false)
+    public boolean enqueue(EnrichmentTaskType type, String songId) {
+        Boolean first = redisTemplate.opsForValue()
+                .setIfAbsent(queuedKey(type, songId), "1", Duration.ofSeconds(queuedTtlSec));
+        if (!Boolean.TRUE.equals(first)) return false;
+
+        redisTemplate.opsForStream().add(StreamRecords.newRecord()
+                .in(STREAM_KEY)
+                .ofMap(Map.of(FIELD_TYPE, type.name(), FIELD_SONG_ID, songId)));
+        return true;
+    }
+
+    // 처리된 레코드는 ack 된 뒤 MAXLEN 으로 잘라냄 (approximate → O(1) 에 가깝게)
+    public void trim() {
+        redisTemplate.opsForStream().trim(STREAM_KEY, maxLen, true);
+    }
+
+    public List<EnrichmentTask> read(String consumer, int count, Duration block) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                Consumer.from(GROUP, consumer),
+                StreamReadOptions.empty().count(count).block(block),
+                StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed())
+        );
+        if (records == null || records.isEmpty()) return List.of();
+
+        List<EnrichmentTask> out = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> r : records) {
+            EnrichmentTask t = toTask(r.getId().getValue(), (String) r.getValue().get(FIELD_TYPE),
+                    (String) r.getValue().get(FIELD_SONG_ID));
+            if (t != null) out.add(t);
+            else ackRaw(r.getId().getValue());
+        }
+        return out;
+    }
+
+    public void ack(EnrichmentTask task) {
+        ackRaw(task.recordId());
+        redisTemplate.delete(queuedKey(task.type(), task.songId()));
+    }
+
+    // 시도하지 않고 미룬 전달 (ack 하지 않음 → claimIdleMs 뒤 회수)
+    // 해시는 ack/버림 때 지우고, 잘려 나간 레코드 몫은 TTL 로 정리
+    public void defer(EnrichmentTask task) {
+        redisTemplate.opsForHash().increment(DEFERRED_KEY, task.recordId(), 1);
+        redisTemplate.expire(DEFERRED_KEY, Duration.ofSeconds(queuedTtlSec));
+    }
+
+    // idle 이 minIdle 을 넘은 다른 consumer 의 레코드를 가져옴
+    // 실제 시도 횟수(전달 - 미룸)가 maxDeliveries 이상인 레코드는 먼저 ack 해서 버림 (queued 마커는 TTL 후 만료 → 나중에 재적재)
+    public List<EnrichmentTask> reclaim(String consumer, Duration minIdle, int count) {
+        dropPoisoned(minIdle, count);
+
+        ClaimedMessages<byte[], byte[]> claimed = redisTemplate.execute((RedisCallback<ClaimedMessages<byte[], byte[]>>) conn -> {
+            @SuppressWarnings("unchecked")
+            RedisStreamAsyncCommands<byte[], byte[]> commands =
+                    (RedisStreamAsyncCommands<byte[], byte[]>) conn.getNativeConnection();
+            XAutoClaimArgs<byte[]> args = XAutoClaimArgs.Builder
+                    .xautoclaim(io.lettuce.core.Consumer.from(bytes(GROUP), bytes(consumer)), minIdle, bytes("0-0"))
+                    .count(count);
+            try {
+                return commands.xautoclaim(bytes(STREAM_KEY), args).get(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("[Enrichment] xautoclaim_failed err={}", e.getClass().getSimpleName());
+                return null;
+            }
+        });
+        if (claimed == null || claimed.getMessages() == null) return List.of();
+
+        List<EnrichmentTask> out = new ArrayList<>();
+        for (StreamMessage<byte[], byte[]> m : claimed.getMessages()) {
+            Map<byte[], byte[]> body = m.getBody();
+            if (body == null) continue; // 그 사이 잘려 나간 레코드
+            String type = null, songId = null;
+            for (Map.Entry<byte[], byte[]> e : body.entrySet()) {
+                String k = string(e.getKey());
+                if (FIELD_TYPE.equals(k)) type = string(e.getValue());
+                else if (FIELD_SONG_ID.equals(k)) songId = string(e.getValue());
+            }
+            EnrichmentTask t = toTask(m.getId(), type, songId);
+            if (t != null) out.add(t);
+            else ackRaw(m.getId());
+        }
+        return out;
+    }
+
+    private void dropPoisoned(Duration minIdle, int count) {
+        List<PendingMessage> stale = new ArrayList<>();
+        for (PendingMessage p : redisTemplate.opsForStream().pending(STREAM_KEY, GROUP, Range.unbounded(), count)) {
+            if (p.getTotalDeliveryCount() < maxDeliveries) continue;
+            if (p.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) continue;
+            stale.add(p);
+        }
+        if (stale.isEmpty()) return;
+
+        List<Object> deferred = redisTemplate.opsForHash()
+                .multiGet(DEFERRED_KEY, stale.stream().map(p -> (Object) p.getIdAsString()).toList());
+        for (int i = 0; i < stale.size(); i++) {
+            PendingMessage p = stale.get(i);
+            long attempts = p.getTotalDeliveryCount() - parseCount(deferred == null ? null : deferred.get(i));
+            if (attempts < maxDeliveries) continue;
+            ackRaw(p.getIdAsString());
+            log.warn("[Enrichment] dropped recordId={} deliveries={} attempts={}",
+                    p.getIdAsString(), p.getTotalDeliveryCount(), attempts);
+        }
+    }
+
+    private void ackRaw(String recordId) {
+        redisTemplate.opsForStream().acknowledge(STREAM_KEY, GROUP, recordId);
+        redisTemplate.opsForHash().delete(DEFERRED_KEY, recordId);
+    }
+
+    private static long parseCount(Object v) {
+        if (v == null) return 0;
+        try {
+            return Long.parseLong(v.toString());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static EnrichmentTask toTask(String recordId, String type, String songId) {
+        if (type == null || songId == null || songId.isBlank()) return null;
+        try {
+            return new EnrichmentTask(recordId, EnrichmentTaskType.valueOf(type), songId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String queuedKey(EnrichmentTaskType type, String songId) {
+        return QUEUED_PREFIX + type.name() + ":" + songId;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] b) {
+        return b == null ? null : new String(b, StandardCharsets.UTF_8);
+    }
+}
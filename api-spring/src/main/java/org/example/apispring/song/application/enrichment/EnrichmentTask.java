@@ -0,0 +1,8 @@
+package org.example.apispring.song.application.enrichment;
+
+// 스트림 레코드 한 건 (recordId 로 ack)
+public record EnrichmentTask(
+        String recordId,
+        EnrichmentTaskType type,
+        String songId
+) {}
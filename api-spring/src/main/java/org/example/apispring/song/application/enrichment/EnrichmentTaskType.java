@@ -0,0 +1,27 @@
+package org.example.apispring.song.application.enrichment;
+
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.song.domain.EnrichmentSource;
+
+// 곡 단위 보강 작업 종류 (작업마다 호출하는 upstream)
+public enum EnrichmentTaskType {
+    YOUTUBE_VIDEO(EnrichmentSource.YOUTUBE_VIDEO, OutboundHttpProperties.YOUTUBE),
+    YOUTUBE_AUDIO(EnrichmentSource.YOUTUBE_AUDIO, OutboundHttpProperties.YOUTUBE),
+    GENIUS_ALBUM_IMAGE(EnrichmentSource.GENIUS_ALBUM_IMAGE, OutboundHttpProperties.GENIUS);
+
+    private final EnrichmentSource source;
+    private final String upstream;
+
+    EnrichmentTaskType(EnrichmentSource source, String upstream) {
+        this.source = source;
+        this.upstream = upstream;
+    }
+
+    public EnrichmentSource source() {
+        return source;
+    }
+
+    public String upstream() {
+        return upstream;
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.apispring.song.application.enrichment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apispring.global.resilience.UpstreamResilience;
+import org.example.apispring.song.application.FillDbService;
+import org.example.apispring.song.application.FillDbService.SongFillOutcome;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// 노드별 작업 큐 consumer
+// - workers 개의 가상 스레드가 XREADGROUP 으로 받아 곡 단위로 처리 후 ack
+// - 일시 장애(RETRY, 서킷 open)면 ack 하지 않음 → claimIdleMs 뒤 어느 노드든 XAUTOCLAIM 으로 재처리
+// - 회수(reclaim)는 스케줄러 스레드에서 가져오기만 하고 처리는 worker 스레드가 (upstream 호출로 스케줄러를 잡지 않음)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrichmentWorker {
+
+    private static final String METRIC = "enrichment.tasks";
+
+    private final EnrichmentQueue queue;
+    private final FillDbService fillDbService;
+    private final UpstreamResilience upstreamResilience;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cloudify.enrichment.workers:2}")
+    private int workers;
+
+    @Value("${cloudify.enrichment.readCount:5}")
+    private int readCount;
+
+    @Value("${cloudify.enrichment.claimIdleMs:120000}")
+    private long claimIdleMs;
+
+    private final String consumer = consumerName();
+    private final List<Thread> threads = new ArrayList<>();
+    private final BlockingQueue<EnrichmentTask> reclaimed = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!queue.isEnabled()) return;
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            threads.add(Thread.ofVirtual().name("enrich-worker-" + i).start(this::loop));
+        }
+        log.info("[Enrichment] consumer={} workers={}", consumer, workers);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                EnrichmentTask claimed = reclaimed.poll();
+                if (claimed != null) {
+                    handle(claimed);
+                    continue;
+                }
+                for (EnrichmentTask task : queue.read(consumer, readCount, Duration.ofSeconds(2))) {
+                    handle(task);
+                }
+            } catch (Exception e) {
+                if (!running) return;
+                log.warn("[Enrichment] read_failed err={} msg={}", e.getClass().getSimpleName(), e.getMessage());
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // 죽은 노드(또는 일시 장애로 ack 못 한) 레코드 회수 → worker 들에게 넘김
+    // 지난번 회수분이 아직 남아 있으면 더 가져오지 않음 (처리 전에 idle 이 넘어 다른 노드로 넘어가지 않도록)
+    @Scheduled(initialDelayString = "${cloudify.enrichment.claimIntervalMs:30000}",
+            fixedDelayString = "${cloudify.enrichment.claimIntervalMs:30000}")
+    public void reclaim() {
+        if (!running || !reclaimed.isEmpty()) return;
+        try {
+            reclaimed.addAll(queue.reclaim(consumer, Duration.ofMillis(claimIdleMs), readCount * workers));
+        } catch (Exception e) {
+            log.warn("[Enrichment] reclaim_failed err={} msg={}", e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    void handle(EnrichmentTask task) {
+        // 시도하지 않은 전달이므로 maxDeliveries 에 세지 않음 (긴 장애 중에 작업이 버려지지 않도록)
+        if (upstreamResilience.isOpen(task.type().upstream())) {
+            queue.defer(task);
+            count(task, "deferred");
+            return;
+        }
+
+        SongFillOutcome outcome;
+        try {
+            outcome = switch (task.type()) {
+                case YOUTUBE_VIDEO -> fillDbService.fillVideoIdForSong(task.songId());
+                case YOUTUBE_AUDIO -> fillDbService.fillAudioIdForSong(task.songId());
+                case GENIUS_ALBUM_IMAGE -> fillDbService.fillAlbumImageForSong(task.songId());
+            };
+        } catch (RuntimeException e) {
+            log.warn("[Enrichment] task_failed type={} songId={} err={}", task.type(), task.songId(), e.getClass().getSimpleName());
+            outcome = SongFillOutcome.RETRY;
+        }
+
+        if (outcome != SongFillOutcome.RETRY) queue.ack(task);
+        count(task, outcome.name().toLowerCase(Locale.ROOT));
+    }
+
+    private void count(EnrichmentTask task, String outcome) {
+        meterRegistry.counter(METRIC, "type", task.type().name(), "outcome", outcome).increment();
+    }
+
+    private static String consumerName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.apispring.song.application.event;
+
+import java.util.Collection;
+import java.util.List;
+
+// songs 의 영상/이미지 컬럼이 바뀌었을 때 발행 (응답 캐시 무효화용)
+public record SongMediaUpdatedEvent(
+        Collection<String> songIds
+) {
+    public static SongMediaUpdatedEvent of(Collection<String> songIds) {
+        return new SongMediaUpdatedEvent(List.copyOf(songIds));
+    }
+}
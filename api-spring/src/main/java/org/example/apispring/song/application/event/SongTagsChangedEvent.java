@@ -0,0 +1,15 @@
+package org.example.apispring.song.application.event;
+
+import org.example.apispring.song.domain.SongTag;
+
+import java.util.List;
+
+// tags 테이블이 바뀌었을 때 발행 (통계/후보 풀 등 파생 데이터 갱신용)
+public record SongTagsChangedEvent(
+        List<SongTag> added,
+        List<SongTag> removed
+) {
+    public static SongTagsChangedEvent added(List<SongTag> added) {
+        return new SongTagsChangedEvent(added, List.of());
+    }
+}
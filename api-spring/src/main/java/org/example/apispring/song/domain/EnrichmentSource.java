@@ -0,0 +1,8 @@
+package org.example.apispring.song.domain;
+
+// 곡 보강 대상 (곡 + 소스 단위로 재시도 상태를 따로 관리)
+public enum EnrichmentSource {
+    YOUTUBE_VIDEO,
+    YOUTUBE_AUDIO,
+    GENIUS_ALBUM_IMAGE
+}
@@ -0,0 +1,17 @@
+package org.example.apispring.song.domain;
+
+// 추천 후보 조회 전용 projection (엔티티/영속성 컨텍스트를 거치지 않음)
+// - 점수 계산, dedupe, 응답 변환에 필요한 컬럼만 담음
+public record SongCandidate(
+        String songId,
+        String title,
+        String artist,
+        String videoId,
+        String albumImageUrl,
+        String thumbnailUrl,
+        TagVector tags
+) {
+    public SongCandidate withTags(TagVector tags) {
+        return new SongCandidate(songId, title, artist, videoId, albumImageUrl, thumbnailUrl, tags);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.apispring.song.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// 곡/소스별 보강 실패 이력 (찾지 못한 곡을 지수 백오프로 뒤로 미룸)
+// - 조회 쿼리는 nextEligibleAt 이 지나지 않은 행이 있는 곡을 건너뜀
+// - 보강에 성공하면 행을 지움
+// - rejectedId: 검증 배치가 재생 불가로 지운 id → 다시 검색해도 같은 id 는 고르지 않음
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(
+        name = "song_enrichment_state",
+        uniqueConstraints = @UniqueConstraint(name = "uk_song_enrichment_state", columnNames = {"song_id", "source"}),
+        indexes = @Index(name = "idx_song_enrichment_state_next", columnList = "source, next_eligible_at")
+)
+public class SongEnrichmentState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "song_id", nullable = false, length = 64)
+    private String songId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false, length = 32)
+    private EnrichmentSource source;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_reason", length = 64)
+    private String lastReason;
+
+    @Column(name = "rejected_id", length = 32)
+    private String rejectedId;
+
+    @Column(name = "next_eligible_at", nullable = false)
+    private Instant nextEligibleAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public SongEnrichmentState(String songId, EnrichmentSource source) {
+        this.songId = songId;
+        this.source = source;
+    }
+
+    public void recordMiss(String reason, Instant now, Instant nextEligibleAt) {
+        this.attempts++;
+        this.lastReason = reason;
+        this.nextEligibleAt = nextEligibleAt;
+        this.updatedAt = now;
+    }
+
+    public void reject(String id) {
+        this.rejectedId = id;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.apispring.song.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SongEnrichmentStateRepository extends JpaRepository<SongEnrichmentState, Long> {
+
+    Optional<SongEnrichmentState> findBySongIdAndSource(String songId, EnrichmentSource source);
+
+    List<SongEnrichmentState> findBySongIdInAndSourceAndRejectedIdIsNotNull(Collection<String> songIds, EnrichmentSource source);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SongEnrichmentState e WHERE e.songId = :songId AND e.source = :source")
+    int deleteBySongIdAndSource(@Param("songId") String songId, @Param("source") EnrichmentSource source);
+}
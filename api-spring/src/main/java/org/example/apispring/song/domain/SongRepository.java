@@ -3,24 +3,40 @@ package org.example.apispring.song.domain;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 public interface SongRepository extends JpaRepository<Song, String> {
 
+    // 보강 대상 조회는 SongEnrichmentState 의 백오프가 끝나지 않은 곡을 건너뜀
+    // (albumImageUrl = 'trash' 는 예전 방식의 실패 표시 → 다시 대상에 포함, 이후 상태 테이블로 관리)
     @Query("""
             SELECT s
             FROM Song s
-            WHERE s.albumImageUrl IS NULL OR s.albumImageUrl = ''
+            WHERE (s.albumImageUrl IS NULL OR s.albumImageUrl = '' OR s.albumImageUrl = 'trash')
+              AND NOT EXISTS (
+                    SELECT 1 FROM SongEnrichmentState e
+                    WHERE e.songId = s.id
+                      AND e.source = org.example.apispring.song.domain.EnrichmentSource.GENIUS_ALBUM_IMAGE
+                      AND e.nextEligibleAt > :now
+              )
             """)
-    List<Song> findSongsWithoutAlbumImage(Pageable pageable);
+    List<Song> findSongsWithoutAlbumImage(@Param("now") Instant now, Pageable pageable);
 
     @Query("""
     SELECT s FROM Song s
     WHERE (s.videoId IS NULL OR s.videoId = '')
+      AND NOT EXISTS (
+            SELECT 1 FROM SongEnrichmentState e
+            WHERE e.songId = s.id
+              AND e.source = org.example.apispring.song.domain.EnrichmentSource.YOUTUBE_VIDEO
+              AND e.nextEligibleAt > :now
+      )
 """)
-    List<Song> findSongsWithMissingVideoId(Pageable pageable);
+    List<Song> findSongsWithMissingVideoId(@Param("now") Instant now, Pageable pageable);
 
     @Query("""
     SELECT s FROM Song s
@@ -32,9 +48,76 @@ public interface SongRepository extends JpaRepository<Song, String> {
     @Query("""
         SELECT s
         FROM Song s
-        WHERE s.audioId IS NULL OR s.audioId = ''
+        WHERE (s.audioId IS NULL OR s.audioId = '')
+          AND NOT EXISTS (
+                SELECT 1 FROM SongEnrichmentState e
+                WHERE e.songId = s.id
+                  AND e.source = org.example.apispring.song.domain.EnrichmentSource.YOUTUBE_AUDIO
+                  AND e.nextEligibleAt > :now
+          )
         """)
-    List<Song> findSongsWithMissingAudioId(Pageable pageable);
+    List<Song> findSongsWithMissingAudioId(@Param("now") Instant now, Pageable pageable);
 
     Optional<Song> findByVideoId(String videoId);
+
+    // 보강 작업 큐 적재용 (id 순 keyset, id 만 조회)
+    @Query("""
+    SELECT s.id FROM Song s
+    WHERE s.id > :afterId
+      AND (s.videoId IS NULL OR s.videoId = '')
+      AND NOT EXISTS (
+            SELECT 1 FROM SongEnrichmentState e
+            WHERE e.songId = s.id
+              AND e.source = org.example.apispring.song.domain.EnrichmentSource.YOUTUBE_VIDEO
+              AND e.nextEligibleAt > :now
+      )
+    ORDER BY s.id
+""")
+    List<String> findIdsWithMissingVideoIdAfter(@Param("afterId") String afterId, @Param("now") Instant now, Pageable pageable);
+
+    @Query("""
+    SELECT s.id FROM Song s
+    WHERE s.id > :afterId
+      AND (s.audioId IS NULL OR s.audioId = '')
+      AND NOT EXISTS (
+            SELECT 1 FROM SongEnrichmentState e
+            WHERE e.songId = s.id
+              AND e.source = org.example.apispring.song.domain.EnrichmentSource.YOUTUBE_AUDIO
+              AND e.nextEligibleAt > :now
+      )
+    ORDER BY s.id
+""")
+    List<String> findIdsWithMissingAudioIdAfter(@Param("afterId") String afterId, @Param("now") Instant now, Pageable pageable);
+
+    @Query("""
+    SELECT s.id FROM Song s
+    WHERE s.id > :afterId
+      AND (s.albumImageUrl IS NULL OR s.albumImageUrl = '' OR s.albumImageUrl = 'trash')
+      AND NOT EXISTS (
+            SELECT 1 FROM SongEnrichmentState e
+            WHERE e.songId = s.id
+              AND e.source = org.example.apispring.song.domain.EnrichmentSource.GENIUS_ALBUM_IMAGE
+              AND e.nextEligibleAt > :now
+      )
+    ORDER BY s.id
+""")
+    List<String> findIdsWithoutAlbumImageAfter(@Param("afterId") String afterId, @Param("now") Instant now, Pageable pageable);
+
+    // 아직 tags 행이 없는 곡 (id 순 keyset → 체크포인트에서 이어서 조회)
+    @Query("""
+    SELECT s FROM Song s
+    WHERE s.id > :afterId
+      AND NOT EXISTS (SELECT 1 FROM SongTag st WHERE st.song = s)
+    ORDER BY s.id
+""")
+    List<Song> findUntaggedAfter(@Param("afterId") String afterId, Pageable pageable);
+
+    // videoId/audioId 중 하나라도 있는 곡 (id 순 keyset, 저장된 YouTube id 검증용)
+    @Query("""
+    SELECT s FROM Song s
+    WHERE s.id > :afterId
+      AND ((s.videoId IS NOT NULL AND s.videoId <> '') OR (s.audioId IS NOT NULL AND s.audioId <> ''))
+    ORDER BY s.id
+""")
+    List<Song> findWithYoutubeIdsAfter(@Param("afterId") String afterId, Pageable pageable);
 }
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Builder
 @Entity
-@Table(name = "tags")
+@Table(name = "tags", indexes = @Index(name = "idx_tags_tag_vector", columnList = "tag_vector"))
 public class SongTag {
 
     @Id
@@ -36,6 +36,17 @@ public class SongTag {
     @Column(name = "tempo")
     private String tempo;
 
+    // 문자열 태그 컬럼을 패킹한 값 (후보 조회/점수 계산용), 저장 시 문자열 컬럼에서 동기화
+    @Convert(converter = TagVectorConverter.class)
+    @Column(name = "tag_vector")
+    private TagVector tagVector;
+
     @Column(name = "created_at", updatable = false, insertable = false)
     private LocalDateTime createdAt;
+
+    @PrePersist
+    @PreUpdate
+    void syncTagVector() {
+        this.tagVector = TagVector.parse(mood, genre, activity, branch, tempo);
+    }
 }
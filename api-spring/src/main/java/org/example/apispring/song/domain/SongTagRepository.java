@@ -1,38 +1,44 @@
 package org.example.apispring.song.domain;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SongTagRepository extends JpaRepository<SongTag, Long> {
 
+    // 후보 조회는 record projection 으로 (엔티티 hydrate/dirty checking 없음)
+    // 기본 읽기 전용 트랜잭션 안에서 fetchSize 단위로 받아옴
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
     @Query("""
-    SELECT st
+    SELECT new org.example.apispring.song.domain.SongCandidate(
+        s.id, s.title, s.artist, s.videoId, s.albumImageUrl, s.thumbnailImageUrl,
+        st.tagVector
+    )
     FROM SongTag st
-    JOIN FETCH st.song s
-    WHERE st.mood = :mood
-      AND st.branch = :branch
-      AND st.activity = :activity
-      AND st.tempo = :tempo
-      AND st.genre = :genre
+    JOIN st.song s
+    WHERE st.tagVector = :vector
     ORDER BY s.createdAt DESC
     """)
-    List<SongTag> findStrongByMoodBranchActivityTempoAndGenre(
-            @Param("mood") String mood,
-            @Param("branch") String branch,
-            @Param("activity") String activity,
-            @Param("tempo") String tempo,
-            @Param("genre") String genre,
+    List<SongCandidate> findStrongByTagVector(
+            @Param("vector") TagVector vector,
             Pageable pageable
     );
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
     @Query("""
-    SELECT st
+    SELECT new org.example.apispring.song.domain.SongCandidate(
+        s.id, s.title, s.artist, s.videoId, s.albumImageUrl, s.thumbnailImageUrl,
+        st.tagVector
+    )
     FROM SongTag st
-    JOIN FETCH st.song s
+    JOIN st.song s
     WHERE st.mood = :mood
       AND st.branch = :branch
       AND st.genre = :genre
@@ -42,7 +48,7 @@ public interface SongTagRepository extends JpaRepository<SongTag, Long> {
       )
     ORDER BY s.createdAt DESC
     """)
-    List<SongTag> findWeakByMoodBranchOneMatchAndGenre(
+    List<SongCandidate> findWeakByMoodBranchOneMatchAndGenre(
             @Param("mood") String mood,
             @Param("branch") String branch,
             @Param("activity") String activity,
@@ -50,4 +56,25 @@ public interface SongTagRepository extends JpaRepository<SongTag, Long> {
             @Param("genre") String genre,
             Pageable pageable
     );
+
+    @Query("""
+    SELECT new org.example.apispring.song.domain.TagCellCount(
+        st.mood, st.genre, st.activity, st.branch, st.tempo, COUNT(DISTINCT st.song.id)
+    )
+    FROM SongTag st
+    GROUP BY st.mood, st.genre, st.activity, st.branch, st.tempo
+    """)
+    List<TagCellCount> countSongsByTagCell();
+
+    // Redis 후보 풀에서 뽑은 id 중 메타데이터 캐시에 없는 곡만 채움
+    @Query("""
+    SELECT new org.example.apispring.song.domain.SongCandidate(
+        s.id, s.title, s.artist, s.videoId, s.albumImageUrl, s.thumbnailImageUrl,
+        st.tagVector
+    )
+    FROM SongTag st
+    JOIN st.song s
+    WHERE s.id IN :songIds
+    """)
+    List<SongCandidate> findCandidatesBySongIds(@Param("songIds") Collection<String> songIds);
 }
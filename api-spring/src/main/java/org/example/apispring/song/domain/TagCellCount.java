@@ -0,0 +1,10 @@
+package org.example.apispring.song.domain;
+
+public record TagCellCount(
+        String mood,
+        String genre,
+        String activity,
+        String branch,
+        String tempo,
+        Long songs
+) {}
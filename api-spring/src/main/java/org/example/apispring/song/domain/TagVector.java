@@ -0,0 +1,163 @@
+package org.example.apispring.song.domain;
+
+import java.util.Locale;
+
+// 5개 태그를 enum ordinal 로 한 short 에 패킹한 값 타입
+// bit 0-2 mood | 3-6 genre | 7-9 activity | 10-11 branch | 12-13 tempo
+// - genre 는 GENRE ordinal 뒤에 unknown(=GENRE_UNKNOWN_CODE) 을 둠
+// - 값이 없거나 허용되지 않은 태그는 필드의 최댓값(NONE)으로 인코딩 → 어떤 요청 태그와도 일치하지 않음
+public record TagVector(short bits) {
+
+    public static final int MOOD = 0;
+    public static final int GENRE = 1;
+    public static final int ACTIVITY = 2;
+    public static final int BRANCH = 3;
+    public static final int TEMPO = 4;
+
+    private static final int[] SHIFT = {0, 3, 7, 10, 12};
+    private static final int[] MASK = {0x7, 0xF, 0x7, 0x3, 0x3};
+
+    public static final int GENRE_UNKNOWN_CODE = TagEnums.GENRE.values().length;
+
+    private static final String[][] NAMES = {
+            names(TagEnums.MOOD.values()),
+            withUnknown(names(TagEnums.GENRE.values())),
+            names(TagEnums.ACTIVITY.values()),
+            names(TagEnums.BRANCH.values()),
+            names(TagEnums.TEMPO.values())
+    };
+
+    public static TagVector of(TagEnums.MOOD mood,
+                               TagEnums.GENRE genre,   // null = unknown
+                               TagEnums.ACTIVITY activity,
+                               TagEnums.BRANCH branch,
+                               TagEnums.TEMPO tempo) {
+        return pack(
+                mood.ordinal(),
+                genre == null ? GENRE_UNKNOWN_CODE : genre.ordinal(),
+                activity.ordinal(),
+                branch.ordinal(),
+                tempo.ordinal()
+        );
+    }
+
+    // DB 문자열 컬럼 → 벡터 (대소문자/공백 무시, 모르는 값은 NONE)
+    public static TagVector parse(String mood, String genre, String activity, String branch, String tempo) {
+        return pack(
+                codeOf(MOOD, mood),
+                codeOf(GENRE, genre),
+                codeOf(ACTIVITY, activity),
+                codeOf(BRANCH, branch),
+                codeOf(TEMPO, tempo)
+        );
+    }
+
+    public static TagVector pack(int mood, int genre, int activity, int branch, int tempo) {
+        int v = (mood & MASK[MOOD])
+                | (genre & MASK[GENRE]) << SHIFT[GENRE]
+                | (activity & MASK[ACTIVITY]) << SHIFT[ACTIVITY]
+                | (branch & MASK[BRANCH]) << SHIFT[BRANCH]
+                | (tempo & MASK[TEMPO]) << SHIFT[TEMPO];
+        return new TagVector((short) v);
+    }
+
+    public int code(int field) {
+        return (bits >>> SHIFT[field]) & MASK[field];
+    }
+
+    public String name(int field) {
+        int c = code(field);
+        String[] names = NAMES[field];
+        return c < names.length ? names[c] : null;
+    }
+
+    public boolean isComplete() {
+        for (int f = MOOD; f <= TEMPO; f++) {
+            if (name(f) == null) return false;
+        }
+        return true;
+    }
+
+    public TagVector with(int field, int code) {
+        int cleared = bits & ~(MASK[field] << SHIFT[field]);
+        return new TagVector((short) (cleared | (code & MASK[field]) << SHIFT[field]));
+    }
+
+    public TagVector withGenre(int genreCode) {
+        return with(GENRE, genreCode);
+    }
+
+    public TagVector withUnknownGenre() {
+        return withGenre(GENRE_UNKNOWN_CODE);
+    }
+
+    // 필드별 일치 여부를 bit(MOOD=bit0 … TEMPO=bit4)로 모은 5bit 마스크, 분기 없음
+    // (x - 1) >>> 31 : x 가 0 일 때만 1 (x 는 항상 0 이상)
+    public int matchMask(TagVector other) {
+        int x = (bits ^ other.bits) & 0xFFFF;
+        return ((((x >>> SHIFT[MOOD]) & MASK[MOOD]) - 1) >>> 31)
+                | ((((x >>> SHIFT[GENRE]) & MASK[GENRE]) - 1) >>> 31) << GENRE
+                | ((((x >>> SHIFT[ACTIVITY]) & MASK[ACTIVITY]) - 1) >>> 31) << ACTIVITY
+                | ((((x >>> SHIFT[BRANCH]) & MASK[BRANCH]) - 1) >>> 31) << BRANCH
+                | ((((x >>> SHIFT[TEMPO]) & MASK[TEMPO]) - 1) >>> 31) << TEMPO;
+    }
+
+    // matchMask → 점수 테이블 (32칸, 요청마다 가중치 합을 다시 계산하지 않음)
+    public static double[] weightTable(double mood, double genre, double activity, double branch, double tempo) {
+        double[] w = {mood, genre, activity, branch, tempo};
+        double[] table = new double[1 << w.length];
+        for (int mask = 0; mask < table.length; mask++) {
+            double sum = 0.0;
+            for (int f = 0; f < w.length; f++) {
+                if ((mask & (1 << f)) != 0) sum += w[f];
+            }
+            table[mask] = sum;
+        }
+        return table;
+    }
+
+    // Postgres 백필용: 필드별 허용 값 (index = code)
+    public static String[] names(int field) {
+        return NAMES[field].clone();
+    }
+
+    public static int noneCode(int field) {
+        return MASK[field];
+    }
+
+    public static int shift(int field) {
+        return SHIFT[field];
+    }
+
+    private static int codeOf(int field, String raw) {
+        if (raw == null) return MASK[field];
+        String s = raw.trim().toLowerCase(Locale.ROOT);
+        String[] names = NAMES[field];
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(s)) return i;
+        }
+        return MASK[field];
+    }
+
+    private static String[] names(Enum<?>[] values) {
+        String[] out = new String[values.length];
+        for (int i = 0; i < values.length; i++) out[i] = values[i].name();
+        return out;
+    }
+
+    private static String[] withUnknown(String[] genres) {
+        String[] out = new String[genres.length + 1];
+        System.arraycopy(genres, 0, out, 0, genres.length);
+        out[genres.length] = TagEnums.GENRE_UNKNOWN;
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return "{mood=" + name(MOOD)
+                + ", genre=" + name(GENRE)
+                + ", activity=" + name(ACTIVITY)
+                + ", branch=" + name(BRANCH)
+                + ", tempo=" + name(TEMPO) + "}";
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.apispring.song.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class TagVectorConverter implements AttributeConverter<TagVector, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TagVector attribute) {
+        return attribute == null ? null : attribute.bits();
+    }
+
+    @Override
+    public TagVector convertToEntityAttribute(Short dbData) {
+        return dbData == null ? null : new TagVector(dbData);
+    }
+}
@@ -10,8 +10,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 @Slf4j
 @Component
@@ -39,19 +45,102 @@ public class GeminiClient {
     }
 
     public ResponseEntity<String> generateContent(String prompt) {
+        return generateContent(prompt, 1);
+    }
+
+    // 배치 프롬프트: 출력 객체 수만큼 토큰 한도를 늘림
+    public ResponseEntity<String> generateContent(String prompt, int outputs) {
+        checkConfigured();
+
+        String url = String.format(
+                "https://generativelanguage.googleapis.com/v1beta/models/%s:generateContent",
+                model
+        );
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.POST,
+                    new HttpEntity<>(requestBody(prompt, outputs), headers(MediaType.APPLICATION_JSON)), String.class);
+        } catch (RestClientException e) {
+            throw new BusinessException(
+                    ErrorCode.GEMINI_UPSTREAM_ERROR,
+                    e.getClass().getSimpleName() + ": " + e.getMessage()
+            );
+        }
+    }
+
+    // SSE 스트리밍: 이벤트(data: 한 건 = 응답 조각 JSON)마다 onEvent 호출
+    // onEvent 가 false 를 돌려주면 그 자리에서 응답을 닫음 → 나머지 생성은 받지 않음
+    public void streamGenerateContent(String prompt, Predicate<String> onEvent) {
+        checkConfigured();
+
+        String url = String.format(
+                "https://generativelanguage.googleapis.com/v1beta/models/%s:streamGenerateContent?alt=sse",
+                model
+        );
+
+        HttpHeaders headers = headers(MediaType.TEXT_EVENT_STREAM);
+        // 압축되면 조각이 버퍼링되어 늦게 도착함
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "identity");
+
+        try {
+            restTemplate.execute(url, HttpMethod.POST,
+                    restTemplate.httpEntityCallback(new HttpEntity<>(requestBody(prompt, 1), headers)),
+                    response -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new BusinessException(
+                                    errorCodeFor(response.getStatusCode()), "LLM 스트림 호출 실패: status=" + response.getStatusCode()
+                            );
+                        }
+                        readEvents(response.getBody(), onEvent);
+                        return null;
+                    });
+        } catch (RestClientException e) {
+            throw new BusinessException(
+                    ErrorCode.GEMINI_UPSTREAM_ERROR,
+                    e.getClass().getSimpleName() + ": " + e.getMessage()
+            );
+        }
+    }
+
+    // text/event-stream: "data:" 줄을 모았다가 빈 줄에서 한 이벤트로 넘김
+    private static void readEvents(InputStream body, Predicate<String> onEvent) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (!data.isEmpty()) {
+                    if (!onEvent.test(data.toString())) return;
+                    data.setLength(0);
+                }
+            } else if (line.startsWith("data:")) {
+                if (!data.isEmpty()) data.append('\n');
+                data.append(line, line.startsWith("data: ") ? 6 : 5, line.length());
+            }
+        }
+        if (!data.isEmpty()) onEvent.test(data.toString());
+    }
+
+    // 실패 상태 코드 → 에러 코드 (4xx 는 같은 요청을 다시 보내도 실패하므로 재시도/hedge 대상에서 빠짐)
+    public static ErrorCode errorCodeFor(HttpStatusCode status) {
+        int sc = status.value();
+        if (sc == 401 || sc == 403) return ErrorCode.GEMINI_AUTH_FAILED;
+        if (sc == 429) return ErrorCode.GEMINI_QUOTA_EXCEEDED;
+        if (status.is4xxClientError()) return ErrorCode.GEMINI_BAD_REQUEST;
+        return ErrorCode.GEMINI_UPSTREAM_ERROR;
+    }
+
+    private void checkConfigured() {
         if (apiKey == null || apiKey.isBlank()) {
             throw new BusinessException(ErrorCode.GEMINI_API_KEY_MISSING);
         }
         if (model == null || model.isBlank()) {
             throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "Gemini model is not configured (GEMINI_MODEL)");
         }
+    }
 
-        String url = String.format(
-                "https://generativelanguage.googleapis.com/v1beta/models/%s:generateContent",
-                model
-        );
-
-        Map<String, Object> requestBody = Map.of(
+    private Map<String, Object> requestBody(String prompt, int outputs) {
+        return Map.of(
                 "contents", List.of(
                         Map.of("parts", List.of(
                                 Map.of("text", prompt)
@@ -60,23 +149,17 @@ public class GeminiClient {
                 "generationConfig", Map.of(
                         "temperature", temperature,
                         "topP", topP,
-                        "maxOutputTokens", maxTokens,
+                        "maxOutputTokens", maxTokens * Math.max(1, outputs),
                         "responseMimeType", "application/json"
                 )
         );
+    }
 
+    private HttpHeaders headers(MediaType accept) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setAccept(List.of(accept));
         headers.set("x-goog-api-key", apiKey);
-
-        try {
-            return restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(requestBody, headers), String.class);
-        } catch (RestClientException e) {
-            throw new BusinessException(
-                    ErrorCode.GEMINI_UPSTREAM_ERROR,
-                    e.getClass().getSimpleName() + ": " + e.getMessage()
-            );
-        }
+        return headers;
     }
 }
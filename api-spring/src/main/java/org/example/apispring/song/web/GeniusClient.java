@@ -1,17 +1,30 @@
 package org.example.apispring.song.web;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import lombok.extern.slf4j.Slf4j;
 import org.example.apispring.global.error.BusinessException;
 import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.song.application.dto.GeniusArtistSongsResponse;
+import org.example.apispring.song.application.dto.GeniusHit;
+import org.example.apispring.song.application.dto.GeniusSearchResponse;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.*;
 
 @Slf4j
 @Component
@@ -23,30 +36,55 @@ public class GeniusClient {
     private String geniusToken;
 
     private static final String SEARCH_ENDPOINT = "https://api.genius.com/search";
+    private static final String ARTIST_SONGS_ENDPOINT = "https://api.genius.com/artists/{id}/songs";
 
     public GeniusClient(@Qualifier("geniusRestTemplate") RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
 
-    public ResponseEntity<String> search(String query) {
-        if (geniusToken == null || geniusToken.isBlank()) {
-            throw new BusinessException(ErrorCode.GENIUS_API_TOKEN_MISSING);
-        }
+    // 이미지 판단에 쓰는 result 필드 (우선순위 순)
+    public static final List<String> IMAGE_FIELDS =
+            List.of("song_art_image_url", "song_art_image_thumbnail_url", "header_image_url");
+
+    private static final JsonFactory JSON = new JsonFactory();
 
-        String url = UriComponentsBuilder.fromHttpUrl(SEARCH_ENDPOINT)
+    // 응답 본문을 스트림에서 바로 읽어 hits[].result 의 필요한 필드만 뽑음
+    public GeniusSearchResponse search(String query) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(SEARCH_ENDPOINT)
                 .queryParam("q", query)
                 .encode(StandardCharsets.UTF_8)
-                .toUriString();
+                .build()
+                .toUri();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(geniusToken);
-        headers.setAccept(java.util.List.of(MediaType.APPLICATION_JSON));
+        return get(uri, response -> readSearch(response, query));
+    }
 
-        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
+    // 아티스트의 곡 목록 한 페이지 (인기순, 최대 50곡) - 검색 결과와 같은 song 객체 형태
+    public GeniusArtistSongsResponse artistSongs(long artistId, int page, int perPage) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(ARTIST_SONGS_ENDPOINT)
+                .queryParam("sort", "popularity")
+                .queryParam("per_page", Math.max(1, Math.min(50, perPage)))
+                .queryParam("page", Math.max(1, page))
+                .buildAndExpand(artistId)
+                .encode(StandardCharsets.UTF_8)
+                .toUri();
 
-        final ResponseEntity<String> res;
+        return get(uri, response -> readArtistSongs(response, "artistId=" + artistId + " page=" + page));
+    }
+
+    private <T> T get(URI uri, ResponseExtractor<T> extractor) {
+        if (geniusToken == null || geniusToken.isBlank()) {
+            throw new BusinessException(ErrorCode.GENIUS_API_TOKEN_MISSING);
+        }
+
+        final T res;
         try {
-            res = restTemplate.exchange(url, HttpMethod.GET, requestEntity, String.class);
+            res = restTemplate.execute(uri, HttpMethod.GET,
+                    req -> {
+                        req.getHeaders().setBearerAuth(geniusToken);
+                        req.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                    },
+                    extractor);
         } catch (RestClientException e) {
             throw new BusinessException(
                     ErrorCode.GENIUS_UPSTREAM_ERROR,
@@ -57,11 +95,108 @@ public class GeniusClient {
         if (res == null) {
             throw new BusinessException(ErrorCode.GENIUS_UPSTREAM_ERROR, "null_response_entity");
         }
+        return res;
+    }
+
+    private static GeniusSearchResponse readSearch(ClientHttpResponse response, String query) throws IOException {
+        InputStream body = checkedBody(response, "query='" + query + "'");
+
+        try (JsonParser p = JSON.createParser(body)) {
+            JsonToken first = p.nextToken();
+            if (first == null) {
+                throw new BusinessException(ErrorCode.GENIUS_RESPONSE_INVALID, "null_body");
+            }
+            if (first != JsonToken.START_OBJECT) {
+                return new GeniusSearchResponse(false, false, List.of());
+            }
+
+            boolean hasResponse = false;
+            boolean hasHits = false;
+            List<GeniusHit> hits = new ArrayList<>();
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+
+                if (!"response".equals(field) || value != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+                hasResponse = true;
+
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String rf = p.currentName();
+                    JsonToken rv = p.nextToken();
+                    if ("hits".equals(rf) && rv == JsonToken.START_ARRAY) {
+                        hasHits = true;
+                        readHits(p, hits);
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            }
+            return new GeniusSearchResponse(hasResponse, hasHits, hits);
+
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(
+                    ErrorCode.GENIUS_RESPONSE_INVALID,
+                    "json_parse_fail ex=" + e.getClass().getSimpleName() + ":" + e.getOriginalMessage()
+            );
+        }
+    }
 
-        int sc = res.getStatusCode().value();
+    // { "response": { "songs": [ {...}, ... ], "next_page": 2 | null } }
+    private static GeniusArtistSongsResponse readArtistSongs(ClientHttpResponse response, String label) throws IOException {
+        InputStream body = checkedBody(response, label);
+
+        try (JsonParser p = JSON.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new BusinessException(ErrorCode.GENIUS_RESPONSE_INVALID, label + " not_object");
+            }
+
+            List<GeniusHit> songs = new ArrayList<>();
+            Integer nextPage = null;
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+
+                if (!"response".equals(field) || value != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String rf = p.currentName();
+                    JsonToken rv = p.nextToken();
+                    if ("songs".equals(rf) && rv == JsonToken.START_ARRAY) {
+                        while (p.nextToken() != JsonToken.END_ARRAY) {
+                            if (p.currentToken() == JsonToken.START_OBJECT) songs.add(readResult(p));
+                            else p.skipChildren();
+                        }
+                    } else if ("next_page".equals(rf) && rv == JsonToken.VALUE_NUMBER_INT) {
+                        nextPage = p.getIntValue();
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            }
+            return new GeniusArtistSongsResponse(songs, nextPage);
+
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(
+                    ErrorCode.GENIUS_RESPONSE_INVALID,
+                    "json_parse_fail ex=" + e.getClass().getSimpleName() + ":" + e.getOriginalMessage()
+            );
+        }
+    }
+
+    // 상태 코드별 예외 변환, 2xx 면 본문 스트림
+    private static InputStream checkedBody(ClientHttpResponse response, String label) throws IOException {
+        int sc = response.getStatusCode().value();
 
         if (sc == 400) {
-            throw new BusinessException(ErrorCode.GENIUS_BAD_REQUEST, "query='" + query + "'");
+            throw new BusinessException(ErrorCode.GENIUS_BAD_REQUEST, label);
         }
         if (sc == 401 || sc == 403) {
             throw new BusinessException(ErrorCode.GENIUS_AUTH_FAILED, "status=" + sc);
@@ -69,21 +204,84 @@ public class GeniusClient {
         if (sc == 429) {
             throw new BusinessException(ErrorCode.GENIUS_QUOTA_EXCEEDED);
         }
+
+        InputStream body = response.getBody();
         if (sc < 200 || sc >= 300) {
             throw new BusinessException(
                     ErrorCode.GENIUS_UPSTREAM_ERROR,
-                    "status=" + sc + " bodyPrefix=" + safePrefix(res.getBody(), 200)
+                    "status=" + sc + " bodyPrefix=" + prefix(body, 200)
             );
         }
-        if (res.getBody() == null) {
-            throw new BusinessException(ErrorCode.GENIUS_RESPONSE_INVALID, "null_body");
+        return body;
+    }
+
+    // hits: [ { "result": { ... } }, ... ]  (result 가 없거나 객체가 아니면 건너뜀)
+    private static void readHits(JsonParser p, List<GeniusHit> out) throws IOException {
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String f = p.currentName();
+                JsonToken v = p.nextToken();
+                if ("result".equals(f) && v == JsonToken.START_OBJECT) {
+                    out.add(readResult(p));
+                } else {
+                    p.skipChildren();
+                }
+            }
         }
+    }
 
-        return res;
+    private static GeniusHit readResult(JsonParser p) throws IOException {
+        String title = null;
+        String fullTitle = null;
+        String artistName = null;
+        Long artistId = null;
+        Map<String, String> images = new LinkedHashMap<>();
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String f = p.currentName();
+            JsonToken v = p.nextToken();
+
+            if ("title".equals(f)) {
+                title = scalar(p, v);
+            } else if ("full_title".equals(f)) {
+                fullTitle = scalar(p, v);
+            } else if (IMAGE_FIELDS.contains(f)) {
+                images.put(f, scalar(p, v));
+            } else if ("primary_artist".equals(f) && v == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String af = p.currentName();
+                    JsonToken av = p.nextToken();
+                    if ("name".equals(af)) artistName = scalar(p, av);
+                    else if ("id".equals(af) && av == JsonToken.VALUE_NUMBER_INT) artistId = p.getLongValue();
+                    else p.skipChildren();
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new GeniusHit(title, fullTitle, artistName, artistId, images);
+    }
+
+    // 문자열/숫자 등은 텍스트로, null 은 null, 객체/배열은 건너뛰고 표식 문자열
+    private static String scalar(JsonParser p, JsonToken v) throws IOException {
+        if (v == JsonToken.VALUE_NULL) return null;
+        if (v == JsonToken.START_OBJECT || v == JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return "[structured]";
+        }
+        return p.getText();
     }
 
-    private static String safePrefix(String s, int n) {
-        if (s == null) return "null";
-        return s.length() <= n ? s : s.substring(0, n);
+    private static String prefix(InputStream body, int n) {
+        try {
+            byte[] buf = body.readNBytes(n);
+            return new String(buf, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "unreadable";
+        }
     }
 }
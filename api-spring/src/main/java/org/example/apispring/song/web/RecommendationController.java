@@ -2,32 +2,65 @@ package org.example.apispring.song.web;
 
 
 import lombok.RequiredArgsConstructor;
-import org.example.apispring.song.application.GeminiService;
+import org.example.apispring.global.security.jwt.JwtPrincipal;
+import org.example.apispring.global.web.PreEncodedJsonArray;
 import org.example.apispring.song.application.RecommendationService;
+import org.example.apispring.song.application.TagInferenceService;
 import org.example.apispring.song.application.dto.LlmTagResponseDto;
 import org.example.apispring.song.application.dto.LlmTextRequestDto;
-import org.example.apispring.song.application.dto.SongResponseDto;
+import org.example.apispring.song.application.dto.RecommendationPageDto;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/recommend")
 @RequiredArgsConstructor
 public class RecommendationController {
 
-    private final GeminiService geminiService;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final TagInferenceService tagInferenceService;
     private final RecommendationService recommendationService;
 
     @PostMapping("/by-text")
-    public ResponseEntity<List<SongResponseDto>> recommendByText(@RequestBody LlmTextRequestDto request) {
-        LlmTagResponseDto tags = geminiService.inferTags(request.text());
-        List<SongResponseDto> songs = recommendationService.recommend(tags);
-        return ResponseEntity.ok(songs);
+    public ResponseEntity<PreEncodedJsonArray> recommendByText(@AuthenticationPrincipal JwtPrincipal principal,
+                                                               @RequestParam(defaultValue = "false") boolean paged,
+                                                               @RequestBody LlmTextRequestDto request) {
+        // Gemini 가 느리거나 실패하면 로컬 추론 태그로라도 응답
+        LlmTagResponseDto tags = tagInferenceService.infer(request.text());
+        UUID userId = principal == null ? null : principal.userId();
+
+        // 페이지 모드: 본문은 같고, 다음 페이지 커서를 헤더로 (GET /next?cursor=)
+        if (paged) return page(recommendationService.firstPage(tags, userId));
+
+        // 본문 형태는 List<SongResponseDto> 와 동일 (곡별 JSON 조각 캐시 사용)
+        // 로그인 사용자는 최근에 받은 곡을 되도록 빼고 추천
+        PreEncodedJsonArray songs = recommendationService.recommendJson(tags, userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(songs);
+    }
+
+    // 첫 호출에서 정렬해 둔 목록을 이어서 (추론/후보 조회 없음), 마지막 페이지면 커서 헤더 없음
+    @GetMapping("/next")
+    public ResponseEntity<PreEncodedJsonArray> next(@AuthenticationPrincipal JwtPrincipal principal,
+                                                    @RequestParam String cursor) {
+        return page(recommendationService.nextPage(cursor, principal == null ? null : principal.userId()));
+    }
+
+    private static ResponseEntity<PreEncodedJsonArray> page(RecommendationPageDto page) {
+        ResponseEntity.BodyBuilder res = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.nextCursor() != null) res.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        return res.body(page.songs());
     }
 
 }
@@ -1,25 +1,42 @@
 package org.example.apispring.song.web;
 
 import lombok.RequiredArgsConstructor;
+import org.example.apispring.song.application.CatalogTaggingJob;
 import org.example.apispring.song.application.FillDbService;
+import org.example.apispring.song.application.TagCellStatistics;
+import org.example.apispring.song.application.YoutubeIdValidationJob;
 import org.example.apispring.song.application.dto.GeniusAlbumImageFillResultDto;
+import org.example.apispring.song.application.dto.GeniusArtistHarvestResultDto;
+import org.example.apispring.song.application.dto.TagCellSparsityDto;
 import org.example.apispring.song.application.dto.YoutubeAudioFillResultDto;
 import org.example.apispring.song.application.dto.YoutubeVideoThumbFillResultDto;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/songs")
 @RequiredArgsConstructor
 public class SongController {
 
     private final FillDbService fillDbService;
+    private final TagCellStatistics tagCellStatistics;
+    private final CatalogTaggingJob catalogTaggingJob;
+    private final YoutubeIdValidationJob youtubeIdValidationJob;
 
     @GetMapping("/fill/genius-album-image")
     public GeniusAlbumImageFillResultDto fillGenius(@RequestParam(defaultValue = "20") int limit) {
         return fillDbService.fillAlbumImagesFromGenius(limit);
     }
 
+    // 대기 곡이 많은 아티스트부터 아티스트 단위 검색/곡 목록으로 한꺼번에 채움
+    @PostMapping("/fill/genius-album-image/by-artist")
+    public ResponseEntity<GeniusArtistHarvestResultDto> harvestGeniusByArtist(@RequestParam(defaultValue = "10") int maxArtists) {
+        return ResponseEntity.ok(fillDbService.harvestAlbumImagesByArtist(maxArtists));
+    }
+
     @PostMapping("/fill/youtube-video-and-thumbnail")
     public ResponseEntity<YoutubeVideoThumbFillResultDto> fillYoutubeVideoIdAndThumbnail() {
         YoutubeVideoThumbFillResultDto result = fillDbService.fillYoutubeVideoIdAndThumbnail();
@@ -31,4 +48,28 @@ public class SongController {
         YoutubeAudioFillResultDto result = fillDbService.fillYoutubeAudioId();
         return ResponseEntity.ok(result);
     }
+
+    // 태그 없는 곡 일괄 태깅 (체크포인트에서 이어서, 최대 maxPrompts 번 호출)
+    // RPM 제한으로 오래 걸리므로 백그라운드로 시작만 → 202, 이미 진행 중이면 409 (결과는 로그/메트릭)
+    @PostMapping("/fill/tags")
+    public ResponseEntity<Void> fillTags(@RequestParam(defaultValue = "20") int maxPrompts) {
+        return catalogTaggingJob.start(maxPrompts)
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    // 저장된 YouTube id 재검증 (체크포인트에서 이어서, 최대 maxCalls 번 videos.list 호출)
+    // 호출 간격 제한으로 오래 걸리므로 /fill/tags 와 같이 시작만 → 202, 진행 중이면 409
+    @PostMapping("/validate/youtube")
+    public ResponseEntity<Void> validateYoutube(@RequestParam(defaultValue = "20") int maxCalls) {
+        return youtubeIdValidationJob.start(maxCalls)
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    // 곡 수가 threshold 미만인 태그 셀 (태깅 작업 우선순위 참고용)
+    @GetMapping("/tag-cells/sparse")
+    public List<TagCellSparsityDto> sparseTagCells(@RequestParam(defaultValue = "20") int threshold) {
+        return tagCellStatistics.sparseCells(threshold);
+    }
 }
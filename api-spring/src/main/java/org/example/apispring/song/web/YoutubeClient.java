@@ -1,17 +1,32 @@
 package org.example.apispring.song.web;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import lombok.extern.slf4j.Slf4j;
 import org.example.apispring.global.error.BusinessException;
 import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.song.application.dto.YoutubeSearchItem;
+import org.example.apispring.song.application.dto.YoutubeVideoStatus;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -23,29 +38,292 @@ public class YoutubeClient {
     private String apiKey;
 
     private static final String SEARCH_URL = "https://www.googleapis.com/youtube/v3/search";
+    private static final String VIDEOS_URL = "https://www.googleapis.com/youtube/v3/videos";
+
+    // videos.list 한 번에 조회 가능한 최대 id 수 (호출당 1 unit, search 는 100 unit)
+    public static final int VIDEOS_MAX_IDS = 50;
+
+    // partial response: 매칭에 쓰는 필드만 받음
+    private static final String SEARCH_FIELDS = "items(id/videoId,snippet/title,snippet/channelTitle)";
+    private static final String VIDEOS_FIELDS =
+            "items(id,status(uploadStatus,privacyStatus,embeddable),contentDetails/regionRestriction,snippet/thumbnails)";
+
+    // 썸네일 해상도 우선순위 (maxres 는 HD 업로드에만 있음)
+    private static final List<String> THUMBNAIL_SIZES = List.of("maxres", "standard", "high", "medium", "default");
+
+    // Google API 는 Accept-Encoding 과 함께 User-Agent 에 "gzip" 이 있어야 압축 응답을 줌
+    private static final String USER_AGENT = "cloudify-api (gzip)";
+
+    private static final JsonFactory JSON = new JsonFactory();
 
     public YoutubeClient(@Qualifier("youtubeRestTemplate") RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
 
-    public ResponseEntity<String> search(String query, int maxResults) {
+    // 응답 본문을 문자열/DOM 으로 만들지 않고 스트림에서 바로 필요한 필드만 읽음
+    // 비정상 응답(non-2xx, error 노드)은 예외로 올림 → "결과 없음"으로 보면 쿼터 장애 동안 곡마다 백오프가 쌓임
+    public List<YoutubeSearchItem> search(String query, int maxResults) {
         if (apiKey == null || apiKey.isBlank()) {
             throw new BusinessException(ErrorCode.YOUTUBE_API_KEY_MISSING);
         }
 
-        String url = UriComponentsBuilder.fromHttpUrl(SEARCH_URL)
+        URI uri = UriComponentsBuilder.fromHttpUrl(SEARCH_URL)
                 .queryParam("part", "snippet")
                 .queryParam("q", query)
                 .queryParam("type", "video")
                 .queryParam("maxResults", Math.max(1, maxResults))
+                .queryParam("fields", SEARCH_FIELDS)
                 .queryParam("key", apiKey)
                 .encode(StandardCharsets.UTF_8)
-                .toUriString();
+                .build()
+                .toUri();
 
         try {
-            return restTemplate.getForEntity(url, String.class);
+            List<YoutubeSearchItem> items = restTemplate.execute(uri, HttpMethod.GET,
+                    req -> {
+                        req.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                        req.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+                        req.getHeaders().set(HttpHeaders.USER_AGENT, USER_AGENT);
+                    },
+                    YoutubeClient::readSearchItems);
+            return items == null ? List.of() : items;
         } catch (RestClientException e) {
             throw new BusinessException(ErrorCode.YOUTUBE_UPSTREAM_ERROR, e.getClass().getSimpleName() + ": " + e.getMessage());
         }
     }
+
+    // id 최대 50개의 상태 조회, 응답에 없는 id 는 삭제/비공개 영상
+    // 비정상 응답을 "결과 없음"으로 보면 살아 있는 id 를 지우게 되므로 예외로 올림
+    public Map<String, YoutubeVideoStatus> videos(List<String> videoIds) {
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new BusinessException(ErrorCode.YOUTUBE_API_KEY_MISSING);
+        }
+        if (videoIds.isEmpty()) return Map.of();
+        if (videoIds.size() > VIDEOS_MAX_IDS) {
+            throw new IllegalArgumentException("videos.list accepts at most " + VIDEOS_MAX_IDS + " ids");
+        }
+
+        URI uri = UriComponentsBuilder.fromHttpUrl(VIDEOS_URL)
+                .queryParam("part", "status,contentDetails,snippet")
+                .queryParam("id", String.join(",", videoIds))
+                .queryParam("maxResults", VIDEOS_MAX_IDS)
+                .queryParam("fields", VIDEOS_FIELDS)
+                .queryParam("key", apiKey)
+                .encode(StandardCharsets.UTF_8)
+                .build()
+                .toUri();
+
+        try {
+            Map<String, YoutubeVideoStatus> out = restTemplate.execute(uri, HttpMethod.GET,
+                    req -> {
+                        req.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                        req.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+                        req.getHeaders().set(HttpHeaders.USER_AGENT, USER_AGENT);
+                    },
+                    YoutubeClient::readVideos);
+            if (out == null) throw new BusinessException(ErrorCode.YOUTUBE_UPSTREAM_ERROR, "null_response");
+            return out;
+        } catch (RestClientException e) {
+            throw new BusinessException(ErrorCode.YOUTUBE_UPSTREAM_ERROR, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<String, YoutubeVideoStatus> readVideos(ClientHttpResponse res) throws IOException {
+        int sc = res.getStatusCode().value();
+        if (sc == 403 || sc == 429) {
+            throw new BusinessException(ErrorCode.YOUTUBE_QUOTA_EXCEEDED, "status=" + sc);
+        }
+        if (sc < 200 || sc >= 300) {
+            throw new BusinessException(ErrorCode.YOUTUBE_UPSTREAM_ERROR, "videos status=" + sc);
+        }
+
+        Map<String, YoutubeVideoStatus> out = new HashMap<>();
+        try (JsonParser p = JSON.createParser(res.getBody())) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new BusinessException(ErrorCode.YOUTUBE_UPSTREAM_ERROR, "videos not_object");
+            }
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+
+                if ("error".equals(field)) {
+                    throw new BusinessException(ErrorCode.YOUTUBE_UPSTREAM_ERROR, "videos error_node");
+                }
+
+                if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        YoutubeVideoStatus v = readVideo(p);
+                        if (v.videoId() != null) out.put(v.videoId(), v);
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        return out;
+    }
+
+    // items[] 원소 하나: { "id", "status": {...}, "contentDetails": { "regionRestriction": {...} }, "snippet": { "thumbnails": {...} } }
+    private static YoutubeVideoStatus readVideo(JsonParser p) throws IOException {
+        String videoId = null;
+        String uploadStatus = null;
+        String privacyStatus = null;
+        Boolean embeddable = null;
+        List<String> allowed = null;
+        List<String> blocked = null;
+        Map<String, String> thumbnails = new HashMap<>();
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+
+            if ("id".equals(field)) {
+                videoId = p.getValueAsString();
+            } else if ("status".equals(field) && value == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String f = p.currentName();
+                    JsonToken v = p.nextToken();
+                    if ("uploadStatus".equals(f)) uploadStatus = p.getValueAsString();
+                    else if ("privacyStatus".equals(f)) privacyStatus = p.getValueAsString();
+                    else if ("embeddable".equals(f) && v.isBoolean()) embeddable = p.getBooleanValue();
+                    else p.skipChildren();
+                }
+            } else if ("contentDetails".equals(field) && value == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String f = p.currentName();
+                    JsonToken v = p.nextToken();
+                    if (!"regionRestriction".equals(f) || v != JsonToken.START_OBJECT) {
+                        p.skipChildren();
+                        continue;
+                    }
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String rf = p.currentName();
+                        JsonToken rv = p.nextToken();
+                        if ("allowed".equals(rf) && rv == JsonToken.START_ARRAY) allowed = readStrings(p);
+                        else if ("blocked".equals(rf) && rv == JsonToken.START_ARRAY) blocked = readStrings(p);
+                        else p.skipChildren();
+                    }
+                }
+            } else if ("snippet".equals(field) && value == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String f = p.currentName();
+                    JsonToken v = p.nextToken();
+                    if ("thumbnails".equals(f) && v == JsonToken.START_OBJECT) readThumbnails(p, thumbnails);
+                    else p.skipChildren();
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+
+        String best = null;
+        for (String size : THUMBNAIL_SIZES) {
+            best = thumbnails.get(size);
+            if (best != null && !best.isBlank()) break;
+        }
+        return new YoutubeVideoStatus(videoId, uploadStatus, privacyStatus, embeddable, allowed, blocked, best);
+    }
+
+    // thumbnails: { "default": { "url", "width", "height" }, "high": {...}, ... }
+    private static void readThumbnails(JsonParser p, Map<String, String> out) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String size = p.currentName();
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String f = p.currentName();
+                p.nextToken();
+                if ("url".equals(f)) out.put(size, p.getValueAsString());
+                else p.skipChildren();
+            }
+        }
+    }
+
+    private static List<String> readStrings(JsonParser p) throws IOException {
+        List<String> out = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            String v = p.getValueAsString();
+            if (v != null) out.add(v);
+        }
+        return out;
+    }
+
+    private static List<YoutubeSearchItem> readSearchItems(ClientHttpResponse res) throws IOException {
+        int sc = res.getStatusCode().value();
+        if (sc == 403 || sc == 429) {
+            log.warn("[YoutubeClient] search quota_exceeded status={}", sc);
+            throw new BusinessException(ErrorCode.YOUTUBE_QUOTA_EXCEEDED, "status=" + sc);
+        }
+        if (sc < 200 || sc >= 300) {
+            log.warn("[YoutubeClient] search non_2xx status={}", sc);
+            throw new BusinessException(ErrorCode.YOUTUBE_UPSTREAM_ERROR, "search status=" + sc);
+        }
+
+        InputStream body = res.getBody();
+        List<YoutubeSearchItem> out = new ArrayList<>();
+
+        try (JsonParser p = JSON.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new BusinessException(ErrorCode.YOUTUBE_UPSTREAM_ERROR, "search not_object");
+            }
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+
+                if ("error".equals(field)) {
+                    throw new BusinessException(ErrorCode.YOUTUBE_UPSTREAM_ERROR, "search error_node");
+                }
+
+                if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        out.add(readItem(p));
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        return out;
+    }
+
+    // items[] 원소 하나: { "id": { "videoId" }, "snippet": { "title", "channelTitle" } }
+    private static YoutubeSearchItem readItem(JsonParser p) throws IOException {
+        String videoId = null;
+        String title = null;
+        String channelTitle = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+
+            if (value != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+
+            if ("id".equals(field)) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String f = p.currentName();
+                    p.nextToken();
+                    if ("videoId".equals(f)) videoId = p.getValueAsString();
+                    else p.skipChildren();
+                }
+            } else if ("snippet".equals(field)) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String f = p.currentName();
+                    p.nextToken();
+                    if ("title".equals(f)) title = p.getValueAsString();
+                    else if ("channelTitle".equals(f)) channelTitle = p.getValueAsString();
+                    else p.skipChildren();
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new YoutubeSearchItem(videoId, title, channelTitle);
+    }
 }
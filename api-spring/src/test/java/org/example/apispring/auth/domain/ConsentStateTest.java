@@ -0,0 +1,49 @@
+package org.example.apispring.auth.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsentStateTest {
+
+    private static final Set<String> REQUIRED = Set.of(
+            GoogleScopes.OPENID, GoogleScopes.EMAIL, GoogleScopes.PROFILE, GoogleScopes.YOUTUBE_READONLY);
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        ConsentState s = ConsentState.of(credentials("rt", "email openid profile " + GoogleScopes.YOUTUBE_READONLY));
+
+        assertEquals(s, ConsentState.decode(s.encode()));
+        assertEquals(ConsentState.NONE, ConsentState.decode(ConsentState.NONE.encode()));
+    }
+
+    @Test
+    void needPromptFollowsStoredCredentials() {
+        assertTrue(ConsentState.NONE.needPrompt(REQUIRED));
+        assertFalse(ConsentState.of(credentials("rt", "email openid profile " + GoogleScopes.YOUTUBE_READONLY)).needPrompt(REQUIRED));
+        assertTrue(ConsentState.of(credentials(null, "email openid profile " + GoogleScopes.YOUTUBE_READONLY)).needPrompt(REQUIRED));
+        assertTrue(ConsentState.of(credentials("rt", "email openid profile")).needPrompt(REQUIRED));
+
+        OAuthCredentials revoked = credentials("rt", "email openid profile " + GoogleScopes.YOUTUBE_READONLY);
+        revoked.revoke();
+        assertTrue(ConsentState.of(revoked).needPrompt(REQUIRED));
+    }
+
+    @Test
+    void unknownScopesAreNotRepresentable() {
+        assertTrue(GoogleScopes.representable(REQUIRED));
+        assertFalse(GoogleScopes.representable(Set.of(GoogleScopes.OPENID, "https://www.googleapis.com/auth/drive")));
+    }
+
+    private static OAuthCredentials credentials(String refreshTokenEnc, String scopes) {
+        return OAuthCredentials.builder()
+                .accessTokenEnc("at")
+                .refreshTokenEnc(refreshTokenEnc)
+                .accessTokenExpiresAt(Instant.EPOCH)
+                .scopes(scopes)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.apispring.global.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class OutboundHttpClientsTest {
+
+    private static final String URL = "https://api.genius.com/search?q=x";
+
+    private RestTemplate genius() {
+        return new OutboundHttpClients(OutboundHttpProperties.defaults(), null, (MeterRegistry) null)
+                .restTemplate(OutboundHttpProperties.GENIUS);
+    }
+
+    @Test
+    void get_retriesOnceOn503() {
+        RestTemplate rt = genius();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+
+        server.expect(ExpectedCount.once(), requestTo(URL))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        server.expect(ExpectedCount.once(), requestTo(URL))
+                .andRespond(withSuccess("{\"ok\":true}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<String> res = rt.getForEntity(URL, String.class);
+
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        server.verify();
+    }
+
+    @Test
+    void post_isNotRetried() {
+        RestTemplate rt = genius();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+
+        server.expect(ExpectedCount.once(), requestTo(URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        ResponseEntity<String> res = rt.postForEntity(URL, "{}", String.class);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, res.getStatusCode());
+        server.verify();
+    }
+
+    @Test
+    void gzipResponse_isDecoded() throws IOException {
+        RestTemplate rt = genius();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andRespond(withSuccess(gzip("{\"ok\":true}"), MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<String> res = rt.getForEntity(URL, String.class);
+
+        assertEquals("{\"ok\":true}", res.getBody());
+        assertNull(res.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        server.verify();
+    }
+
+    @Test
+    void retryBudget_limitsRetries() {
+        RetryBudget budget = new RetryBudget(0.0, 2);
+
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    private static byte[] gzip(String s) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(bos)) {
+            gz.write(s.getBytes(StandardCharsets.UTF_8));
+        }
+        return bos.toByteArray();
+    }
+}
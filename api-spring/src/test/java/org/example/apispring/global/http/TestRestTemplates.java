@@ -0,0 +1,16 @@
+package org.example.apispring.global.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.client.RestTemplate;
+
+// 스프링 컨텍스트 없이 클라이언트를 테스트할 때: 운영과 같은 오류 처리/인터셉터, 서킷·메트릭 없음
+public final class TestRestTemplates {
+
+    private TestRestTemplates() {
+    }
+
+    public static RestTemplate of(String upstream) {
+        return new OutboundHttpClients(OutboundHttpProperties.defaults(), null, (MeterRegistry) null)
+                .restTemplate(upstream);
+    }
+}
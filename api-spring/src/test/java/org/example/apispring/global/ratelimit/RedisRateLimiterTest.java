@@ -0,0 +1,137 @@
+package org.example.apispring.global.ratelimit;
+
+import org.example.apispring.global.ratelimit.RedisRateLimiter.Outcome;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisRateLimiterTest {
+
+    private static final String SUBJECT = "rl:{t}:user:1";
+    private static final String GLOBAL = "rl:{t}:global";
+
+    private static final List<Long> ALLOW = List.of(1L, 0L, 0L);
+
+    // 스크립트에 넘어간 (subject cost, global cost), 응답은 미리 넣어 둔 순서대로
+    private final List<String> calls = new ArrayList<>();
+    private final Deque<Object> replies = new ArrayDeque<>();
+
+    private final StringRedisTemplate redis = new StringRedisTemplate() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            assertEquals(List.of(SUBJECT, GLOBAL), keys);
+            calls.add(args[2] + "," + args[5]);
+            Object r = replies.poll();
+            if (r instanceof RuntimeException e) throw e;
+            return (T) r;
+        }
+    };
+
+    @Test
+    void lease_isSpentLocallyBeforeGoingBackToRedis() {
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, 100, 10_000);
+        GcraLimit user = new GcraLimit(1, 5, 2);
+        GcraLimit global = new GcraLimit(100, 40, 3);
+        replies.add(ALLOW);
+        replies.add(ALLOW);
+        replies.add(ALLOW);
+
+        assertEquals(Outcome.ALLOWED_REMOTE, limiter.tryAcquire(SUBJECT, user, GLOBAL, global).outcome());
+        // user 1개, global 2개 남음
+        assertEquals(Outcome.ALLOWED_LOCAL, limiter.tryAcquire(SUBJECT, user, GLOBAL, global).outcome());
+        // user 소진 → user 만 Redis 에서 다시 받음, global 은 로컬 마지막 1개 사용
+        assertEquals(Outcome.ALLOWED_REMOTE, limiter.tryAcquire(SUBJECT, user, GLOBAL, global).outcome());
+        // 이번엔 global 만 소진
+        assertEquals(Outcome.ALLOWED_REMOTE, limiter.tryAcquire(SUBJECT, user, GLOBAL, global).outcome());
+
+        assertEquals(List.of("2,3", "2,0", "0,3"), calls);
+    }
+
+    @Test
+    void expiredLease_isDropped() throws Exception {
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, 100, 30);
+        GcraLimit limit = new GcraLimit(1, 5, 2);
+        replies.add(ALLOW);
+        replies.add(ALLOW);
+
+        limiter.tryAcquire(SUBJECT, limit, GLOBAL, limit);
+        Thread.sleep(60);
+
+        assertEquals(Outcome.ALLOWED_REMOTE, limiter.tryAcquire(SUBJECT, limit, GLOBAL, limit).outcome());
+        assertEquals(List.of("2,2", "2,2"), calls);
+    }
+
+    @Test
+    void deniedLease_isRetriedWithCostOne_andGrantsNothingExtra() {
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, 100, 10_000);
+        GcraLimit limit = new GcraLimit(1, 5, 3);
+        replies.add(List.of(0L, 500L, 1L)); // lease 3 개는 안 되지만
+        replies.add(ALLOW);                  // 1 개는 됨
+        replies.add(ALLOW);
+
+        assertEquals(Outcome.ALLOWED_REMOTE, limiter.tryAcquire(SUBJECT, limit, GLOBAL, limit).outcome());
+        // 1 개만 받았으니 로컬 잔량 없음 → 다음 요청은 다시 Redis
+        assertEquals(Outcome.ALLOWED_REMOTE, limiter.tryAcquire(SUBJECT, limit, GLOBAL, limit).outcome());
+
+        assertEquals(List.of("3,3", "1,1", "3,3"), calls);
+    }
+
+    @Test
+    void denied_isCachedLocallyUntilRetryAfter() throws Exception {
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, 100, 10_000);
+        GcraLimit limit = new GcraLimit(1, 1, 1);
+        replies.add(List.of(0L, 40L, 1L));
+        replies.add(ALLOW);
+
+        RedisRateLimiter.Decision d = limiter.tryAcquire(SUBJECT, limit, GLOBAL, limit);
+        assertEquals(Outcome.DENIED_REMOTE, d.outcome());
+        assertEquals(40, d.retryAfterMs());
+        assertFalse(d.allowed());
+
+        assertEquals(Outcome.DENIED_LOCAL, limiter.tryAcquire(SUBJECT, limit, GLOBAL, limit).outcome());
+        assertEquals(1, calls.size());
+
+        Thread.sleep(60);
+        assertEquals(Outcome.ALLOWED_REMOTE, limiter.tryAcquire(SUBJECT, limit, GLOBAL, limit).outcome());
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void localTokenTakenForADeniedRequest_isGivenBack() throws Exception {
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, 100, 10_000);
+        GcraLimit user = new GcraLimit(1, 5, 2);
+        GcraLimit global = new GcraLimit(1, 1, 1);
+        replies.add(ALLOW);                 // user lease 2 → 로컬 1개 남음
+        replies.add(List.of(0L, 30L, 2L));  // global 에서 막힘
+        replies.add(ALLOW);
+
+        limiter.tryAcquire(SUBJECT, user, GLOBAL, global);
+        assertEquals(Outcome.DENIED_REMOTE, limiter.tryAcquire(SUBJECT, user, GLOBAL, global).outcome());
+
+        Thread.sleep(50);
+        // 돌려받은 user 토큰을 쓰므로 user cost 0
+        assertEquals(Outcome.ALLOWED_REMOTE, limiter.tryAcquire(SUBJECT, user, GLOBAL, global).outcome());
+        assertEquals(List.of("2,1", "0,1", "0,1"), calls);
+    }
+
+    @Test
+    void redisFailure_failsOpen() {
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, 100, 10_000);
+        GcraLimit limit = new GcraLimit(1, 5, 2);
+        replies.add(new RedisConnectionFailureException("down"));
+
+        RedisRateLimiter.Decision d = limiter.tryAcquire(SUBJECT, limit, GLOBAL, limit);
+
+        assertEquals(Outcome.FAIL_OPEN, d.outcome());
+        assertTrue(d.allowed());
+    }
+}
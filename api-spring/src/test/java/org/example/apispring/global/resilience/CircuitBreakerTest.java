@@ -0,0 +1,81 @@
+package org.example.apispring.global.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> transitions = new ArrayList<>();
+
+    private CircuitBreaker breaker() {
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy(
+                10, 4, 0.5, 0.8, Duration.ofSeconds(1), Duration.ofSeconds(10), 2, 4, Duration.ZERO);
+        return new CircuitBreaker(policy, clock::get, (from, to) -> transitions.add(from + "->" + to));
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        CircuitBreaker cb = breaker();
+
+        cb.onResult(false, FAST);
+        cb.onResult(false, FAST);
+        cb.onResult(true, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, cb.state()); // minimumCalls 미만
+
+        cb.onResult(true, FAST);
+        assertEquals(CircuitBreaker.State.OPEN, cb.state());
+        assertFalse(cb.tryAcquire());
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        CircuitBreaker cb = breaker();
+        long slow = Duration.ofSeconds(2).toNanos();
+
+        for (int i = 0; i < 4; i++) cb.onResult(false, slow);
+
+        assertEquals(CircuitBreaker.State.OPEN, cb.state());
+    }
+
+    @Test
+    void halfOpenClosesAfterSuccessfulProbes() {
+        CircuitBreaker cb = breaker();
+        for (int i = 0; i < 4; i++) cb.onResult(true, FAST);
+        assertEquals(CircuitBreaker.State.OPEN, cb.state());
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertTrue(cb.tryAcquire());
+        assertTrue(cb.tryAcquire());
+        assertFalse(cb.tryAcquire()); // halfOpenCalls = 2
+        assertEquals(CircuitBreaker.State.HALF_OPEN, cb.state());
+
+        cb.onResult(false, FAST);
+        cb.onResult(false, FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, cb.state());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void halfOpenFailureReopens() {
+        CircuitBreaker cb = breaker();
+        for (int i = 0; i < 4; i++) cb.onResult(true, FAST);
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertTrue(cb.tryAcquire());
+        cb.onResult(true, FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, cb.state());
+        assertFalse(cb.tryAcquire());
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.apispring.global.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(100).toNanos();
+
+    @Test
+    void growsWhileLatencyIsSteadyAndLimitIsUsed() {
+        GradientLimit g = new GradientLimit(10, 2, 100, 0.2);
+
+        for (int i = 0; i < 20; i++) g.onSample(FAST, g.limit(), false);
+
+        assertTrue(g.limit() > 10, "limit=" + g.limit());
+    }
+
+    @Test
+    void doesNotGrowWhenMostlyIdle() {
+        GradientLimit g = new GradientLimit(10, 2, 100, 0.2);
+
+        for (int i = 0; i < 20; i++) g.onSample(FAST, 1, false);
+
+        assertEquals(10, g.limit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        GradientLimit g = new GradientLimit(40, 2, 100, 0.2);
+        g.onSample(FAST, 40, false);
+        int before = g.limit();
+
+        for (int i = 0; i < 10; i++) g.onSample(SLOW, g.limit(), false);
+
+        assertTrue(g.limit() < before, "before=" + before + " after=" + g.limit());
+    }
+
+    @Test
+    void dropBacksOffAndStaysWithinBounds() {
+        GradientLimit g = new GradientLimit(10, 4, 12, 0.2);
+
+        g.onSample(0, 10, true);
+        assertEquals(9, g.limit());
+
+        for (int i = 0; i < 50; i++) g.onSample(0, 10, true);
+        assertEquals(4, g.limit());
+
+        for (int i = 0; i < 200; i++) g.onSample(FAST, g.limit(), false);
+        assertEquals(12, g.limit());
+    }
+
+    @Test
+    void limiterRejectsWhenLimitAndQueueAreFull() {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(new GradientLimit(1, 1, 1, 0.2), 1, 0);
+
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire()); // 대기 시간 0 → 큐에 들어가도 바로 포기
+        assertEquals(1, limiter.inFlight());
+
+        limiter.release(FAST, false);
+        assertTrue(limiter.tryAcquire());
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.apispring.global.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienceInterceptorTest {
+
+    // minimumCalls 4, 실패율 0.5, 동시 1 (자리를 반납하지 않으면 다음 호출이 바로 거절됨)
+    private final UpstreamResilience.Guard guard = new UpstreamResilience(new ResilienceProperties(Map.of("up",
+            new ResilienceProperties.Policy(10, 4, 0.5, 0.8, Duration.ofSeconds(5), Duration.ofSeconds(30), 1,
+                    1, Duration.ZERO))), new SimpleMeterRegistry()).guard("up");
+    private final ResilienceInterceptor interceptor = new ResilienceInterceptor(guard);
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("https://up/x"));
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void cancelledHedge_doesNotChangeTheFailureCount() {
+        for (int i = 0; i < 3; i++) assertThrows(IOException.class, () -> call(failing()));
+
+        // hedge 에서 진 호출: JDK 요청 팩토리처럼 interrupt 플래그를 남기고 IOException
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IOException.class, () -> call((req, body) -> {
+                Thread.currentThread().interrupt();
+                throw new IOException("Request was interrupted");
+            }));
+            Thread.interrupted();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+
+        // 취소가 성공으로 세어졌다면 3/14 라 열리지 않음
+        assertDoesNotThrow(() -> call(ok()));
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+    }
+
+    @Test
+    void interruptedIo_isCancellation_butSocketTimeoutIsFailure() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IOException.class, () -> call((req, body) -> {
+                throw new InterruptedIOException("cancelled");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IOException.class, () -> call((req, body) -> {
+                throw new SocketTimeoutException("read timed out");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+    }
+
+    private void call(ClientHttpRequestExecution execution) throws IOException {
+        interceptor.intercept(request, new byte[0], execution).close();
+    }
+
+    private static ClientHttpRequestExecution failing() {
+        return (req, body) -> {
+            throw new IOException("connection reset");
+        };
+    }
+
+    private static ClientHttpRequestExecution ok() {
+        return (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    }
+}
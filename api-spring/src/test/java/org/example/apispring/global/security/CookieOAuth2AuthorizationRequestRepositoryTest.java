@@ -0,0 +1,129 @@
+package org.example.apispring.global.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.example.apispring.global.security.jwt.CookieUtil;
+import org.example.apispring.global.util.TokenCrypto;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.endpoint.PkceParameterNames;
+import org.springframework.security.oauth2.core.oidc.endpoint.OidcParameterNames;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CookieOAuth2AuthorizationRequestRepositoryTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final TokenCrypto crypto = new TokenCrypto(KEY);
+    private final CookieOAuth2AuthorizationRequestRepository repository = repository(crypto);
+
+    @Test
+    void savedRequest_roundTripsWithPkceAndNonce() {
+        OAuth2AuthorizationRequest original = request("state-1");
+
+        OAuth2AuthorizationRequest loaded = repository.loadAuthorizationRequest(callback(save(original), "state-1"));
+
+        assertNotNull(loaded);
+        assertEquals(original.getAuthorizationUri(), loaded.getAuthorizationUri());
+        assertEquals(original.getClientId(), loaded.getClientId());
+        assertEquals(original.getRedirectUri(), loaded.getRedirectUri());
+        assertEquals(original.getScopes(), loaded.getScopes());
+        assertEquals(original.getState(), loaded.getState());
+        assertEquals(original.getAuthorizationRequestUri(), loaded.getAuthorizationRequestUri());
+        assertEquals(original.getAdditionalParameters(), loaded.getAdditionalParameters());
+        assertEquals(original.getAttributes(), loaded.getAttributes());
+
+        // 토큰 교환/ID 토큰 검증에 쓰는 값이 그대로 돌아와야 함
+        assertEquals("verifier-123", loaded.getAttribute(PkceParameterNames.CODE_VERIFIER));
+        assertEquals("nonce-raw", loaded.getAttribute(OidcParameterNames.NONCE));
+        assertEquals("google", loaded.getAttribute(OAuth2ParameterNames.REGISTRATION_ID));
+    }
+
+    @Test
+    void stateMismatch_isIgnored() {
+        String cookie = save(request("state-1"));
+
+        assertNull(repository.loadAuthorizationRequest(callback(cookie, "other-state")));
+    }
+
+    @Test
+    void tamperedOrForeignKeyCookie_isIgnored() {
+        String cookie = save(request("state-1"));
+        String tampered = cookie.substring(0, cookie.length() - 4) + (cookie.endsWith("AAAA") ? "BBBB" : "AAAA");
+
+        assertNull(repository.loadAuthorizationRequest(callback(tampered, "state-1")));
+
+        // 키 교체 전 쿠키
+        byte[] other = new byte[32];
+        other[0] = 1;
+        CookieOAuth2AuthorizationRequestRepository rotated =
+                repository(new TokenCrypto(Base64.getEncoder().encodeToString(other)));
+        assertNull(rotated.loadAuthorizationRequest(callback(cookie, "state-1")));
+    }
+
+    @Test
+    void remove_clearsCookie() {
+        MockHttpServletResponse res = new MockHttpServletResponse();
+
+        assertNotNull(repository.removeAuthorizationRequest(callback(save(request("state-1")), "state-1"), res));
+        assertTrue(res.getHeader("Set-Cookie").contains(CookieUtil.OAUTH2_REQUEST_COOKIE + "=; "));
+        assertTrue(res.getHeader("Set-Cookie").contains("Max-Age=0"));
+    }
+
+    private String save(OAuth2AuthorizationRequest r) {
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        repository.saveAuthorizationRequest(r, new MockHttpServletRequest(), res);
+
+        String header = res.getHeader("Set-Cookie");
+        assertNotNull(header);
+        String prefix = CookieUtil.OAUTH2_REQUEST_COOKIE + "=";
+        assertTrue(header.startsWith(prefix));
+        return header.substring(prefix.length(), header.indexOf(';'));
+    }
+
+    private static MockHttpServletRequest callback(String cookieValue, String state) {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/login/oauth2/code/google");
+        req.setParameter(OAuth2ParameterNames.STATE, state);
+        req.setCookies(new Cookie(CookieUtil.OAUTH2_REQUEST_COOKIE, cookieValue));
+        return req;
+    }
+
+    private static OAuth2AuthorizationRequest request(String state) {
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+                .clientId("client-id")
+                .redirectUri("https://api.example.org/login/oauth2/code/google")
+                .scopes(Set.of("openid", "email", "https://www.googleapis.com/auth/youtube"))
+                .state(state)
+                .additionalParameters(Map.of(
+                        PkceParameterNames.CODE_CHALLENGE, "challenge-abc",
+                        PkceParameterNames.CODE_CHALLENGE_METHOD, "S256",
+                        OidcParameterNames.NONCE, "nonce-hash",
+                        "access_type", "offline"))
+                .attributes(Map.of(
+                        OAuth2ParameterNames.REGISTRATION_ID, "google",
+                        PkceParameterNames.CODE_VERIFIER, "verifier-123",
+                        OidcParameterNames.NONCE, "nonce-raw"))
+                .authorizationRequestUri("https://accounts.google.com/o/oauth2/v2/auth?response_type=code&state=" + state)
+                .build();
+    }
+
+    private static CookieOAuth2AuthorizationRequestRepository repository(TokenCrypto crypto) {
+        CookieUtil cookies = new CookieUtil();
+        ReflectionTestUtils.setField(cookies, "secure", true);
+        ReflectionTestUtils.setField(cookies, "sameSite", "Lax");
+        CookieOAuth2AuthorizationRequestRepository r =
+                new CookieOAuth2AuthorizationRequestRepository(cookies, crypto, new ObjectMapper());
+        ReflectionTestUtils.setField(r, "maxAgeSec", 180L);
+        return r;
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.apispring.global.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.apispring.global.util.TokenCrypto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RedisOAuth2AuthorizedClientServiceTest {
+
+    private static final String KEY = "auth:oauth2:client:google:user-1";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final TokenCrypto crypto = new TokenCrypto(Base64.getEncoder().encodeToString(new byte[32]));
+
+    private final ClientRegistration registration = ClientRegistration.withRegistrationId("google")
+            .clientId("client-id")
+            .clientSecret("secret")
+            .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+            .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+            .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+            .tokenUri("https://oauth2.googleapis.com/token")
+            .scope("openid", "email")
+            .build();
+
+    // 저장은 epoch milli 단위
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    private RedisOAuth2AuthorizedClientService service;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        service = new RedisOAuth2AuthorizedClientService(redisTemplate,
+                new InMemoryClientRegistrationRepository(registration), crypto, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "ttlSec", 600L);
+    }
+
+    @Test
+    void savedClient_roundTripsWithRefreshToken() {
+        OAuth2AccessToken at = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-1",
+                now, now.plusSeconds(3600), Set.of("openid", "email"));
+        OAuth2RefreshToken rt = new OAuth2RefreshToken("refresh-1", now);
+
+        String stored = save(new OAuth2AuthorizedClient(registration, "user-1", at, rt));
+        // Redis 에는 평문 토큰이 남지 않음
+        assertFalse(stored.contains("access-1"));
+        assertFalse(stored.contains("refresh-1"));
+
+        when(values.get(KEY)).thenReturn(stored);
+        OAuth2AuthorizedClient loaded = service.loadAuthorizedClient("google", "user-1");
+
+        assertNotNull(loaded);
+        assertSame(registration, loaded.getClientRegistration());
+        assertEquals("user-1", loaded.getPrincipalName());
+        assertEquals("access-1", loaded.getAccessToken().getTokenValue());
+        assertEquals(OAuth2AccessToken.TokenType.BEARER, loaded.getAccessToken().getTokenType());
+        assertEquals(now, loaded.getAccessToken().getIssuedAt());
+        assertEquals(now.plusSeconds(3600), loaded.getAccessToken().getExpiresAt());
+        assertEquals(Set.of("openid", "email"), loaded.getAccessToken().getScopes());
+        assertEquals("refresh-1", loaded.getRefreshToken().getTokenValue());
+        assertEquals(now, loaded.getRefreshToken().getIssuedAt());
+    }
+
+    @Test
+    void savedClient_withoutRefreshToken_loadsWithNullRefreshToken() {
+        OAuth2AccessToken at = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-1",
+                null, null, Set.of());
+
+        String stored = save(new OAuth2AuthorizedClient(registration, "user-1", at, null));
+
+        when(values.get(KEY)).thenReturn(stored);
+        OAuth2AuthorizedClient loaded = service.loadAuthorizedClient("google", "user-1");
+
+        assertNotNull(loaded);
+        assertNull(loaded.getRefreshToken());
+        assertNull(loaded.getAccessToken().getIssuedAt());
+        assertNull(loaded.getAccessToken().getExpiresAt());
+        assertTrue(loaded.getAccessToken().getScopes().isEmpty());
+    }
+
+    @Test
+    void unknownRegistrationOrUnreadableValue_loadsNull() {
+        assertNull(service.loadAuthorizedClient("github", "user-1"));
+        verifyNoInteractions(values);
+
+        when(values.get(KEY)).thenReturn("not-encrypted");
+        assertNull(service.loadAuthorizedClient("google", "user-1"));
+    }
+
+    @Test
+    void remove_deletesKey() {
+        service.removeAuthorizedClient("google", "user-1");
+
+        verify(redisTemplate).delete(KEY);
+    }
+
+    private String save(OAuth2AuthorizedClient client) {
+        service.saveAuthorizedClient(client, new TestingAuthenticationToken("user-1", null));
+
+        ArgumentCaptor<String> value = ArgumentCaptor.forClass(String.class);
+        verify(values).set(eq(KEY), value.capture(), eq(Duration.ofSeconds(600)));
+        return value.getValue();
+    }
+}
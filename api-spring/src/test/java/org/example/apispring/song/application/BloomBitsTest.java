@@ -0,0 +1,53 @@
+package org.example.apispring.song.application;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomBitsTest {
+
+    private static final int BITS = 8192;
+    private static final int HASHES = 4;
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        byte[] bitmap = new byte[BITS / 8];
+        for (int i = 0; i < 500; i++) add(bitmap, "song-" + i);
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(BloomBits.mightContain(bitmap, BloomBits.offsets("song-" + i, HASHES, BITS)));
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheFillEstimate() {
+        byte[] bitmap = new byte[BITS / 8];
+        for (int i = 0; i < 500; i++) add(bitmap, "song-" + i);
+
+        int hits = 0;
+        int probes = 20_000;
+        for (int i = 0; i < probes; i++) {
+            if (BloomBits.mightContain(bitmap, BloomBits.offsets("other-" + i, HASHES, BITS))) hits++;
+        }
+        double estimate = BloomBits.falsePositiveRate(bitmap, BITS, HASHES);
+
+        assertTrue(estimate < 0.01, "estimate=" + estimate);
+        assertTrue((double) hits / probes < 3 * estimate + 0.001, "hits=" + hits + " estimate=" + estimate);
+    }
+
+    @Test
+    void usesRedisBitOrderAndTreatsShortBitmapAsZero() {
+        int[] offsets = {0, 9};
+        byte[] bitmap = {(byte) 0x80, 0x40}; // SETBIT 0, SETBIT 9
+
+        assertTrue(BloomBits.mightContain(bitmap, offsets));
+        assertFalse(BloomBits.mightContain(new byte[]{(byte) 0x80}, offsets));
+        assertFalse(BloomBits.mightContain(null, offsets));
+    }
+
+    private static void add(byte[] bitmap, String value) {
+        for (int off : BloomBits.offsets(value, HASHES, BITS)) {
+            bitmap[off >>> 3] |= (byte) (0x80 >>> (off & 7));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.apispring.song.application;
+
+import org.example.apispring.song.domain.TagVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidatePoolTest {
+
+    private static final int SAME_BASE = 1 << TagVector.MOOD | 1 << TagVector.GENRE | 1 << TagVector.BRANCH;
+
+    @Test
+    void weakCells_differInExactlyOneOfActivityOrTempo() {
+        TagVector v = TagVector.parse("chill", "city_pop", "night_drive", "uplift", "fast");
+
+        List<TagVector> cells = CandidatePool.weakCells(v);
+
+        // tempo/activity 의 다른 값 + NONE (DB 조건의 IS NULL 에 해당)
+        assertEquals(TagVector.names(TagVector.TEMPO).length + TagVector.names(TagVector.ACTIVITY).length, cells.size());
+        assertEquals(cells.size(), new HashSet<>(cells).size());
+        for (TagVector c : cells) {
+            int mask = v.matchMask(c);
+            assertEquals(SAME_BASE, mask & SAME_BASE, c.toString());
+            assertEquals(1, Integer.bitCount(mask & (1 << TagVector.ACTIVITY | 1 << TagVector.TEMPO)), c.toString());
+        }
+    }
+
+    @Test
+    void mergeWeighted_takesUpToCountWithoutDuplicates() {
+        long[] sizes = {2, 0, 3};
+        List<List<String>> samples = List.of(List.of("a1", "a2"), List.of(), List.of("c1", "c2", "c3"));
+
+        List<String> out = CandidatePool.mergeWeighted(sizes, samples, 4, new Random(7));
+        assertEquals(4, out.size());
+        assertEquals(4, new HashSet<>(out).size());
+
+        List<String> all = CandidatePool.mergeWeighted(sizes, samples, 10, new Random(7));
+        assertEquals(5, all.size());
+    }
+
+    @Test
+    void mergeWeighted_favoursLargerCells() {
+        long[] sizes = {1000, 10};
+        List<List<String>> samples = List.of(List.of("big"), List.of("small"));
+        Random rnd = new Random(42);
+
+        int big = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (CandidatePool.mergeWeighted(sizes, samples, 1, rnd).get(0).equals("big")) big++;
+        }
+        assertTrue(big > 950, "big=" + big);
+    }
+}
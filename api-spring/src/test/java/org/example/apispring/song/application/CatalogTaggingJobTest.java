@@ -0,0 +1,159 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.global.resilience.ResilienceProperties;
+import org.example.apispring.global.resilience.UpstreamResilience;
+import org.example.apispring.song.application.dto.CatalogTaggingResultDto;
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.example.apispring.song.application.event.SongTagsChangedEvent;
+import org.example.apispring.song.domain.Song;
+import org.example.apispring.song.domain.SongRepository;
+import org.example.apispring.song.domain.SongTag;
+import org.example.apispring.song.domain.TagVector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogTaggingJobTest {
+
+    private static final String CURSOR_KEY = "tagging:catalog:cursor";
+
+    private final SongRepository songRepository = mock(SongRepository.class);
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+
+    private final LlmTagResponseDto tags =
+            new LlmTagResponseDto(TagVector.parse("happy", "pop", "picnic", "uplift", "mid"));
+
+    private CatalogTaggingJob job;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(eq("tagging:catalog:lock"), anyString(), any(Duration.class))).thenReturn(true);
+
+        job = new CatalogTaggingJob(songRepository, geminiService, jdbcTemplate, redisTemplate,
+                new UpstreamResilience(ResilienceProperties.defaults(), new SimpleMeterRegistry()),
+                publisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "batchSize", 2);
+        ReflectionTestUtils.setField(job, "requestsPerMinute", 60_000.0);
+        job.init();
+    }
+
+    @Test
+    void resumesFromCheckpoint_insertsValidRows_andAdvancesCursor() throws Exception {
+        when(values.get(CURSOR_KEY)).thenReturn("s2");
+        when(songRepository.findUntaggedAfter("s2", PageRequest.of(0, 2))).thenReturn(List.of(song("s3"), song("s4")));
+        when(songRepository.findUntaggedAfter("s4", PageRequest.of(0, 2))).thenReturn(List.of());
+        when(geminiService.inferSongTagsBatch(anyList())).thenReturn(List.of(
+                GeminiService.BatchItemResult.ok(tags),
+                GeminiService.BatchItemResult.failed(new BusinessException(ErrorCode.GEMINI_TAG_ENUM_MISMATCH))
+        ));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any())).thenReturn(new int[][]{{1}});
+
+        CatalogTaggingResultDto res = job.run(10);
+
+        assertEquals(new CatalogTaggingResultDto(2, 1, 1, 1, true, null), res);
+        verify(values).set(CURSOR_KEY, "s4", Duration.ofDays(7));
+        verify(redisTemplate).delete(CURSOR_KEY); // 한 바퀴 끝 → 처음부터
+
+        // 검증 통과한 곡만, 멱등 INSERT 로
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SongTag>> rows = ArgumentCaptor.forClass(List.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<SongTag>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(contains("WHERE NOT EXISTS"), rows.capture(), eq(1), setter.capture());
+        assertEquals(1, rows.getValue().size());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, rows.getValue().get(0));
+        verify(ps).setString(1, "s3");
+        verify(ps).setString(2, "happy");
+        verify(ps).setShort(7, tags.vector().bits());
+        verify(ps).setString(8, "s3");
+
+        ArgumentCaptor<SongTagsChangedEvent> event = ArgumentCaptor.forClass(SongTagsChangedEvent.class);
+        verify(publisher).publishEvent(event.capture());
+        assertEquals("s3", event.getValue().added().get(0).getSong().getId());
+    }
+
+    @Test
+    void alreadyTaggedRows_areNotPublished_butCursorStillMoves() {
+        when(songRepository.findUntaggedAfter("", PageRequest.of(0, 2))).thenReturn(List.of(song("s1")));
+        when(songRepository.findUntaggedAfter("s1", PageRequest.of(0, 2))).thenReturn(List.of());
+        when(geminiService.inferSongTagsBatch(anyList())).thenReturn(List.of(GeminiService.BatchItemResult.ok(tags)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any())).thenReturn(new int[][]{{0}});
+
+        CatalogTaggingResultDto res = job.run(10);
+
+        assertEquals(0, res.tagged());
+        verify(values).set(CURSOR_KEY, "s1", Duration.ofDays(7));
+        verify(publisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void upstreamFailure_keepsCheckpoint() {
+        when(values.get(CURSOR_KEY)).thenReturn("s2");
+        when(songRepository.findUntaggedAfter("s2", PageRequest.of(0, 2))).thenReturn(List.of(song("s3")));
+        when(geminiService.inferSongTagsBatch(anyList()))
+                .thenThrow(new BusinessException(ErrorCode.GEMINI_UPSTREAM_ERROR));
+
+        CatalogTaggingResultDto res = job.run(10);
+
+        assertEquals("upstream_failed", res.stopReason());
+        assertFalse(res.passCompleted());
+        verify(values, never()).set(eq(CURSOR_KEY), anyString(), any(Duration.class));
+        verify(redisTemplate, never()).delete(CURSOR_KEY);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void promptBudget_stopsBeforeThePassEnds() {
+        when(songRepository.findUntaggedAfter(anyString(), any())).thenAnswer(inv -> {
+            String after = inv.getArgument(0);
+            return List.of(song(after + "x"));
+        });
+        when(geminiService.inferSongTagsBatch(anyList())).thenReturn(List.of(GeminiService.BatchItemResult.ok(tags)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any())).thenReturn(new int[][]{{1}});
+
+        CatalogTaggingResultDto res = job.run(2);
+
+        assertEquals(2, res.prompts());
+        assertFalse(res.passCompleted());
+        verify(values).set(CURSOR_KEY, "xx", Duration.ofDays(7));
+        verify(redisTemplate, never()).delete(CURSOR_KEY);
+    }
+
+    @Test
+    void lockHeldElsewhere_skips() {
+        when(values.setIfAbsent(eq("tagging:catalog:lock"), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertEquals(CatalogTaggingResultDto.skipped("locked"), job.run(10));
+        verifyNoInteractions(songRepository, geminiService);
+    }
+
+    private static Song song(String id) {
+        return Song.builder().id(id).title("title " + id).artist("artist").build();
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.apispring.song.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrichmentBackoffTest {
+
+    private static final Duration BASE = Duration.ofHours(6);
+    private static final Duration MAX = Duration.ofDays(30);
+
+    @Test
+    void delayDoublesPerAttempt() {
+        assertEquals(Duration.ofHours(6), EnrichmentBackoff.delay(1, BASE, MAX));
+        assertEquals(Duration.ofHours(12), EnrichmentBackoff.delay(2, BASE, MAX));
+        assertEquals(Duration.ofHours(24), EnrichmentBackoff.delay(3, BASE, MAX));
+    }
+
+    @Test
+    void delayIsCappedAtMax() {
+        assertEquals(MAX, EnrichmentBackoff.delay(8, BASE, MAX));
+        assertEquals(MAX, EnrichmentBackoff.delay(200, BASE, MAX));
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.apispring.song.application;
+
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.http.TestRestTemplates;
+import org.example.apispring.song.application.dto.YoutubeAudioFillResultDto;
+import org.example.apispring.song.domain.EnrichmentSource;
+import org.example.apispring.song.domain.Song;
+import org.example.apispring.song.domain.SongRepository;
+import org.example.apispring.song.web.YoutubeClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class FillDbServiceYoutubeTest {
+
+    private static final String SEARCH_URL = "https://www.googleapis.com/youtube/v3/search";
+
+    private final SongRepository songRepository = mock(SongRepository.class);
+    private final EnrichmentBackoff enrichmentBackoff = mock(EnrichmentBackoff.class);
+
+    private MockRestServiceServer server;
+    private FillDbService service;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.YOUTUBE);
+        server = MockRestServiceServer.bindTo(rt).build();
+        YoutubeClient client = new YoutubeClient(rt);
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+
+        service = new FillDbService(songRepository, null, null, null,
+                new YoutubeVideoIdSearchService(client), new YoutubeAudioIdSearchService(client),
+                enrichmentBackoff, mock(ApplicationEventPublisher.class));
+
+        Song song = Song.builder().id("s1").title("Hype Boy").artist("NewJeans").build();
+        when(songRepository.findById("s1")).thenReturn(Optional.of(song));
+        when(songRepository.findSongsWithMissingAudioId(any(), any())).thenReturn(List.of(song));
+        when(enrichmentBackoff.now()).thenReturn(Instant.EPOCH);
+        when(enrichmentBackoff.rejectedIds(anyCollection(), any())).thenReturn(Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void quotaExceeded_isRetried_withoutRecordingAMiss() {
+        server.expect(requestTo(startsWith(SEARCH_URL))).andRespond(withStatus(HttpStatus.FORBIDDEN));
+
+        assertEquals(FillDbService.SongFillOutcome.RETRY, service.fillVideoIdForSong("s1"));
+
+        verify(enrichmentBackoff, never()).recordMiss(anyString(), any(), anyString());
+        verify(songRepository, never()).save(any());
+        server.verify();
+    }
+
+    @Test
+    void quotaExceeded_inBatch_skipsWithoutRecordingAMiss() {
+        server.expect(requestTo(startsWith(SEARCH_URL))).andRespond(withStatus(HttpStatus.FORBIDDEN));
+
+        YoutubeAudioFillResultDto res = service.fillYoutubeAudioId();
+
+        assertEquals(new YoutubeAudioFillResultDto(0), res);
+        verify(enrichmentBackoff, never()).recordMiss(anyString(), any(), anyString());
+        server.verify();
+    }
+
+    @Test
+    void upstreamErrorBody_isRetried_withoutRecordingAMiss() {
+        server.expect(requestTo(startsWith(SEARCH_URL)))
+                .andRespond(withSuccess("{\"error\":{\"code\":500,\"message\":\"backend\"}}", MediaType.APPLICATION_JSON));
+
+        assertEquals(FillDbService.SongFillOutcome.RETRY, service.fillAudioIdForSong("s1"));
+
+        verify(enrichmentBackoff, never()).recordMiss(anyString(), any(), anyString());
+    }
+
+    @Test
+    void emptySearchResult_isStillRecordedAsNoMatch() {
+        server.expect(requestTo(startsWith(SEARCH_URL)))
+                .andRespond(withSuccess("{\"items\":[]}", MediaType.APPLICATION_JSON));
+
+        assertEquals(FillDbService.SongFillOutcome.UNCHANGED, service.fillVideoIdForSong("s1"));
+
+        verify(enrichmentBackoff).recordMiss("s1", EnrichmentSource.YOUTUBE_VIDEO, "NO_MATCH");
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeminiMicroBatcherTest {
+
+    private static final String HAPPY = "내일 소풍가는데, 행복해질수 있는 곡 추천해줘";
+    private static final String BALLAD = "비 오는 날 잔잔한 발라드 듣고 싶어";
+    private static final String UNKNOWN = "asdf qwer";
+
+    private final LocalTagInference local = new LocalTagInference();
+    private final Map<String, LlmTagResponseDto> answers = Map.of(
+            HAPPY, local.infer(HAPPY),
+            BALLAD, local.infer(BALLAD),
+            UNKNOWN, local.infer(UNKNOWN)
+    );
+
+    // 프롬프트 한 번에 실린 입력들 (호출 순서대로)
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private GeminiMicroBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (batcher != null) batcher.shutdown();
+    }
+
+    @Test
+    void concurrentCallers_shareOnePromptAndGetTheirOwnResult() throws Exception {
+        batcher = batcher(8, 300, this::answerEach);
+
+        CompletableFuture<LlmTagResponseDto> a = submit(HAPPY);
+        CompletableFuture<LlmTagResponseDto> b = submit(BALLAD);
+        CompletableFuture<LlmTagResponseDto> c = submit(UNKNOWN);
+
+        assertEquals(answers.get(HAPPY), a.get(2, TimeUnit.SECONDS));
+        assertEquals(answers.get(BALLAD), b.get(2, TimeUnit.SECONDS));
+        assertEquals(answers.get(UNKNOWN), c.get(2, TimeUnit.SECONDS));
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+    }
+
+    @Test
+    void fullBatch_isSentWithoutWaiting() throws Exception {
+        batcher = batcher(2, 10_000, this::answerEach);
+
+        long t0 = System.nanoTime();
+        CompletableFuture<LlmTagResponseDto> a = submit(HAPPY);
+        CompletableFuture<LlmTagResponseDto> b = submit(BALLAD);
+        a.get(2, TimeUnit.SECONDS);
+        b.get(2, TimeUnit.SECONDS);
+
+        assertTrue(elapsedMs(t0) < 2_000);
+        assertEquals(List.of(2), batches.stream().map(List::size).toList());
+    }
+
+    @Test
+    void partialBatch_isSentAfterMaxWait() throws Exception {
+        batcher = batcher(8, 100, this::answerEach);
+
+        long t0 = System.nanoTime();
+        LlmTagResponseDto res = submit(HAPPY).get(2, TimeUnit.SECONDS);
+
+        assertEquals(answers.get(HAPPY), res);
+        assertTrue(elapsedMs(t0) >= 90, "maxWaitMs 동안 더 모아야 함");
+        assertEquals(List.of(List.of(HAPPY)), batches);
+    }
+
+    @Test
+    void itemFailure_onlyFailsThatCaller() throws Exception {
+        batcher = batcher(2, 1_000, texts -> texts.stream()
+                .map(t -> t.equals(UNKNOWN)
+                        ? GeminiService.BatchItemResult.failed(new BusinessException(ErrorCode.GEMINI_TAG_ENUM_MISMATCH))
+                        : GeminiService.BatchItemResult.ok(answers.get(t)))
+                .toList());
+
+        CompletableFuture<LlmTagResponseDto> ok = submit(HAPPY);
+        CompletableFuture<LlmTagResponseDto> bad = submit(UNKNOWN);
+
+        assertEquals(answers.get(HAPPY), ok.get(2, TimeUnit.SECONDS));
+        assertEquals(ErrorCode.GEMINI_TAG_ENUM_MISMATCH, failure(bad).errorCode());
+    }
+
+    @Test
+    void batchFailure_failsEveryCaller() throws Exception {
+        batcher = batcher(2, 1_000, texts -> {
+            throw new BusinessException(ErrorCode.GEMINI_UPSTREAM_ERROR);
+        });
+
+        CompletableFuture<LlmTagResponseDto> a = submit(HAPPY);
+        CompletableFuture<LlmTagResponseDto> b = submit(BALLAD);
+
+        assertEquals(ErrorCode.GEMINI_UPSTREAM_ERROR, failure(a).errorCode());
+        assertEquals(ErrorCode.GEMINI_UPSTREAM_ERROR, failure(b).errorCode());
+    }
+
+    @Test
+    void interruptedCaller_isDroppedFromTheBatch() throws Exception {
+        batcher = batcher(8, 300, this::answerEach);
+
+        Thread waiting = Thread.ofVirtual().start(() -> {
+            try {
+                batcher.infer(UNKNOWN);
+            } catch (BusinessException ignored) {
+                // interrupt → 대기열에서 빠지며 실패
+            }
+        });
+        Thread.sleep(50);
+        waiting.interrupt();
+        waiting.join(1_000);
+
+        assertEquals(answers.get(HAPPY), submit(HAPPY).get(2, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(HAPPY)), batches);
+    }
+
+    private GeminiMicroBatcher batcher(int maxSize, long maxWaitMs,
+                                       Function<List<String>, List<GeminiService.BatchItemResult>> answer) {
+        GeminiService geminiService = new GeminiService(null, null) {
+            @Override
+            public List<BatchItemResult> inferTagsBatch(List<String> texts) {
+                batches.add(List.copyOf(texts));
+                return answer.apply(texts);
+            }
+        };
+        GeminiMicroBatcher b = new GeminiMicroBatcher(geminiService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(b, "enabled", true);
+        ReflectionTestUtils.setField(b, "maxSize", maxSize);
+        ReflectionTestUtils.setField(b, "maxWaitMs", maxWaitMs);
+        b.start();
+        return b;
+    }
+
+    private List<GeminiService.BatchItemResult> answerEach(List<String> texts) {
+        return texts.stream().map(t -> GeminiService.BatchItemResult.ok(answers.get(t))).toList();
+    }
+
+    private CompletableFuture<LlmTagResponseDto> submit(String text) {
+        return CompletableFuture.supplyAsync(() -> batcher.infer(text), callers);
+    }
+
+    private static BusinessException failure(CompletableFuture<?> f) {
+        try {
+            f.get(2, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            if (e.getCause() instanceof BusinessException be) return be;
+            fail(e);
+        }
+        return fail("실패해야 함");
+    }
+
+    private static long elapsedMs(long t0) {
+        return (System.nanoTime() - t0) / 1_000_000;
+    }
+}
@@ -1,9 +1,10 @@
 package org.example.apispring.song.application;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.example.apispring.global.config.RestTemplateConfig;
 import org.example.apispring.global.error.BusinessException;
 import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.http.TestRestTemplates;
 import org.example.apispring.song.application.dto.LlmTagResponseDto;
 import org.example.apispring.song.web.GeminiClient;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
@@ -22,7 +26,7 @@ class GeminiServiceParsingTest {
 
     @Test
     void inferTags_parsesGeminiResponseIntoDto() {
-        RestTemplate rt = new RestTemplateConfig().externalApiRestTemplate();
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GEMINI);
         MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
 
         GeminiClient client = new GeminiClient(rt);
@@ -69,8 +73,8 @@ class GeminiServiceParsingTest {
     }
 
     @Test
-    void inferTags_non2xxFromGemini_throwsUpstreamError() {
-        RestTemplate rt = new RestTemplateConfig().externalApiRestTemplate();
+    void inferTags_unauthorizedFromGemini_throwsAuthFailed() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GEMINI);
         MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
 
         GeminiClient client = new GeminiClient(rt);
@@ -90,7 +94,144 @@ class GeminiServiceParsingTest {
         BusinessException ex = assertThrows(BusinessException.class,
                 () -> service.inferTags("test"));
 
+        // 401 은 다시 보내도 같은 결과 → hedge/재시도 대상이 아닌 설정 오류로 구분
+        assertEquals(ErrorCode.GEMINI_AUTH_FAILED, ex.errorCode());
+        server.verify();
+    }
+
+    @Test
+    void inferTags_serverErrorFromGemini_throwsUpstreamError() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GEMINI);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+
+        GeminiClient client = new GeminiClient(rt);
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "model", "gemini-2.0-flash");
+
+        GeminiService service = new GeminiService(client, new ObjectMapper());
+
+        String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent";
+
+        server.expect(requestTo(url))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> service.inferTags("test"));
+
         assertEquals(ErrorCode.GEMINI_UPSTREAM_ERROR, ex.errorCode());
+    }
+
+    @Test
+    void inferTagsBatch_demultiplexesResultsById() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GEMINI);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+
+        GeminiClient client = new GeminiClient(rt);
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "model", "gemini-2.0-flash");
+        ReflectionTestUtils.setField(client, "maxTokens", 128);
+
+        GeminiService service = new GeminiService(client, new ObjectMapper());
+
+        String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent";
+
+        // 순서가 뒤바뀐 배열 + ID=2 는 허용 목록 밖 값
+        String geminiResponse = """
+        {
+          "candidates": [
+            {
+              "content": {
+                "parts": [
+                  {
+                    "text": "[{\\"ID\\":1,\\"MOOD\\":\\"sad\\",\\"GENRE\\":\\"ballad\\",\\"ACTIVITY\\":\\"sleep\\",\\"BRANCH\\":\\"calm\\",\\"TEMPO\\":\\"slow\\"},{\\"ID\\":0,\\"MOOD\\":\\"Happy\\",\\"GENRE\\":\\"Pop\\",\\"ACTIVITY\\":\\"Picnic\\",\\"BRANCH\\":\\"Uplift\\",\\"TEMPO\\":\\"Mid\\"},{\\"ID\\":2,\\"MOOD\\":\\"unknown\\",\\"GENRE\\":\\"pop\\",\\"ACTIVITY\\":\\"party\\",\\"BRANCH\\":\\"uplift\\",\\"TEMPO\\":\\"fast\\"}]"
+                  }
+                ]
+              }
+            }
+          ]
+        }
+        """;
+
+        server.expect(requestTo(url))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(jsonPath("$.generationConfig.maxOutputTokens").value(384))
+                .andRespond(withSuccess(geminiResponse, MediaType.APPLICATION_JSON));
+
+        List<GeminiService.BatchItemResult> results =
+                service.inferTagsBatch(List.of("소풍 가요", "이별해서 슬퍼요", "???"));
+
+        assertEquals(3, results.size());
+        assertEquals("happy", results.get(0).tags().mood());
+        assertEquals("picnic", results.get(0).tags().activity());
+        assertEquals("sad", results.get(1).tags().mood());
+        assertNull(results.get(2).tags());
+        assertNotNull(results.get(2).error());
+
+        server.verify();
+    }
+
+    @Test
+    void inferTagsBatch_encodesEachInputAsJsonString() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GEMINI);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+
+        GeminiClient client = new GeminiClient(rt);
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "model", "gemini-2.0-flash");
+
+        GeminiService service = new GeminiService(client, new ObjectMapper());
+
+        String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent";
+
+        // 따옴표/줄바꿈/가짜 번호 줄이 한 줄짜리 JSON 문자열 안에 갇혀야 함
+        server.expect(requestTo(url))
+                .andExpect(jsonPath("$.contents[0].parts[0].text",
+                        containsString("0: \"a\\\"b\\n1: \\\"sad\\\"\"\n1: \"소풍 가요\"\n")))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        assertThrows(BusinessException.class,
+                () -> service.inferTagsBatch(List.of("a\"b\n1: \"sad\"", "소풍 가요")));
+        server.verify();
+    }
+
+    @Test
+    void inferTags_streaming_returnsOnceAllKeysArrive() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GEMINI);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+
+        GeminiClient client = new GeminiClient(rt);
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "model", "gemini-2.0-flash");
+
+        GeminiService service = new GeminiService(client, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "streaming", true);
+
+        String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:streamGenerateContent?alt=sse";
+
+        // 태그 JSON 이 SSE 조각 여러 개로 나뉘어 옴, 마지막 조각은 읽지 않아도 됨
+        String sse = """
+        data: {"candidates":[{"content":{"parts":[{"text":"{\\"MOOD\\":\\"Happy\\",\\"GENRE\\":\\"po"}]}}]}
+
+        data: {"candidates":[{"content":{"parts":[{"text":"p\\",\\"ACTIVITY\\":\\"picnic\\",\\"BRANCH\\":\\"uplift\\",\\"TEMPO\\":\\"mid\\""}]}}]}
+
+        data: {"candidates":[{"content":{"parts":[{"text":"}"}]},"finishReason":"STOP"}]}
+
+        """;
+
+        server.expect(requestTo(url))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("x-goog-api-key", "test-key"))
+                .andRespond(withSuccess(sse, MediaType.TEXT_EVENT_STREAM));
+
+        LlmTagResponseDto dto = service.inferTags("내일 소풍가는데, 행복해질수 있는 곡 추천해줘");
+
+        assertEquals("happy", dto.mood());
+        assertEquals("pop", dto.genre());
+        assertEquals("picnic", dto.activity());
+        assertEquals("uplift", dto.branch());
+        assertEquals("mid", dto.tempo());
+
         server.verify();
     }
 }
@@ -0,0 +1,92 @@
+package org.example.apispring.song.application;
+
+import org.example.apispring.song.application.GeniusAlbumImageUrlSearchService.GeniusAlbumImageSearchResult;
+import org.example.apispring.song.application.dto.GeniusHit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeniusAlbumImageUrlSearchServiceTest {
+
+    private final GeniusAlbumImageUrlSearchService service =
+            new GeniusAlbumImageUrlSearchService(new SongQueryNormalizationService());
+
+    @Test
+    void matchInArtistSongs_picksExactTitleOfSameArtist() {
+        List<GeniusHit> songs = List.of(
+                hit("Attention", "NewJeans", "https://images.genius.com/attention.jpg"),
+                hit("Hype Boy", "NewJeans", "https://images.genius.com/hype.jpg"),
+                hit("Ditto", "NewJeans", "https://images.genius.com/ditto.jpg")
+        );
+
+        GeniusAlbumImageSearchResult r = service.matchInArtistSongs(songs, "hype boy", "NewJeans");
+
+        assertTrue(r.found());
+        assertEquals("https://images.genius.com/hype.jpg", r.url());
+        assertEquals("FOUND", r.reason());
+    }
+
+    @Test
+    void matchInArtistSongs_matchesCleanedTitle() {
+        List<GeniusHit> songs = List.of(hit("Hey Jude", "The Beatles", "https://images.genius.com/jude.jpg"));
+
+        GeniusAlbumImageSearchResult r = service.matchInArtistSongs(songs, "Hey Jude - Remastered 2015", "The Beatles");
+
+        assertTrue(r.found());
+        assertEquals("https://images.genius.com/jude.jpg", r.url());
+    }
+
+    @Test
+    void matchInArtistSongs_noSameTitle_returnsNoHitsWithoutGuessing() {
+        // 아티스트가 같아도 제목이 다르면 후보가 아님
+        List<GeniusHit> songs = List.of(hit("Attention", "NewJeans", "https://images.genius.com/attention.jpg"));
+
+        GeniusAlbumImageSearchResult r = service.matchInArtistSongs(songs, "Super Shy", "NewJeans");
+
+        assertFalse(r.found());
+        assertEquals("NO_HITS", r.reason());
+    }
+
+    @Test
+    void matchInArtistSongs_otherArtist_isLowConfidence() {
+        List<GeniusHit> songs = List.of(hit("Butter", "BTS", "https://images.genius.com/butter.jpg"));
+
+        GeniusAlbumImageSearchResult r = service.matchInArtistSongs(songs, "Butter", "Someone Else");
+
+        assertFalse(r.found());
+        assertEquals("LOW_CONFIDENCE", r.reason());
+    }
+
+    @Test
+    void matchInArtistSongs_defaultOrMissingImage_isNoImageUrl() {
+        Map<String, String> images = new HashMap<>();
+        images.put("song_art_image_url", "https://assets.genius.com/images/default_cover_image.png");
+        images.put("header_image_url", null);
+        List<GeniusHit> withDefault = List.of(new GeniusHit("Ditto", null, "NewJeans", 42L, images));
+
+        assertEquals("NO_IMAGE_URL", service.matchInArtistSongs(withDefault, "Ditto", "NewJeans").reason());
+
+        // 이미지 키가 아예 없어도 예외 없이 noImage (곡 단위 검색으로 넘김)
+        List<GeniusHit> noKeys = List.of(new GeniusHit("Ditto", null, "NewJeans", 42L, Map.of()));
+
+        assertEquals("NO_IMAGE_URL", service.matchInArtistSongs(noKeys, "Ditto", "NewJeans").reason());
+    }
+
+    @Test
+    void matchInArtistSongs_nullOrBlankInput_returnsNoHits() {
+        List<GeniusHit> songs = Arrays.asList(null, hit("Ditto", "NewJeans", "https://images.genius.com/ditto.jpg"));
+
+        assertEquals("NO_HITS", service.matchInArtistSongs(null, "Ditto", "NewJeans").reason());
+        assertEquals("NO_HITS", service.matchInArtistSongs(songs, "  ", "NewJeans").reason());
+        assertTrue(service.matchInArtistSongs(songs, "Ditto", "NewJeans").found());
+    }
+
+    private static GeniusHit hit(String title, String artist, String imageUrl) {
+        return new GeniusHit(title, title + " by " + artist, artist, 42L, Map.of("song_art_image_url", imageUrl));
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.apispring.song.application;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalTagJsonReaderTest {
+
+    @Test
+    void completesAsSoonAsAllKeysArrive_evenWhenTokensAreSplit() throws IOException {
+        IncrementalTagJsonReader reader = new IncrementalTagJsonReader(new JsonFactory());
+
+        assertFalse(reader.feed("```json\n{\"MO"));
+        assertFalse(reader.feed("OD\": \"Hap"));
+        assertFalse(reader.feed("py\", \"genre\": \"pop\", \"ACTIVITY\": \"picnic\","));
+        assertFalse(reader.feed("\"BRANCH\": \"uplift\", \"TEMPO\": \"mi"));
+        assertTrue(reader.feed("d\", \"EXTRA\": "));
+
+        assertEquals("Happy", reader.fields().get("MOOD"));
+        assertEquals("pop", reader.fields().get("GENRE"));
+        assertEquals("mid", reader.fields().get("TEMPO"));
+    }
+
+    @Test
+    void ignoresNestedKeysAndNulls() throws IOException {
+        IncrementalTagJsonReader reader = new IncrementalTagJsonReader(new JsonFactory());
+
+        reader.feed("{\"meta\": {\"MOOD\": \"sad\"}, \"MOOD\": null, \"MOOD\": \"chill\"}");
+
+        assertEquals("chill", reader.fields().get("MOOD"));
+        assertFalse(reader.complete());
+    }
+
+    @Test
+    void stopsReadingAfterRootObjectCloses() throws IOException {
+        IncrementalTagJsonReader reader = new IncrementalTagJsonReader(new JsonFactory());
+
+        assertFalse(reader.feed("{\"MOOD\": \"sad\"}\n```"));
+        assertFalse(reader.feed("{\"GENRE\": \"pop\"}"));
+
+        assertNull(reader.fields().get("GENRE"));
+    }
+}
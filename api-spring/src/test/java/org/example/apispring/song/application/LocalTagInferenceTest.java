@@ -0,0 +1,47 @@
+package org.example.apispring.song.application;
+
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTagInferenceTest {
+
+    private final LocalTagInference inference = new LocalTagInference();
+
+    @Test
+    void picksTagsFromKeywords() {
+        LlmTagResponseDto dto = inference.infer("내일 소풍가는데, 행복해질수 있는 곡 추천해줘");
+
+        assertEquals("happy", dto.mood());
+        assertEquals("picnic", dto.activity());
+        assertEquals("uplift", dto.branch());
+        assertTrue(dto.vector().isComplete());
+    }
+
+    @Test
+    void explicitGenreAndTempoWin() {
+        LlmTagResponseDto dto = inference.infer("비 오는 날 잔잔한 발라드 듣고 싶어");
+
+        assertEquals("ballad", dto.genre());
+        assertEquals("slow", dto.tempo());
+        assertEquals("calm", dto.branch());
+    }
+
+    @Test
+    void unknownText_usesDeterministicDefaults() {
+        LlmTagResponseDto a = inference.infer("asdf qwer");
+        LlmTagResponseDto b = inference.infer("asdf qwer");
+
+        assertEquals(a, b);
+        assertEquals("chill", a.mood());
+        assertEquals("lofi", a.genre());
+        assertEquals("night_drive", a.activity());
+        assertEquals("mid", a.tempo());
+    }
+
+    @Test
+    void nullText_doesNotThrow() {
+        assertNotNull(inference.infer(null));
+    }
+}
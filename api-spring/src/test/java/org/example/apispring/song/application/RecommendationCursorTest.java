@@ -0,0 +1,50 @@
+package org.example.apispring.song.application;
+
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationCursorTest {
+
+    @Test
+    void cursor_roundTripsSessionAndOffset() {
+        String session = RecommendationCursor.newSession();
+
+        String encoded = new RecommendationCursor(session, 310).encode();
+
+        assertEquals(19, encoded.length());
+        assertEquals(new RecommendationCursor(session, 310), RecommendationCursor.parse(encoded));
+    }
+
+    @Test
+    void cursor_rejectsMalformedInput() {
+        for (String bad : new String[]{null, "", "not base64 !", "AAAA"}) {
+            BusinessException e = assertThrows(BusinessException.class, () -> RecommendationCursor.parse(bad));
+            assertEquals(ErrorCode.RECOMMENDATION_CURSOR_INVALID, e.errorCode());
+        }
+    }
+
+    @Test
+    void pageBlob_roundTripsOwnerAndIdsCompactly() {
+        UUID owner = UUID.randomUUID();
+        List<String> ids = List.of("dQw4w9WgXcQ", "곡-2", "x".repeat(64));
+
+        byte[] blob = RecommendationPageStore.encode(owner, ids);
+        RecommendationPageStore.Page page = RecommendationPageStore.decode(blob);
+
+        assertEquals(owner, page.owner());
+        assertEquals(ids, page.songIds());
+        assertTrue(blob.length < 17 + 1 + ids.stream().mapToInt(s -> s.getBytes(java.nio.charset.StandardCharsets.UTF_8).length + 1).sum() + 2);
+    }
+
+    @Test
+    void pageBlob_decodeReturnsNullForForeignData() {
+        assertNull(RecommendationPageStore.decode(new byte[]{9, 1, 2}));
+        assertNull(RecommendationPageStore.decode(new byte[]{1, 0, 0}));
+    }
+}
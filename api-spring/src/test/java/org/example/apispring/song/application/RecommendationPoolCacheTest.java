@@ -0,0 +1,189 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.example.apispring.song.domain.SongCandidate;
+import org.example.apispring.song.domain.TagVector;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RecommendationPoolCacheTest {
+
+    private static final long TTL = 60_000_000_000L;
+    private static final long LOAD = 200_000_000L;
+
+    private static final LlmTagResponseDto TAGS =
+            new LlmTagResponseDto(TagVector.parse("happy", "pop", "picnic", "uplift", "mid"));
+
+    @Test
+    void draw_rotatesThroughTierBeforeRepeating() {
+        RecommendationPoolCache.Pool pool = RecommendationPoolCache.Pool.of(
+                Map.of(CandidateTier.STRONG_GENRE, songs("s", 40)), 200, 0, 0);
+
+        Set<String> first = ids(pool.draw(20));
+        Set<String> second = ids(pool.draw(20));
+
+        assertEquals(20, first.size());
+        assertTrue(Collections.disjoint(first, second));
+        assertEquals(first, ids(pool.draw(20))); // 한 바퀴 돌면 같은 순열
+    }
+
+    @Test
+    void draw_fillsFromLaterTiersInPriorityOrder() {
+        RecommendationPoolCache.Pool pool = RecommendationPoolCache.Pool.of(Map.of(
+                CandidateTier.STRONG_GENRE, songs("s", 5),
+                CandidateTier.WEAK_GENRE, songs("w", 30)), 200, 0, 0);
+
+        List<SongCandidate> page = pool.draw(20);
+
+        assertEquals(20, page.size());
+        assertTrue(page.subList(0, 5).stream().allMatch(c -> c.songId().startsWith("s")));
+        assertTrue(page.subList(5, 20).stream().allMatch(c -> c.songId().startsWith("w")));
+    }
+
+    @Test
+    void draw_skipsExcludedSongsUnlessThePoolRunsShort() {
+        RecommendationPoolCache.Pool pool = RecommendationPoolCache.Pool.of(Map.of(
+                CandidateTier.STRONG_GENRE, songs("s", 15),
+                CandidateTier.WEAK_GENRE, songs("w", 20)), 200, 0, 0);
+        Set<String> seen = Set.of("s0", "s1", "s2", "s3", "s4", "s5", "s6", "s7", "s8", "s9");
+
+        Set<String> page = ids(pool.draw(20, c -> seen.contains(c.songId())));
+
+        assertEquals(20, page.size());
+        assertTrue(Collections.disjoint(page, seen));
+
+        // 안 본 곡이 15곡뿐 → 나머지 5곡은 본 곡으로 채움
+        Set<String> strongOnly = ids(RecommendationPoolCache.Pool.of(
+                Map.of(CandidateTier.STRONG_GENRE, songs("s", 15)), 200, 0, 0)
+                .draw(10, c -> seen.contains(c.songId())));
+        assertEquals(10, strongOnly.size());
+        assertEquals(5, strongOnly.stream().filter(id -> !seen.contains(id)).count());
+    }
+
+    @Test
+    void of_capsAtPoolSizeAndDropsSongsRepeatedInLaterTiers() {
+        RecommendationPoolCache.Pool pool = RecommendationPoolCache.Pool.of(Map.of(
+                CandidateTier.STRONG_GENRE, songs("s", 3),
+                CandidateTier.STRONG_UNKNOWN, songs("s", 6)), 5, 0, 0);
+
+        assertEquals(List.of(3, 2, 0, 0), pool.sizes());
+        assertEquals(5, ids(pool.draw(10)).size());
+    }
+
+    @Test
+    void shouldRefresh_isRareWhenFreshAndCertainAfterTtl() {
+        assertFalse(RecommendationPoolCache.shouldRefresh(0, TTL, LOAD, 1.0, fixed(0.0)));
+        assertTrue(RecommendationPoolCache.shouldRefresh(TTL, TTL, LOAD, 1.0, fixed(0.0)));
+
+        // 만료 직전: u 가 작으면(-ln u 가 크면) 먼저 갱신
+        long age = TTL - LOAD;
+        assertFalse(RecommendationPoolCache.shouldRefresh(age, TTL, LOAD, 1.0, fixed(0.0)));
+        assertTrue(RecommendationPoolCache.shouldRefresh(age, TTL, LOAD, 1.0, fixed(0.9)));
+    }
+
+    @Test
+    void concurrentMisses_forTheSameKey_shareOneLoad() throws Exception {
+        RecommendationCandidateFetcher fetcher = mock(RecommendationCandidateFetcher.class);
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(fetcher.fetch(any(), anyInt(), anyInt(), anyString())).thenAnswer(inv -> {
+            fetching.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return tiers(songs("s", 30));
+        });
+        RecommendationPoolCache cache = cache(fetcher);
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+
+        try {
+            List<Future<List<SongCandidate>>> pages = new ArrayList<>();
+            for (int i = 0; i < 4; i++) pages.add(callers.submit(() -> cache.draw(TAGS, 5, "r", c -> false)));
+            assertTrue(fetching.await(2, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<List<SongCandidate>> page : pages) assertEquals(5, page.get(2, TimeUnit.SECONDS).size());
+            verify(fetcher, times(1)).fetch(any(), anyInt(), anyInt(), anyString());
+        } finally {
+            callers.shutdownNow();
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    void failedLoad_isNotLeftBehind_andTheNextMissLoadsAgain() throws Exception {
+        RecommendationCandidateFetcher fetcher = mock(RecommendationCandidateFetcher.class);
+        when(fetcher.fetch(any(), anyInt(), anyInt(), anyString()))
+                .thenThrow(new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR))
+                .thenReturn(tiers(songs("s", 30)));
+        RecommendationPoolCache cache = cache(fetcher);
+
+        try {
+            BusinessException ex = assertThrows(BusinessException.class, () -> cache.draw(TAGS, 5, "r", c -> false));
+            assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, ex.errorCode());
+            awaitNoLoadInFlight(cache);
+
+            assertEquals(5, cache.draw(TAGS, 5, "r", c -> false).size());
+            // 적재된 풀은 캐시에서 꺼냄
+            assertEquals(5, cache.draw(TAGS, 5, "r", c -> false).size());
+            verify(fetcher, times(2)).fetch(any(), anyInt(), anyInt(), anyString());
+        } finally {
+            cache.shutdown();
+        }
+    }
+
+    private static List<SongCandidate> songs(String prefix, int n) {
+        return IntStream.range(0, n)
+                .mapToObj(i -> new SongCandidate(prefix + i, "t" + i, "a", null, null, null, null))
+                .toList();
+    }
+
+    private static EnumMap<CandidateTier, List<SongCandidate>> tiers(List<SongCandidate> strong) {
+        EnumMap<CandidateTier, List<SongCandidate>> out = new EnumMap<>(CandidateTier.class);
+        out.put(CandidateTier.STRONG_GENRE, strong);
+        return out;
+    }
+
+    // ttl 이 길어 적재 직후에는 XFetch 재적재가 일어나지 않음
+    private static RecommendationPoolCache cache(RecommendationCandidateFetcher fetcher) {
+        return new RecommendationPoolCache(fetcher, new SimpleMeterRegistry(), true, 200, 3600, 3600, 1.0, 100);
+    }
+
+    // join 이 정리 콜백보다 먼저 깨어날 수 있어 맵이 비는 것까지 기다림
+    private static void awaitNoLoadInFlight(RecommendationPoolCache cache) throws InterruptedException {
+        Map<?, ?> loading = (Map<?, ?>) ReflectionTestUtils.getField(cache, "loading");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!loading.isEmpty() && System.nanoTime() < deadline) Thread.sleep(5);
+        assertTrue(loading.isEmpty(), "실패한 적재가 맵에 남으면 안 됨");
+    }
+
+    private static Set<String> ids(List<SongCandidate> songs) {
+        Set<String> out = new HashSet<>();
+        songs.forEach(c -> out.add(c.songId()));
+        return out;
+    }
+
+    private static RandomGenerator fixed(double d) {
+        return new RandomGenerator() {
+            @Override
+            public long nextLong() {
+                return 0;
+            }
+
+            @Override
+            public double nextDouble() {
+                return d;
+            }
+        };
+    }
+}
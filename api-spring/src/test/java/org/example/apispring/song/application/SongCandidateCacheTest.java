@@ -0,0 +1,61 @@
+package org.example.apispring.song.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.apispring.song.domain.SongCandidate;
+import org.example.apispring.song.domain.SongTagRepository;
+import org.example.apispring.song.domain.TagVector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SongCandidateCacheTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final SongTagRepository songTagRepository = mock(SongTagRepository.class);
+
+    private final SongCandidateCache cache = new SongCandidateCache(redisTemplate, songTagRepository, new ObjectMapper(), 60);
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+    }
+
+    @Test
+    void dbRows_withSeveralTagRows_collapseToOneSongWithoutTags() {
+        when(values.multiGet(List.of("rec:song:s1", "rec:song:s2"))).thenReturn(Arrays.asList(null, null));
+        when(songTagRepository.findCandidatesBySongIds(List.of("s1", "s2"))).thenReturn(List.of(
+                candidate("s1", TagVector.parse("happy", "pop", "picnic", "uplift", "mid")),
+                candidate("s1", TagVector.parse("sad", "ballad", "study", "calm", "slow")),
+                candidate("s2", TagVector.parse("happy", "pop", "picnic", "uplift", "mid"))
+        ));
+
+        List<SongCandidate> out = cache.load(List.of("s1", "s2"));
+
+        assertEquals(List.of("s1", "s2"), out.stream().map(SongCandidate::songId).toList());
+        assertTrue(out.stream().allMatch(c -> c.tags() == null));
+    }
+
+    @Test
+    void cachedEntry_isServedWithoutTheDb_andCarriesNoTags() {
+        when(values.multiGet(List.of("rec:song:s1"))).thenReturn(List.of(
+                "{\"title\":\"t\",\"artist\":\"a\",\"videoId\":\"v\",\"albumImageUrl\":null,\"thumbnailUrl\":\"th\"}"));
+
+        List<SongCandidate> out = cache.load(List.of("s1"));
+
+        assertEquals(List.of(new SongCandidate("s1", "t", "a", "v", null, "th", null)), out);
+        verifyNoInteractions(songTagRepository);
+    }
+
+    private static SongCandidate candidate(String id, TagVector tags) {
+        return new SongCandidate(id, "t-" + id, "a", "v-" + id, null, null, tags);
+    }
+}
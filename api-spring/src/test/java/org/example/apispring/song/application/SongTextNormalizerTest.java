@@ -0,0 +1,58 @@
+package org.example.apispring.song.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SongTextNormalizerTest {
+
+    // 기존 서비스들의 replaceAll 체인 (\b 는 Java 19+ 기본 동작인 ASCII 단어 경계로 명시)
+    private static final String B = "(?:(?<![a-zA-Z0-9_])(?=[a-zA-Z0-9_])|(?<=[a-zA-Z0-9_])(?![a-zA-Z0-9_]))";
+
+    private static String legacy(String s, SongTextNormalizer.Mode mode) {
+        String x = s.toLowerCase(Locale.ROOT);
+        x = (mode == SongTextNormalizer.Mode.MATCH)
+                ? Normalizer.normalize(x, Normalizer.Form.NFKC)
+                : Normalizer.normalize(x, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        x = x.replaceAll("\\(.*?\\)|\\[.*?\\]|\\{.*?\\}", " ");
+        x = x.replaceAll(B + "(feat\\.|ft\\.|with)" + B + ".*", " ");
+        x = x.replaceAll("[^0-9a-zA-Z가-힣ㄱ-ㅎㅏ-ㅣぁ-ゔァ-ヴー一-龯々〆〤\\s']", " ");
+        x = x.replaceAll("\\s+", " ").trim();
+        return x;
+    }
+
+    @Test
+    void typicalTitles() {
+        assertEquals("iu blueming", SongTextNormalizer.forSearch("IU (아이유) - Blueming (Official MV)"));
+        assertEquals("beyonce halo", SongTextNormalizer.forSearch("Beyoncé - Halo [Lyrics]"));
+        assertEquals("beyonc halo", SongTextNormalizer.forMatch("Beyoncé - Halo [Lyrics]"));
+        assertEquals("the weeknd", SongTextNormalizer.forMatch("The Weeknd with Daft Punk - Starboy"));
+        assertEquals("", SongTextNormalizer.forMatch(null));
+    }
+
+    @Test
+    void matchesLegacyRegexChain() {
+        String alphabet = "abFTfeatwith.()[]{} _-'\n\t가힣ㄱあア一éÉ①Ａ😀&/,İ x9";
+        String[] words = {"feat.", "ft.", "with", "With ", "Feat. ", "(live)", "[mv]", " ", "é", "ß"};
+        int[] codePoints = alphabet.codePoints().toArray();
+
+        Random r = new Random(42);
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int len = r.nextInt(25);
+            for (int i = 0; i < len; i++) {
+                if (r.nextInt(4) == 0) sb.append(words[r.nextInt(words.length)]);
+                else sb.appendCodePoint(codePoints[r.nextInt(codePoints.length)]);
+            }
+            String s = sb.toString();
+
+            for (SongTextNormalizer.Mode mode : SongTextNormalizer.Mode.values()) {
+                assertEquals(legacy(s, mode), SongTextNormalizer.compute(s, mode), () -> "input=[" + s + "] mode=" + mode);
+            }
+        }
+    }
+}
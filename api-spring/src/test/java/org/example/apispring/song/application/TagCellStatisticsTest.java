@@ -0,0 +1,85 @@
+package org.example.apispring.song.application;
+
+import org.example.apispring.song.application.dto.TagCellSparsityDto;
+import org.example.apispring.song.application.event.SongTagsChangedEvent;
+import org.example.apispring.song.domain.SongTag;
+import org.example.apispring.song.domain.SongTagRepository;
+import org.example.apispring.song.domain.TagCellCount;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TagCellStatisticsTest {
+
+    private final SongTagRepository songTagRepository = mock(SongTagRepository.class);
+    private final TagCellStatistics stats = new TagCellStatistics(songTagRepository);
+
+    @Test
+    void eventBetweenQueryAndSwap_isKeptInTheNewSnapshot() {
+        when(songTagRepository.countSongsByTagCell()).thenReturn(List.of(row(3)));
+        stats.refresh();
+
+        // 재집계 조회가 도는 동안 커밋된 태그: 조회 결과(3)에는 없음
+        when(songTagRepository.countSongsByTagCell()).thenAnswer(inv -> {
+            stats.onTagsChanged(SongTagsChangedEvent.added(List.of(tag())));
+            return List.of(row(3));
+        });
+        stats.refresh();
+
+        assertEquals(4, songs());
+    }
+
+    @Test
+    void eventDuringFirstLoad_isNotDropped() {
+        when(songTagRepository.countSongsByTagCell()).thenAnswer(inv -> {
+            stats.onTagsChanged(SongTagsChangedEvent.added(List.of(tag())));
+            return List.of(row(1));
+        });
+        stats.refresh();
+
+        assertEquals(2, songs());
+    }
+
+    @Test
+    void eventsOutsideRefresh_applyToTheCurrentSnapshotOnce() {
+        when(songTagRepository.countSongsByTagCell()).thenReturn(List.of(row(3)));
+        stats.refresh();
+
+        stats.onTagsChanged(SongTagsChangedEvent.added(List.of(tag())));
+        stats.onTagsChanged(new SongTagsChangedEvent(List.of(), List.of(tag(), tag())));
+
+        assertEquals(2, songs());
+    }
+
+    @Test
+    void failedRefresh_keepsTheOldSnapshot_andStopsCollecting() {
+        when(songTagRepository.countSongsByTagCell()).thenReturn(List.of(row(3)));
+        stats.refresh();
+
+        when(songTagRepository.countSongsByTagCell()).thenThrow(new IllegalStateException("db down"));
+        stats.refresh();
+        stats.onTagsChanged(SongTagsChangedEvent.added(List.of(tag())));
+
+        assertEquals(4, songs());
+    }
+
+    private int songs() {
+        return stats.sparseCells(Integer.MAX_VALUE).stream()
+                .filter(c -> c.mood().equals("happy") && c.genre().equals("pop") && c.activity().equals("picnic")
+                        && c.branch().equals("uplift") && c.tempo().equals("mid"))
+                .mapToInt(TagCellSparsityDto::songs)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static TagCellCount row(long songs) {
+        return new TagCellCount("happy", "pop", "picnic", "uplift", "mid", songs);
+    }
+
+    private static SongTag tag() {
+        return SongTag.builder().mood("happy").genre("pop").activity("picnic").branch("uplift").tempo("mid").build();
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.global.resilience.ResilienceProperties;
+import org.example.apispring.global.resilience.UpstreamResilience;
+import org.example.apispring.song.application.dto.LlmTagResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagInferenceServiceTest {
+
+    private static final String TEXT = "asdf qwer";
+
+    private final LocalTagInference local = new LocalTagInference();
+    // Gemini 가 돌려줄 값 (로컬 fallback 결과와 다름)
+    private final LlmTagResponseDto gemini = local.infer("내일 소풍가는데, 행복해질수 있는 곡 추천해줘");
+    private final LlmTagResponseDto fallback = local.infer(TEXT);
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private TagInferenceService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @Test
+    void fastPrimary_isUsedWithoutHedge() {
+        service = service(n -> gemini, 10);
+
+        assertEquals(gemini, service.infer(TEXT));
+        assertEquals(1, calls.get());
+        assertEquals(1.0, count("llm.tags.source", "source", "primary"));
+    }
+
+    @Test
+    void slowPrimary_hedgeWins() {
+        // 첫 호출만 느림 → 두 번째(hedge) 가 먼저 끝남
+        service = service(n -> {
+            if (n == 1) sleep(2_000);
+            return gemini;
+        }, 10);
+
+        assertEquals(gemini, service.infer(TEXT));
+        assertEquals(2, calls.get());
+        assertEquals(1.0, count("llm.tags.hedge", "outcome", "launched"));
+        assertEquals(1.0, count("llm.tags.hedge", "outcome", "won"));
+        assertEquals(1.0, count("llm.tags.source", "source", "hedge"));
+    }
+
+    @Test
+    void emptyBudget_suppressesHedgeAndFallsBackAtDeadline() {
+        service = service(n -> {
+            sleep(2_000);
+            return gemini;
+        }, 0);
+
+        long t0 = System.nanoTime();
+        assertEquals(fallback, service.infer(TEXT));
+        long elapsedMs = (System.nanoTime() - t0) / 1_000_000;
+
+        assertEquals(1, calls.get());
+        assertTrue(elapsedMs < 1_000, "deadline 에서 끊어야 함: " + elapsedMs);
+        assertEquals(1.0, count("llm.tags.hedge", "outcome", "suppressed"));
+        assertEquals(1.0, count("llm.tags.source", "source", "local"));
+    }
+
+    @Test
+    void retryableFailure_isHedged() {
+        service = service(n -> {
+            if (n == 1) throw new BusinessException(ErrorCode.GEMINI_UPSTREAM_ERROR);
+            return gemini;
+        }, 10);
+
+        assertEquals(gemini, service.infer(TEXT));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void nonRetryableFailure_fallsBackWithoutHedge() {
+        for (ErrorCode code : new ErrorCode[]{
+                ErrorCode.GEMINI_API_KEY_MISSING, ErrorCode.GEMINI_BAD_REQUEST, ErrorCode.GEMINI_QUOTA_EXCEEDED}) {
+            calls.set(0);
+            service = service(n -> {
+                throw new BusinessException(code);
+            }, 10);
+
+            assertEquals(fallback, service.infer(TEXT));
+            assertEquals(1, calls.get(), code.name());
+            service.shutdown();
+        }
+        assertEquals(3.0, count("llm.tags.source", "reason", "not_retryable"));
+        assertEquals(0.0, count("llm.tags.hedge", "outcome", "launched"));
+    }
+
+    // hedge 50ms, deadline 300ms, burst 만큼 hedge 예산
+    private TagInferenceService service(IntFunction<LlmTagResponseDto> answer, int hedgeBurst) {
+        GeminiService geminiService = new GeminiService(null, null) {
+            @Override
+            public LlmTagResponseDto inferTags(String text) {
+                return answer.apply(calls.incrementAndGet());
+            }
+        };
+        TagInferenceService s = new TagInferenceService(
+                geminiService,
+                new GeminiMicroBatcher(geminiService, registry),
+                local,
+                new UpstreamResilience(ResilienceProperties.defaults(), registry),
+                registry
+        );
+        ReflectionTestUtils.setField(s, "hedgeDelayMs", 50L);
+        ReflectionTestUtils.setField(s, "deadlineMs", 300L);
+        ReflectionTestUtils.setField(s, "hedgeRatio", 0.0);
+        ReflectionTestUtils.setField(s, "hedgeBurst", hedgeBurst);
+        s.init();
+        return s;
+    }
+
+    private double count(String name, String tagKey, String tagValue) {
+        return registry.find(name).tag(tagKey, tagValue).counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.GEMINI_UPSTREAM_ERROR, "interrupted");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.apispring.song.application;
+
+import org.example.apispring.song.application.event.SongTagsChangedEvent;
+import org.example.apispring.song.domain.TagVector;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TagVectorBackfillTest {
+
+    private final TagVector happy = TagVector.parse("happy", "pop", "picnic", "uplift", "mid");
+    private final TagVector sad = TagVector.parse("sad", "ballad", "sleep", "calm", "slow");
+
+    private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+
+    @Test
+    void changedRows_arePublishedWithOldAndNewVector() throws Exception {
+        // s1: 비어 있던 행, s2: 문자열만 바뀐 행
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("s1", "s2");
+        when(rs.getShort(2)).thenReturn((short) 0, sad.bits());
+        when(rs.wasNull()).thenReturn(true, false);
+        when(rs.getShort(3)).thenReturn(happy.bits(), happy.bits());
+
+        Object[][] params = new Object[1][];
+        new TagVectorBackfill(jdbc(rs, 2, params), publisher).backfill();
+
+        assertTrue(params[0][0].toString().startsWith("{"));
+        assertEquals(10, params[0].length);
+
+        ArgumentCaptor<SongTagsChangedEvent> event = ArgumentCaptor.forClass(SongTagsChangedEvent.class);
+        verify(publisher).publishEvent(event.capture());
+
+        SongTagsChangedEvent e = event.getValue();
+        assertEquals(List.of("s1", "s2"), e.added().stream().map(st -> st.getSong().getId()).toList());
+        assertEquals(List.of(happy, happy), e.added().stream().map(st -> st.getTagVector()).toList());
+        // 이전 벡터가 있던 행만 removed
+        assertEquals(1, e.removed().size());
+        assertEquals("s2", e.removed().get(0).getSong().getId());
+        assertEquals(sad, e.removed().get(0).getTagVector());
+        // 셀 통계는 문자열 기준 → 이벤트 행은 건너뜀
+        assertNull(e.added().get(0).getMood());
+    }
+
+    @Test
+    void nothingChanged_publishesNothing() {
+        new TagVectorBackfill(jdbc(mock(ResultSet.class), 0, new Object[1][]), publisher).backfill();
+
+        verifyNoInteractions(publisher);
+    }
+
+    // UPDATE ... RETURNING 결과 rows 개를 rowMapper 로 넘기는 JdbcTemplate
+    private static JdbcTemplate jdbc(ResultSet rs, int rows, Object[][] params) {
+        return new JdbcTemplate() {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+                assertTrue(sql.contains("RETURNING"));
+                params[0] = args;
+                List<T> out = new ArrayList<>();
+                try {
+                    for (int i = 0; i < rows; i++) out.add(rowMapper.mapRow(rs, i));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+                return out;
+            }
+        };
+    }
+}
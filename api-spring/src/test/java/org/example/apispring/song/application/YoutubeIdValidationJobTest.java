@@ -0,0 +1,114 @@
+package org.example.apispring.song.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.apispring.global.resilience.ResilienceProperties;
+import org.example.apispring.global.resilience.UpstreamResilience;
+import org.example.apispring.song.application.dto.YoutubeValidationResultDto;
+import org.example.apispring.song.application.dto.YoutubeVideoStatus;
+import org.example.apispring.song.domain.EnrichmentSource;
+import org.example.apispring.song.domain.Song;
+import org.example.apispring.song.domain.SongRepository;
+import org.example.apispring.song.web.YoutubeClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class YoutubeIdValidationJobTest {
+
+    private static final PageRequest PAGE = PageRequest.of(0, YoutubeClient.VIDEOS_MAX_IDS);
+
+    private final SongRepository songRepository = mock(SongRepository.class);
+    private final YoutubeClient youtubeClient = mock(YoutubeClient.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final EnrichmentBackoff enrichmentBackoff = mock(EnrichmentBackoff.class);
+    private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+
+    private YoutubeIdValidationJob job;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(eq("youtube:validation:lock"), anyString(), any(Duration.class))).thenReturn(true);
+
+        job = new YoutubeIdValidationJob(songRepository, youtubeClient, redisTemplate,
+                new UpstreamResilience(ResilienceProperties.defaults(), new SimpleMeterRegistry()),
+                enrichmentBackoff, publisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "regionCode", "KR");
+        ReflectionTestUtils.setField(job, "permitsPerSecond", 1_000.0);
+        job.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    void unplayableIds_areNulledAndRememberedAsRejected() {
+        Song song = Song.builder().id("s1").title("t").artist("a").videoId("deadVideo").audioId("liveAudio").build();
+        when(songRepository.findWithYoutubeIdsAfter("", PAGE)).thenReturn(List.of(song));
+        when(songRepository.findWithYoutubeIdsAfter("s1", PAGE)).thenReturn(List.of());
+        when(youtubeClient.videos(List.of("deadVideo", "liveAudio"))).thenReturn(Map.of(
+                "deadVideo", status("deadVideo", List.of("KR")),
+                "liveAudio", status("liveAudio", null)
+        ));
+
+        YoutubeValidationResultDto res = job.run(10);
+
+        assertEquals(1, res.deadVideoIds());
+        assertEquals(0, res.deadAudioIds());
+        assertTrue(res.passCompleted());
+        assertNull(song.getVideoId());
+        assertEquals("liveAudio", song.getAudioId());
+
+        // 재검색이 같은 영상을 다시 고르지 않도록 지운 id 를 남김
+        verify(enrichmentBackoff).recordRejected("s1", EnrichmentSource.YOUTUBE_VIDEO, "deadVideo");
+        verify(enrichmentBackoff, never()).recordRejected(anyString(), eq(EnrichmentSource.YOUTUBE_AUDIO), anyString());
+        verify(songRepository).saveAll(List.of(song));
+    }
+
+    @Test
+    void idsMissingFromResponse_areRejected() {
+        Song song = Song.builder().id("s1").title("t").artist("a").audioId("goneAudio").build();
+        when(songRepository.findWithYoutubeIdsAfter("", PAGE)).thenReturn(List.of(song));
+        when(songRepository.findWithYoutubeIdsAfter("s1", PAGE)).thenReturn(List.of());
+        when(youtubeClient.videos(List.of("goneAudio"))).thenReturn(Map.of());
+
+        YoutubeValidationResultDto res = job.run(10);
+
+        assertEquals(1, res.deadAudioIds());
+        assertNull(song.getAudioId());
+        verify(enrichmentBackoff).recordRejected("s1", EnrichmentSource.YOUTUBE_AUDIO, "goneAudio");
+    }
+
+    @Test
+    void start_runsOffTheCallerThread_andRejectsOverlap() {
+        when(songRepository.findWithYoutubeIdsAfter(anyString(), any())).thenAnswer(inv -> {
+            Thread.sleep(200);
+            return List.of();
+        });
+
+        assertTrue(job.start(10));
+        assertFalse(job.start(10));
+
+        verify(redisTemplate, timeout(2_000)).delete("youtube:validation:cursor");
+    }
+
+    private static YoutubeVideoStatus status(String id, List<String> blocked) {
+        return new YoutubeVideoStatus(id, "processed", "public", true, null, blocked, null);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.apispring.song.application.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YoutubeVideoStatusTest {
+
+    @Test
+    void publicUnrestrictedVideoIsPlayable() {
+        assertTrue(status("processed", "public", true, null, null).playableIn("KR"));
+        assertTrue(status("uploaded", "unlisted", null, null, null).playableIn("KR"));
+    }
+
+    @Test
+    void privateRejectedOrNotEmbeddableIsDead() {
+        assertFalse(status("processed", "private", true, null, null).playableIn("KR"));
+        assertFalse(status("rejected", "public", true, null, null).playableIn("KR"));
+        assertFalse(status("processed", "public", false, null, null).playableIn("KR"));
+    }
+
+    @Test
+    void regionRestrictionIsCheckedAgainstRegionCode() {
+        assertFalse(status("processed", "public", true, null, List.of("KR", "JP")).playableIn("kr"));
+        assertFalse(status("processed", "public", true, List.of("US"), null).playableIn("KR"));
+        assertTrue(status("processed", "public", true, List.of("US", "KR"), null).playableIn("KR"));
+    }
+
+    private static YoutubeVideoStatus status(String upload, String privacy, Boolean embeddable,
+                                             List<String> allowed, List<String> blocked) {
+        return new YoutubeVideoStatus("vid", upload, privacy, embeddable, allowed, blocked, null);
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.apispring.song.application.enrichment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EnrichmentQueueTest {
+
+    private static final Duration MIN_IDLE = Duration.ofMinutes(2);
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final StreamOperations<String, Object, Object> streams = mock(StreamOperations.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashes = mock(HashOperations.class);
+
+    private EnrichmentQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForStream()).thenReturn(streams);
+        when(redisTemplate.opsForHash()).thenReturn(hashes);
+        queue = new EnrichmentQueue(redisTemplate);
+        ReflectionTestUtils.setField(queue, "maxDeliveries", 3);
+        ReflectionTestUtils.setField(queue, "queuedTtlSec", 600L);
+    }
+
+    @Test
+    void ack_acknowledgesRecord_andClearsMarkers() {
+        queue.ack(new EnrichmentTask("1-0", EnrichmentTaskType.YOUTUBE_VIDEO, "s1"));
+
+        verify(streams).acknowledge(EnrichmentQueue.STREAM_KEY, EnrichmentQueue.GROUP, "1-0");
+        verify(redisTemplate).delete("enrich:queued:YOUTUBE_VIDEO:s1");
+        verify(hashes).delete(EnrichmentQueue.DEFERRED_KEY, "1-0");
+    }
+
+    @Test
+    void defer_countsSkippedDelivery_withoutAck() {
+        queue.defer(new EnrichmentTask("1-0", EnrichmentTaskType.GENIUS_ALBUM_IMAGE, "s1"));
+
+        verify(hashes).increment(EnrichmentQueue.DEFERRED_KEY, "1-0", 1);
+        verify(streams, never()).acknowledge(anyString(), anyString(), any(String[].class));
+    }
+
+    @Test
+    void reclaim_dropsOnlyRecordsThatExhaustedRealAttempts() {
+        pending(
+                message("1-0", 3, Duration.ofMinutes(5)),  // 3번 모두 시도 → 버림
+                message("2-0", 5, Duration.ofMinutes(5)),  // 5번 중 3번은 서킷 open 으로 미룸 → 2번 시도, 유지
+                message("3-0", 2, Duration.ofMinutes(5)),  // 아직 한도 아래
+                message("4-0", 9, Duration.ofSeconds(10))  // 방금 전달됨 (처리 중일 수 있음)
+        );
+        when(hashes.multiGet(EnrichmentQueue.DEFERRED_KEY, List.of("1-0", "2-0")))
+                .thenReturn(Arrays.asList(null, "3"));
+
+        List<EnrichmentTask> claimed = queue.reclaim("node-a", MIN_IDLE, 10);
+
+        assertTrue(claimed.isEmpty()); // XAUTOCLAIM 응답 없음 (mock)
+        verify(streams).acknowledge(EnrichmentQueue.STREAM_KEY, EnrichmentQueue.GROUP, "1-0");
+        verify(streams, never()).acknowledge(EnrichmentQueue.STREAM_KEY, EnrichmentQueue.GROUP, "2-0");
+        verify(streams, never()).acknowledge(EnrichmentQueue.STREAM_KEY, EnrichmentQueue.GROUP, "3-0");
+        verify(streams, never()).acknowledge(EnrichmentQueue.STREAM_KEY, EnrichmentQueue.GROUP, "4-0");
+        verify(hashes).delete(EnrichmentQueue.DEFERRED_KEY, "1-0");
+        verify(redisTemplate).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    void reclaim_withNothingExhausted_skipsDeferredLookup() {
+        pending(message("1-0", 1, Duration.ofMinutes(5)));
+
+        queue.reclaim("node-a", MIN_IDLE, 10);
+
+        verify(hashes, never()).multiGet(anyString(), anyCollection());
+        verify(streams, never()).acknowledge(anyString(), anyString(), any(String[].class));
+    }
+
+    private void pending(PendingMessage... messages) {
+        when(streams.pending(EnrichmentQueue.STREAM_KEY, EnrichmentQueue.GROUP, Range.unbounded(), 10L))
+                .thenReturn(new PendingMessages(EnrichmentQueue.GROUP, List.of(messages)));
+    }
+
+    private static PendingMessage message(String id, long deliveries, Duration idle) {
+        return new PendingMessage(RecordId.of(id), Consumer.from(EnrichmentQueue.GROUP, "node-b"), idle, deliveries);
+    }
+}
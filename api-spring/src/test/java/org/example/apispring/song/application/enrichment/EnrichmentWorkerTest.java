@@ -0,0 +1,90 @@
+package org.example.apispring.song.application.enrichment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.resilience.UpstreamResilience;
+import org.example.apispring.song.application.FillDbService;
+import org.example.apispring.song.application.FillDbService.SongFillOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class EnrichmentWorkerTest {
+
+    private final EnrichmentQueue queue = mock(EnrichmentQueue.class);
+    private final FillDbService fillDbService = mock(FillDbService.class);
+    private final UpstreamResilience resilience = mock(UpstreamResilience.class);
+
+    private final EnrichmentTask video = new EnrichmentTask("1-0", EnrichmentTaskType.YOUTUBE_VIDEO, "s1");
+    private final EnrichmentTask album = new EnrichmentTask("2-0", EnrichmentTaskType.GENIUS_ALBUM_IMAGE, "s2");
+
+    private EnrichmentWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new EnrichmentWorker(queue, fillDbService, resilience, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(worker, "workers", 2);
+        ReflectionTestUtils.setField(worker, "readCount", 5);
+        ReflectionTestUtils.setField(worker, "claimIdleMs", 120_000L);
+    }
+
+    @Test
+    void finishedTask_isAcked() {
+        when(fillDbService.fillVideoIdForSong("s1")).thenReturn(SongFillOutcome.UPDATED);
+        when(fillDbService.fillAlbumImageForSong("s2")).thenReturn(SongFillOutcome.UNCHANGED);
+
+        worker.handle(video);
+        worker.handle(album);
+
+        verify(queue).ack(video);
+        verify(queue).ack(album);
+    }
+
+    @Test
+    void retryOrFailure_leavesTaskPending() {
+        when(fillDbService.fillVideoIdForSong("s1")).thenReturn(SongFillOutcome.RETRY);
+        when(fillDbService.fillAlbumImageForSong("s2")).thenThrow(new IllegalStateException("boom"));
+
+        worker.handle(video);
+        worker.handle(album);
+
+        verify(queue, never()).ack(any());
+        verify(queue, never()).defer(any());
+    }
+
+    @Test
+    void openCircuit_defersWithoutCallingUpstream() {
+        when(resilience.isOpen(OutboundHttpProperties.YOUTUBE)).thenReturn(true);
+
+        worker.handle(video);
+
+        verify(queue).defer(video);
+        verify(queue, never()).ack(any());
+        verifyNoInteractions(fillDbService);
+    }
+
+    @Test
+    void reclaim_handsTasksToWorkers_insteadOfRunningThem() {
+        ReflectionTestUtils.setField(worker, "running", true);
+        when(queue.reclaim(anyString(), eq(Duration.ofMillis(120_000)), eq(10))).thenReturn(List.of(video, album));
+
+        worker.reclaim();
+        // 넘긴 작업이 아직 처리 전이면 더 회수하지 않음
+        worker.reclaim();
+
+        verify(queue, times(1)).reclaim(anyString(), any(), anyInt());
+        verifyNoInteractions(fillDbService);
+    }
+
+    @Test
+    void reclaim_isSkippedWhenStopped() {
+        worker.reclaim();
+
+        verifyNoInteractions(queue);
+    }
+}
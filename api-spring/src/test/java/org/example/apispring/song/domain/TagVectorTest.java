@@ -0,0 +1,55 @@
+package org.example.apispring.song.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagVectorTest {
+
+    @Test
+    void parse_roundTripsEveryFieldAndIgnoresCase() {
+        TagVector v = TagVector.parse(" Chill ", "CITY_POP", "night_drive", "uplift", "fast");
+
+        assertTrue(v.isComplete());
+        assertEquals("chill", v.name(TagVector.MOOD));
+        assertEquals("city_pop", v.name(TagVector.GENRE));
+        assertEquals("night_drive", v.name(TagVector.ACTIVITY));
+        assertEquals("uplift", v.name(TagVector.BRANCH));
+        assertEquals("fast", v.name(TagVector.TEMPO));
+
+        assertEquals(v, TagVector.of(
+                TagEnums.MOOD.chill, TagEnums.GENRE.city_pop, TagEnums.ACTIVITY.night_drive,
+                TagEnums.BRANCH.uplift, TagEnums.TEMPO.fast));
+    }
+
+    @Test
+    void unknownGenre_hasItsOwnCode() {
+        TagVector v = TagVector.parse("sad", TagEnums.GENRE_UNKNOWN, "sleep", "calm", "slow");
+
+        assertEquals(TagVector.GENRE_UNKNOWN_CODE, v.code(TagVector.GENRE));
+        assertEquals(TagEnums.GENRE_UNKNOWN, v.name(TagVector.GENRE));
+        assertEquals(v, TagVector.parse("sad", "ballad", "sleep", "calm", "slow").withUnknownGenre());
+    }
+
+    @Test
+    void missingOrInvalidValues_neverMatch() {
+        TagVector request = TagVector.parse("happy", "pop", "party", "uplift", "mid");
+        TagVector row = TagVector.parse("happy", null, "nope", "uplift", null);
+
+        assertFalse(row.isComplete());
+        assertNull(row.name(TagVector.GENRE));
+        assertEquals((1 << TagVector.MOOD) | (1 << TagVector.BRANCH), request.matchMask(row));
+    }
+
+    @Test
+    void matchMask_withWeightTable_equalsPerFieldSum() {
+        double[] table = TagVector.weightTable(0.4, 0.3, 0.15, 0.1, 0.05);
+        TagVector request = TagVector.parse("hype", "edm", "workout", "uplift", "fast");
+
+        assertEquals(1.0, table[request.matchMask(request)], 1e-9);
+        assertEquals(0.4 + 0.15 + 0.05,
+                table[request.matchMask(TagVector.parse("hype", "pop", "workout", "calm", "fast"))], 1e-9);
+        assertEquals(0.0,
+                table[request.matchMask(TagVector.parse("sad", "ballad", "sleep", "calm", "slow"))], 1e-9);
+    }
+}
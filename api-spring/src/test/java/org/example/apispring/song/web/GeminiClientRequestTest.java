@@ -1,8 +1,9 @@
 package org.example.apispring.song.web;
 
-import org.example.apispring.global.config.RestTemplateConfig;
 import org.example.apispring.global.error.BusinessException;
 import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.http.TestRestTemplates;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -20,7 +21,7 @@ class GeminiClientRequestTest {
 
     @Test
     void generateContent_buildsExpectedRequest() {
-        RestTemplate rt = new RestTemplateConfig().externalApiRestTemplate();
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GEMINI);
         MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
 
         GeminiClient client = new GeminiClient(rt);
@@ -55,7 +56,7 @@ class GeminiClientRequestTest {
 
     @Test
     void generateContent_missingApiKey_throwsBusinessException() {
-        RestTemplate rt = new RestTemplateConfig().externalApiRestTemplate();
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GEMINI);
         GeminiClient client = new GeminiClient(rt);
 
         ReflectionTestUtils.setField(client, "apiKey", ""); // 빈 값
@@ -1,7 +1,8 @@
 package org.example.apispring.song.web;
 
-import org.example.apispring.global.config.RestTemplateConfig;
 import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.http.TestRestTemplates;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -29,7 +30,7 @@ class GeminiLiveSmokeTest {
             fail("Missing env vars. Set GEMINI_API_KEY and GEMINI_MODEL before running this test.");
         }
 
-        RestTemplate rt = new RestTemplateConfig().externalApiRestTemplate();
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GEMINI);
 
         GeminiClient client = new GeminiClient(rt);
         // Spring context 생략 상태이므로 @Value 필드 주입을 테스트에서 대체
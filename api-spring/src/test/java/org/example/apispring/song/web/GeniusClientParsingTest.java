@@ -0,0 +1,148 @@
+package org.example.apispring.song.web;
+
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.http.TestRestTemplates;
+import org.example.apispring.song.application.dto.GeniusArtistSongsResponse;
+import org.example.apispring.song.application.dto.GeniusHit;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class GeniusClientParsingTest {
+
+    private static final String URL = "https://api.genius.com/artists/42/songs?sort=popularity&per_page=50&page=2";
+
+    @Test
+    void artistSongs_parsesSongsAndNextPage() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GENIUS);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+        GeniusClient client = client(rt);
+
+        // 필요 없는 필드/중첩 객체는 건너뛰고, 배열 안 객체가 아닌 값도 무시
+        String body = """
+        {
+          "meta": { "status": 200 },
+          "response": {
+            "songs": [
+              {
+                "id": 1,
+                "title": "Hype Boy",
+                "full_title": "Hype Boy by NewJeans",
+                "stats": { "pageviews": 123, "hot": false },
+                "song_art_image_url": "https://images.genius.com/hype.jpg",
+                "header_image_url": null,
+                "primary_artist": { "id": 42, "name": "NewJeans", "image_url": "https://x" }
+              },
+              "not-a-song",
+              {
+                "title": "Ditto",
+                "song_art_image_thumbnail_url": "https://images.genius.com/ditto.300x300.jpg",
+                "primary_artist": { "id": 42, "name": "NewJeans" }
+              }
+            ],
+            "next_page": 3
+          }
+        }
+        """;
+
+        server.expect(requestTo(URL))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("Authorization", "Bearer test-token"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        GeniusArtistSongsResponse res = client.artistSongs(42, 2, 100);
+
+        assertEquals(2, res.songs().size());
+        assertEquals(3, res.nextPage());
+
+        GeniusHit first = res.songs().get(0);
+        assertEquals("Hype Boy", first.title());
+        assertEquals("Hype Boy by NewJeans", first.fullTitle());
+        assertEquals("NewJeans", first.primaryArtistName());
+        assertEquals(42L, first.primaryArtistId());
+        assertEquals("https://images.genius.com/hype.jpg", first.images().get("song_art_image_url"));
+        // 응답에 있던 키는 JSON null 이어도 남김 (이미지 판단에서 "없음" 과 구분)
+        assertTrue(first.images().containsKey("header_image_url"));
+        assertNull(first.images().get("header_image_url"));
+
+        GeniusHit second = res.songs().get(1);
+        assertEquals("Ditto", second.title());
+        assertNull(second.fullTitle());
+        assertFalse(second.images().containsKey("song_art_image_url"));
+
+        server.verify();
+    }
+
+    @Test
+    void artistSongs_lastPage_hasNullNextPage() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GENIUS);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+        GeniusClient client = client(rt);
+
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess("{\"response\":{\"songs\":[],\"next_page\":null}}", MediaType.APPLICATION_JSON));
+
+        GeniusArtistSongsResponse res = client.artistSongs(42, 2, 50);
+
+        assertTrue(res.songs().isEmpty());
+        assertNull(res.nextPage());
+        server.verify();
+    }
+
+    @Test
+    void artistSongs_nonObjectBody_throwsResponseInvalid() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GENIUS);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+        GeniusClient client = client(rt);
+
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> client.artistSongs(42, 2, 50));
+
+        assertEquals(ErrorCode.GENIUS_RESPONSE_INVALID, ex.errorCode());
+    }
+
+    @Test
+    void artistSongs_unauthorized_throwsAuthFailed() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GENIUS);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+        GeniusClient client = client(rt);
+
+        server.expect(requestTo(URL))
+                .andRespond(withStatus(HttpStatus.UNAUTHORIZED));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> client.artistSongs(42, 2, 50));
+
+        assertEquals(ErrorCode.GENIUS_AUTH_FAILED, ex.errorCode());
+        server.verify();
+    }
+
+    @Test
+    void artistSongs_missingToken_doesNotCallGenius() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.GENIUS);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+        GeniusClient client = new GeniusClient(rt);
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> client.artistSongs(42, 2, 50));
+
+        assertEquals(ErrorCode.GENIUS_API_TOKEN_MISSING, ex.errorCode());
+        server.verify();
+    }
+
+    private static GeniusClient client(RestTemplate rt) {
+        GeniusClient client = new GeniusClient(rt);
+        ReflectionTestUtils.setField(client, "geniusToken", "test-token");
+        return client;
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.apispring.song.web;
+
+import org.example.apispring.global.error.BusinessException;
+import org.example.apispring.global.error.ErrorCode;
+import org.example.apispring.global.http.OutboundHttpProperties;
+import org.example.apispring.global.http.TestRestTemplates;
+import org.example.apispring.song.application.dto.YoutubeVideoStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class YoutubeClientVideosTest {
+
+    private static final String URL = "https://www.googleapis.com/youtube/v3/videos";
+
+    @Test
+    void videos_parsesStatusRegionAndBestThumbnail() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.YOUTUBE);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+        YoutubeClient client = client(rt);
+
+        // gone 은 응답에 없음 (삭제/비공개 영상은 items 에서 빠짐)
+        String body = """
+        {
+          "items": [
+            {
+              "id": "alive",
+              "status": { "uploadStatus": "processed", "privacyStatus": "public", "embeddable": true },
+              "contentDetails": { "regionRestriction": { "blocked": ["JP", "KR"] } },
+              "snippet": {
+                "thumbnails": {
+                  "default": { "url": "https://i.ytimg.com/vi/alive/default.jpg", "width": 120 },
+                  "high": { "url": "https://i.ytimg.com/vi/alive/hqdefault.jpg", "width": 480 },
+                  "maxres": { "url": "https://i.ytimg.com/vi/alive/maxresdefault.jpg", "width": 1280 }
+                }
+              }
+            },
+            {
+              "id": "noEmbed",
+              "status": { "uploadStatus": "processed", "privacyStatus": "unlisted", "embeddable": false },
+              "contentDetails": { "regionRestriction": { "allowed": ["US"] } },
+              "snippet": { "thumbnails": { "medium": { "url": "https://i.ytimg.com/vi/noEmbed/mqdefault.jpg" } } }
+            }
+          ]
+        }
+        """;
+
+        server.expect(requestTo(startsWith(URL)))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(queryParam("id", "alive,noEmbed,gone"))
+                .andExpect(queryParam("key", "test-key"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        Map<String, YoutubeVideoStatus> res = client.videos(List.of("alive", "noEmbed", "gone"));
+
+        assertEquals(2, res.size());
+        assertFalse(res.containsKey("gone"));
+
+        YoutubeVideoStatus alive = res.get("alive");
+        assertEquals("processed", alive.uploadStatus());
+        assertEquals("public", alive.privacyStatus());
+        assertEquals(Boolean.TRUE, alive.embeddable());
+        assertNull(alive.regionAllowed());
+        assertEquals(List.of("JP", "KR"), alive.regionBlocked());
+        assertEquals("https://i.ytimg.com/vi/alive/maxresdefault.jpg", alive.bestThumbnailUrl());
+        assertFalse(alive.playableIn("KR"));
+        assertTrue(alive.playableIn("US"));
+
+        YoutubeVideoStatus noEmbed = res.get("noEmbed");
+        assertEquals(Boolean.FALSE, noEmbed.embeddable());
+        assertEquals(List.of("US"), noEmbed.regionAllowed());
+        assertEquals("https://i.ytimg.com/vi/noEmbed/mqdefault.jpg", noEmbed.bestThumbnailUrl());
+        assertFalse(noEmbed.playableIn("US"));
+
+        server.verify();
+    }
+
+    @Test
+    void videos_emptyItems_meansAllGone() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.YOUTUBE);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+        YoutubeClient client = client(rt);
+
+        server.expect(requestTo(startsWith(URL)))
+                .andRespond(withSuccess("{\"items\":[]}", MediaType.APPLICATION_JSON));
+
+        assertTrue(client.videos(List.of("gone")).isEmpty());
+        server.verify();
+    }
+
+    @Test
+    void videos_errorNode_throwsInsteadOfReportingIdsAsGone() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.YOUTUBE);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+        YoutubeClient client = client(rt);
+
+        server.expect(requestTo(startsWith(URL)))
+                .andRespond(withSuccess("{\"error\":{\"code\":400,\"message\":\"bad\"}}", MediaType.APPLICATION_JSON));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> client.videos(List.of("alive")));
+
+        assertEquals(ErrorCode.YOUTUBE_UPSTREAM_ERROR, ex.errorCode());
+    }
+
+    @Test
+    void videos_forbidden_throwsQuotaExceeded() {
+        RestTemplate rt = TestRestTemplates.of(OutboundHttpProperties.YOUTUBE);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+        YoutubeClient client = client(rt);
+
+        server.expect(requestTo(startsWith(URL)))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> client.videos(List.of("alive")));
+
+        assertEquals(ErrorCode.YOUTUBE_QUOTA_EXCEEDED, ex.errorCode());
+    }
+
+    private static YoutubeClient client(RestTemplate rt) {
+        YoutubeClient client = new YoutubeClient(rt);
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        return client;
+    }
+}